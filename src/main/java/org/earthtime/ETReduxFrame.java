@@ -995,10 +995,16 @@ public class ETReduxFrame extends javax.swing.JFrame implements ReportPainterI,
 
     private void saveProject() {
 
-        theProject.saveTheProjectAsSerializedReduxFile();
+        theProject.saveTheProjectAsSerializedReduxFileInBackground();
         myState.setMRUProjectFile(theProject.getLocationOfProjectReduxFile());
     }
 
+    private void exitRedux() {
+        // oct 2026 projects are written in the background, so finish writing them first
+        ETSerializer.AwaitBackgroundSaves();
+        System.exit(0);
+    }
+
     private void exportProjectSamples() {
 
         try {
@@ -1572,6 +1578,10 @@ public class ETReduxFrame extends javax.swing.JFrame implements ReportPainterI,
         }
 
         if (performReduction) {
+            UPbFractionReducer.getInstance().setDoublePrecisionDates(//
+                    myState.getReduxPreferences().isDoublePrecisionInteractiveReduction());
+            UPbFractionReducer.getInstance().setDoublePrecisionTolerance(//
+                    myState.getReduxPreferences().getDoublePrecisionTolerance());
             theSample.reduceSampleData(inLiveMode);
         }
 
@@ -3253,7 +3263,7 @@ public class ETReduxFrame extends javax.swing.JFrame implements ReportPainterI,
 
     private void quit_buttonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_quit_buttonActionPerformed
         quickSaveReduxPersistentState();
-        System.exit(0);
+        exitRedux();
     }//GEN-LAST:event_quit_buttonActionPerformed
 
     private void loadLastSample_buttonActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_loadLastSample_buttonActionPerformed
@@ -3268,13 +3278,13 @@ public class ETReduxFrame extends javax.swing.JFrame implements ReportPainterI,
         }
 
         quickSaveReduxPersistentState();
-        System.exit(0);
+        exitRedux();
     }//GEN-LAST:event_saveAndQuit_buttonActionPerformed
 
     private void ProgramExiting(java.awt.event.WindowEvent evt) {//GEN-FIRST:event_ProgramExiting
         quickSaveReduxPersistentState();
         // if (askAndSaveReduxPersistentState()) {
-        System.exit(0);
+        exitRedux();
         //}
     }//GEN-LAST:event_ProgramExiting
 
@@ -3496,7 +3506,7 @@ public class ETReduxFrame extends javax.swing.JFrame implements ReportPainterI,
 
     private void exitReduxActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_exitReduxActionPerformed
         if (askAndSaveReduxPersistentState()) {
-            System.exit(0);
+            exitRedux();
         }
     }//GEN-LAST:event_exitReduxActionPerformed
 
@@ -4238,7 +4248,7 @@ private void LAICPMS_LegacyAnalysis_UH_menuItemActionPerformed (java.awt.event.A
 
     private void exit_menuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_exit_menuItemActionPerformed
         if (askAndSaveReduxPersistentState()) {
-            System.exit(0);
+            exitRedux();
         }
     }//GEN-LAST:event_exit_menuItemActionPerformed
 
@@ -28,10 +28,12 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import org.earthtime.Tripoli.fitFunctions.AbstractFunctionOfX;
+import org.earthtime.Tripoli.fitFunctions.CovarianceFactorization;
 import org.earthtime.Tripoli.fitFunctions.LevenbergMarquardGeneralSolverWithCovS;
 import org.earthtime.Tripoli.fitFunctions.LevenbergMarquardGeneralSolverWithCovS.AbstractOverDispersionLMAlgorithm;
 import org.earthtime.Tripoli.fitFunctions.MeanFitFunction;
 import org.earthtime.Tripoli.fitFunctions.SmoothingSplineWithCov;
+import org.earthtime.Tripoli.fitFunctions.StructuredCovariance;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
 import org.earthtime.UPb_Redux.fractions.FractionsFilterInterface;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
@@ -190,7 +192,9 @@ public class DownholeFractionationDataModel implements Serializable, DataModelFi
 
             rawRatio.calculateSlogRatioX_Y(dataCommonActiveMap);
 
-            Matrix SlogRatioX_Y_copy = rawRatio.getSlogRatioX_Y(false).copy();
+            // structured form is null for projects saved with the dense form
+            StructuredCovariance structuredSlogRatioX_Y = rawRatio.getStructuredSlogRatioX_Y(dataCommonActiveMap);
+            Matrix SlogRatioX_Y_copy = (structuredSlogRatioX_Y == null) ? rawRatio.getSlogRatioX_Y(false).copy() : null;
 
             // get active logratios from standard with any zero entries replaced with interposlated values
             Matrix logRatiosVector = new Matrix(rawRatio.getActiveLogRatios(countOfActiveData, dataCommonActiveMap), countOfActiveData);
@@ -209,18 +213,26 @@ public class DownholeFractionationDataModel implements Serializable, DataModelFi
                     double average = (logRatiosVector.get(lastGoodIndex, 0) + logRatiosVector.get(nextGoodIndex, 0)) / 2.0;
                     for (int j = lastGoodIndex + 1; j < nextGoodIndex; j++) {
                         logRatiosVector.set(j, 0, average);
-                        SlogRatioX_Y_copy.set(j, j, SlogRatioX_Y_copy.get(j, j) * 100.0);
+                        if (structuredSlogRatioX_Y != null) {
+                            structuredSlogRatioX_Y = structuredSlogRatioX_Y.scaleDiagonalEntry(j, 100.0);
+                        } else {
+                            SlogRatioX_Y_copy.set(j, j, SlogRatioX_Y_copy.get(j, j) * 100.0);
+                        }
                     }
                     lastGoodIndex = -1;
                     nextGoodIndex = -1;
                 }
             }
 
+            // factored once through the Woodbury identity for the structured form
+            CovarianceFactorization factorization = (structuredSlogRatioX_Y != null) //
+                    ? structuredSlogRatioX_Y.factorize() : new CovarianceFactorization(SlogRatioX_Y_copy);
+
             // sum of the inverses of all of the Slr_X_Y covariance matrices
-            sumInvSlogRatioX_Y.plusEquals(SlogRatioX_Y_copy.inverse());
+            sumInvSlogRatioX_Y.plusEquals(factorization.getInverse());
 
             // column vector length count of aquisitions
-            sumInvSlogRatioX_YTimeslr.plusEquals(SlogRatioX_Y_copy.solve(logRatiosVector));
+            sumInvSlogRatioX_YTimeslr.plusEquals(factorization.solve(logRatiosVector));
 
         }
 
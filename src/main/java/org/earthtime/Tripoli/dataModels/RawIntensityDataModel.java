@@ -34,6 +34,7 @@ import org.earthtime.Tripoli.fitFunctions.LevenbergMarquardGeneralSolverWithCovS
 import org.earthtime.Tripoli.fitFunctions.LevenbergMarquardGeneralSolverWithVecV;
 import org.earthtime.Tripoli.fitFunctions.MeanFitFunction;
 import org.earthtime.Tripoli.fitFunctions.MeanFitFunctionWithCovS;
+import org.earthtime.Tripoli.fitFunctions.StructuredCovariance;
 import org.earthtime.UPb_Redux.utilities.comparators.IntuitiveStringComparator;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 import org.earthtime.dataDictionaries.IsotopeNames;
@@ -65,10 +66,11 @@ public class RawIntensityDataModel //
     private FitFunctionTypeEnum selectedFitFunctionType;
     private transient double[] normalizedBackgroundAquireTimes;
     // only need for calculations
-    private transient Matrix matrixSiCovarianceIntensities;
+    // held as diagonal plus low-rank dead-time term
+    private transient StructuredCovariance structuredSiCovarianceIntensities;
     private transient Matrix matrixSibCovarianceBackgroundIntensities;
-    // June 2013 used for fast processing (will temporarily be inside square matrices)
-    private transient Matrix vectorSviVarianceIntensities;
+    // June 2013 used for fast processing
+    private transient StructuredCovariance structuredSviVarianceIntensities;
     private transient Matrix vectorSviVarianceBackgroundIntensities;
     // used for individual background fitting
     private final Map<String, AbstractFunctionOfX> backgroundFitFunctionsNoOD;
@@ -82,14 +84,12 @@ public class RawIntensityDataModel //
     private transient Matrix J11;
     private transient Matrix J21;
     private transient Matrix J22;
-    private transient Matrix JOnPeak;
-    private transient Matrix Sopbc;
+    private transient StructuredCovariance Sopbc;
     private transient Matrix Jlogr;
-    private transient Matrix Jmat;
-    private transient Matrix Sopbclr;
+    private transient StructuredCovariance Sopbclr;
     private boolean calculatedInitialFitFunctions;
     // june 2013 - only not null for Pb204
-    private Matrix correctedHg202Si;
+    private transient StructuredCovariance correctedHg202Si;
     // march 2016 for SHRIMP this diagonal is forced to the variances produced for SHRIMP
     private double[] diagonalOfMatrixSIntensities;
     // april 2016 this new array is corrected variances from SHRIMP
@@ -138,9 +138,9 @@ public class RawIntensityDataModel //
 
         this.normalizedBackgroundAquireTimes = new double[0];
 
-        this.matrixSiCovarianceIntensities = null;
+        this.structuredSiCovarianceIntensities = null;
         this.matrixSibCovarianceBackgroundIntensities = null;
-        this.vectorSviVarianceIntensities = null;
+        this.structuredSviVarianceIntensities = null;
         this.vectorSviVarianceBackgroundIntensities = null;
 
         this.belowDetection = false;
@@ -614,8 +614,8 @@ public class RawIntensityDataModel //
      *
      * @return
      */
-    public Matrix specialBuildMatrixSiForHg202() {
-        return collectorModel.buildMatrixSi(diagonalOfMatrixSIntensities, allItensities);
+    public StructuredCovariance specialBuildMatrixSiForHg202() {
+        return collectorModel.buildStructuredSi(diagonalOfMatrixSIntensities, allItensities, allAnalogCorrectionFactors);
     }
 
     /**
@@ -627,34 +627,42 @@ public class RawIntensityDataModel //
         // first calculate the full matrix, then take upper left quadrant
         if (USING_FULL_PROPAGATION) {
 
-            matrixSiCovarianceIntensities = collectorModel.buildMatrixSi(diagonalOfMatrixSIntensities, allItensities);
+            structuredSiCovarianceIntensities = collectorModel.buildStructuredSi(diagonalOfMatrixSIntensities, allItensities, allAnalogCorrectionFactors);
             if ((correctedHg202Si != null) && rawIsotopeModelName.compareTo(IsotopeNames.Pb204) == 0) {
-                matrixSiCovarianceIntensities.plusEquals(correctedHg202Si);
+                structuredSiCovarianceIntensities = structuredSiCovarianceIntensities.plus(correctedHg202Si);
                 //get rid of it
                 correctedHg202Si = null;
             }
 
             // TODO: trim matrixSibCovarianceBackgroundIntensities to reflect any de-selected data
             int backgroundIntensityCount = backgroundVirtualCollector.getIntensities().length;
-            matrixSibCovarianceBackgroundIntensities = matrixSiCovarianceIntensities//
-                    .getMatrix(0, backgroundIntensityCount - 1, 0, backgroundIntensityCount - 1);
+            matrixSibCovarianceBackgroundIntensities = structuredSiCovarianceIntensities//
+                    .select(firstIndexes(backgroundIntensityCount)).toMatrix();
         } else {
-            vectorSviVarianceIntensities = collectorModel.buildVectorSvi(diagonalOfMatrixSIntensities, allItensities);
+            structuredSviVarianceIntensities = collectorModel.buildStructuredSvi(diagonalOfMatrixSIntensities, allItensities);
             if ((correctedHg202Si != null) && rawIsotopeModelName.compareTo(IsotopeNames.Pb204) == 0) {
-                vectorSviVarianceIntensities.plusEquals(correctedHg202Si);
+                structuredSviVarianceIntensities = structuredSviVarianceIntensities.plus(correctedHg202Si);
                 //get rid of it
                 correctedHg202Si = null;
             }
 
             // TODO: trim matrixSibCovarianceBackgroundIntensities to reflect any de-selected data
             int backgroundIntensityCount = backgroundVirtualCollector.getIntensities().length;
-            vectorSviVarianceBackgroundIntensities = vectorSviVarianceIntensities//
-                    .getMatrix(0, backgroundIntensityCount - 1, 0, backgroundIntensityCount - 1);
+            vectorSviVarianceBackgroundIntensities = structuredSviVarianceIntensities//
+                    .select(firstIndexes(backgroundIntensityCount)).toMatrix();
         }
 
         normalizedBackgroundAquireTimes = getNormalizedBackgroundAquireTimes();
     }
 
+    private static int[] firstIndexes(int count) {
+        int[] indexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = i;
+        }
+        return indexes;
+    }
+
     @Override
     public void generateSetOfFitFunctions(boolean propagateUncertainties, boolean doApplyMaskingArray, boolean inLiveMode) {
 
@@ -707,8 +715,6 @@ public class RawIntensityDataModel //
 
         matrixSibCovarianceBackgroundIntensities = null;
         vectorSviVarianceBackgroundIntensities = null;
-
-        System.gc();
     }
 
     private void calculateFittedFunctions(String fitFunctionTypeName) {
@@ -763,11 +769,11 @@ public class RawIntensityDataModel //
 
         if (backgroundFitFunction != null) { // not NONE
             // June 2013
-            Matrix matrixOrVector;
+            StructuredCovariance matrixOrVector;
             if (USING_FULL_PROPAGATION) {
-                matrixOrVector = matrixSiCovarianceIntensities;
+                matrixOrVector = structuredSiCovarianceIntensities;
             } else {
-                matrixOrVector = vectorSviVarianceIntensities;
+                matrixOrVector = structuredSviVarianceIntensities;
             }
 
             double[] normalizedOnPeakAquireTimes = getNormalizedOnPeakAquireTimes();
@@ -798,14 +804,12 @@ public class RawIntensityDataModel //
 
                 J22 = backgroundFitFunction.makeMatrixJ22(countOfActiveOnPeakData, onPeakVirtualCollector.getDataActiveMap(), normalizedOnPeakAquireTimes);
 
-                Matrix JOnPeak1 = null;
                 try {
-                    JOnPeak1 = J21.times(J11);
-
-                    // append J22 after JOnPeak1
-                    JOnPeak = new Matrix(countOfActiveOnPeakData, JOnPeak1.getColumnDimension() + countOfActiveOnPeakData);
-                    JOnPeak.setMatrix(0, countOfActiveOnPeakData - 1, 0, JOnPeak1.getColumnDimension() - 1, JOnPeak1);
-                    JOnPeak.setMatrix(0, countOfActiveOnPeakData - 1, JOnPeak1.getColumnDimension(), JOnPeak1.getColumnDimension() + countOfActiveOnPeakData - 1, J22);
+                    // JOnPeak = [J21 * J11 | J22] is never formed; J22 is diagonal
+                    double[] diagonalOfJ22 = new double[countOfActiveOnPeakData];
+                    for (int i = 0; i < countOfActiveOnPeakData; i++) {
+                        diagonalOfJ22[i] = J22.get(i, i);
+                    }
 
                     // remove matrix entries for inactive data
                     // onpeak data is on the right of matrixSI
@@ -829,27 +833,27 @@ public class RawIntensityDataModel //
                         }
                     }
 
-                    Matrix copymatrixSiCovarianceIntensities = matrixOrVector.getMatrix(rowColToCopy, rowColToCopy);
+                    StructuredCovariance copymatrixSiCovarianceIntensities = matrixOrVector.select(rowColToCopy);
 
-                    Sopbc = JOnPeak.times(copymatrixSiCovarianceIntensities).times(JOnPeak.transpose());
+                    Sopbc = copymatrixSiCovarianceIntensities.propagate(J21, J11, diagonalOfJ22);
 
                     // calculate the covariance matrix for the log-ratios, Sopbclr.
-                    double[][] invertedOnPeakCorrectedIntensities = new double[countOfActiveOnPeakData][1];
+                    double[] invertedOnPeakCorrectedIntensities = new double[countOfActiveOnPeakData];
                     count = 0;
                     for (int i = 0; i < onPeakVirtualCollector.getDataActiveMap().length; i++) {
                         if (onPeakVirtualCollector.getDataActiveMap()[i]) {
-                            invertedOnPeakCorrectedIntensities[count][0] = 1.0 / onPeakVirtualCollector.getCorrectedIntensities()[i];
+                            invertedOnPeakCorrectedIntensities[count] = 1.0 / onPeakVirtualCollector.getCorrectedIntensities()[i];
                             count++;
                         }
                     }
 
-                    Jlogr = new Matrix(invertedOnPeakCorrectedIntensities);
-                    Jmat = Jlogr.times(Jlogr.transpose());
+                    Jlogr = new Matrix(invertedOnPeakCorrectedIntensities, countOfActiveOnPeakData);
 
-                    Sopbclr = Jmat.arrayTimes(Sopbc);
+                    // same as the element-wise product with Jlogr * Jlogr'
+                    Sopbclr = Sopbc.scaleRowsAndColumns(invertedOnPeakCorrectedIntensities);
 
                 } catch (Exception e) {
-                    System.out.println(" JOnPeak1 in RawIntensityDataModel matrix error " + e.getMessage());
+                    System.out.println(" JOnPeak in RawIntensityDataModel matrix error " + e.getMessage());
                 }
             } else {
                 System.out.println("NO J11 for " + this.getDataModelName());
@@ -919,16 +923,23 @@ public class RawIntensityDataModel //
     }
 
     /**
-     * @return the Sopbclr
+     * @return the dense Sopbclr, for reports
      */
     public Matrix getSopbclr() {
+        return (Sopbclr == null) ? null : Sopbclr.toMatrix();
+    }
+
+    /**
+     * @return the Sopbclr
+     */
+    public StructuredCovariance getStructuredSopbclr() {
         return Sopbclr;
     }
 
     /**
      * @param Sopbclr the Sopbclr to set
      */
-    public void setSopbclr(Matrix Sopbclr) {
+    public void setSopbclr(StructuredCovariance Sopbclr) {
         this.Sopbclr = Sopbclr;
     }
 
@@ -940,10 +951,10 @@ public class RawIntensityDataModel //
     }
 
     /**
-     * @return the matrixSiCovarianceIntensities
+     * @return the dense matrixSiCovarianceIntensities, for reports
      */
     public Matrix getMatrixSiCovarianceIntensities() {
-        return matrixSiCovarianceIntensities;
+        return (structuredSiCovarianceIntensities == null) ? null : structuredSiCovarianceIntensities.toMatrix();
     }
 
     /**
@@ -967,17 +978,10 @@ public class RawIntensityDataModel //
         this.J22 = J22;
     }
 
-    /**
-     * @param JOnPeak the JOnPeak to set
-     */
-    public void setJOnPeak(Matrix JOnPeak) {
-        this.JOnPeak = JOnPeak;
-    }
-
     /**
      * @param Sopbc the Sopbc to set
      */
-    public void setSopbc(Matrix Sopbc) {
+    public void setSopbc(StructuredCovariance Sopbc) {
         this.Sopbc = Sopbc;
     }
 
@@ -988,13 +992,6 @@ public class RawIntensityDataModel //
         this.Jlogr = matrixJlogr;
     }
 
-    /**
-     * @param Jmat the Jmat to set
-     */
-    public void setJmat(Matrix Jmat) {
-        this.Jmat = Jmat;
-    }
-
     /**
      * @return the J11
      */
@@ -1017,17 +1014,28 @@ public class RawIntensityDataModel //
     }
 
     /**
-     * @return the JOnPeak
+     * Formed on demand for reports; the propagation uses J21, J11 and J22
+     * directly.
+     *
+     * @return the JOnPeak = [J21 * J11 | J22]
      */
     public Matrix getJOnPeak() {
+        Matrix JOnPeak = null;
+        if ((J11 != null) && (J21 != null) && (J22 != null)) {
+            Matrix JOnPeak1 = J21.times(J11);
+            int countOfActiveOnPeakData = J22.getRowDimension();
+            JOnPeak = new Matrix(countOfActiveOnPeakData, JOnPeak1.getColumnDimension() + countOfActiveOnPeakData);
+            JOnPeak.setMatrix(0, countOfActiveOnPeakData - 1, 0, JOnPeak1.getColumnDimension() - 1, JOnPeak1);
+            JOnPeak.setMatrix(0, countOfActiveOnPeakData - 1, JOnPeak1.getColumnDimension(), JOnPeak1.getColumnDimension() + countOfActiveOnPeakData - 1, J22);
+        }
         return JOnPeak;
     }
 
     /**
-     * @return the Sopbc
+     * @return the dense Sopbc, for reports
      */
     public Matrix getSopbc() {
-        return Sopbc;
+        return (Sopbc == null) ? null : Sopbc.toMatrix();
     }
 
     /**
@@ -1038,10 +1046,12 @@ public class RawIntensityDataModel //
     }
 
     /**
-     * @return the Jmat
+     * Formed on demand for reports.
+     *
+     * @return the Jmat = Jlogr * Jlogr'
      */
     public Matrix getJmat() {
-        return Jmat;
+        return (Jlogr == null) ? null : Jlogr.times(Jlogr.transpose());
     }
 
     /**
@@ -1058,17 +1068,15 @@ public class RawIntensityDataModel //
      */
     @Override
     public void cleanupUnctCalcs() {
-        matrixSiCovarianceIntensities = null;
+        structuredSiCovarianceIntensities = null;
         matrixSibCovarianceBackgroundIntensities = null;
-        vectorSviVarianceIntensities = null;
+        structuredSviVarianceIntensities = null;
         vectorSviVarianceBackgroundIntensities = null;
         setJ11(null);
         setMatrixJ21(null);
         setJ22(null);
-        setJOnPeak(null);
         setSopbc(null);
         setMatrixJlogr(null);
-        setJmat(null);
         setSopbclr(null);
     }
 
@@ -1149,14 +1157,14 @@ public class RawIntensityDataModel //
     /**
      * @return the correctedHg202Si
      */
-    public Matrix getCorrectedHg202Si() {
+    public StructuredCovariance getCorrectedHg202Si() {
         return correctedHg202Si;
     }
 
     /**
      * @param correctedHg202Si the correctedHg202Si to set
      */
-    public void setCorrectedHg202Si(Matrix correctedHg202Si) {
+    public void setCorrectedHg202Si(StructuredCovariance correctedHg202Si) {
         this.correctedHg202Si = correctedHg202Si;
     }
 
@@ -1164,7 +1172,7 @@ public class RawIntensityDataModel //
      * @return the vectorSviVarianceIntensities
      */
     public Matrix getVectorSviVarianceIntensities() {
-        return vectorSviVarianceIntensities;
+        return (structuredSviVarianceIntensities == null) ? null : structuredSviVarianceIntensities.toMatrix();
     }
 
     /**
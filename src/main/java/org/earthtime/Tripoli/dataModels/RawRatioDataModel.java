@@ -37,6 +37,7 @@ import org.earthtime.Tripoli.fitFunctions.LevenbergMarquardGeneralSolverWithCovS
 import org.earthtime.Tripoli.fitFunctions.LevenbergMarquardGeneralSolverWithVecV;
 import org.earthtime.Tripoli.fitFunctions.LevenbergMarquardGeneralSolverWithVecV.AbstractOverDispersionLMVecAlgorithm;
 import org.earthtime.Tripoli.fitFunctions.MeanFitFunction;
+import org.earthtime.Tripoli.fitFunctions.StructuredCovariance;
 import org.earthtime.UPb_Redux.utilities.comparators.IntuitiveStringComparator;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
 import org.earthtime.dataDictionaries.IsotopeNames;
@@ -94,17 +95,26 @@ public class RawRatioDataModel //
     private boolean overDispersionSelectedDownHole;
 
     private boolean belowDetection;
+    // legacy dense form, only present in projects saved before the structured form
     private Matrix SlogRatioX_Yfull;
+    private StructuredCovariance structuredSlogRatioX_Yfull;
     private transient Matrix SlogRatioX_Y;
-    private transient Matrix matrixSxyod;
+    // oct 2026 structured form of SlogRatioX_Y, handed to the LM fits
+    private transient StructuredCovariance structuredSlogRatioX_Y;
+    private transient StructuredCovariance matrixSxyod;
     private boolean calculatedInitialFitFunctions;
     // these three introduced feb 2013 to streamline choice of points in function fitting
     private double[] activeXvalues;
     private double[] activeYvalues;
     private boolean[] activeData;//dataActiveMap with inactive removed, i.e. all true
+    // scratch for generateSetOfFitFunctions
+    private transient double[] activeTopCorrectedIntensities;
+    private transient double[] activeBotCorrectedIntensities;
     // nov 2014
     private Matrix topSopbclr;
     private Matrix botSopbclr;
+    private StructuredCovariance structuredTopSopbclr;
+    private StructuredCovariance structuredBotSopbclr;
 
     /**
      *
@@ -150,6 +160,7 @@ public class RawRatioDataModel //
 
         this.belowDetection = false;
         this.SlogRatioX_Yfull = null;
+        this.structuredSlogRatioX_Yfull = null;
         this.SlogRatioX_Y = null;
 
         this.calculatedInitialFitFunctions = false;
@@ -259,7 +270,7 @@ public class RawRatioDataModel //
         // Since SLogRatioX_Y is calculated on the first pass, we can merely
         // toggle rows and columns per dataactive map instead of recalculating everything
         // make the current version transient and save only the full        
-        if (SlogRatioX_Yfull == null) {
+        if ((SlogRatioX_Yfull == null) && (structuredSlogRatioX_Yfull == null)) {
             // create all true dataActiveMap for initial pass
             boolean[] allTrueDataActiveMap = new boolean[dataActiveMap.length];
             Arrays.fill(allTrueDataActiveMap, Boolean.TRUE);
@@ -276,8 +287,8 @@ public class RawRatioDataModel //
             ((RawIntensityDataModel) botIsotope).prepareDataForFitFunctions();
             ((RawIntensityDataModel) botIsotope).propagateUnctInBaselineCorrOnPeakIntensities();
 
-            Matrix numerator = ((RawIntensityDataModel) topIsotope).getSopbclr();
-            Matrix denominator = ((RawIntensityDataModel) botIsotope).getSopbclr();
+            StructuredCovariance numerator = ((RawIntensityDataModel) topIsotope).getStructuredSopbclr();
+            StructuredCovariance denominator = ((RawIntensityDataModel) botIsotope).getStructuredSopbclr();
 
             if ((numerator != null) & (denominator != null)) {
 
@@ -291,21 +302,21 @@ public class RawRatioDataModel //
                         // v3 jan 2013 check if the SAME ion counter
                         hasTwoIdenticalIonCounters()) {
 
-                    matrixSxyod
-                            = ((RawIntensityDataModel) topIsotope).getColumnVectorOfCorrectedOnPeakIntensities()//
-                            .times(((RawIntensityDataModel) botIsotope).getColumnVectorOfCorrectedOnPeakIntensities().transpose());
-
                     double deadtimeOneSigmaAbsSqr
                             = ((IonCounterCollectorModel) botIsotope//
                             .getCollectorModel()).getDeadTime().getOneSigmaAbs().movePointLeft(0).pow(2).doubleValue();
 
-                    matrixSxyod.timesEquals(deadtimeOneSigmaAbsSqr);
+                    // rank-one deadtimeOneSigmaAbsSqr * top * bot'
+                    matrixSxyod = StructuredCovariance.outerProduct(//
+                            ((RawIntensityDataModel) topIsotope).getColumnVectorOfCorrectedOnPeakIntensities(),//
+                            ((RawIntensityDataModel) botIsotope).getColumnVectorOfCorrectedOnPeakIntensities(),//
+                            deadtimeOneSigmaAbsSqr);
 
-                    SlogRatioX_Yfull = numerator.plus(denominator).minus(matrixSxyod.times(2.0));
+                    structuredSlogRatioX_Yfull = numerator.plus(denominator).plus(matrixSxyod.times(-2.0));
 
                 } else {
                     try {
-                        SlogRatioX_Yfull = numerator.plus(denominator);
+                        structuredSlogRatioX_Yfull = numerator.plus(denominator);
                     } catch (Exception e) {
                         System.out.println("SlogRatioX_Yfull trouble" + e.getMessage());
                     }
@@ -315,15 +326,13 @@ public class RawRatioDataModel //
                 ((RawIntensityDataModel) topIsotope).getOnPeakVirtualCollector().setDataActiveMap(topDataActiveMap);
                 ((RawIntensityDataModel) botIsotope).getOnPeakVirtualCollector().setDataActiveMap(botDataActiveMap);
 
-                topSopbclr = numerator.copy();
-                botSopbclr = denominator.copy();
+                structuredTopSopbclr = numerator;
+                structuredBotSopbclr = denominator;
             }
 
             ((DataModelFitFunctionInterface) topIsotope).cleanupUnctCalcs();
             ((DataModelFitFunctionInterface) botIsotope).cleanupUnctCalcs();
 
-            System.gc();
-
         }
         calculateSlogRatioX_Y();
     }
@@ -335,7 +344,7 @@ public class RawRatioDataModel //
     public void calculateSlogRatioX_Y(boolean[] mapOfActiveData) {
         // choose rows and columns based on active data
         // nov 2014 need to catch special case where */pb204 ratios have different dataactivemaps
-        if (SlogRatioX_Yfull != null) {
+        if ((SlogRatioX_Yfull != null) || (structuredSlogRatioX_Yfull != null)) {
             ArrayList<Integer> selectedRowsColsList = new ArrayList<>();
             for (int i = 0; i < mapOfActiveData.length; i++) {
                 if (mapOfActiveData[i]) {
@@ -348,8 +357,15 @@ public class RawRatioDataModel //
                 selectedRowsCols[i] = selectedRowsColsList.get(i);
             }
 
-            SlogRatioX_Y = SlogRatioX_Yfull.getMatrix(selectedRowsCols, selectedRowsCols);
+            if (structuredSlogRatioX_Yfull != null) {
+                structuredSlogRatioX_Y = structuredSlogRatioX_Yfull.select(selectedRowsCols);
+                SlogRatioX_Y = structuredSlogRatioX_Y.toMatrix();
+            } else {
+                structuredSlogRatioX_Y = null;
+                SlogRatioX_Y = SlogRatioX_Yfull.getMatrix(selectedRowsCols, selectedRowsCols);
+            }
         } else {
+            structuredSlogRatioX_Y = null;
             SlogRatioX_Y = null;
         }
     }
@@ -491,7 +507,7 @@ public class RawRatioDataModel //
      */
     @Override
     public void calculateCorrectedRatioStatistics() {
-        NonParametricStats nonParametricStats = NonParametricStats.getInstance();
+        NonParametricStats nonParametricStats = new NonParametricStats();
 
         if (correctedRatios != null) {
             nonParametricStats.calculateStats(dataActiveMap, correctedRatios);
@@ -529,7 +545,7 @@ public class RawRatioDataModel //
     private void generateMEANfitFunctionForPbcRatiosWhereNegativeValues() {
 
         //create mean ratio (no log due to negative values)- we are here because this ratio is */204 and has >10% negative values 
-        NonParametricStats nonParametricStats = NonParametricStats.getInstance();
+        NonParametricStats nonParametricStats = new NonParametricStats();
         double[] isotopeOPBC = ((RawIntensityDataModel) topIsotope).getOnPeakVirtualCollector().getCorrectedIntensities();
         nonParametricStats.calculateStats(dataActiveMap, isotopeOPBC);
         ((RawIntensityDataModel) topIsotope).setForcedMeanForCommonLeadRatios(nonParametricStats.getSampleMean());
@@ -590,7 +606,7 @@ public class RawRatioDataModel //
                                 activeData, //
                                 activeXvalues, //
                                 activeYvalues, //,
-                                SlogRatioX_Y, false);
+                                SlogRatioX_Y, structuredSlogRatioX_Y, false);
 
                 fOfX_MEAN = algorithmForMEAN.getInitialFofX();
                 fOfX_MEAN_OD = algorithmForMEAN.getFinalFofX();
@@ -678,7 +694,7 @@ public class RawRatioDataModel //
                             activeData, //
                             activeXvalues, //
                             activeYvalues, //,
-                            SlogRatioX_Y, false);
+                            SlogRatioX_Y, structuredSlogRatioX_Y, false);
 
             fOfX_LINE = algorithmForLINE.getInitialFofX();
             fOfX_LINE_OD = algorithmForLINE.getFinalFofX();
@@ -734,7 +750,7 @@ public class RawRatioDataModel //
                     activeData, //
                     activeXvalues, //
                     activeYvalues, //,
-                    SlogRatioX_Y, false);
+                    SlogRatioX_Y, structuredSlogRatioX_Y, false);
 
             fOfX_ExpFast = algorithmForEXPFAST.getInitialFofX();
 
@@ -762,7 +778,7 @@ public class RawRatioDataModel //
                         activeData, //
                         activeXvalues, //
                         activeYvalues, //,
-                        SlogRatioX_Y, false, //
+                        SlogRatioX_Y, structuredSlogRatioX_Y, false, //
                         fOfX_ExpFast);
             } else {
 
@@ -797,7 +813,7 @@ public class RawRatioDataModel //
                                 activeData, //
                                 activeXvalues, //
                                 activeYvalues, //,
-                                SlogRatioX_Y, false,//
+                                SlogRatioX_Y, structuredSlogRatioX_Y, false,//
                                 fOfX_ExpFast);
 
                         fOfX_EXPOD = algorithmForEXPOD.getFinalFofX();
@@ -880,7 +896,7 @@ public class RawRatioDataModel //
 
             // nov 2014 - detect if common lead ratios have entered or left negative territory
             if (botIsotope.getDataModelName().equalsIgnoreCase(IsotopeNames.Pb204.getName())) {
-                NonParametricStats nonParametricStats = NonParametricStats.getInstance();
+                NonParametricStats nonParametricStats = new NonParametricStats();
                 ((RawIntensityDataModel) botIsotope).setForceMeanForCommonLeadRatios(//
                         nonParametricStats.determineIfTenPercentOrMoreAreNegative(//
                                 dataActiveMap, //
@@ -902,14 +918,19 @@ public class RawRatioDataModel //
                 }
             }
 
-            activeData = new boolean[countOfActiveData];
-            activeXvalues = new double[countOfActiveData];
-            activeYvalues = new double[countOfActiveData];
+            // the active arrays are refilled in place when the count is unchanged
+            if ((activeData == null) || (activeData.length != countOfActiveData)) {
+                activeData = new boolean[countOfActiveData];
+                activeXvalues = new double[countOfActiveData];
+                activeYvalues = new double[countOfActiveData];
+            }
+            if ((activeTopCorrectedIntensities == null) || (activeTopCorrectedIntensities.length != countOfActiveData)) {
+                activeTopCorrectedIntensities = new double[countOfActiveData];
+                activeBotCorrectedIntensities = new double[countOfActiveData];
+            }
 
             double[] topCorrectedIntensities = ((RawIntensityDataModel) topIsotope).getOnPeakVirtualCollector().getCorrectedIntensities();
-            double[] activeTopCorrectedIntensities = new double[countOfActiveData];
             double[] botCorrectedIntensities = ((RawIntensityDataModel) botIsotope).getOnPeakVirtualCollector().getCorrectedIntensities();
-            double[] activeBotCorrectedIntensities = new double[countOfActiveData];
 
             double[] onPeakTimes = topIsotope.getNormalizedOnPeakAquireTimes();
             int index = 0;
@@ -1027,8 +1048,6 @@ public class RawRatioDataModel //
             if (saveSelection != null) {
                 selectedFitFunctionType = saveSelection;
             }
-
-            System.gc();
         }
 
     }
@@ -1527,19 +1546,20 @@ public class RawRatioDataModel //
      */
     public void setSlogRatioX_Y(Matrix SlogRatioX_Y) {
         this.SlogRatioX_Y = SlogRatioX_Y;
+        this.structuredSlogRatioX_Y = null;
     }
 
     /**
      * @return the matrixSxyod
      */
     public Matrix getMatrixSxyod() {
-        return matrixSxyod;
+        return (matrixSxyod == null) ? null : matrixSxyod.toMatrix();
     }
 
     /**
      * @param matrixSxyod the matrixSxyod to set
      */
-    public void setMatrixSxyod(Matrix matrixSxyod) {
+    public void setMatrixSxyod(StructuredCovariance matrixSxyod) {
         this.matrixSxyod = matrixSxyod;
     }
 
@@ -1714,14 +1734,42 @@ public class RawRatioDataModel //
      * @return the topSopbclr
      */
     public Matrix getTopSopbclr() {
-        return topSopbclr;
+        return (structuredTopSopbclr == null) ? topSopbclr : structuredTopSopbclr.toMatrix();
     }
 
     /**
      * @return the botSopbclr
      */
     public Matrix getBotSopbclr() {
-        return botSopbclr;
+        return (structuredBotSopbclr == null) ? botSopbclr : structuredBotSopbclr.toMatrix();
+    }
+
+    /**
+     *
+     * @param mapOfActiveData
+     * @return the structured SlogRatioX_Y for the active data, or null for
+     * projects saved with the dense form
+     */
+    public StructuredCovariance getStructuredSlogRatioX_Y(boolean[] mapOfActiveData) {
+        StructuredCovariance retVal = null;
+        if (structuredSlogRatioX_Yfull != null) {
+            int countOfActiveData = 0;
+            for (int i = 0; i < mapOfActiveData.length; i++) {
+                if (mapOfActiveData[i]) {
+                    countOfActiveData++;
+                }
+            }
+            int[] selectedRowsCols = new int[countOfActiveData];
+            int count = 0;
+            for (int i = 0; i < mapOfActiveData.length; i++) {
+                if (mapOfActiveData[i]) {
+                    selectedRowsCols[count] = i;
+                    count++;
+                }
+            }
+            retVal = structuredSlogRatioX_Yfull.select(selectedRowsCols);
+        }
+        return retVal;
     }
 
     /**
@@ -63,6 +63,20 @@ public class IsotopeMappingModel implements Serializable {
 
     }
 
+    /**
+     *
+     * @return a model sharing the collectors and integration times of this
+     * one, with its own map of isotopes to raw intensities
+     */
+    public IsotopeMappingModel copySharingCollectors() {
+        IsotopeMappingModel copy = new IsotopeMappingModel();
+        copy.isotopeToCollectorMap = isotopeToCollectorMap;
+        copy.isotopeToIntegrationTimeMap = isotopeToIntegrationTimeMap;
+        copy.isotopeToRawIntensitiesMap.putAll(isotopeToRawIntensitiesMap);
+
+        return copy;
+    }
+
     /**
      *
      */
@@ -9,10 +9,10 @@
  */
 package org.earthtime.Tripoli.dataModels.collectorModels;
 
-import Jama.Matrix;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import org.earthtime.UPb_Redux.ReduxConstants;
+import org.earthtime.Tripoli.fitFunctions.StructuredCovariance;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 
 /**
@@ -164,9 +164,11 @@ public abstract class AbstractCollectorModel implements Serializable {
      * diagonalOfMatrixSIntensities
      * @param measuredIntensityIonCounter the value of
      * measuredIntensityIonCounter
+     * @param allAnalogCorrectionFactors the analog correction factors of the
+     * intensities
      * @return
      */
-    public abstract Matrix buildMatrixSi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter);
+    public abstract StructuredCovariance buildStructuredSi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter, double[] allAnalogCorrectionFactors);
 
     /**
      *
@@ -185,7 +187,7 @@ public abstract class AbstractCollectorModel implements Serializable {
      * measuredIntensityIonCounter
      * @return
      */
-    public abstract Matrix buildVectorSvi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter);
+    public abstract StructuredCovariance buildStructuredSvi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter);
 
     /**
      * @return the relativeGain
@@ -19,9 +19,9 @@
  */
 package org.earthtime.Tripoli.dataModels.collectorModels;
 
-import Jama.Matrix;
 import java.math.BigDecimal;
 import org.earthtime.UPb_Redux.ReduxConstants;
+import org.earthtime.Tripoli.fitFunctions.StructuredCovariance;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 
 /**
@@ -124,17 +124,13 @@ public class FaradayCollectorModel extends AbstractCollectorModel {
      * diagonalOfMatrixSIntensities
      * @param measuredIntensityIonCounter the value of
      * measuredIntensityIonCounter
+     * @param allAnalogCorrectionFactors the analog correction factors of the
+     * intensities
      * @return
      */
     @Override
-    public Matrix buildMatrixSi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter) {
-        Matrix Si = new Matrix(diagonalOfMatrixSIntensities.length, diagonalOfMatrixSIntensities.length);
-        // populate diagonal
-        for (int i = 0; i < diagonalOfMatrixSIntensities.length; i++) {
-            Si.set(i, i, diagonalOfMatrixSIntensities[i]);
-        }
-
-        return Si;
+    public StructuredCovariance buildStructuredSi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter, double[] allAnalogCorrectionFactors) {
+        return new StructuredCovariance(diagonalOfMatrixSIntensities.clone());
     }
 
     /**
@@ -147,15 +143,8 @@ public class FaradayCollectorModel extends AbstractCollectorModel {
      * @return
      */
     @Override
-    public Matrix buildVectorSvi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter) {
-        // TODO: to become vector 
-        Matrix Svi = new Matrix(diagonalOfMatrixSIntensities.length, diagonalOfMatrixSIntensities.length);
-        // populate diagonal
-        for (int i = 0; i < diagonalOfMatrixSIntensities.length; i++) {
-            Svi.set(i, i, diagonalOfMatrixSIntensities[i]);
-        }
-
-        return Svi;
+    public StructuredCovariance buildStructuredSvi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter) {
+        return new StructuredCovariance(diagonalOfMatrixSIntensities.clone());
     }
 
 //    @Override
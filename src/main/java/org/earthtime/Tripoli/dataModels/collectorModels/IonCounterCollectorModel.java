@@ -22,6 +22,7 @@ package org.earthtime.Tripoli.dataModels.collectorModels;
 import Jama.Matrix;
 import java.math.BigDecimal;
 import org.earthtime.UPb_Redux.ReduxConstants;
+import org.earthtime.Tripoli.fitFunctions.StructuredCovariance;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 
 /**
@@ -38,7 +39,6 @@ public class IonCounterCollectorModel extends AbstractCollectorModel {
      */
     private ValueModel deadTime;
     private CollectedDataStyle collectedDataStyle;
-    private double[] allAnalogCorrectionFactors;
 
     /**
      *
@@ -60,7 +60,6 @@ public class IonCounterCollectorModel extends AbstractCollectorModel {
                 "PCT", new BigDecimal(1.0, ReduxConstants.mathContext10), BigDecimal.ZERO);
         this.deadTime = deadTime;
         this.collectedDataStyle = collectedDataStyle;
-        this.allAnalogCorrectionFactors = new double[0];
     }
 
     /**
@@ -112,7 +111,6 @@ public class IonCounterCollectorModel extends AbstractCollectorModel {
     @Override
     public double[] calculateMeasuredCountsAndMatrixSIntensityDiagonal(int countOfBaselineIntensities, double[] allAnalogCorrectionFactors, double[] allItensities, double integrationTime) {
 
-        this.allAnalogCorrectionFactors = allAnalogCorrectionFactors;
         double[] measuredVarianceFromIonCounts = new double[allItensities.length];
 
         for (int i = 0; i < allItensities.length; i++) {
@@ -139,47 +137,34 @@ public class IonCounterCollectorModel extends AbstractCollectorModel {
      * diagonalOfMatrixSIntensities
      * @param measuredIntensityIonCounter the value of
      * measuredIntensityIonCounter
+     * @param allAnalogCorrectionFactors the analog correction factors of the
+     * intensities
      * @return
      */
     @Override
-    public Matrix buildMatrixSi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter) {
-        Matrix Si = new Matrix(diagonalOfMatrixSIntensities.length, diagonalOfMatrixSIntensities.length);
+    public StructuredCovariance buildStructuredSi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter, double[] allAnalogCorrectionFactors) {
+        double[] diagonal = diagonalOfMatrixSIntensities.clone();
 
         Matrix columnVectorOfMeasuredCountsIntensityCountsSquared = new Matrix(measuredIntensityIonCounter.length, 1);
-
-        // populate diagonal
-        for (int i = 0; i < diagonalOfMatrixSIntensities.length; i++) {
-            Si.set(i, i, diagonalOfMatrixSIntensities[i]);
-
+        for (int i = 0; i < diagonal.length; i++) {
             columnVectorOfMeasuredCountsIntensityCountsSquared.set(i, 0, measuredIntensityIonCounter[i] * measuredIntensityIonCounter[i]);
         }
 
         double deadUnctSquared = deadTime.getOneSigmaAbs().movePointLeft(0).pow(2).doubleValue();
 
-        Matrix measuredCountsSquaredTimesDeadTime
-                = columnVectorOfMeasuredCountsIntensityCountsSquared.//
-                times(columnVectorOfMeasuredCountsIntensityCountsSquared.transpose());
-
-        measuredCountsSquaredTimesDeadTime.timesEquals(deadUnctSquared);
-
-        Si.plusEquals(measuredCountsSquaredTimesDeadTime);
-
-        if (collectedDataStyle.compareTo(collectedDataStyle.SEM) == 0) {
-            // zero out rows and columns with acf <> 1
-            // note pre-condition that diagonal is built and allAnalogCorrectionFactors exists
-            for (int i = 0; i < allAnalogCorrectionFactors.length; i++) {
+        if ((collectedDataStyle.compareTo(collectedDataStyle.SEM) == 0) && (allAnalogCorrectionFactors != null)) {
+            // zero out rows and columns with acf <> 1, keeping their dead time variance on the diagonal
+            for (int i = 0; i < Math.min(allAnalogCorrectionFactors.length, diagonal.length); i++) {
                 if (allAnalogCorrectionFactors[i] != 1.0) {
-                    for (int j = 0; j < Si.getRowDimension(); j++) {
-                        if (j != i) {
-                            Si.set(j, i, 0.0);
-                            Si.set(i, j, 0.0);
-                        }
-                    }
+                    double countsSquared = columnVectorOfMeasuredCountsIntensityCountsSquared.get(i, 0);
+                    diagonal[i] += deadUnctSquared * countsSquared * countsSquared;
+                    columnVectorOfMeasuredCountsIntensityCountsSquared.set(i, 0, 0.0);
                 }
             }
         }
 
-        return Si;
+        // the dead time term is the rank-one deadUnctSquared * counts^2 * (counts^2)'
+        return new StructuredCovariance(diagonal, columnVectorOfMeasuredCountsIntensityCountsSquared, new Matrix(1, 1, deadUnctSquared));
     }
 
     /**
@@ -192,20 +177,18 @@ public class IonCounterCollectorModel extends AbstractCollectorModel {
      * @return
      */
     @Override
-    public Matrix buildVectorSvi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter) {
-        // TODO: make true vector
-        Matrix Svi = new Matrix(diagonalOfMatrixSIntensities.length, diagonalOfMatrixSIntensities.length);
+    public StructuredCovariance buildStructuredSvi(double[] diagonalOfMatrixSIntensities, double[] measuredIntensityIonCounter) {
+        double[] diagonal = new double[diagonalOfMatrixSIntensities.length];
 
         double deadUnctSquared = deadTime.getOneSigmaAbs().movePointLeft(0).pow(2).doubleValue();
 
         // populate diagonal
         for (int i = 0; i < diagonalOfMatrixSIntensities.length; i++) {
-            Svi.set(i, i, //
-                    diagonalOfMatrixSIntensities[i] //
-                    + deadUnctSquared * Math.pow(measuredIntensityIonCounter[i], 4.0));
+            diagonal[i] = diagonalOfMatrixSIntensities[i] //
+                    + deadUnctSquared * Math.pow(measuredIntensityIonCounter[i], 4.0);
         }
 
-        return Svi;
+        return new StructuredCovariance(diagonal);
     }
 
     /**
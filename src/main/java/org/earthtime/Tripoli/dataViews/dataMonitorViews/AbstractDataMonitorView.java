@@ -39,9 +39,14 @@ import java.io.File;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.Vector;
@@ -58,6 +63,7 @@ import javax.swing.JRootPane;
 import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
 import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
 import javax.swing.SwingWorker;
 import javax.swing.Timer;
 import javax.swing.UnsupportedLookAndFeelException;
@@ -73,6 +79,7 @@ import org.earthtime.Tripoli.dataViews.simpleViews.FitFunctionDataInterface;
 import org.earthtime.Tripoli.dataViews.simpleViews.SessionOfStandardView;
 import org.earthtime.Tripoli.dataViews.simpleViews.YAxisView;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
+import org.earthtime.Tripoli.rawDataFiles.RawDataFolderWatcher;
 import org.earthtime.Tripoli.rawDataFiles.handlers.AbstractRawDataFileHandler;
 import org.earthtime.Tripoli.samples.AbstractTripoliSample;
 import org.earthtime.Tripoli.sessions.TripoliSession;
@@ -150,6 +157,13 @@ public class AbstractDataMonitorView extends AbstractRawDataView
      *
      */
     protected static Timer dataMonitorTimer;
+    /**
+     *
+     */
+    protected static RawDataFolderWatcher rawDataFolderWatcher;
+    // earliest close time of the files waiting to be shown, 0 if none
+    private static long earliestPendingCloseTime;
+    private static boolean liveIngestPending;
 
     /**
      *
@@ -256,14 +270,57 @@ public class AbstractDataMonitorView extends AbstractRawDataView
 
             showMostRecentFractionLabelFactory();
 
+            startMonitoringDataFile();
+
+        } catch (IOException ex) {
+            Logger.getLogger(LAICPMSProjectParametersManager.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    private void startMonitoringDataFile() {
+        String extension = "." + rawDataFileHandler.getRawDataFileTemplate().getFileType().getName();
+        rawDataFolderWatcher = new RawDataFolderWatcher(monitoredFolder, extension, 1500, //
+                (List<File> files, long earliestCloseTime) -> {
+                    SwingUtilities.invokeLater(() -> {
+                        System.out.println("Live data: " + files.size() + " new or changed files, first is " + files.get(0).getName());
+                        earliestPendingCloseTime = (earliestPendingCloseTime == 0L) //
+                                ? earliestCloseTime : Math.min(earliestPendingCloseTime, earliestCloseTime);
+                        liveIngestPending = true;
+                        fireLoadDataTaskIfIdle();
+                    });
+                });
+
+        try {
+            rawDataFolderWatcher.start();
+            // initial load of the files already present
+            liveIngestPending = true;
+            SwingUtilities.invokeLater(() -> {
+                fireLoadDataTaskIfIdle();
+            });
+        } catch (IOException iOException) {
+            System.out.println("Watching raw data failed, polling instead " + iOException.getMessage());
+            rawDataFolderWatcher = null;
             dataMonitorTimer = new Timer(2500, (ActionEvent e) -> {
                 monitorDataFile();
             });
 
             dataMonitorTimer.start();
+        }
+    }
 
-        } catch (IOException ex) {
-            Logger.getLogger(LAICPMSProjectParametersManager.class.getName()).log(Level.SEVERE, null, ex);
+    private void stopMonitoringDataFile() {
+        if (rawDataFolderWatcher != null) {
+            rawDataFolderWatcher.close();
+        }
+        if (dataMonitorTimer != null) {
+            dataMonitorTimer.stop();
+        }
+    }
+
+    private void fireLoadDataTaskIfIdle() {
+        if (liveIngestPending && ((loadDataTask == null) || loadDataTask.isDone())) {
+            liveIngestPending = false;
+            fireLoadDataTask();
         }
     }
 
@@ -481,7 +538,7 @@ public class AbstractDataMonitorView extends AbstractRawDataView
             }
             projectManager.updateDataChangeStatus(false);
             projectManager.displaySamples(tripoliSession, tripoliSamplesSorted);
-            dataMonitorTimer.stop();
+            stopMonitoringDataFile();
             dataMonitorViewDialog.dispose();
         });
 
@@ -752,6 +809,9 @@ public class AbstractDataMonitorView extends AbstractRawDataView
 
     private synchronized void loadAndShowRawDataFinishUp() {
         SortedSet<TripoliFraction> tripoliFractionsCurrent;
+        // oct 2026 reference material status of each fraction and the sample names before this update
+        Map<TripoliFraction, Boolean> standardStatusBefore = new HashMap<>();
+        Set<String> sampleNamesBefore = new HashSet<>();
 
         if (savedCountOfFractions == 0) {
 
@@ -780,7 +840,15 @@ public class AbstractDataMonitorView extends AbstractRawDataView
             tripoliSession.setFractionationTechnique(FractionationTechniquesEnum.INTERCEPT);
         } else {
 
-            tripoliFractionsCurrent = rawDataFileHandler.getTripoliFractions();
+            for (TripoliFraction tf : tripoliFractions) {
+                standardStatusBefore.put(tf, tf.isStandard());
+            }
+            for (AbstractTripoliSample tripoliSample : tripoliSamplesSorted) {
+                sampleNamesBefore.add(tripoliSample.getSampleName());
+            }
+
+            tripoliFractionsCurrent = new TreeSet<>(rawDataFileHandler.getTripoliFractions());
+            tripoliFractionsCurrent.removeAll(tripoliFractions);
             tripoliFractions.addAll(tripoliFractionsCurrent);
             rawDataFileHandler.setTripoliFractions(tripoliFractions);
 
@@ -803,12 +871,23 @@ public class AbstractDataMonitorView extends AbstractRawDataView
                 primaryMineralStandard = ReduxLabData.getInstance().getMineralStandardModels().get(3);//3=sri lanka
             } //else {
 
+            // oct 2026 new analyses are appended to the session unless they change its structure
+            boolean sessionStructureChanged = standardStatusBefore.isEmpty()//
+                    || !primaryMineralStandard.equals(tripoliSession.getPrimaryMineralStandard());
+            for (Map.Entry<TripoliFraction, Boolean> standardStatus : standardStatusBefore.entrySet()) {
+                sessionStructureChanged = sessionStructureChanged //
+                        || (standardStatus.getKey().isStandard() != standardStatus.getValue());
+            }
+
             tripoliSession.setPrimaryMineralStandard(primaryMineralStandard);
 
             tripoliSession.getTripoliSamples().get(0).setMineralStandardModel(primaryMineralStandard);
 
-            tripoliSession.prepareFractionTimeStamps();
-            tripoliSession.processRawData(true);
+            if (sessionStructureChanged || !tripoliSession.appendLiveFractions(tripoliFractionsCurrent)) {
+                tripoliSession.prepareFractionTimeStamps();
+                tripoliSession.processRawData(true);
+                tripoliSession.setRefMaterialSessionFittedForLiveMode(false);
+            }
 
             try {
                 loadDataTaskProgressBar.repaint();
@@ -816,9 +895,20 @@ public class AbstractDataMonitorView extends AbstractRawDataView
             } catch (Exception e) {
             }
 
-            project.prepareSamplesForRedux();
+            // only the aliquots of samples with new analyses are given fractions to reduce
+            List<AbstractTripoliSample> samplesWithNewFractions = new ArrayList<>();
+            boolean newSamples = false;
+            for (AbstractTripoliSample tripoliSample : tripoliSamplesSorted) {
+                if (sessionStructureChanged || !Collections.disjoint(tripoliSample.getSampleFractions(), tripoliFractionsCurrent)) {
+                    samplesWithNewFractions.add(tripoliSample);
+                    newSamples = newSamples || !sampleNamesBefore.contains(tripoliSample.getSampleName());
+                }
+            }
+            project.prepareSamplesForRedux(samplesWithNewFractions);
 
-            getuPbReduxFrame().initializeProject(true);
+            if (sessionStructureChanged || newSamples) {
+                getuPbReduxFrame().initializeProject(true);
+            }
 
 ////            updateDisplays("");
             // July 2016 
@@ -838,7 +928,13 @@ public class AbstractDataMonitorView extends AbstractRawDataView
 
             ((ReportAliquotFractionsView) ((TabbedReportViews) reportTableTabbedPane).getViewTabulatedAliquotActiveFractions())
                     .forceVerticalScrollToShowSpecificRow(tripoliFractionsByDate.first().getFractionID());
+
+            if (earliestPendingCloseTime > 0L) {
+                System.out.println("Live data latency from file close to table update = " //
+                        + (System.currentTimeMillis() - earliestPendingCloseTime) + " ms");
+            }
         }
+        earliestPendingCloseTime = 0L;
 
     }
 
@@ -892,6 +988,9 @@ public class AbstractDataMonitorView extends AbstractRawDataView
                 Logger.getLogger(ProjectManagerFor_LAICPMS_FromRawData.class.getName()).log(Level.SEVERE, null, ex);
             }
 
+            // files that settled while loading
+            fireLoadDataTaskIfIdle();
+
         }
     }
 
@@ -199,6 +199,18 @@ public abstract class AbstractFunctionOfX implements Serializable {
      */
     public abstract double[] calculateInterpolatedVariances(Matrix Jf, double[] timesForMatrix);
 
+    /**
+     * The covariance P for which calculateInterpolatedVariances produces
+     * matrixSf = Jf * P * Jf', so that the session can update Sf one fraction
+     * at a time.
+     *
+     * @return P, or null if Sf is not a fixed product of Jf for this fit
+     * function
+     */
+    public Matrix getInterpolationCovariance() {
+        return null;
+    }
+
     /**
      *
      * @param copyFrom
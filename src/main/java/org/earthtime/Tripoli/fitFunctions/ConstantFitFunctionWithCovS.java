@@ -30,7 +30,7 @@ public class ConstantFitFunctionWithCovS implements FitFunctionInterface, Serial
 
     // Class variables
     //private static final long serialVersionUID = -4168711014938748918L;
-    private static ConstantFitFunctionWithCovS instance = null;
+    private static final ConstantFitFunctionWithCovS instance = new ConstantFitFunctionWithCovS();
 
     private ConstantFitFunctionWithCovS() {
         super();
@@ -41,9 +41,6 @@ public class ConstantFitFunctionWithCovS implements FitFunctionInterface, Serial
      * @return
      */
     public static ConstantFitFunctionWithCovS getInstance() {
-        if (instance == null) {
-            instance = new ConstantFitFunctionWithCovS();
-        }
         return instance;
     }
 
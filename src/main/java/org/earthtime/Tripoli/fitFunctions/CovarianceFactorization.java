@@ -0,0 +1,427 @@
+/*
+ * CovarianceFactorization.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.fitFunctions;
+
+import Jama.LUDecomposition;
+import Jama.Matrix;
+
+/**
+ * Factors a covariance matrix once so that the solves, traces and the
+ * log-determinant needed by the Levenberg-Marquardt likelihoods all reuse the
+ * same decomposition. The Cholesky factor is computed from the lower triangle,
+ * so round-off asymmetry of a propagated covariance matrix does not matter. A
+ * matrix that is not positive definite falls back to LU so that callers see
+ * the same results as <code>Matrix.solve</code>.
+ *
+ * A {@link StructuredCovariance} with a positive diagonal is factored through
+ * the Woodbury identity, which only needs the k x k capacitance matrix I + C *
+ * V' * D^-1 * U, so solves cost O(n * k) per right-hand side.
+ *
+ * @author James F. Bowring
+ */
+public class CovarianceFactorization {
+
+    private Matrix covariance;
+    // lower triangular Cholesky factor, or null if the matrix is not positive definite
+    private double[][] L;
+    private LUDecomposition lu;
+    private Matrix inverse;
+
+    // Woodbury terms, non-null only for a structured covariance
+    private double[] inverseDiagonal;
+    private Matrix inverseDiagonalTimesU;
+    private Matrix CVtTimesInverseDiagonal;
+    private LUDecomposition capacitance;
+    // (I + C * V' * D^-1 * U)^-1 * C * V' * D^-1, computed once when needed
+    private Matrix capacitanceSolveCVtTimesInverseDiagonal;
+
+    /**
+     *
+     * @param covariance symmetric covariance matrix
+     */
+    public CovarianceFactorization(Matrix covariance) {
+        factorDense(covariance);
+    }
+
+    /**
+     *
+     * @param structuredCovariance
+     */
+    public CovarianceFactorization(StructuredCovariance structuredCovariance) {
+        double[] d = structuredCovariance.getDiagonal();
+        boolean positiveDiagonal = true;
+        for (int i = 0; i < d.length; i++) {
+            positiveDiagonal = positiveDiagonal && (d[i] > 0.0);
+        }
+
+        if (positiveDiagonal) {
+            double[] dInv = new double[d.length];
+            for (int i = 0; i < d.length; i++) {
+                dInv[i] = 1.0 / d[i];
+            }
+            this.inverseDiagonal = dInv;
+
+            int k = structuredCovariance.getRank();
+            if (k > 0) {
+                Matrix U = structuredCovariance.getU();
+                inverseDiagonalTimesU = scaleRows(U, dInv);
+                CVtTimesInverseDiagonal = structuredCovariance.getC().times(scaleRows(structuredCovariance.getV(), dInv).transpose());
+                capacitance = new LUDecomposition(Matrix.identity(k, k).plus(CVtTimesInverseDiagonal.times(U)));
+                if (!capacitance.isNonsingular()) {
+                    inverseDiagonal = null;
+                    capacitance = null;
+                }
+            }
+        }
+
+        if (inverseDiagonal == null) {
+            factorDense(structuredCovariance.toMatrix());
+        }
+    }
+
+    private void factorDense(Matrix covariance) {
+        this.covariance = covariance;
+
+        double[][] choleskyFactor = choleskyFactor(covariance.getArray());
+        if (choleskyFactor != null) {
+            this.L = choleskyFactor;
+            this.lu = null;
+        } else {
+            this.L = null;
+            this.lu = new LUDecomposition(covariance);
+        }
+        this.inverse = null;
+    }
+
+    private static double[][] choleskyFactor(double[][] A) {
+        int n = A.length;
+        double[][] factor = new double[n][n];
+        for (int j = 0; j < n; j++) {
+            double[] Lrowj = factor[j];
+            double d = 0.0;
+            for (int k = 0; k < j; k++) {
+                double[] Lrowk = factor[k];
+                double s = 0.0;
+                for (int i = 0; i < k; i++) {
+                    s += Lrowk[i] * Lrowj[i];
+                }
+                s = (A[j][k] - s) / factor[k][k];
+                Lrowj[k] = s;
+                d += s * s;
+            }
+            d = A[j][j] - d;
+            if (!(d > 0.0)) {
+                return null;
+            }
+            factor[j][j] = Math.sqrt(d);
+        }
+        return factor;
+    }
+
+    /**
+     *
+     * @return the factored dense matrix, or null for the Woodbury form
+     */
+    public Matrix getCovariance() {
+        return covariance;
+    }
+
+    /**
+     *
+     * @return true unless the matrix fell back to LU
+     */
+    public boolean isPositiveDefinite() {
+        return (L != null) || (inverseDiagonal != null);
+    }
+
+    /**
+     *
+     * @param B right-hand side
+     * @return S^-1 * B
+     */
+    public Matrix solve(Matrix B) {
+        Matrix retVal;
+        if (inverseDiagonal != null) {
+            retVal = scaleRows(B, inverseDiagonal);
+            if (capacitance != null) {
+                retVal.minusEquals(inverseDiagonalTimesU.times(capacitance.solve(CVtTimesInverseDiagonal.times(B))));
+            }
+        } else if (L != null) {
+            int n = L.length;
+            int nx = B.getColumnDimension();
+            Matrix X = B.copy();
+            double[][] x = X.getArray();
+
+            // L * Y = B
+            for (int k = 0; k < n; k++) {
+                double[] xk = x[k];
+                for (int i = 0; i < k; i++) {
+                    double lki = L[k][i];
+                    double[] xi = x[i];
+                    for (int j = 0; j < nx; j++) {
+                        xk[j] -= xi[j] * lki;
+                    }
+                }
+                for (int j = 0; j < nx; j++) {
+                    xk[j] /= L[k][k];
+                }
+            }
+            // L' * X = Y
+            for (int k = n - 1; k >= 0; k--) {
+                double[] xk = x[k];
+                for (int i = k + 1; i < n; i++) {
+                    double lik = L[i][k];
+                    double[] xi = x[i];
+                    for (int j = 0; j < nx; j++) {
+                        xk[j] -= xi[j] * lik;
+                    }
+                }
+                for (int j = 0; j < nx; j++) {
+                    xk[j] /= L[k][k];
+                }
+            }
+            retVal = X;
+        } else {
+            retVal = lu.solve(B);
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @return S^-1, computed once from the factorization
+     */
+    public Matrix getInverse() {
+        if (inverse == null) {
+            if (inverseDiagonal != null) {
+                inverse = inverseFromWoodbury();
+            } else if (L != null) {
+                inverse = inverseFromCholeskyFactor();
+            } else {
+                int n = covariance.getRowDimension();
+                inverse = lu.solve(Matrix.identity(n, n));
+            }
+        }
+        return inverse;
+    }
+
+    private Matrix inverseFromWoodbury() {
+        int n = inverseDiagonal.length;
+        Matrix inv;
+        if (capacitance != null) {
+            inv = inverseDiagonalTimesU.times(getCapacitanceSolveCVtTimesInverseDiagonal()).times(-1.0);
+        } else {
+            inv = new Matrix(n, n);
+        }
+        double[][] invArray = inv.getArray();
+        for (int i = 0; i < n; i++) {
+            invArray[i][i] += inverseDiagonal[i];
+        }
+        return inv;
+    }
+
+    private Matrix inverseFromCholeskyFactor() {
+        int n = L.length;
+
+        // lower triangular L^-1
+        double[][] Linv = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            double[] row = Linv[i];
+            for (int k = 0; k < i; k++) {
+                double lik = L[i][k];
+                double[] rowk = Linv[k];
+                for (int j = 0; j <= k; j++) {
+                    row[j] -= lik * rowk[j];
+                }
+            }
+            for (int j = 0; j < i; j++) {
+                row[j] /= L[i][i];
+            }
+            row[i] = 1.0 / L[i][i];
+        }
+
+        // S^-1 = L^-T * L^-1, lower half then mirrored
+        double[][] inv = new double[n][n];
+        for (int k = 0; k < n; k++) {
+            double[] rowk = Linv[k];
+            for (int i = 0; i <= k; i++) {
+                double a = rowk[i];
+                double[] invi = inv[i];
+                for (int j = 0; j <= i; j++) {
+                    invi[j] += a * rowk[j];
+                }
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                inv[j][i] = inv[i][j];
+            }
+        }
+        return new Matrix(inv);
+    }
+
+    private Matrix getCapacitanceSolveCVtTimesInverseDiagonal() {
+        if (capacitanceSolveCVtTimesInverseDiagonal == null) {
+            capacitanceSolveCVtTimesInverseDiagonal = capacitance.solve(CVtTimesInverseDiagonal);
+        }
+        return capacitanceSolveCVtTimesInverseDiagonal;
+    }
+
+    /**
+     * For the Woodbury form S^-1 = D^-1 - A * B, with A = D^-1 * U, the trace
+     * is taken from the k x k product B * A without forming S^-1.
+     *
+     * @return trace(S^-1)
+     */
+    public double getTraceOfInverse() {
+        double trace;
+        if (inverseDiagonal != null) {
+            trace = 0.0;
+            for (int i = 0; i < inverseDiagonal.length; i++) {
+                trace += inverseDiagonal[i];
+            }
+            if (capacitance != null) {
+                trace -= getCapacitanceSolveCVtTimesInverseDiagonal().times(inverseDiagonalTimesU).trace();
+            }
+        } else {
+            trace = getInverse().trace();
+        }
+        return trace;
+    }
+
+    /**
+     * For the Woodbury form, trace((D^-1 - A * B)^2) = trace(D^-2) - 2 *
+     * trace(D^-1 * A * B) + trace((B * A)^2), which costs O(n * k^2).
+     *
+     * @return trace(S^-1 * S^-1) without forming the product
+     */
+    public double getTraceOfInverseSquared() {
+        if (inverseDiagonal != null) {
+            double trace = 0.0;
+            for (int i = 0; i < inverseDiagonal.length; i++) {
+                trace += inverseDiagonal[i] * inverseDiagonal[i];
+            }
+            if (capacitance != null) {
+                double[][] A = inverseDiagonalTimesU.getArray();
+                double[][] B = getCapacitanceSolveCVtTimesInverseDiagonal().getArray();
+                for (int i = 0; i < A.length; i++) {
+                    double ABii = 0.0;
+                    for (int j = 0; j < B.length; j++) {
+                        ABii += A[i][j] * B[j][i];
+                    }
+                    trace -= 2.0 * inverseDiagonal[i] * ABii;
+                }
+                Matrix BA = getCapacitanceSolveCVtTimesInverseDiagonal().times(inverseDiagonalTimesU);
+                trace += BA.times(BA).trace();
+            }
+            return trace;
+        }
+
+        double[][] inv = getInverse().getArray();
+        double trace = 0.0;
+        for (int i = 0; i < inv.length; i++) {
+            for (int j = 0; j < inv.length; j++) {
+                trace += inv[i][j] * inv[j][i];
+            }
+        }
+        return trace;
+    }
+
+    /**
+     *
+     * @param r column vector
+     * @return r' * S^-1 * r
+     */
+    public double quadraticForm(Matrix r) {
+        double retVal;
+        if (inverseDiagonal != null) {
+            retVal = dot(r, solve(r));
+        } else if (L != null) {
+            // r' * S^-1 * r = |L^-1 * r|^2 needs only the forward substitution
+            int n = L.length;
+            double[] y = r.getColumnPackedCopy();
+            retVal = 0.0;
+            for (int k = 0; k < n; k++) {
+                for (int i = 0; i < k; i++) {
+                    y[k] -= y[i] * L[k][i];
+                }
+                y[k] /= L[k][k];
+                retVal += y[k] * y[k];
+            }
+        } else {
+            retVal = dot(r, lu.solve(r));
+        }
+        return retVal;
+    }
+
+    /**
+     * The log-determinant comes from the diagonal of the Cholesky factor, or
+     * for the Woodbury form from the diagonal and the capacitance matrix. For
+     * a matrix that is not positive definite, the log of the absolute value
+     * of the LU determinant is returned.
+     *
+     * @return log(det(S))
+     */
+    public double getLogDeterminant() {
+        double logDeterminant = 0.0;
+        if (inverseDiagonal != null) {
+            for (int i = 0; i < inverseDiagonal.length; i++) {
+                logDeterminant -= Math.log(inverseDiagonal[i]);
+            }
+            if (capacitance != null) {
+                logDeterminant += Math.log(Math.abs(capacitance.det()));
+            }
+        } else if (L != null) {
+            for (int i = 0; i < L.length; i++) {
+                logDeterminant += Math.log(L[i][i]);
+            }
+            logDeterminant *= 2.0;
+        } else {
+            logDeterminant = Math.log(Math.abs(lu.det()));
+        }
+        return logDeterminant;
+    }
+
+    static Matrix scaleRows(Matrix X, double[] v) {
+        Matrix retVal = X.copy();
+        double[][] x = retVal.getArray();
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[i].length; j++) {
+                x[i][j] *= v[i];
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param a column vector
+     * @param b column vector
+     * @return a' * b
+     */
+    public static double dot(Matrix a, Matrix b) {
+        double[][] aArray = a.getArray();
+        double[][] bArray = b.getArray();
+        double sum = 0.0;
+        for (int i = 0; i < aArray.length; i++) {
+            sum += aArray[i][0] * bArray[i][0];
+        }
+        return sum;
+    }
+}
@@ -31,7 +31,7 @@ public class ExponentialFitFunction implements FitFunctionInterface, Serializabl
 
     // Class variables
     private static final long serialVersionUID = 6722241296005085870L;
-    private static ExponentialFitFunction instance = null;
+    private static final ExponentialFitFunction instance = new ExponentialFitFunction();
 
     private ExponentialFitFunction () {
         super();
@@ -42,9 +42,6 @@ public class ExponentialFitFunction implements FitFunctionInterface, Serializabl
      * @return
      */
     public static ExponentialFitFunction getInstance () {
-        if ( instance == null ) {
-            instance = new ExponentialFitFunction();
-        }
         return instance;
     }
 
@@ -18,7 +18,6 @@
  */
 package org.earthtime.Tripoli.fitFunctions;
 
-import Jama.EigenvalueDecomposition;
 import Jama.Matrix;
 import java.io.Serializable;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
@@ -32,8 +31,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
     // Class variables
     private static final long serialVersionUID = -7497190229192384278L;
-    private static LevenbergMarquardGeneralSolverWithCovS instance = null;
-    private AbstractOverDispersionLMAlgorithm overDispersionLMAlgorithm;
+    private static final LevenbergMarquardGeneralSolverWithCovS instance = new LevenbergMarquardGeneralSolverWithCovS();
 
     private LevenbergMarquardGeneralSolverWithCovS() {
         super();
@@ -44,18 +42,27 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
      * @return
      */
     public static LevenbergMarquardGeneralSolverWithCovS getInstance() {
-        if (instance == null) {
-            instance = new LevenbergMarquardGeneralSolverWithCovS();
-        }
         return instance;
     }
 
+    /**
+     * Fits the MEAN with overdispersion; used as the fallback fit by
+     * SmoothingSplineWithCov.
+     *
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovMatrixS
+     * @param calculateHatMatrix
+     * @return
+     */
     @Override
     public AbstractFunctionOfX getFunctionOfX(boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, boolean calculateHatMatrix) {
 
-        exerciseAlgorithm();
+        AbstractOverDispersionLMAlgorithm algorithmForMEAN = getSelectedLMAlgorithm(//
+                FitFunctionTypeEnum.MEAN, dataActiveMap, xValues, yValues, MeasuredCovMatrixS, calculateHatMatrix);
 
-        return overDispersionLMAlgorithm.getInitialFofX();
+        return (algorithmForMEAN.getFinalFofX() != null) ? algorithmForMEAN.getFinalFofX() : algorithmForMEAN.getInitialFofX();
     }
 
     /**
@@ -76,7 +83,35 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             Matrix MeasuredCovMatrixS,//
             boolean calculateHatMatrix) {
 
-        overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
+        return getSelectedLMAlgorithm(fitFunctionType, dataActiveMap, xValues, yValues, MeasuredCovMatrixS, null, calculateHatMatrix);
+    }
+
+    /**
+     * Oct 2026 the iterations factor the structured form of the measured
+     * covariance, when there is one, through the Woodbury identity; the
+     * dense form is used for the initial fit.
+     *
+     * @param fitFunctionType
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovMatrixS
+     * @param MeasuredStructuredCovS structured form of MeasuredCovMatrixS,
+     * or null
+     * @param calculateHatMatrix
+     * @return
+     */
+    public AbstractOverDispersionLMAlgorithm getSelectedLMAlgorithm(//
+            FitFunctionTypeEnum fitFunctionType,//
+            boolean[] dataActiveMap, //
+            double[] xValues, //
+            double[] yValues, //
+            Matrix MeasuredCovMatrixS,//
+            StructuredCovariance MeasuredStructuredCovS,//
+            boolean calculateHatMatrix) {
+
+        AbstractOverDispersionLMAlgorithm overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
+        overDispersionLMAlgorithm.MeasuredStructuredCovS = MeasuredStructuredCovS;
 
         overDispersionLMAlgorithm.coldInitializeFunctionAlgorithm(//
                 dataActiveMap, xValues, yValues, MeasuredCovMatrixS);
@@ -84,7 +119,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
         if ((fitFunctionType.compareTo(FitFunctionTypeEnum.EXPFAST) != 0)//
                 && //
                 (overDispersionLMAlgorithm.getInitialFofX().getMSWD() >= 1.0)) {
-            exerciseAlgorithm();
+            exerciseAlgorithm(overDispersionLMAlgorithm);
         } else {
             overDispersionLMAlgorithm.assignMatrixJypToFitFunctions();
         }
@@ -112,17 +147,45 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             boolean calculateHatMatrix,
             AbstractFunctionOfX initialFofX) {
 
-        overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
+        return getSelectedLMAlgorithmUsingIntialFofX(//
+                fitFunctionType, dataActiveMap, xValues, yValues, MeasuredCovMatrixS, null, calculateHatMatrix, initialFofX);
+    }
+
+    /**
+     *
+     * @param fitFunctionType
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovMatrixS
+     * @param MeasuredStructuredCovS structured form of MeasuredCovMatrixS,
+     * or null
+     * @param calculateHatMatrix
+     * @param initialFofX
+     * @return
+     */
+    public AbstractOverDispersionLMAlgorithm getSelectedLMAlgorithmUsingIntialFofX(//
+            FitFunctionTypeEnum fitFunctionType,//
+            boolean[] dataActiveMap, //
+            double[] xValues, //
+            double[] yValues, //
+            Matrix MeasuredCovMatrixS,//
+            StructuredCovariance MeasuredStructuredCovS,//
+            boolean calculateHatMatrix,
+            AbstractFunctionOfX initialFofX) {
+
+        AbstractOverDispersionLMAlgorithm overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
+        overDispersionLMAlgorithm.MeasuredStructuredCovS = MeasuredStructuredCovS;
 
         overDispersionLMAlgorithm.hotInitializeFunctionAlgorithm(//
                 dataActiveMap, xValues, yValues, MeasuredCovMatrixS, initialFofX);
 
-        exerciseAlgorithm();
+        exerciseAlgorithm(overDispersionLMAlgorithm);
 
         return overDispersionLMAlgorithm;
     }
 
-    private AbstractFunctionOfX exerciseAlgorithm() {
+    private AbstractFunctionOfX exerciseAlgorithm(AbstractOverDispersionLMAlgorithm overDispersionLMAlgorithm) {
 
         // determine count of datapoints to be used
         System.out.println("LM is attempting to fit using " + overDispersionLMAlgorithm.getClass().getSimpleName());
@@ -130,7 +193,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
         Matrix yHat = overDispersionLMAlgorithm.calcYHat();
 
-        Matrix Sod = overDispersionLMAlgorithm.calcSod();
+        CovarianceFactorization Sod = overDispersionLMAlgorithm.calcSod();
 
         Matrix yValuesMatrix = overDispersionLMAlgorithm.makeYValuesMatrix();
         Matrix r = yValuesMatrix.minus(yHat);
@@ -178,7 +241,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
                 yHat = overDispersionLMAlgorithm.calcYHat();
 
-                Matrix SodNew = overDispersionLMAlgorithm.calcSod();
+                CovarianceFactorization SodNew = overDispersionLMAlgorithm.calcSod();
 
                 Matrix rNew = yValuesMatrix.minus(yHat);
 
@@ -205,11 +268,10 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
                             FofX.setMatrixJ11(overDispersionLMAlgorithm.getInitialFofX().getMatrixJ11());
 
                             FofX.setFitParameterCovarianceMatrix(H.inverse());
-                            FofX.setMSWD(rNew.transpose().times(//
-                                    SodNew.solve(rNew)).get(0, 0)//
+                            FofX.setMSWD(SodNew.quadraticForm(rNew)//
                                     / (double) (countOfActiveData - overDispersionLMAlgorithm.getM()));
                             // if solved use this definition of L for expMatNoOD
-                            L = r.transpose().times(SodNew.solve(rNew)).get(0, 0) + overDispersionLMAlgorithm.reduxMatrixLogDeterminant(SodNew);
+                            L = CovarianceFactorization.dot(r, SodNew.solve(rNew)) + overDispersionLMAlgorithm.reduxMatrixLogDeterminant(SodNew);
                             FofX.setBIC(-2.0 * L + ((double) overDispersionLMAlgorithm.getM()) * Math.log(countOfActiveData));
                             FofX.setNegativeLogLikelihood(L);
                             FofX.setOverDispersionSelected(false);
@@ -232,8 +294,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
                             FofX.setMatrixJ11(overDispersionLMAlgorithm.getInitialFofX().getMatrixJ11());
 
                             FofX.setFitParameterCovarianceMatrix(H.inverse());
-                            FofX.setMSWD(rNew.transpose().times(//
-                                    SodNew.solve(rNew)).get(0, 0)//
+                            FofX.setMSWD(SodNew.quadraticForm(rNew)//
                                     / (double) (countOfActiveData - overDispersionLMAlgorithm.getM()));
                             FofX.setBIC(-2.0 * L + ((double) overDispersionLMAlgorithm.getM()) * Math.log(countOfActiveData));
                             FofX.setNegativeLogLikelihood(L);
@@ -319,6 +380,11 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          */
         protected Matrix MeasuredCovMatrixS;
 
+        /**
+         * structured form of MeasuredCovMatrixS, or null
+         */
+        protected transient StructuredCovariance MeasuredStructuredCovS;
+
         /**
          *
          */
@@ -342,12 +408,12 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
         /**
          *
          */
-        protected Matrix SodInv;
+        protected Matrix SodInvR;
 
         /**
-         *
+         * Factorization of MeasuredCovMatrixS, shared by the Jacobians
          */
-        protected Matrix SodInvR;
+        protected transient CovarianceFactorization MeasuredCovSFactorization;
         // the isnatnce that will cerate the fit function
 
         /**
@@ -503,16 +569,47 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          * @param r
          * @param Sod
          */
-        protected void calcGH(Matrix r, Matrix Sod) {
-            SodInv = Sod.inverse();
+        protected void calcGH(Matrix r, CovarianceFactorization Sod) {
             SodInvR = Sod.solve(r);
         }
 
         /**
+         * Factors S + overDispersion * I, through the Woodbury identity when
+         * the measured covariance is structured.
          *
+         * @param overDispersion
          * @return
          */
-        protected abstract Matrix calcSod();
+        protected CovarianceFactorization factorizeSod(double overDispersion) {
+            CovarianceFactorization retVal;
+            if (MeasuredStructuredCovS != null) {
+                retVal = MeasuredStructuredCovS.plusDiagonal(overDispersion).factorize();
+            } else {
+                retVal = new CovarianceFactorization(MeasuredCovMatrixS.plus( //
+                        Matrix.identity(yValues.length, yValues.length)//
+                        .times(overDispersion)));
+            }
+            return retVal;
+        }
+
+        /**
+         * Factors MeasuredCovMatrixS once.
+         *
+         * @return
+         */
+        protected CovarianceFactorization factorizeMeasuredCovS() {
+            if (MeasuredCovSFactorization == null) {
+                MeasuredCovSFactorization = (MeasuredStructuredCovS != null) //
+                        ? MeasuredStructuredCovS.factorize() : new CovarianceFactorization(MeasuredCovMatrixS);
+            }
+            return MeasuredCovSFactorization;
+        }
+
+        /**
+         *
+         * @return the factored Sod
+         */
+        protected abstract CovarianceFactorization calcSod();
 
         /**
          *
@@ -520,25 +617,18 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          * @param Sod
          * @return
          */
-        protected abstract double calcL(Matrix r, Matrix Sod);
+        protected abstract double calcL(Matrix r, CovarianceFactorization Sod);
 
         /**
          *
          * @param S
          * @return
          */
-        protected double reduxMatrixLogDeterminant(Matrix S) {
-            double det = 0.0;
-
-            EigenvalueDecomposition ed = S.eig();
-            double[] realEigenvalues = ed.getRealEigenvalues();
-
-            double sumOfLogEigenvalues = 0.0;
-            for (int i = 0; i < realEigenvalues.length; i++) {
-                sumOfLogEigenvalues += Math.log(realEigenvalues[i]);
-            }
-
-            return det;
+        protected double reduxMatrixLogDeterminant(CovarianceFactorization S) {
+            // the legacy eigenvalue sum was never returned, so L has always
+            // been taken without the log-determinant; S.getLogDeterminant()
+            // gives it should that be changed on its own merits
+            return 0.0;
         }
 
         /**
@@ -629,29 +719,27 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          *
          */
         @Override
-        protected Matrix calcSod() {
-            return MeasuredCovMatrixS.plus( //
-                    Matrix.identity(yValues.length, yValues.length)//
-                    .times(getOverDispersion()));
+        protected CovarianceFactorization calcSod() {
+            return factorizeSod(getOverDispersion());
         }
 
         @Override
-        protected double calcL(Matrix r, Matrix Sod) {
-            return 0.5 * (r.transpose().times(Sod.solve(r)).get(0, 0) + reduxMatrixLogDeterminant(Sod));//   Math.log(Sod.det()));
+        protected double calcL(Matrix r, CovarianceFactorization Sod) {
+            return 0.5 * (Sod.quadraticForm(r) + reduxMatrixLogDeterminant(Sod));
         }
 
         @Override
-        protected void calcGH(Matrix r, Matrix Sod) {
+        protected void calcGH(Matrix r, CovarianceFactorization Sod) {
             super.calcGH(r, Sod);
 
             G.set(0, 0, -1.0 * onesV.transpose().times(SodInvR).get(0, 0));
-            G.set(1, 0, -0.5 * ((SodInvR.times(SodInvR.transpose())).trace() - SodInv.trace()));
+            G.set(1, 0, -0.5 * (CovarianceFactorization.dot(SodInvR, SodInvR) - Sod.getTraceOfInverse()));
 
             Matrix SodInv1 = Sod.solve(onesV);
             H.set(0, 0, onesV.transpose().times(SodInv1).get(0, 0));
-            H.set(0, 1, SodInv1.times(SodInvR.transpose()).trace());
+            H.set(0, 1, CovarianceFactorization.dot(SodInv1, SodInvR));
             H.set(1, 0, H.get(0, 1));
-            H.set(1, 1, (Sod.solve(SodInvR.times(SodInvR.transpose()))).trace() - 0.5 * (SodInv.times(SodInv)).trace());
+            H.set(1, 1, CovarianceFactorization.dot(SodInvR, Sod.solve(SodInvR)) - 0.5 * Sod.getTraceOfInverseSquared());
 
         }
 
@@ -704,36 +792,37 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          *
          */
         @Override
-        protected Matrix calcSod() {
-            return MeasuredCovMatrixS.plus( //
-                    Matrix.identity(yValues.length, yValues.length)//
-                    .times(getOverDispersion()));
+        protected CovarianceFactorization calcSod() {
+            return factorizeSod(getOverDispersion());
         }
 
         @Override
-        protected double calcL(Matrix r, Matrix Sod) {
-            return 0.5 * (r.transpose().times(Sod.solve(r)).get(0, 0) + reduxMatrixLogDeterminant(Sod)); //Math.log(Sod.det()));
+        protected double calcL(Matrix r, CovarianceFactorization Sod) {
+            return 0.5 * (Sod.quadraticForm(r) + reduxMatrixLogDeterminant(Sod));
         }
 
         @Override
-        protected void calcGH(Matrix r, Matrix Sod) {
+        protected void calcGH(Matrix r, CovarianceFactorization Sod) {
             super.calcGH(r, Sod);
 
             Matrix t = new Matrix(xValues.clone(), xValues.length);
             onesVt = new Matrix(onesV.getRowDimension(), 2, 1.0);
             onesVt.setMatrix(0, onesV.getRowDimension() - 1, 1, 1, t);
 
+
             G.setMatrix(0, 1, 0, 0, onesVt.transpose().times(SodInvR).times(-1.0));
-            G.set(2, 0, -0.5 * ((SodInvR.times(SodInvR.transpose())).trace() - SodInv.trace()));
+            G.set(2, 0, -0.5 * (CovarianceFactorization.dot(SodInvR, SodInvR) - Sod.getTraceOfInverse()));
 
-            Matrix SodInv1 = Sod.solve(onesV);
+            Matrix SodInvOnesVt = Sod.solve(onesVt);
+            Matrix SodInv1 = SodInvOnesVt.getMatrix(0, onesV.getRowDimension() - 1, 0, 0);
+            Matrix SodInvT = SodInvOnesVt.getMatrix(0, onesV.getRowDimension() - 1, 1, 1);
 
-            H.setMatrix(0, 1, 0, 1, onesVt.transpose().times(Sod.solve(onesVt)));
-            H.set(0, 2, (SodInv1.times(SodInvR.transpose())).trace());
+            H.setMatrix(0, 1, 0, 1, onesVt.transpose().times(SodInvOnesVt));
+            H.set(0, 2, CovarianceFactorization.dot(SodInv1, SodInvR));
             H.set(2, 0, H.get(0, 2));
-            H.set(1, 2, (Sod.solve(t).times(SodInvR.transpose())).trace());
+            H.set(1, 2, CovarianceFactorization.dot(SodInvT, SodInvR));
             H.set(2, 1, H.get(1, 2));
-            H.set(2, 2, (Sod.solve(SodInvR.times(SodInvR.transpose()))).trace() - 0.5 * (SodInv.times(SodInv)).trace());
+            H.set(2, 2, CovarianceFactorization.dot(SodInvR, Sod.solve(SodInvR)) - 0.5 * Sod.getTraceOfInverseSquared());
 
         }
 
@@ -801,19 +890,17 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          *
          */
         @Override
-        protected Matrix calcSod() {
-            return MeasuredCovMatrixS.plus( //
-                    Matrix.identity(yValues.length, yValues.length)//
-                    .times(getOverDispersion()));
+        protected CovarianceFactorization calcSod() {
+            return factorizeSod(getOverDispersion());
         }
 
         @Override
-        protected double calcL(Matrix r, Matrix Sod) {
-            return 0.5 * (r.transpose().times(Sod.solve(r)).get(0, 0) + reduxMatrixLogDeterminant(Sod)); //Math.log(Sod.det()));
+        protected double calcL(Matrix r, CovarianceFactorization Sod) {
+            return 0.5 * (Sod.quadraticForm(r) + reduxMatrixLogDeterminant(Sod));
         }
 
         @Override
-        protected void calcGH(Matrix r, Matrix Sod) {
+        protected void calcGH(Matrix r, CovarianceFactorization Sod) {
             super.calcGH(r, Sod);
 
             double[] JaValues = xValues.clone();
@@ -838,7 +925,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             Matrix SodInvJabc = Sod.solve(Jabc);
 
             G.setMatrix(0, 2, 0, 0, Jabc.transpose().times(SodInvR).times(-1.0));
-            G.set(3, 0, (-0.5) * (SodInvR.transpose().times(SodInvR).get(0, 0) - SodInv.trace()));
+            G.set(3, 0, (-0.5) * (CovarianceFactorization.dot(SodInvR, SodInvR) - Sod.getTraceOfInverse()));
 
             H.setMatrix(0, 2, 0, 2, Jabc.transpose().times(SodInvJabc));
             H.set(1, 1, H.get(1, 1) - SodInvR.transpose().times(Jbb).get(0, 0));
@@ -846,7 +933,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             H.set(1, 0, H.get(0, 1));
             H.setMatrix(0, 2, 3, 3, SodInvJabc.transpose().times(SodInvR));
             H.setMatrix(3, 3, 0, 2, H.getMatrix(0, 2, 3, 3).transpose());
-            H.set(3, 3, Sod.solve(SodInvR.times(SodInvR.transpose())).trace() - (0.5) * SodInv.times(SodInv).trace());
+            H.set(3, 3, CovarianceFactorization.dot(SodInvR, Sod.solve(SodInvR)) - (0.5) * Sod.getTraceOfInverseSquared());
 
         }
 
@@ -874,8 +961,8 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
             // nov 2014
             Matrix Jyintp = new Matrix(new double[]{1.0, 0.0, 1.0}, 1);
-            Matrix SlrXY = overDispersionLMAlgorithm.getMeasuredCovMatrixS();
-            Matrix MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXY.solve(Jabc)).solve(Jabc.transpose().times(SlrXY.inverse())));
+            Matrix SlrXYInvJabc = factorizeMeasuredCovS().solve(Jabc);
+            Matrix MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXYInvJabc).solve(SlrXYInvJabc.transpose()));
 
             if (initialFofX != null) {
                 initialFofX.setMatrixJyp(Jabc);
@@ -894,7 +981,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
         public ExponentialFastNoOD() {
             super(3);
 
-            initialFuncFit = LevenbergMarquardGeneralSolverWithCovS.getInstance();
+            initialFuncFit = new AlgorithmFitFunction(this);
         }
 
         @Override
@@ -927,17 +1014,17 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          *
          */
         @Override
-        protected Matrix calcSod() {
+        protected CovarianceFactorization calcSod() {
             return null; // not used, so this should not hit
         }
 
         @Override
-        protected double calcL(Matrix r, Matrix Sod) {
+        protected double calcL(Matrix r, CovarianceFactorization Sod) {
             return r.transpose().times(r).get(0, 0);
         }
 
         @Override
-        protected void calcGH(Matrix r, Matrix Sod) {
+        protected void calcGH(Matrix r, CovarianceFactorization Sod) {
             double[] JaValues = xValues.clone();
             for (int i = 0; i < JaValues.length; i++) {
                 JaValues[i] = Math.exp(JaValues[i] * pod[1]);
@@ -990,8 +1077,8 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             Jabc.setMatrix(0, n - 1, 2, 2, onesV);
 
             Matrix Jyintp = new Matrix(new double[]{1.0, 0.0, 1.0}, 1);
-            Matrix SlrXY = overDispersionLMAlgorithm.getMeasuredCovMatrixS();
-            Matrix MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXY.solve(Jabc)).solve(Jabc.transpose().times(SlrXY.inverse())));
+            Matrix SlrXYInvJabc = factorizeMeasuredCovS().solve(Jabc);
+            Matrix MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXYInvJabc).solve(SlrXYInvJabc.transpose()));
 
             if (initialFofX != null) {
                 initialFofX.setMatrixJyp(Jabc);
@@ -1011,7 +1098,7 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
         public ExponentialMatNoOD() {
             super(3);
 
-            initialFuncFit = LevenbergMarquardGeneralSolverWithCovS.getInstance();
+            initialFuncFit = new AlgorithmFitFunction(this);
         }
 
         @Override
@@ -1044,22 +1131,22 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
          *
          */
         @Override
-        protected Matrix calcSod() {
-            return MeasuredCovMatrixS;
+        protected CovarianceFactorization calcSod() {
+            return factorizeMeasuredCovS();
         }
 
         @Override
-        protected double calcL(Matrix r, Matrix Sod) {
+        protected double calcL(Matrix r, CovarianceFactorization Sod) {
             double L = 0.0;
             try {
-                L = r.transpose().times(Sod.solve(r)).get(0, 0);// + Math.log(MeasuredCovMatrixS.det());
+                L = Sod.quadraticForm(r);// + Math.log(MeasuredCovMatrixS.det());
             } catch (Exception e) {
             }
             return L;
         }
 
         @Override
-        protected void calcGH(Matrix r, Matrix Sod) {
+        protected void calcGH(Matrix r, CovarianceFactorization Sod) {
             double[] JaValues = xValues.clone();
             for (int i = 0; i < JaValues.length; i++) {
                 JaValues[i] = Math.exp(JaValues[i] * pod[1]);
@@ -1114,10 +1201,10 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
 
             // nov 2014
             Matrix Jyintp = new Matrix(new double[]{1.0, 0.0, 1.0}, 1);
-            Matrix SlrXY = overDispersionLMAlgorithm.getMeasuredCovMatrixS();
             Matrix MatrixJacobianYInterceptLogRatioXY = new Matrix(1, n, 0.0);
             try {
-                MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXY.solve(Jabc)).solve(Jabc.transpose().times(SlrXY.inverse())));
+                Matrix SlrXYInvJabc = factorizeMeasuredCovS().solve(Jabc);
+                MatrixJacobianYInterceptLogRatioXY = Jyintp.times(Jabc.transpose().times(SlrXYInvJabc).solve(SlrXYInvJabc.transpose()));
             } catch (Exception e) {
             }
             if (initialFofX != null) {
@@ -1132,6 +1219,27 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
         }
     }
 
+    /**
+     * Primes EXPFAST and EXPMAT by exercising the algorithm itself, which
+     * keeps every fit on its own algorithm instance.
+     */
+    private class AlgorithmFitFunction implements FitFunctionInterface, Serializable {
+
+        private final AbstractOverDispersionLMAlgorithm algorithm;
+
+        public AlgorithmFitFunction(AbstractOverDispersionLMAlgorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public AbstractFunctionOfX getFunctionOfX(boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, boolean calculateHatMatrix) {
+
+            exerciseAlgorithm(algorithm);
+
+            return algorithm.getInitialFofX();
+        }
+    }
+
     private AbstractOverDispersionLMAlgorithm odFunctionFactory(FitFunctionTypeEnum fitFunctionType) {
 
         AbstractOverDispersionLMAlgorithm odFunction = null;
@@ -1189,6 +1297,11 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             return stdVariances;
         }
 
+        @Override
+        public Matrix getInterpolationCovariance() {
+            return fitParameterCovarianceMatrix.getMatrix(0, 0, 0, 0);
+        }
+
         @Override
         public double getYIntercept() {
             return a;
@@ -1291,6 +1404,11 @@ public class LevenbergMarquardGeneralSolverWithCovS implements FitFunctionInterf
             return stdVariances;
         }
 
+        @Override
+        public Matrix getInterpolationCovariance() {
+            return fitParameterCovarianceMatrix.getMatrix(0, 1, 0, 1);
+        }
+
         @Override
         public double getYIntercept() {
             return b;
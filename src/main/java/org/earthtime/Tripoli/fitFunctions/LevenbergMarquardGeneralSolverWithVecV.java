@@ -32,8 +32,7 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
 
     // Class variables
     //private static final long serialVersionUID = -7497190229192384278L;
-    private static LevenbergMarquardGeneralSolverWithVecV instance = null;
-    private AbstractOverDispersionLMVecAlgorithm overDispersionLMAlgorithm;
+    private static final LevenbergMarquardGeneralSolverWithVecV instance = new LevenbergMarquardGeneralSolverWithVecV();
 
     private LevenbergMarquardGeneralSolverWithVecV() {
         super();
@@ -44,18 +43,27 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
      * @return
      */
     public static LevenbergMarquardGeneralSolverWithVecV getInstance() {
-        if (instance == null) {
-            instance = new LevenbergMarquardGeneralSolverWithVecV();
-        }
         return instance;
     }
 
+    /**
+     * Fits the MEAN with overdispersion; used as the fallback fit by
+     * SmoothingSplineWithCov.
+     *
+     * @param dataActiveMap
+     * @param xValues
+     * @param yValues
+     * @param MeasuredCovMatrixS
+     * @param calculateHatMatrix
+     * @return
+     */
     @Override
     public AbstractFunctionOfX getFunctionOfX(boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, boolean calculateHatMatrix) {
 
-        exerciseAlgorithm();
+        AbstractOverDispersionLMVecAlgorithm algorithmForMEAN = getSelectedLMAlgorithm(//
+                FitFunctionTypeEnum.MEAN, dataActiveMap, xValues, yValues, MeasuredCovMatrixS, calculateHatMatrix);
 
-        return overDispersionLMAlgorithm.getInitialFofX();
+        return (algorithmForMEAN.getFinalFofX() != null) ? algorithmForMEAN.getFinalFofX() : algorithmForMEAN.getInitialFofX();
     }
 
     /**
@@ -76,7 +84,7 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
             Matrix MeasuredCovMatrixS,//
             boolean calculateHatMatrix) {
 
-        overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
+        AbstractOverDispersionLMVecAlgorithm overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
 
         overDispersionLMAlgorithm.coldInitializeFunctionAlgorithm(//
                 dataActiveMap, xValues, yValues, MeasuredCovMatrixS);
@@ -84,7 +92,7 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
         if ((fitFunctionType.compareTo(FitFunctionTypeEnum.EXPFAST) != 0)//
                 && //
                 (overDispersionLMAlgorithm.getInitialFofX().getMSWD() >= 1.0)) {
-            exerciseAlgorithm();
+            exerciseAlgorithm(overDispersionLMAlgorithm);
         } else {
             overDispersionLMAlgorithm.assignMatrixJypToFitFunctions();
         }
@@ -112,17 +120,17 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
             boolean calculateHatMatrix,
             AbstractFunctionOfX initialFofX) {
 
-        overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
+        AbstractOverDispersionLMVecAlgorithm overDispersionLMAlgorithm = odFunctionFactory(fitFunctionType);
 
         overDispersionLMAlgorithm.hotInitializeFunctionAlgorithm(//
                 dataActiveMap, xValues, yValues, MeasuredCovMatrixS, initialFofX);
 
-        exerciseAlgorithm();
+        exerciseAlgorithm(overDispersionLMAlgorithm);
 
         return overDispersionLMAlgorithm;
     }
 
-    private AbstractFunctionOfX exerciseAlgorithm() {
+    private AbstractFunctionOfX exerciseAlgorithm(AbstractOverDispersionLMVecAlgorithm overDispersionLMAlgorithm) {
 
         // determine count of datapoints to be used
         System.out.println("LM is attempting to fit using " + overDispersionLMAlgorithm.getClass().getSimpleName());
@@ -978,7 +986,7 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
         public ExponentialFastNoOD() {
             super(3);
 
-            initialFuncFit = LevenbergMarquardGeneralSolverWithVecV.getInstance();
+            initialFuncFit = new AlgorithmFitFunction(this);
         }
 
         @Override
@@ -1060,7 +1068,7 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
         public ExponentialMatNoOD() {
             super(3);
 
-            initialFuncFit = LevenbergMarquardGeneralSolverWithVecV.getInstance();
+            initialFuncFit = new AlgorithmFitFunction(this);
         }
 
         @Override
@@ -1179,6 +1187,27 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
         }
     }
 
+    /**
+     * Primes EXPFAST and EXPMAT by exercising the algorithm itself, which
+     * keeps every fit on its own algorithm instance.
+     */
+    private class AlgorithmFitFunction implements FitFunctionInterface, Serializable {
+
+        private final AbstractOverDispersionLMVecAlgorithm algorithm;
+
+        public AlgorithmFitFunction(AbstractOverDispersionLMVecAlgorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public AbstractFunctionOfX getFunctionOfX(boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix MeasuredCovMatrixS, boolean calculateHatMatrix) {
+
+            exerciseAlgorithm(algorithm);
+
+            return algorithm.getInitialFofX();
+        }
+    }
+
     private AbstractOverDispersionLMVecAlgorithm odFunctionFactory(FitFunctionTypeEnum fitFunctionType) {
 
         AbstractOverDispersionLMVecAlgorithm odFunction = null;
@@ -1237,6 +1266,11 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
             return stdVariances;
         }
 
+        @Override
+        public Matrix getInterpolationCovariance() {
+            return fitParameterCovarianceMatrix.getMatrix(0, 0, 0, 0);
+        }
+
         @Override
         public double getYIntercept() {
             return a;
@@ -1339,6 +1373,11 @@ public class LevenbergMarquardGeneralSolverWithVecV implements FitFunctionInterf
             return stdVariances;
         }
 
+        @Override
+        public Matrix getInterpolationCovariance() {
+            return fitParameterCovarianceMatrix.getMatrix(0, 1, 0, 1);
+        }
+
         @Override
         public double getYIntercept() {
             return b;
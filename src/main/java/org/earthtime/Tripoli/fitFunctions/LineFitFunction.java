@@ -32,7 +32,7 @@ public class LineFitFunction implements FitFunctionInterface, Serializable {
 
     // Class variables
     private static final long serialVersionUID = 8389436388529760979L;
-    private static LineFitFunction instance = null;
+    private static final LineFitFunction instance = new LineFitFunction();
 
     private LineFitFunction () {
         super();
@@ -43,9 +43,6 @@ public class LineFitFunction implements FitFunctionInterface, Serializable {
      * @return
      */
     public static LineFitFunction getInstance () {
-        if ( instance == null ) {
-            instance = new LineFitFunction();
-        }
         return instance;
     }
 
@@ -123,7 +120,7 @@ public class LineFitFunction implements FitFunctionInterface, Serializable {
          *  The square root of the lower right term in this matrix is the 1-sigma absolute uncertainty in the slope.
          */
 
-        NonParametricStats nonParametricStats = NonParametricStats.getInstance();
+        NonParametricStats nonParametricStats = new NonParametricStats();
         nonParametricStats.calculateStats( dataActiveMap, residuals );
 
         double s = nonParametricStats.getVariance() / index;
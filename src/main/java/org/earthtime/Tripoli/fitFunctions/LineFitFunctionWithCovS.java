@@ -29,7 +29,7 @@ public class LineFitFunctionWithCovS implements FitFunctionInterface, Serializab
 
     // Class variables
     private static final long serialVersionUID = 2381345978559394607L;
-    private static LineFitFunctionWithCovS instance = null;
+    private static final LineFitFunctionWithCovS instance = new LineFitFunctionWithCovS();
 
     private LineFitFunctionWithCovS() {
         super();
@@ -40,9 +40,6 @@ public class LineFitFunctionWithCovS implements FitFunctionInterface, Serializab
      * @return
      */
     public static LineFitFunctionWithCovS getInstance() {
-        if (instance == null) {
-            instance = new LineFitFunctionWithCovS();
-        }
         return instance;
     }
 
@@ -187,6 +184,11 @@ public class LineFitFunctionWithCovS implements FitFunctionInterface, Serializab
             return stdVariances;
         }
 
+        @Override
+        public Matrix getInterpolationCovariance() {
+            return fitParameterCovarianceMatrix.getMatrix(0, 1, 0, 1);
+        }
+
         @Override
         public double getYIntercept() {
             return b;
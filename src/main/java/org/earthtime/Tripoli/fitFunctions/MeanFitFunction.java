@@ -32,7 +32,7 @@ public class MeanFitFunction implements FitFunctionInterface, Serializable {
 
     // Class variables
     private static final long serialVersionUID = 5760948815970052808L;
-    private static MeanFitFunction instance = null;
+    private static final MeanFitFunction instance = new MeanFitFunction();
 
     private MeanFitFunction() {
         super();
@@ -43,9 +43,6 @@ public class MeanFitFunction implements FitFunctionInterface, Serializable {
      * @return
      */
     public static MeanFitFunction getInstance() {
-        if (instance == null) {
-            instance = new MeanFitFunction();
-        }
         return instance;
     }
 
@@ -62,7 +59,7 @@ public class MeanFitFunction implements FitFunctionInterface, Serializable {
     @Override
     public AbstractFunctionOfX getFunctionOfX(boolean[] dataActiveMap, double[] xValues, double[] yValues, Matrix Sib, boolean calculateHatMatrix) {
 
-        NonParametricStats nonParametricStats = NonParametricStats.getInstance();
+        NonParametricStats nonParametricStats = new NonParametricStats();
         nonParametricStats.calculateStats(dataActiveMap, yValues);
 
         // create function of x for mean
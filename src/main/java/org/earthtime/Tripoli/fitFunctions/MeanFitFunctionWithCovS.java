@@ -30,7 +30,7 @@ public class MeanFitFunctionWithCovS implements FitFunctionInterface, Serializab
 
     // Class variables
     private static final long serialVersionUID = -4168711014938748918L;
-    private static MeanFitFunctionWithCovS instance = null;
+    private static final MeanFitFunctionWithCovS instance = new MeanFitFunctionWithCovS();
 
     private MeanFitFunctionWithCovS () {
         super();
@@ -41,9 +41,6 @@ public class MeanFitFunctionWithCovS implements FitFunctionInterface, Serializab
      * @return
      */
     public static MeanFitFunctionWithCovS getInstance () {
-        if ( instance == null ) {
-            instance = new MeanFitFunctionWithCovS();
-        }
         return instance;
     }
 
@@ -174,6 +171,11 @@ public class MeanFitFunctionWithCovS implements FitFunctionInterface, Serializab
             return stdVariances;
         }
 
+        @Override
+        public Matrix getInterpolationCovariance () {
+            return fitParameterCovarianceMatrix.getMatrix( 0, 0, 0, 0 );
+        }
+
         @Override
         public double getYIntercept () {
             return a;
@@ -30,7 +30,7 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
 
     // Class variables
     private static final long serialVersionUID = -1409687298849270059L;
-    private static SmoothingSplineWithCov instance = null;
+    private static final SmoothingSplineWithCov instance = new SmoothingSplineWithCov();
 
     private SmoothingSplineWithCov() {
         super();
@@ -41,9 +41,6 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
      * @return
      */
     public static SmoothingSplineWithCov getInstance() {
-        if (instance == null) {
-            instance = new SmoothingSplineWithCov();
-        }
         return instance;
     }
 
@@ -372,6 +369,10 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
         private Matrix Q;
         private Matrix R;
         private double effectiveDegreesOfFreedom;
+        // P = hatMatrix * Ss * hatMatrix' for the hatMatrix and Ss it was calculated from
+        private transient Matrix interpolationCovariance;
+        private transient Matrix interpolationCovarianceHatMatrix;
+        private transient Matrix interpolationCovarianceSs;
 
         /**
          *
@@ -422,6 +423,17 @@ public class SmoothingSplineWithCov implements FitFunctionInterface, Serializabl
             return stdVariances;
         }
 
+        @Override
+        public Matrix getInterpolationCovariance() {
+            if ((interpolationCovariance == null) //
+                    || (interpolationCovarianceHatMatrix != hatMatrix) || (interpolationCovarianceSs != Ss)) {
+                interpolationCovariance = hatMatrix.times(Ss).times(hatMatrix.transpose());
+                interpolationCovarianceHatMatrix = hatMatrix;
+                interpolationCovarianceSs = Ss;
+            }
+            return interpolationCovariance;
+        }
+
         // used to change alpha via slider in fitfunction view
         @Override
         public void setA(double alpha) {
@@ -0,0 +1,393 @@
+/*
+ * StructuredCovariance.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.fitFunctions;
+
+import Jama.Matrix;
+import java.io.Serializable;
+
+/**
+ * An n x n covariance matrix held as a diagonal plus a low-rank term, S =
+ * diag(d) + U * C * V', using O(n * k) storage for rank k. The intensity
+ * covariances are of this form: counting statistics on the diagonal, the
+ * baseline fit and the ion-counter dead time as low-rank terms. V is the same
+ * instance as U for symmetric terms; the dead-time cross term of a log-ratio is
+ * the only non-symmetric term.
+ *
+ * Instances are immutable; every operation returns a new instance.
+ *
+ * @author James F. Bowring
+ */
+public class StructuredCovariance implements Serializable {
+
+    private static final long serialVersionUID = 6284113640529185329L;
+
+    private final double[] diagonal;
+    // n x k, null when k = 0
+    private final Matrix U;
+    // k x k
+    private final Matrix C;
+    // n x k, same instance as U when symmetric
+    private final Matrix V;
+
+    /**
+     *
+     * @param diagonal
+     */
+    public StructuredCovariance(double[] diagonal) {
+        this(diagonal, null, null, null);
+    }
+
+    /**
+     *
+     * @param diagonal
+     * @param U
+     * @param C
+     */
+    public StructuredCovariance(double[] diagonal, Matrix U, Matrix C) {
+        this(diagonal, U, C, U);
+    }
+
+    /**
+     *
+     * @param diagonal
+     * @param U
+     * @param C
+     * @param V
+     */
+    public StructuredCovariance(double[] diagonal, Matrix U, Matrix C, Matrix V) {
+        this.diagonal = diagonal;
+        if ((U == null) || (U.getColumnDimension() == 0)) {
+            this.U = null;
+            this.C = null;
+            this.V = null;
+        } else {
+            this.U = U;
+            this.C = C;
+            this.V = V;
+        }
+    }
+
+    /**
+     *
+     * @param x column vector
+     * @param y column vector
+     * @param scale
+     * @return scale * x * y'
+     */
+    public static StructuredCovariance outerProduct(Matrix x, Matrix y, double scale) {
+        return new StructuredCovariance(new double[x.getRowDimension()], x, new Matrix(1, 1, scale), y);
+    }
+
+    /**
+     *
+     * @return n
+     */
+    public int getRowDimension() {
+        return diagonal.length;
+    }
+
+    /**
+     *
+     * @return k, the count of low-rank columns
+     */
+    public int getRank() {
+        return (U == null) ? 0 : U.getColumnDimension();
+    }
+
+    /**
+     *
+     * @return true if V is U
+     */
+    public boolean isSymmetric() {
+        return U == V;
+    }
+
+    /**
+     * @return the diagonal
+     */
+    public double[] getDiagonal() {
+        return diagonal;
+    }
+
+    /**
+     * @return the U
+     */
+    public Matrix getU() {
+        return U;
+    }
+
+    /**
+     * @return the C
+     */
+    public Matrix getC() {
+        return C;
+    }
+
+    /**
+     * @return the V
+     */
+    public Matrix getV() {
+        return V;
+    }
+
+    /**
+     *
+     * @param other
+     * @return this + other
+     */
+    public StructuredCovariance plus(StructuredCovariance other) {
+        int n = diagonal.length;
+        double[] sumDiagonal = new double[n];
+        for (int i = 0; i < n; i++) {
+            sumDiagonal[i] = diagonal[i] + other.diagonal[i];
+        }
+
+        StructuredCovariance retVal;
+        if (other.getRank() == 0) {
+            retVal = new StructuredCovariance(sumDiagonal, U, C, V);
+        } else if (getRank() == 0) {
+            retVal = new StructuredCovariance(sumDiagonal, other.U, other.C, other.V);
+        } else {
+            int k1 = getRank();
+            int k2 = other.getRank();
+            Matrix sumU = concatenateColumns(U, other.U);
+            Matrix sumC = new Matrix(k1 + k2, k1 + k2);
+            sumC.setMatrix(0, k1 - 1, 0, k1 - 1, C);
+            sumC.setMatrix(k1, k1 + k2 - 1, k1, k1 + k2 - 1, other.C);
+            Matrix sumV = (isSymmetric() && other.isSymmetric()) ? sumU : concatenateColumns(V, other.V);
+            retVal = new StructuredCovariance(sumDiagonal, sumU, sumC, sumV);
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param s
+     * @return s * this
+     */
+    public StructuredCovariance times(double s) {
+        double[] scaledDiagonal = new double[diagonal.length];
+        for (int i = 0; i < diagonal.length; i++) {
+            scaledDiagonal[i] = diagonal[i] * s;
+        }
+        return new StructuredCovariance(scaledDiagonal, U, (C == null) ? null : C.times(s), V);
+    }
+
+    /**
+     *
+     * @param s
+     * @return this + s * I
+     */
+    public StructuredCovariance plusDiagonal(double s) {
+        double[] shiftedDiagonal = new double[diagonal.length];
+        for (int i = 0; i < diagonal.length; i++) {
+            shiftedDiagonal[i] = diagonal[i] + s;
+        }
+        return new StructuredCovariance(shiftedDiagonal, U, C, V);
+    }
+
+    /**
+     * Multiplies the single entry (i, i) of the full matrix by factor.
+     *
+     * @param i
+     * @param factor
+     * @return
+     */
+    public StructuredCovariance scaleDiagonalEntry(int i, double factor) {
+        double[] scaledDiagonal = diagonal.clone();
+        scaledDiagonal[i] = factor * get(i, i) - (get(i, i) - diagonal[i]);
+        return new StructuredCovariance(scaledDiagonal, U, C, V);
+    }
+
+    /**
+     * Equivalent to the element-wise product with the outer product v * v'.
+     *
+     * @param v
+     * @return diag(v) * this * diag(v)
+     */
+    public StructuredCovariance scaleRowsAndColumns(double[] v) {
+        double[] scaledDiagonal = new double[diagonal.length];
+        for (int i = 0; i < diagonal.length; i++) {
+            scaledDiagonal[i] = diagonal[i] * v[i] * v[i];
+        }
+
+        StructuredCovariance retVal;
+        if (getRank() == 0) {
+            retVal = new StructuredCovariance(scaledDiagonal);
+        } else {
+            Matrix scaledU = CovarianceFactorization.scaleRows(U, v);
+            Matrix scaledV = isSymmetric() ? scaledU : CovarianceFactorization.scaleRows(V, v);
+            retVal = new StructuredCovariance(scaledDiagonal, scaledU, C, scaledV);
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @param indexes
+     * @return the rows and columns at indexes
+     */
+    public StructuredCovariance select(int[] indexes) {
+        double[] selectedDiagonal = new double[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            selectedDiagonal[i] = diagonal[indexes[i]];
+        }
+
+        StructuredCovariance retVal;
+        if (getRank() == 0) {
+            retVal = new StructuredCovariance(selectedDiagonal);
+        } else {
+            Matrix selectedU = U.getMatrix(indexes, 0, getRank() - 1);
+            Matrix selectedV = isSymmetric() ? selectedU : V.getMatrix(indexes, 0, getRank() - 1);
+            retVal = new StructuredCovariance(selectedDiagonal, selectedU, C, selectedV);
+        }
+        return retVal;
+    }
+
+    /**
+     * Propagates this covariance through the Jacobian J = [A * B | diag(g)],
+     * where B spans the first B.getColumnDimension() rows of this matrix and g
+     * the remaining rows. This is the shape of the on-peak baseline-correction
+     * Jacobian, with A = J21 and B = J11. The result is J * this * J' of rank
+     * A.getColumnDimension() + k, and no n x n product is formed.
+     *
+     * @param A
+     * @param B
+     * @param g
+     * @return
+     */
+    public StructuredCovariance propagate(Matrix A, Matrix B, double[] g) {
+        int nb = B.getColumnDimension();
+        int np = g.length;
+        int m = A.getColumnDimension();
+
+        // B * diag(db) * B'
+        double[][] b = B.getArray();
+        Matrix M = new Matrix(m, m);
+        double[][] mArray = M.getArray();
+        for (int r = 0; r < m; r++) {
+            for (int c = 0; c <= r; c++) {
+                double sum = 0.0;
+                for (int j = 0; j < nb; j++) {
+                    sum += b[r][j] * diagonal[j] * b[c][j];
+                }
+                mArray[r][c] = sum;
+                mArray[c][r] = sum;
+            }
+        }
+
+        double[] propagatedDiagonal = new double[np];
+        for (int i = 0; i < np; i++) {
+            propagatedDiagonal[i] = g[i] * g[i] * diagonal[nb + i];
+        }
+
+        StructuredCovariance retVal;
+        if (getRank() == 0) {
+            retVal = new StructuredCovariance(propagatedDiagonal, A, M);
+        } else {
+            int k = getRank();
+            Matrix W = propagateColumns(A, B, g, U);
+            Matrix Z = isSymmetric() ? W : propagateColumns(A, B, g, V);
+
+            Matrix propagatedC = new Matrix(m + k, m + k);
+            propagatedC.setMatrix(0, m - 1, 0, m - 1, M);
+            propagatedC.setMatrix(m, m + k - 1, m, m + k - 1, C);
+
+            Matrix propagatedU = concatenateColumns(A, W);
+            Matrix propagatedV = isSymmetric() ? propagatedU : concatenateColumns(A, Z);
+            retVal = new StructuredCovariance(propagatedDiagonal, propagatedU, propagatedC, propagatedV);
+        }
+        return retVal;
+    }
+
+    private static Matrix propagateColumns(Matrix A, Matrix B, double[] g, Matrix X) {
+        int nb = B.getColumnDimension();
+        int np = g.length;
+        int k = X.getColumnDimension();
+
+        // A * (B * Xb) + diag(g) * Xp
+        Matrix W = A.times(B.times(X.getMatrix(0, nb - 1, 0, k - 1)));
+        double[][] w = W.getArray();
+        double[][] x = X.getArray();
+        for (int i = 0; i < np; i++) {
+            for (int j = 0; j < k; j++) {
+                w[i][j] += g[i] * x[nb + i][j];
+            }
+        }
+        return W;
+    }
+
+    /**
+     *
+     * @param i
+     * @param j
+     * @return entry (i, j) of the full matrix
+     */
+    public double get(int i, int j) {
+        double retVal = (i == j) ? diagonal[i] : 0.0;
+        if (getRank() > 0) {
+            double[] ui = U.getArray()[i];
+            double[] vj = V.getArray()[j];
+            double[][] c = C.getArray();
+            for (int a = 0; a < ui.length; a++) {
+                for (int b = 0; b < vj.length; b++) {
+                    retVal += ui[a] * c[a][b] * vj[b];
+                }
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     *
+     * @return the dense n x n matrix
+     */
+    public Matrix toMatrix() {
+        int n = diagonal.length;
+        Matrix S;
+        if (getRank() == 0) {
+            S = new Matrix(n, n);
+        } else {
+            S = U.times(C).times(V.transpose());
+        }
+        double[][] s = S.getArray();
+        for (int i = 0; i < n; i++) {
+            s[i][i] += diagonal[i];
+        }
+        return S;
+    }
+
+    /**
+     *
+     * @return a factorization that uses the Woodbury identity
+     */
+    public CovarianceFactorization factorize() {
+        return new CovarianceFactorization(this);
+    }
+
+    private static Matrix concatenateColumns(Matrix left, Matrix right) {
+        int n = left.getRowDimension();
+        int k1 = left.getColumnDimension();
+        int k2 = right.getColumnDimension();
+        Matrix retVal = new Matrix(n, k1 + k2);
+        retVal.setMatrix(0, n - 1, 0, k1 - 1, left);
+        retVal.setMatrix(0, n - 1, k1, k1 + k2 - 1, right);
+        return retVal;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * LazyRawRatios.java
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.fractions;
+
+import java.io.IOException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.earthtime.Tripoli.dataModels.DataModelInterface;
+
+/**
+ * The raw ratios of a TripoliFraction read from a project container file only
+ * when first used. Until then the fraction holds this set in place of its
+ * raw ratios, so that a project opens without reading its raw data. Written
+ * to any stream, it is written as the loaded set.
+ *
+ * @author James F. Bowring
+ */
+public class LazyRawRatios implements SortedSet<DataModelInterface>, Serializable {
+
+    private static final long serialVersionUID = -2867052446921877040L;
+
+    /**
+     * reads the raw ratios of one fraction from wherever they are stored
+     */
+    public interface Loader {
+
+        /**
+         *
+         * @return the raw ratios
+         * @throws IOException
+         */
+        SortedSet<DataModelInterface> load() throws IOException;
+    }
+
+    private transient Loader loader;
+    private transient SortedSet<DataModelInterface> rawRatios;
+
+    /**
+     *
+     * @param loader
+     */
+    public LazyRawRatios(Loader loader) {
+        this.loader = loader;
+        this.rawRatios = null;
+    }
+
+    /**
+     *
+     * @param rawRatios
+     * @return the set that holds the raw ratios themselves, loading them if
+     * rawRatios is lazy
+     */
+    public static SortedSet<DataModelInterface> unwrap(SortedSet<DataModelInterface> rawRatios) {
+        return (rawRatios instanceof LazyRawRatios) ? ((LazyRawRatios) rawRatios).loaded() : rawRatios;
+    }
+
+    /**
+     * @return true if the raw ratios have been read
+     */
+    public synchronized boolean isLoaded() {
+        return rawRatios != null;
+    }
+
+    private synchronized SortedSet<DataModelInterface> loaded() {
+        if (rawRatios == null) {
+            try {
+                rawRatios = loader.load();
+            } catch (IOException ex) {
+                throw new IllegalStateException("Cannot read raw ratios: " + ex.getMessage(), ex);
+            }
+            loader = null;
+        }
+        return rawRatios;
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        SortedSet<DataModelInterface> replacement = loaded();
+        // a set handed over by the loader of another kind is written as a TreeSet
+        return (replacement instanceof Serializable) ? replacement : new TreeSet<>(replacement);
+    }
+
+    @Override
+    public Comparator<? super DataModelInterface> comparator() {
+        return loaded().comparator();
+    }
+
+    @Override
+    public SortedSet<DataModelInterface> subSet(DataModelInterface fromElement, DataModelInterface toElement) {
+        return loaded().subSet(fromElement, toElement);
+    }
+
+    @Override
+    public SortedSet<DataModelInterface> headSet(DataModelInterface toElement) {
+        return loaded().headSet(toElement);
+    }
+
+    @Override
+    public SortedSet<DataModelInterface> tailSet(DataModelInterface fromElement) {
+        return loaded().tailSet(fromElement);
+    }
+
+    @Override
+    public DataModelInterface first() {
+        return loaded().first();
+    }
+
+    @Override
+    public DataModelInterface last() {
+        return loaded().last();
+    }
+
+    @Override
+    public int size() {
+        return loaded().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return loaded().isEmpty();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return loaded().contains(o);
+    }
+
+    @Override
+    public Iterator<DataModelInterface> iterator() {
+        return loaded().iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return loaded().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return loaded().toArray(a);
+    }
+
+    @Override
+    public boolean add(DataModelInterface e) {
+        return loaded().add(e);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return loaded().remove(o);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        return loaded().containsAll(c);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends DataModelInterface> c) {
+        return loaded().addAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return loaded().retainAll(c);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return loaded().removeAll(c);
+    }
+
+    @Override
+    public void clear() {
+        loaded().clear();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return loaded().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return loaded().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return loaded().toString();
+    }
+}
@@ -34,6 +34,7 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
 import org.earthtime.Tripoli.dataModels.DataModelFitFunctionInterface;
 import org.earthtime.Tripoli.dataModels.DataModelInterface;
 import org.earthtime.Tripoli.dataModels.MaskingSingleton;
@@ -66,6 +67,8 @@ public class TripoliFraction implements //
     // Class variables
 
     private static final long serialVersionUID = 2040812902406395230L;
+    // counts changes to included or standard status of any fraction, so views of filtered fractions can be cached
+    private static final AtomicLong membershipVersion = new AtomicLong();
 
     private String fractionID;
     private boolean standard;
@@ -574,8 +577,6 @@ public class TripoliFraction implements //
 
         Matrix Sfci = JacobianYInterceptLogRatioAll.times(SlogRatioAll).times(JacobianYInterceptLogRatioAll.transpose());
 
-        System.gc();
-
         return Sfci;
 
     }
@@ -585,7 +586,7 @@ public class TripoliFraction implements //
      * @param included
      */
     public void toggleAllDataExceptShaded(boolean included) {
-        this.included = included;
+        updateIncluded(included);
         for (int i = 0; i < dataActiveMap.length; i++) {
             toggleOneDataAquisition(i, included);
         }
@@ -606,7 +607,7 @@ public class TripoliFraction implements //
         for (int i = 0; i < dataActiveMap.length; i++) {
             haveSomeLiveData = haveSomeLiveData || dataActiveMap[i];
         }
-        included = haveSomeLiveData;
+        updateIncluded(haveSomeLiveData);
     }
 
     /**
@@ -621,7 +622,7 @@ public class TripoliFraction implements //
         }
 
         if (datumIncluded) {
-            this.included = true;
+            updateIncluded(true);
         }
     }
 
@@ -814,7 +815,10 @@ public class TripoliFraction implements //
      * @param standard the standard to set
      */
     public void setStandard(boolean standard) {
-        this.standard = standard;
+        if (this.standard != standard) {
+            this.standard = standard;
+            membershipVersion.incrementAndGet();
+        }
     }
 
     /**
@@ -935,7 +939,23 @@ public class TripoliFraction implements //
      * @param included the included to set
      */
     public void setIncluded(boolean included) {
-        this.included = included;
+        updateIncluded(included);
+    }
+
+    private void updateIncluded(boolean included) {
+        if (this.included != included) {
+            this.included = included;
+            membershipVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     *
+     * @return a count that changes whenever the included or standard status of
+     * any fraction changes
+     */
+    public static long getMembershipVersion() {
+        return membershipVersion.get();
     }
 
     /**
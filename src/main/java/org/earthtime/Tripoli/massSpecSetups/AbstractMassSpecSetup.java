@@ -49,6 +49,7 @@ import org.earthtime.Tripoli.dataModels.aquisitionTypeDataModels.IsotopeMappingM
 import org.earthtime.Tripoli.dataModels.collectorModels.AbstractCollectorModel;
 import org.earthtime.Tripoli.dataModels.collectorModels.FaradayCollectorModel;
 import org.earthtime.Tripoli.dataModels.collectorModels.IonCounterCollectorModel;
+import org.earthtime.Tripoli.fitFunctions.StructuredCovariance;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
@@ -58,6 +59,7 @@ import org.earthtime.dataDictionaries.RawRatioNames;
 import org.earthtime.isotopes.IsotopesEnum;
 import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
 import org.earthtime.statistics.NonParametricStats;
+import org.earthtime.utilities.AllocationMetrics;
 
 /**
  *
@@ -65,7 +67,8 @@ import org.earthtime.statistics.NonParametricStats;
  */
 public abstract class AbstractMassSpecSetup implements //
         Comparable<AbstractMassSpecSetup>,
-        Serializable {
+        Serializable,
+        Cloneable {
 
     // Class variables
     private static final long serialVersionUID = -7767996777129217194L;
@@ -159,6 +162,8 @@ public abstract class AbstractMassSpecSetup implements //
      */
     protected boolean useConstantBackgroundFitFunction;
     private transient boolean isFirstReport = true;
+    // oct 2026 the setup copied by copyForFraction, which writes the one standards report
+    private transient AbstractMassSpecSetup reportingSetup;
     // jan 2014
 
     /**
@@ -244,6 +249,78 @@ public abstract class AbstractMassSpecSetup implements //
         return super.hashCode();
     }
 
+    /**
+     * Copies this setup so that fractions can be processed on several threads
+     * at once. The copy shares the collectors, integration times and other
+     * settings of this setup, but the isotope models, virtual collectors and
+     * raw ratios it builds for each fraction are its own.
+     *
+     * @return the copy
+     */
+    public AbstractMassSpecSetup copyForFraction() {
+        AbstractMassSpecSetup copy;
+        try {
+            copy = (AbstractMassSpecSetup) clone();
+        } catch (CloneNotSupportedException cloneNotSupportedException) {
+            throw new IllegalStateException(cloneNotSupportedException);
+        }
+
+        copy.genericIsotopeModels = new TreeSet<>(genericIsotopeModels);
+        copy.isotopeToRawIntensitiesMap = new EnumMap<>(isotopeToRawIntensitiesMap);
+        copy.virtualCollectors = new ArrayList<>(virtualCollectors);
+        copy.virtualCollectorModelMapToFieldIndexes = new HashMap<>(virtualCollectorModelMapToFieldIndexes);
+        if (isotopeMappingModel != null) {
+            copy.isotopeMappingModel = isotopeMappingModel.copySharingCollectors();
+            copy.isotopeMappingModel.setIsotopeToRawIntensitiesMap(copy.isotopeToRawIntensitiesMap);
+        }
+        copy.reportingSetup = (reportingSetup == null) ? this : reportingSetup;
+
+        return copy;
+    }
+
+    /**
+     * Takes the per-fraction state left by the last fraction processed with a
+     * copy made by copyForFraction, as if that fraction had been processed
+     * with this setup.
+     *
+     * @param copy
+     */
+    public void takeFractionStateFrom(AbstractMassSpecSetup copy) {
+        rawRatios = copy.rawRatios;
+        countOfAcquisitions = copy.countOfAcquisitions;
+        genericIsotopeModels = copy.genericIsotopeModels;
+        isotopeToRawIntensitiesMap = copy.isotopeToRawIntensitiesMap;
+        virtualCollectors = copy.virtualCollectors;
+        virtualCollectorModelMapToFieldIndexes = copy.virtualCollectorModelMapToFieldIndexes;
+        if (isotopeMappingModel != null) {
+            isotopeMappingModel.setIsotopeToRawIntensitiesMap(isotopeToRawIntensitiesMap);
+        }
+
+        Hf176 = copy.Hf176;
+        Hg202 = copy.Hg202;
+        Hg201 = copy.Hg201;
+        Pb204 = copy.Pb204;
+        Pb207 = copy.Pb207;
+        Pb208 = copy.Pb208;
+        Pb206 = copy.Pb206;
+        U238 = copy.U238;
+        Th232 = copy.Th232;
+        U235 = copy.U235;
+        Zr2O196 = copy.Zr2O196;
+        ThO248 = copy.ThO248;
+        UO254 = copy.UO254;
+        UO270 = copy.UO270;
+    }
+
+    private boolean claimFirstReport() {
+        AbstractMassSpecSetup setup = (reportingSetup == null) ? this : reportingSetup;
+        synchronized (setup) {
+            boolean retVal = setup.isFirstReport;
+            setup.isFirstReport = false;
+            return retVal;
+        }
+    }
+
     /**
      *
      *
@@ -383,7 +460,7 @@ public abstract class AbstractMassSpecSetup implements //
         boolean isDebug = java.lang.management.ManagementFactory.getRuntimeMXBean().
                 getInputArguments().toString().indexOf("-Xdebug") > 0;
 
-        boolean writeReport = isStandard && isFirstReport & (!isDebug);
+        boolean writeReport = isStandard && (!isDebug) && claimFirstReport();
 //        boolean writeReport = isStandard && isFirstReport && (!isDebug) && tripoliFraction.getFractionID().equals("FC-5");
 
         PrintWriter outputWriter = null;
@@ -395,7 +472,6 @@ public abstract class AbstractMassSpecSetup implements //
                 outputWriter.println("******   STANDARD " + fractionID + "  DATA CHECK ********************");
             } catch (IOException iOException) {
             }
-            isFirstReport = false;
 
         }
 
@@ -635,11 +711,13 @@ public abstract class AbstractMassSpecSetup implements //
     }
 
     private void cleanupUnctCalcs() {
+        // release the intermediate matrices; no explicit collection
         for (DataModelInterface dm : genericIsotopeModels) {
             ((DataModelFitFunctionInterface) dm).cleanupUnctCalcs();
         }
-
-        System.gc();
+        for (DataModelInterface rr : rawRatios) {
+            ((RawRatioDataModel) rr).cleanupUnctCalcs();
+        }
     }
 
     public void convertRawIntensitiesToCountsPerSecond() {
@@ -653,9 +731,14 @@ public abstract class AbstractMassSpecSetup implements //
      * @param inLiveMode the value of inLiveMode
      */
     private void performInterceptFittingToRatios(boolean inLiveMode) {
-        // generate fit function so can be done with big matrices
-        for (DataModelInterface rr : rawRatios) {
-            rr.generateSetOfFitFunctions(false, false, inLiveMode);//true);
+        AllocationMetrics.Phase phase = AllocationMetrics.getInstance().startPhase("intercept fitting to ratios");
+        try {
+            // generate fit function so can be done with big matrices
+            for (DataModelInterface rr : rawRatios) {
+                rr.generateSetOfFitFunctions(false, false, inLiveMode);//true);
+            }
+        } finally {
+            phase.end();
         }
     }
 
@@ -664,18 +747,26 @@ public abstract class AbstractMassSpecSetup implements //
      * @param usingFullPropagation the value of usingFullPropagation
      */
     private void propagateUnctInRatios(boolean usingFullPropagation) {
-
-        for (DataModelInterface rr : rawRatios) {
-            rr.setUSING_FULL_PROPAGATION(usingFullPropagation);
-            ((RawRatioDataModel) rr).propagateUnctInRatios();
+        AllocationMetrics.Phase phase = AllocationMetrics.getInstance().startPhase("uncertainty propagation in ratios");
+        try {
+            for (DataModelInterface rr : rawRatios) {
+                rr.setUSING_FULL_PROPAGATION(usingFullPropagation);
+                ((RawRatioDataModel) rr).propagateUnctInRatios();
+            }
+        } finally {
+            phase.end();
         }
-
     }
 
     private void propagateUnctInBaselineCorrOnPeakIntensities() {
-        genericIsotopeModels.stream().forEach((dm) -> {
-            ((RawIntensityDataModel) dm).propagateUnctInBaselineCorrOnPeakIntensities();
-        });
+        AllocationMetrics.Phase phase = AllocationMetrics.getInstance().startPhase("uncertainty propagation in intensities");
+        try {
+            genericIsotopeModels.stream().forEach((dm) -> {
+                ((RawIntensityDataModel) dm).propagateUnctInBaselineCorrOnPeakIntensities();
+            });
+        } finally {
+            phase.end();
+        }
     }
 
     protected void calculateLogOnPeakCorrectedIntensities() {
@@ -704,7 +795,7 @@ public abstract class AbstractMassSpecSetup implements //
         double[] isotopeOPBC
                 = ((RawIntensityDataModel) isotope).getOnPeakVirtualCollector().getCorrectedIntensities();
 
-        NonParametricStats nonParametricStats = NonParametricStats.getInstance();
+        NonParametricStats nonParametricStats = new NonParametricStats();
 
         boolean belowDetection = nonParametricStats.determineIfBelowDetectionLimitUsingTwoSigma(dataActiveMap, isotopeOPBC);
         boolean tenPercentOrMoreAreNegative = nonParametricStats.determineIfTenPercentOrMoreAreNegative(dataActiveMap, isotopeOPBC);
@@ -980,10 +1071,19 @@ public abstract class AbstractMassSpecSetup implements //
      * @param usingFullPropagation the value of usingFullPropagation
      */
     private void performBackgroundFitting(boolean usingFullPropagation) {
+        AllocationMetrics.Phase phase = AllocationMetrics.getInstance().startPhase("background fitting");
+        try {
+            fitBackgrounds(usingFullPropagation);
+        } finally {
+            phase.end();
+        }
+    }
+
+    private void fitBackgrounds(boolean usingFullPropagation) {
 
         // generates the fit function for the background
         Iterator<DataModelInterface> genericIsotopeModelsIterator = genericIsotopeModels.iterator();
-        Matrix Hg202Si = null;
+        StructuredCovariance Hg202Si = null;
         while (genericIsotopeModelsIterator.hasNext()) {
             DataModelInterface im = genericIsotopeModelsIterator.next();
             im.setUSING_FULL_PROPAGATION(usingFullPropagation);
@@ -993,8 +1093,8 @@ public abstract class AbstractMassSpecSetup implements //
             }
 
             if (im.getDataModelName().equalsIgnoreCase(IsotopesEnum.Hg202.getName())) {
-                Hg202Si = ((RawIntensityDataModel) im).specialBuildMatrixSiForHg202();
-                Hg202Si.timesEquals(1.0 / r202Hg_204Hg.getValue().pow(2).doubleValue());
+                Hg202Si = ((RawIntensityDataModel) im).specialBuildMatrixSiForHg202()//
+                        .times(1.0 / r202Hg_204Hg.getValue().pow(2).doubleValue());
 
                 ((DataModelFitFunctionInterface) im).setSelectedFitFunctionType(FitFunctionTypeEnum.NONE);
             }
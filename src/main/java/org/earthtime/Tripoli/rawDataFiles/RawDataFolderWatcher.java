@@ -0,0 +1,250 @@
+/*
+ * RawDataFolderWatcher.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.rawDataFiles;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a raw data folder, or the folder of a single raw data file, for live
+ * mode and reports only the analysis files that are new or have changed since
+ * they were last reported. A file is reported once it has been quiet for the
+ * settle interval and its size and modification time are unchanged, because
+ * the mass spec software writes each file in several steps and the watch
+ * service has no close event.
+ *
+ * @author James F. Bowring
+ */
+public class RawDataFolderWatcher implements Closeable {
+
+    /**
+     * Receives the settled files on the watcher thread.
+     */
+    public interface RawDataFilesListener {
+
+        /**
+         *
+         * @param files new or changed analysis files, in name order
+         * @param earliestCloseTime the earliest modification time of the files,
+         * in milliseconds, from which to measure ingest latency
+         */
+        void rawDataFilesSettled(List<File> files, long earliestCloseTime);
+    }
+
+    private final File folder;
+    private final String singleFileName;
+    private final String extension;
+    private final long settleMillis;
+    private final RawDataFilesListener listener;
+
+    // file to time of its latest event
+    private final Map<File, Long> pendingFiles;
+    // file to {length, lastModified} when last reported
+    private final Map<File, long[]> reportedStamps;
+
+    private WatchService watchService;
+    private Thread watcherThread;
+    private volatile boolean running;
+
+    /**
+     *
+     * @param rawDataFile the folder of analysis files, or a single file
+     * @param extension lower case file extension to accept, such as ".dat",
+     * or null for all files; ignored for a single file
+     * @param settleMillis
+     * @param listener
+     */
+    public RawDataFolderWatcher(File rawDataFile, String extension, long settleMillis, RawDataFilesListener listener) {
+        if (rawDataFile.isDirectory()) {
+            this.folder = rawDataFile;
+            this.singleFileName = null;
+        } else {
+            this.folder = rawDataFile.getAbsoluteFile().getParentFile();
+            this.singleFileName = rawDataFile.getName();
+        }
+        this.extension = extension;
+        this.settleMillis = settleMillis;
+        this.listener = listener;
+
+        this.pendingFiles = new HashMap<>();
+        this.reportedStamps = new HashMap<>();
+    }
+
+    /**
+     * Records the files already present as reported, so only later changes
+     * are reported, and starts watching.
+     *
+     * @throws IOException
+     */
+    public synchronized void start() throws IOException {
+        recordExistingFilesAsReported();
+
+        watchService = FileSystems.getDefault().newWatchService();
+        folder.toPath().register(watchService, //
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        running = true;
+        watcherThread = new Thread(this::watch, "Raw data folder watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     *
+     * @return
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException iOException) {
+            System.out.println("Raw data folder watcher close failed " + iOException.getMessage());
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    private void watch() {
+        long pollMillis = Math.max(10, settleMillis / 4);
+        while (running) {
+            try {
+                WatchKey key = watchService.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    long now = System.currentTimeMillis();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            recordAllFilesAsPending(now);
+                        } else {
+                            Path name = (Path) event.context();
+                            recordPending(new File(folder, name.toString()), now);
+                        }
+                    }
+                    if (!key.reset()) {
+                        running = false;
+                    }
+                }
+
+                List<File> settledFiles = collectSettledFiles(System.currentTimeMillis());
+                if (!settledFiles.isEmpty()) {
+                    long earliestCloseTime = Long.MAX_VALUE;
+                    for (File file : settledFiles) {
+                        earliestCloseTime = Math.min(earliestCloseTime, file.lastModified());
+                    }
+                    listener.rawDataFilesSettled(settledFiles, earliestCloseTime);
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                running = false;
+            } catch (RuntimeException runtimeException) {
+                System.out.println("Raw data folder watcher error " + runtimeException.getMessage());
+            }
+        }
+    }
+
+    synchronized void recordExistingFilesAsReported() {
+        File[] existingFiles = folder.listFiles();
+        if (existingFiles != null) {
+            for (File file : existingFiles) {
+                if (accepts(file.getName())) {
+                    reportedStamps.put(file, stampOf(file));
+                }
+            }
+        }
+    }
+
+    private synchronized void recordAllFilesAsPending(long now) {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                recordPending(file, now);
+            }
+        }
+    }
+
+    synchronized void recordPending(File file, long now) {
+        if (accepts(file.getName())) {
+            pendingFiles.put(file, now);
+        }
+    }
+
+    /**
+     * Removes and returns the pending files that have been quiet for the
+     * settle interval and differ from when they were last reported.
+     *
+     * @param now
+     * @return
+     */
+    synchronized List<File> collectSettledFiles(long now) {
+        List<File> settledFiles = new ArrayList<>();
+        Iterator<Map.Entry<File, Long>> pendingIterator = pendingFiles.entrySet().iterator();
+        while (pendingIterator.hasNext()) {
+            Map.Entry<File, Long> entry = pendingIterator.next();
+            File file = entry.getKey();
+            if (!file.exists()) {
+                pendingIterator.remove();
+            } else if ((now - Math.max(entry.getValue(), file.lastModified())) >= settleMillis) {
+                pendingIterator.remove();
+                long[] stamp = stampOf(file);
+                long[] reportedStamp = reportedStamps.get(file);
+                if ((reportedStamp == null) || (reportedStamp[0] != stamp[0]) || (reportedStamp[1] != stamp[1])) {
+                    reportedStamps.put(file, stamp);
+                    settledFiles.add(file);
+                }
+            }
+        }
+        Collections.sort(settledFiles);
+        return settledFiles;
+    }
+
+    private boolean accepts(String fileName) {
+        boolean retVal;
+        if (singleFileName != null) {
+            retVal = singleFileName.equals(fileName);
+        } else {
+            retVal = (extension == null) || fileName.toLowerCase().endsWith(extension);
+        }
+        return retVal;
+    }
+
+    private static long[] stampOf(File file) {
+        return new long[]{file.length(), file.lastModified()};
+    }
+}
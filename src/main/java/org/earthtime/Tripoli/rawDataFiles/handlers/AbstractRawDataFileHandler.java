@@ -26,10 +26,18 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.swing.SwingWorker;
 import org.earthtime.Tripoli.dataModels.inputParametersModels.AbstractAcquisitionModel;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
@@ -342,17 +350,23 @@ public abstract class AbstractRawDataFileHandler implements //
         return rawDataFileTemplate;
     }
 
-    protected double calcAvgPulseOrAnalog(int startIndex, int endIndex, String[] data) {
+    /**
+     * Averages the values of a decoded scan row over the inclusive index
+     * range, ignoring flagged values, which are NaN.
+     *
+     * @param startIndex
+     * @param endIndex
+     * @param data
+     * @return
+     */
+    protected double calcAvgPulseOrAnalog(int startIndex, int endIndex, double[] data) {
         double retVal = 0.0;
 
         int countOfValues = 0;
         double sumOfValues = 0.0;
         for (int i = startIndex; i <= endIndex; i++) {
-            if (data[i].contains("*")) {
-                // do nothing
-            } else {
-                double val = Double.parseDouble(data[i]);
-                sumOfValues += val;
+            if (!Double.isNaN(data[i])) {
+                sumOfValues += data[i];
                 countOfValues++;
             }
         }
@@ -364,19 +378,28 @@ public abstract class AbstractRawDataFileHandler implements //
         return retVal;
     }
 
-    protected double calcAvgPulseThenAnalog(int startIndex, int endIndex, String[] data) {
+    /**
+     * Averages the pulse values of a decoded scan row over the inclusive index
+     * range unless one is flagged (NaN), in which case the analog values that
+     * follow are averaged instead.
+     *
+     * @param startIndex
+     * @param endIndex
+     * @param data
+     * @return negative average of analogs if any pulse is flagged
+     */
+    protected double calcAvgPulseThenAnalog(int startIndex, int endIndex, double[] data) {
         double retVal = 0.0;
 
         int countOfValues = 0;
         double sumOfValues = 0.0;
         for (int i = startIndex; i <= endIndex; i++) {
-            if (data[i].contains("*")) {
+            if (Double.isNaN(data[i])) {
                 // set flag to show we used analog
                 retVal = -calcAvgPulseOrAnalog(startIndex + 4, endIndex + 4, data);
                 break;
             } else {
-                double val = Double.parseDouble(data[i]);
-                sumOfValues += val;
+                sumOfValues += data[i];
                 countOfValues++;
             }
         }
@@ -389,10 +412,154 @@ public abstract class AbstractRawDataFileHandler implements //
         return retVal;
     }
 
-    public static long calculateTimeStampFromThermoDatFile(String timeStamp) {
-        // remove decimal point and take first 3 digits of 6 so timestamp can be converted to long
-        String[] timeStampParts = timeStamp.split("\\.");
-        return Long.parseLong(timeStampParts[0] + timeStampParts[1].substring(0, 3));
+    /**
+     * Loads fractions on a pool of worker threads: each task reads and parses
+     * one analysis file with its decoder and then builds and fits the raw
+     * ratios of the fraction with the processor the decoder returns. Each
+     * worker thread processes with its own copy of the mass spec setup, made
+     * by copyForFraction, so processors must use the setup they are given and
+     * not the massSpec field. Fractions are collected in the order of the
+     * decoders, and the mass spec setup is left with the state of the last
+     * fraction processed, as when fractions were processed one at a time.
+     * Decoders may return null to skip a fraction.
+     *
+     * @param loadDataTask the value of loadDataTask
+     * @param decoders one decoder per fraction, in file order
+     * @return the
+     * java.util.SortedSet<org.earthtime.Tripoli.fractions.TripoliFraction>
+     */
+    protected SortedSet<TripoliFraction> loadRawFractionsInParallel(//
+            SwingWorker loadDataTask, List<Callable<RawFractionProcessor>> decoders) {
+        return loadRawFractionsInParallel(loadDataTask, decoders, 0, 100);
+    }
+
+    /**
+     *
+     * @param loadDataTask the value of loadDataTask
+     * @param decoders one decoder per fraction, in file order
+     * @param progressStart the value of progress before the first fraction
+     * @param progressEnd the value of progress after the last fraction
+     * @return the
+     * java.util.SortedSet<org.earthtime.Tripoli.fractions.TripoliFraction>
+     */
+    protected SortedSet<TripoliFraction> loadRawFractionsInParallel(//
+            SwingWorker loadDataTask, List<Callable<RawFractionProcessor>> decoders, int progressStart, int progressEnd) {
+
+        SortedSet<TripoliFraction> myTripoliFractions = new TreeSet<>();
+
+        int countOfFractions = decoders.size();
+        if (countOfFractions == 0) {
+            return myTripoliFractions;
+        }
+
+        int countOfThreads = Math.min(Runtime.getRuntime().availableProcessors(), countOfFractions);
+        // limits the processed fractions waiting to be collected
+        int countInFlight = 2 * countOfThreads;
+
+        ExecutorService loadingService = Executors.newFixedThreadPool(countOfThreads, (Runnable runnable) -> {
+            Thread thread = new Thread(runnable, "Raw data loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final ThreadLocal<AbstractMassSpecSetup> threadMassSpec = ThreadLocal.withInitial(massSpec::copyForFraction);
+
+        List<Future<ProcessedFraction>> loadings = new ArrayList<>(countOfFractions);
+        AbstractMassSpecSetup lastMassSpecUsed = null;
+        try {
+            for (int f = 0; f < Math.min(countInFlight, countOfFractions); f++) {
+                loadings.add(loadingService.submit(loadRawFraction(decoders.get(f), f, threadMassSpec)));
+            }
+
+            for (int f = 0; f < countOfFractions; f++) {
+
+                if (loadDataTask.isCancelled()) {
+                    break;
+                }
+                loadDataTask.firePropertyChange("progress", 0, progressStart + (((progressEnd - progressStart) * f) / countOfFractions));
+
+                if ((f + countInFlight) < countOfFractions) {
+                    loadings.add(loadingService.submit(loadRawFraction(decoders.get(f + countInFlight), f + countInFlight, threadMassSpec)));
+                }
+
+                ProcessedFraction processedFraction;
+                try {
+                    processedFraction = loadings.get(f).get();
+                } catch (ExecutionException executionException) {
+                    // processing failed as it would have on this thread
+                    Throwable cause = executionException.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                } catch (InterruptedException interruptedException) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                if (processedFraction != null) {
+                    lastMassSpecUsed = processedFraction.massSpec;
+                    if (processedFraction.tripoliFraction != null) {
+                        myTripoliFractions.add(processedFraction.tripoliFraction);
+                    }
+                }
+            }
+        } finally {
+            loadingService.shutdownNow();
+            if (lastMassSpecUsed != null) {
+                massSpec.takeFractionStateFrom(lastMassSpecUsed);
+            }
+        }
+
+        return myTripoliFractions;
+    }
+
+    private static Callable<ProcessedFraction> loadRawFraction(//
+            final Callable<RawFractionProcessor> decoder, final int fractionIndex, final ThreadLocal<AbstractMassSpecSetup> threadMassSpec) {
+        return () -> {
+            RawFractionProcessor rawFractionProcessor;
+            try {
+                rawFractionProcessor = decoder.call();
+            } catch (Exception exception) {
+                Logger.getLogger(AbstractRawDataFileHandler.class.getName()).log(//
+                        Level.WARNING, "bad read of fraction " + (fractionIndex + 1) + " message = " + exception.getMessage());
+                return null;
+            }
+
+            if (rawFractionProcessor == null) {
+                return null;
+            }
+
+            AbstractMassSpecSetup fractionMassSpec = threadMassSpec.get();
+            return new ProcessedFraction(rawFractionProcessor.process(fractionMassSpec), fractionMassSpec);
+        };
+    }
+
+    /**
+     * Second stage of loadRawFractionsInParallel that creates and processes a
+     * decoded fraction.
+     */
+    @FunctionalInterface
+    protected interface RawFractionProcessor {
+
+        /**
+         *
+         * @param massSpec the copy of the mass spec setup to process with
+         * @return the processed fraction or null if it is to be skipped
+         */
+        TripoliFraction process(AbstractMassSpecSetup massSpec);
+    }
+
+    private static final class ProcessedFraction {
+
+        private final TripoliFraction tripoliFraction;
+        private final AbstractMassSpecSetup massSpec;
+
+        ProcessedFraction(TripoliFraction tripoliFraction, AbstractMassSpecSetup massSpec) {
+            this.tripoliFraction = tripoliFraction;
+            this.massSpec = massSpec;
+        }
     }
 
     /**
@@ -25,10 +25,12 @@ import java.io.ObjectStreamClass;
 import java.io.Serializable;
 import java.text.DateFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
@@ -177,25 +179,24 @@ public class RittnerAgilent7700FileHandler extends AbstractRawDataFileHandler im
      */
     @Override
     protected SortedSet<TripoliFraction> loadRawDataFile(SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions, boolean inLiveMode) {
-        tripoliFractions = new TreeSet<>();
+        List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
 
         // assume we are golden        
-        for (int f = 0; f < analysisFiles.length; f++) {
+        for (File analysisFile : analysisFiles) {
 
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
-            loadDataTask.firePropertyChange("progress", 0, ((100 * f) / analysisFiles.length));
+            fractionDecoders.add(() -> {
+                File[] analysisFileCSV = analysisFile.listFiles(new FilenameFilter() {
+                    @Override
+                    public boolean accept(File dir, String name) {
+                        return (name.toLowerCase().endsWith(".csv"));
+                    }
+                });
 
-            File[] analysisFileCSV = analysisFiles[f].listFiles(new FilenameFilter() {
-                @Override
-                public boolean accept(File dir, String name) {
-                    return (name.toLowerCase().endsWith(".csv"));
+                // there should be one only .csv file per folder
+                if (analysisFileCSV.length != 1) {
+                    return null;
                 }
-            });
 
-            // there should be one only .csv file per folder
-            if (analysisFileCSV.length == 1) {
                 String fractionID = analysisFileCSV[0].getName().toUpperCase().replace(".CSV", "");
 
                 // get file contents
@@ -220,46 +221,51 @@ public class RittnerAgilent7700FileHandler extends AbstractRawDataFileHandler im
                 Date fractionDateValue;
                 try {
                     fractionDateValue = fractionTimeFormat.parse(fractionDate);
+                } catch (ParseException parseException) {
+                    // TODO: drop out here
+                    return null;
+                }
 
-                    // assume change to peak at line 119 for now
-                    int assumedBackgroundRowCount = 106;// per Noah May 2014 until we get continuous mode 111;//119; // half of 236
-                    long fractionBackgroundTimeStamp = fractionDateValue.getTime();
-                    long fractionPeakTimeStamp = fractionDateValue.getTime() + assumedBackgroundRowCount * massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS();
-
-                    System.out.println("\n**** AGILENT FractionID " + fractionID + "  " + fractionDateValue.toString() + "  row count = " + fractionFileRows.length);
+                // assume change to peak at line 119 for now
+                int assumedBackgroundRowCount = 106;// per Noah May 2014 until we get continuous mode 111;//119; // half of 236
+                long fractionBackgroundTimeStamp = fractionDateValue.getTime();
+                long fractionPeakTimeStamp = fractionDateValue.getTime() + assumedBackgroundRowCount * massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS();
+
+                // then process whole file because it includes the background as well as the peak                   
+                // create background and peak 
+                // note each row has relative time stamp which we are hiding for now by using frequency of read
+                int expectedRowsOfData = rawDataFileTemplate.getBlockSize();
+                // scan data has background columns then peak columns per row
+                String[][] scanData = new String[assumedBackgroundRowCount][massSpec.getVIRTUAL_COLLECTOR_COUNT()];
+
+                //TODO possible missing condition here if file lengths vary from template spec and fractionFileRows is too big
+                for (int i = 0; i < expectedRowsOfData; i++) {
+
+                    // handle case where there is not as many lines of data as expected
+                    String[] fractionCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
+                    if (fractionFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
+                        fractionCollectorsColumns
+                                = //
+                                fractionFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split(",");
+                    }
 
-                    // then process whole file because it includes the background as well as the peak                   
-                    // create background and peak 
-                    // note each row has relative time stamp which we are hiding for now by using frequency of read
-                    int expectedRowsOfData = rawDataFileTemplate.getBlockSize();
-                    // scan data has background columns then peak columns per row
-                    String[][] scanData = new String[assumedBackgroundRowCount][massSpec.getVIRTUAL_COLLECTOR_COUNT()];
-
-                    //TODO possible missing condition here if file lengths vary from template spec and fractionFileRows is too big
-                    for (int i = 0; i < expectedRowsOfData; i++) {
-
-                        // handle case where there is not as many lines of data as expected
-                        String[] fractionCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
-                        if (fractionFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
-                            fractionCollectorsColumns
-                                    = //
-                                    fractionFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split(",");
+                    if (i < assumedBackgroundRowCount) {
+                        // column 5 is first isotope
+                        // background
+                        for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
+                            scanData[i][j - 5] = fractionCollectorsColumns[j].trim();
                         }
-
-                        if (i < assumedBackgroundRowCount) {
-                            // column 5 is first isotope
-                            // background
-                            for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
-                                scanData[i][j - 5] = fractionCollectorsColumns[j].trim();
-                            }
-                        } else {
-                            // onpeak
-                            for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
-                                scanData[i - assumedBackgroundRowCount][(massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + j - 5] //
-                                        = fractionCollectorsColumns[j].trim();
-                            }
+                    } else {
+                        // onpeak
+                        for (int j = 5; j < (massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + 5; j++) {
+                            scanData[i - assumedBackgroundRowCount][(massSpec.getVIRTUAL_COLLECTOR_COUNT() / 2) + j - 5] //
+                                    = fractionCollectorsColumns[j].trim();
                         }
                     }
+                }
+
+                return (massSpec) -> {
+                    System.out.println("\n**** AGILENT FractionID " + fractionID + "  " + fractionDateValue.toString() + "  row count = " + fractionFileRows.length);
 
                     // extract isStandard
                     boolean isStandard = isStandardFractionID(fractionID);
@@ -273,19 +279,14 @@ public class RittnerAgilent7700FileHandler extends AbstractRawDataFileHandler im
                                     fractionPeakTimeStamp, massSpec.rawRatiosFactory(scanData, fractionID, usingFullPropagation, null));
 
                     tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                    tripoliFractions.add(tripoliFraction);
-//                System.out.println( "Successfully added frac " + fractionID + " >>  " + tripoliFractions.add( tripoliFraction ) );
-//
-//                System.out.println( "                                       Count of stored fractions = " + tripoliFractions.size() );
-//                System.out.println( fractionID //
-//                        + " " + isStandard + " time = " + TimeToString.secondsAsLongToTimeString( fractionPeakTimeStamp ) );
-
-                    // }
-                } catch (ParseException parseException) {
-                    // TODO: drop out here
-                }
-            }
+
+                    return tripoliFraction;
+                };
+            });
         }
+
+        tripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders);
+
         return tripoliFractions;
     }
 
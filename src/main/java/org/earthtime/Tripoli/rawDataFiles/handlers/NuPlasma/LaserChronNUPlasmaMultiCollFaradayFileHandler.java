@@ -28,10 +28,11 @@ import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
@@ -336,8 +337,6 @@ public class LaserChronNUPlasmaMultiCollFaradayFileHandler extends AbstractRawDa
         Calendar calendar = Calendar.getInstance();
         calendar.clear();
 
-        tripoliFractions = new TreeSet<>();
-
         String fileContents = URIHelper.getTextFromURI(rawDataFile.getAbsolutePath());
 
         // remove all quotes
@@ -383,14 +382,9 @@ public class LaserChronNUPlasmaMultiCollFaradayFileHandler extends AbstractRawDa
         String[] fractionBlockOfScans = rawFractions[1].split("\n");
         int myBlockSize = fractionBlockOfScans.length - 2;
 
-        for (int i = ignoreFirstFractions + 1; i < rawFractions.length; i++) {
+        List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
 
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
-
-            final int limit = ((100 * (i - ignoreFirstFractions)) / (rawFractions.length - ignoreFirstFractions));
-            loadDataTask.firePropertyChange("progress", 0, limit);
+        for (int i = ignoreFirstFractions + 1; i < rawFractions.length; i++) {
 
             // split fractions into scans
             fractionBlockOfScans = rawFractions[i].split("\n");
@@ -478,13 +472,6 @@ public class LaserChronNUPlasmaMultiCollFaradayFileHandler extends AbstractRawDa
                 String[] columns = fractionBlockOfScans[1].split(dataDelimiter);
                 // last entry is a counter
                 if (columns.length == (getMassSpec().getVIRTUAL_COLLECTOR_COUNT() + 1)) {
-                    // prepare block of scans
-                    String[][] scanData = new String[myBlockSize][getMassSpec().getVIRTUAL_COLLECTOR_COUNT()];
-                    for (int row = 1; row < fractionBlockOfScans.length - 1; row++) {
-                        columns = fractionBlockOfScans[row].split(dataDelimiter);
-                        System.arraycopy(columns, 0, scanData[row - 1], 0, getMassSpec().getVIRTUAL_COLLECTOR_COUNT());
-                    }
-
                     String fullFractionId = sampleName + "-" + fractionID;
                     int count = 0;
                     if (repeatedFractionNames.containsKey(fullFractionId)) {
@@ -496,30 +483,49 @@ public class LaserChronNUPlasmaMultiCollFaradayFileHandler extends AbstractRawDa
 
                     String theFractionID = fullFractionId + ((count == 0) ? "" : "." + String.valueOf(count));
 
-                    // nov 2014 broke into steps to provide cleaner logic
-                    TripoliFraction tripoliFraction
-                            = //                           
-                            new TripoliFraction( //
-                                    //
-                                    theFractionID, //
-                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                    isStandard, false,
-                                    fractionDate.getTime(), //
-                                    fractionDate.getTime(),//
-                                    myBlockSize);//, 
-
-                    SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactory(scanData, theFractionID, usingFullPropagation, tripoliFraction);
-                    tripoliFraction.setRawRatios(rawRatios);
-                    massSpec.processFractionRawRatios(scanData, fractionID, usingFullPropagation, tripoliFraction);
-
-                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                    tripoliFractions.add(tripoliFraction);
-
-                    System.out.println(sampleName + "   " + theFractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(fractionDate.getTime()));
+                    final String[] myFractionBlockOfScans = fractionBlockOfScans;
+                    final String myFractionID = fractionID;
+                    final String mySampleName = sampleName;
+                    final Date myFractionDate = fractionDate;
+
+                    fractionDecoders.add(() -> {
+                        // prepare block of scans
+                        String[][] scanData = new String[myBlockSize][getMassSpec().getVIRTUAL_COLLECTOR_COUNT()];
+                        for (int row = 1; row < myFractionBlockOfScans.length - 1; row++) {
+                            String[] scanColumns = myFractionBlockOfScans[row].split(dataDelimiter);
+                            System.arraycopy(scanColumns, 0, scanData[row - 1], 0, getMassSpec().getVIRTUAL_COLLECTOR_COUNT());
+                        }
+
+                        return (massSpec) -> {
+                            // nov 2014 broke into steps to provide cleaner logic
+                            TripoliFraction tripoliFraction
+                                    = //                           
+                                    new TripoliFraction( //
+                                            //
+                                            theFractionID, //
+                                            massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                            isStandard, false,
+                                            myFractionDate.getTime(), //
+                                            myFractionDate.getTime(),//
+                                            myBlockSize);//, 
+
+                            SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactory(scanData, theFractionID, usingFullPropagation, tripoliFraction);
+                            tripoliFraction.setRawRatios(rawRatios);
+                            massSpec.processFractionRawRatios(scanData, myFractionID, usingFullPropagation, tripoliFraction);
+
+                            tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+
+                            System.out.println(mySampleName + "   " + theFractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(myFractionDate.getTime()));
+
+                            return tripoliFraction;
+                        };
+                    });
                 }
             }
         }
 
+        tripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders);
+
         return tripoliFractions;
     }
 
@@ -26,10 +26,11 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
@@ -348,8 +349,6 @@ public class LaserChronNUPlasmaMultiCollFaradayTRAFileHandler extends AbstractRa
         Calendar calendar = Calendar.getInstance();
         calendar.clear();
 
-        tripoliFractions = new TreeSet<>();
-
         String fileContents = URIHelper.getTextFromURI(rawDataFile.getAbsolutePath());
 
         // remove all quotes
@@ -386,22 +385,19 @@ public class LaserChronNUPlasmaMultiCollFaradayTRAFileHandler extends AbstractRa
 
         int fractionCounter = 0;
         boolean readingPeaks = false;
-        ArrayList<double[]> backgroundAcquisitions = new ArrayList<>();
-        ArrayList<double[]> peakAcquisitions = new ArrayList<>();
+        List<String> backgroundRows = new ArrayList<>();
+        List<String> peakRows = new ArrayList<>();
+
+        List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
 
         // first acquisition is blank
         for (int i = 150; i < rawAcquisitions.length; i++) {
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
-
-            final int limit = ((100 * (i)) / (rawAcquisitions.length));
-            loadDataTask.firePropertyChange("progress", 0, limit);
 
             // this hard-wired specification from the lab dated july 21 2014
             if (fractionCounter < 133) {
-                String[] rawIntensities = rawAcquisitions[i].split(",");
-                double i238 = Double.parseDouble(rawIntensities[0]);
+                // only the 238 voltage is needed to find the fractions; rows are parsed by the decoders
+                String rawAcquisition = rawAcquisitions[i];
+                double i238 = Double.parseDouble(rawAcquisition.substring(0, Math.max(0, rawAcquisition.indexOf(','))));
                 boolean isStandard = false;
                 if (fractionCounter < 5) {
                     isStandard = true;
@@ -415,20 +411,8 @@ public class LaserChronNUPlasmaMultiCollFaradayTRAFileHandler extends AbstractRa
                 if (readingPeaks && (i238 <= 0.001)) {
                     // process new fraction and reset data collectors *************
 
-                    int readCountBackgroundAcquisitions = backgroundAcquisitions.size();
-                    int readCountPeakAcquisitions = peakAcquisitions.size();
-                    // trim front and back of data
-                    int trimCountFront = 5;
-                    for (int c = 0; c < trimCountFront; c++) {
-                        backgroundAcquisitions.remove(0);
-                        peakAcquisitions.remove(0);
-                    }
-                    int trimCountBack = 15;
-                    for (int c = 0; c < trimCountBack; c++) {
-                        backgroundAcquisitions.remove(backgroundAcquisitions.size() - 1);
-                        peakAcquisitions.remove(peakAcquisitions.size() - 1);
-                    }
-                    System.out.println("read in fraction " + fractionCounter + "  " + backgroundAcquisitions.size() + "   " + peakAcquisitions.size());
+                    int readCountBackgroundAcquisitions = backgroundRows.size();
+                    int readCountPeakAcquisitions = peakRows.size();
 
                     String theFractionID;
                     if (isStandard) {
@@ -437,67 +421,100 @@ public class LaserChronNUPlasmaMultiCollFaradayTRAFileHandler extends AbstractRa
                         theFractionID = sampleRunName + "-" + String.valueOf(fractionCounter);
                     }
 
-                    // nov 2014 broke into steps to provide cleaner logic
-                    TripoliFraction tripoliFraction
-                            = new TripoliFraction( //
-                                    //
-                                    theFractionID, //
-                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                    isStandard, false,
-                                    fractionBackgroundStartTime, //
-                                    fractionBackgroundStartTime + readCountBackgroundAcquisitions * massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS(),
-                                    peakAcquisitions.size());
-
-                    SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
-                    tripoliFraction.setRawRatios(rawRatios);
-
-                    massSpec.setCountOfAcquisitions(peakAcquisitions.size());
-                    massSpec.processFractionRawRatiosTRA(backgroundAcquisitions, peakAcquisitions, theFractionID, usingFullPropagation, tripoliFraction);
-
-                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                    tripoliFractions.add(tripoliFraction);
-
-                    System.out.println(theFractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(fractionBackgroundStartTime) + "\n\n<><><><><><><><><><><><><><><><><><><><><><><>");
+                    final List<String> myBackgroundRows = backgroundRows;
+                    final List<String> myPeakRows = peakRows;
+                    final int myFractionCounter = fractionCounter;
+                    final boolean myIsStandard = isStandard;
+                    final long myFractionBackgroundStartTime = fractionBackgroundStartTime;
+
+                    fractionDecoders.add(() -> {
+                        ArrayList<double[]> backgroundAcquisitions = parseAcquisitions(myBackgroundRows);
+                        ArrayList<double[]> peakAcquisitions = parseAcquisitions(myPeakRows);
+
+                        // trim front and back of data
+                        int trimCountFront = 5;
+                        for (int c = 0; c < trimCountFront; c++) {
+                            backgroundAcquisitions.remove(0);
+                            peakAcquisitions.remove(0);
+                        }
+                        int trimCountBack = 15;
+                        for (int c = 0; c < trimCountBack; c++) {
+                            backgroundAcquisitions.remove(backgroundAcquisitions.size() - 1);
+                            peakAcquisitions.remove(peakAcquisitions.size() - 1);
+                        }
+
+                        return (massSpec) -> {
+                            System.out.println("read in fraction " + myFractionCounter + "  " + backgroundAcquisitions.size() + "   " + peakAcquisitions.size());
+
+                            // nov 2014 broke into steps to provide cleaner logic
+                            TripoliFraction tripoliFraction
+                                    = new TripoliFraction( //
+                                            //
+                                            theFractionID, //
+                                            massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                            myIsStandard, false,
+                                            myFractionBackgroundStartTime, //
+                                            myFractionBackgroundStartTime + readCountBackgroundAcquisitions * massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS(),
+                                            peakAcquisitions.size());
+
+                            SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
+                            tripoliFraction.setRawRatios(rawRatios);
+
+                            massSpec.setCountOfAcquisitions(peakAcquisitions.size());
+                            massSpec.processFractionRawRatiosTRA(backgroundAcquisitions, peakAcquisitions, theFractionID, usingFullPropagation, tripoliFraction);
+
+                            tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+
+                            System.out.println(theFractionID + " " + myIsStandard + "  \t" + TimeToString.timeStampString(myFractionBackgroundStartTime) + "\n\n<><><><><><><><><><><><><><><><><><><><><><><>");
+
+                            return tripoliFraction;
+                        };
+                    });
 
                     // update time
                     fractionBackgroundStartTime += massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS() * (readCountBackgroundAcquisitions + readCountPeakAcquisitions);
                     // reset data collectors
                     fractionCounter++;
                     readingPeaks = false;
-                    backgroundAcquisitions = new ArrayList<>();
-                    peakAcquisitions = new ArrayList<>();
+                    backgroundRows = new ArrayList<>();
+                    peakRows = new ArrayList<>();
                 }
 
-                // we want 238, 232, skip, 208, 207, 206, 204, skip, 202
                 if (i238 <= 0.001) {
-                    double[] backgroundIntensities = new double[7];
-                    backgroundAcquisitions.add(backgroundIntensities);
-                    backgroundIntensities[0] = i238;
-                    backgroundIntensities[1] = Double.parseDouble(rawIntensities[1]);
-                    backgroundIntensities[2] = Double.parseDouble(rawIntensities[3]);
-                    backgroundIntensities[3] = Double.parseDouble(rawIntensities[4]);
-                    backgroundIntensities[4] = Double.parseDouble(rawIntensities[5]);
-                    backgroundIntensities[5] = Double.parseDouble(rawIntensities[6]);
-                    backgroundIntensities[6] = Double.parseDouble(rawIntensities[8]);
+                    backgroundRows.add(rawAcquisition);
                 } else {
-                    double[] peakIntensities = new double[7];
-                    peakAcquisitions.add(peakIntensities);
-                    peakIntensities[0] = i238;
-                    peakIntensities[1] = Double.parseDouble(rawIntensities[1]);
-                    peakIntensities[2] = Double.parseDouble(rawIntensities[3]);
-                    peakIntensities[3] = Double.parseDouble(rawIntensities[4]);
-                    peakIntensities[4] = Double.parseDouble(rawIntensities[5]);
-                    peakIntensities[5] = Double.parseDouble(rawIntensities[6]);
-                    peakIntensities[6] = Double.parseDouble(rawIntensities[8]);
+                    peakRows.add(rawAcquisition);
 
                     readingPeaks = true;
                 }
             }
         }
 
+        tripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders);
+
         return tripoliFractions;
     }
 
+    private ArrayList<double[]> parseAcquisitions(List<String> rawAcquisitionRows) {
+        ArrayList<double[]> acquisitions = new ArrayList<>(rawAcquisitionRows.size());
+
+        for (String rawAcquisition : rawAcquisitionRows) {
+            String[] rawIntensities = rawAcquisition.split(",");
+            // we want 238, 232, skip, 208, 207, 206, 204, skip, 202
+            double[] intensities = new double[7];
+            acquisitions.add(intensities);
+            intensities[0] = Double.parseDouble(rawIntensities[0]);
+            intensities[1] = Double.parseDouble(rawIntensities[1]);
+            intensities[2] = Double.parseDouble(rawIntensities[3]);
+            intensities[3] = Double.parseDouble(rawIntensities[4]);
+            intensities[4] = Double.parseDouble(rawIntensities[5]);
+            intensities[5] = Double.parseDouble(rawIntensities[6]);
+            intensities[6] = Double.parseDouble(rawIntensities[8]);
+        }
+
+        return acquisitions;
+    }
+
     /**
      *
      * @return the boolean
@@ -22,13 +22,15 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectStreamClass;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
@@ -266,8 +268,6 @@ public class LaserChronNUPlasmaMultiCollIonCounterFileHandler extends AbstractRa
         Calendar calendar = Calendar.getInstance();
         calendar.clear();
 
-        tripoliFractions = new TreeSet<>();
-
         // if ( isValidRawDataFileType( rawDataFile ) ) {
         String fileContents = URIHelper.getTextFromURI(rawDataFile.getAbsolutePath());
         //if ( areKeyWordsPresent( fileContents ) ) {
@@ -315,13 +315,10 @@ public class LaserChronNUPlasmaMultiCollIonCounterFileHandler extends AbstractRa
         String[] fractionBlockOfScans = rawFractions[1].split("\n");
         int myBlockSize = fractionBlockOfScans.length - 2;
 
-        for (int i = ignoreFirstFractions + 1; i < rawFractions.length; i++) {
+        List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
 
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
+        for (int i = ignoreFirstFractions + 1; i < rawFractions.length; i++) {
 
-            loadDataTask.firePropertyChange("progress", 0, ((100 * i) / rawFractions.length));
             // split fractions into scans
             fractionBlockOfScans = rawFractions[i].split("\n");
 
@@ -391,13 +388,6 @@ public class LaserChronNUPlasmaMultiCollIonCounterFileHandler extends AbstractRa
                 String[] columns = fractionBlockOfScans[1].split(",");
                 // last entry is a counter
                 if (columns.length == (getMassSpec().getVIRTUAL_COLLECTOR_COUNT() + 1)) {
-                    // prepare block of scans
-                    String[][] scanData = new String[myBlockSize][getMassSpec().getVIRTUAL_COLLECTOR_COUNT()];
-                    for (int row = 1; row < fractionBlockOfScans.length - 1; row++) {
-                        columns = fractionBlockOfScans[row].split(",");
-                        System.arraycopy(columns, 0, scanData[row - 1], 0, getMassSpec().getVIRTUAL_COLLECTOR_COUNT());
-                    }
-
                     String fullFractionId = sampleName + "-" + fractionID;
                     int count = 0;
                     if (repeatedFractionNames.containsKey(fullFractionId)) {
@@ -409,42 +399,48 @@ public class LaserChronNUPlasmaMultiCollIonCounterFileHandler extends AbstractRa
 
                     String theFractionID = fullFractionId + ((count == 0) ? "" : "." + String.valueOf(count));
 
-//                    TripoliFraction tripoliFraction = //                           
-//                            new TripoliFraction( //
-//                                    theFractionID, //
-//                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
-//                                    isStandard,
-//                                    fractionDate.getTime(), //
-//                                    fractionDate.getTime(), massSpec.rawRatiosFactory(scanData, isStandard, theFractionID, usingFullPropagation, null));
-//
-//                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-//                    tripoliFractions.add(tripoliFraction);
-//
-//                    System.out.println(sampleName + "   " + fractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(fractionDate.getTime()));
-                    // nov 2014 broke into steps to provide cleaner logic
-                    TripoliFraction tripoliFraction
-                            = //                           
-                            new TripoliFraction( //
-                                    //
-                                    theFractionID, //
-                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                    isStandard, false,
-                                    fractionDate.getTime(), //
-                                    fractionDate.getTime(),//
-                                    myBlockSize);//, 
-
-                    SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactory(scanData, theFractionID, usingFullPropagation, tripoliFraction);
-                    tripoliFraction.setRawRatios(rawRatios);
-                    massSpec.processFractionRawRatios(scanData, fractionID, usingFullPropagation, tripoliFraction);
-
-                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                    tripoliFractions.add(tripoliFraction);
-
-                    System.out.println(sampleName + "   " + theFractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(fractionDate.getTime()));
+                    final String[] myFractionBlockOfScans = fractionBlockOfScans;
+                    final String mySampleName = sampleName;
+                    final Date myFractionDate = fractionDate;
+
+                    fractionDecoders.add(() -> {
+                        // prepare block of scans
+                        String[][] scanData = new String[myBlockSize][getMassSpec().getVIRTUAL_COLLECTOR_COUNT()];
+                        for (int row = 1; row < myFractionBlockOfScans.length - 1; row++) {
+                            String[] scanColumns = myFractionBlockOfScans[row].split(",");
+                            System.arraycopy(scanColumns, 0, scanData[row - 1], 0, getMassSpec().getVIRTUAL_COLLECTOR_COUNT());
+                        }
+
+                        return (massSpec) -> {
+                            // nov 2014 broke into steps to provide cleaner logic
+                            TripoliFraction tripoliFraction
+                                    = //                           
+                                    new TripoliFraction( //
+                                            //
+                                            theFractionID, //
+                                            massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                            isStandard, false,
+                                            myFractionDate.getTime(), //
+                                            myFractionDate.getTime(),//
+                                            myBlockSize);//, 
+
+                            SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactory(scanData, theFractionID, usingFullPropagation, tripoliFraction);
+                            tripoliFraction.setRawRatios(rawRatios);
+                            massSpec.processFractionRawRatios(scanData, fractionID, usingFullPropagation, tripoliFraction);
+
+                            tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+
+                            System.out.println(mySampleName + "   " + theFractionID + " " + isStandard + "  \t" + TimeToString.timeStampString(myFractionDate.getTime()));
+
+                            return tripoliFraction;
+                        };
+                    });
                 }
             }
         }
 
+        tripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders);
+
         return tripoliFractions;
     }
 
@@ -33,7 +33,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.JFrame;
 import javax.swing.SwingWorker;
@@ -323,8 +323,6 @@ public class SantaBarbaraNUPlasmaMultiCollFaradayTRAFileHandler extends Abstract
     @Override
     protected SortedSet<TripoliFraction> loadRawDataFile(SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions, boolean inLiveMode) {
 
-        SortedSet myTripoliFractions = new TreeSet<>();
-
         String referenceMaterialfractionID = fractionNames[0];
 
         // time stamp in form of  "18/02/2014","05:07 PM"
@@ -350,45 +348,14 @@ public class SantaBarbaraNUPlasmaMultiCollFaradayTRAFileHandler extends Abstract
         int backgroundRightShade = ((RawIntensityDataModel) firstModel).getBackgroundRightShade();
         int backgroundWidth = ((RawIntensityDataModel) firstModel).getBackgroundWidth();
 
+        List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
+
         // walk the zero-time indices - one for each fraction
         int countIgnoredFractions = 0;
         for (int fractionIndex = 0; fractionIndex < sessionTimeZeroIndices.size(); fractionIndex++) {
             // test for ignored
             if (sessionTimeZeroIndices.get(fractionIndex) > 0) {
-                if (loadDataTask.isCancelled()) {
-                    break;
-                }
-                loadDataTask.firePropertyChange("progress", 0, ((100 * fractionIndex) / sessionTimeZeroIndices.size()));
-
-                // background 
-                List<double[]> backgroundAcquisitions = new ArrayList<>();
-
-                int startOfBackgroundIndex = sessionTimeZeroIndices.get(fractionIndex) - backgroundRightShade - backgroundWidth;
-                for (int acquisitionIndex = startOfBackgroundIndex; acquisitionIndex < sessionTimeZeroIndices.get(fractionIndex); acquisitionIndex++) {
-                    // 238  232  208 207 206 204
-                    double[] backgroundIntensities = new double[6];
-                    backgroundAcquisitions.add(backgroundIntensities);
-
-                    String[] acquisition = fractionData.get(dataFoundIndex + acquisitionIndex).split(",");
-                    for (int index = 0; index < 6; index++) {
-                        backgroundIntensities[index] = Double.parseDouble(acquisition[index]);
-                    }
-                }
-
-                // peak                       
-                List<double[]> peakAcquisitions = new ArrayList<>();
-
-                int endOfPeakIndex = sessionTimeZeroIndices.get(fractionIndex) + peakLeftShade + peakWidth;
-                for (int acquisitionIndex = sessionTimeZeroIndices.get(fractionIndex); acquisitionIndex < endOfPeakIndex; acquisitionIndex++) {
-                    // 238  232  208 207 206 204
-                    double[] peakIntensities = new double[6];
-                    peakAcquisitions.add(peakIntensities);
-
-                    String[] acquisition = fractionData.get(dataFoundIndex + acquisitionIndex).split(",");
-                    for (int index = 0; index < 6; index++) {
-                        peakIntensities[index] = Double.parseDouble(acquisition[index]);
-                    }
-                }
+                int timeZeroIndex = sessionTimeZeroIndices.get(fractionIndex);
 
                 // specify fraction and turn off data points at ends
                 // calculate dates
@@ -399,51 +366,88 @@ public class SantaBarbaraNUPlasmaMultiCollFaradayTRAFileHandler extends Abstract
                     referenceMaterialIncrementerMap.put(fractionID, refMatIndex + 1);
                     fractionID = fractionID + "-" + String.valueOf(refMatIndex);
                 }
+                final String myFractionID = fractionID;
 
                 // peak stamp = timezero
-                long fractionPeakTimeStamp = runStartTime + 200l * sessionTimeZeroIndices.get(fractionIndex);
+                long fractionPeakTimeStamp = runStartTime + 200l * timeZeroIndex;
                 long fractionBackgroundTimeStamp = fractionPeakTimeStamp - 200l * (backgroundRightShade + backgroundWidth);
 
-                TripoliFraction tripoliFraction
-                        = new TripoliFraction( //
-                                //
-                                fractionID, //
-                                massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                isReferenceMaterial, false,
-                                fractionBackgroundTimeStamp, //
-                                fractionPeakTimeStamp,
-                                peakAcquisitions.size());
+                fractionDecoders.add(() -> {
+                    // background 
+                    List<double[]> backgroundAcquisitions = new ArrayList<>();
 
-                SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
+                    int startOfBackgroundIndex = timeZeroIndex - backgroundRightShade - backgroundWidth;
+                    for (int acquisitionIndex = startOfBackgroundIndex; acquisitionIndex < timeZeroIndex; acquisitionIndex++) {
+                        // 238  232  208 207 206 204
+                        double[] backgroundIntensities = new double[6];
+                        backgroundAcquisitions.add(backgroundIntensities);
 
-                tripoliFraction.setRawRatios(rawRatios);
+                        String[] acquisition = fractionData.get(dataFoundIndex + acquisitionIndex).split(",");
+                        for (int index = 0; index < 6; index++) {
+                            backgroundIntensities[index] = Double.parseDouble(acquisition[index]);
+                        }
+                    }
 
-                massSpec.setCountOfAcquisitions(peakAcquisitions.size());
+                    // peak                       
+                    List<double[]> peakAcquisitions = new ArrayList<>();
 
-                massSpec.processFractionRawRatiosII(null, null, //
-                        backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, inLiveMode);
+                    int endOfPeakIndex = timeZeroIndex + peakLeftShade + peakWidth;
+                    for (int acquisitionIndex = timeZeroIndex; acquisitionIndex < endOfPeakIndex; acquisitionIndex++) {
+                        // 238  232  208 207 206 204
+                        double[] peakIntensities = new double[6];
+                        peakAcquisitions.add(peakIntensities);
 
-                tripoliFraction.shadeDataActiveMapLeft(0);
+                        String[] acquisition = fractionData.get(dataFoundIndex + acquisitionIndex).split(",");
+                        for (int index = 0; index < 6; index++) {
+                            peakIntensities[index] = Double.parseDouble(acquisition[index]);
+                        }
+                    }
 
-                // turn off data point between time-zero and end background, start peak
-                for (int offDataIndex = 0; offDataIndex < peakLeftShade; offDataIndex++) {
-                    tripoliFraction.toggleOneDataAquisition(offDataIndex, false);
-                }
-                // don't have system for background yet
+                    return (massSpec) -> {
+                        TripoliFraction tripoliFraction
+                                = new TripoliFraction( //
+                                        //
+                                        myFractionID, //
+                                        massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                        isReferenceMaterial, false,
+                                        fractionBackgroundTimeStamp, //
+                                        fractionPeakTimeStamp,
+                                        peakAcquisitions.size());
 
-                System.out.println("\n**** Element II FractionID  " + fractionID + " refMat? " + isReferenceMaterial + "  livemode = " + inLiveMode + " <<<<<<<<<<<<<<<<<<\n");
+                        SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
 
-                myTripoliFractions.add(tripoliFraction);
+                        tripoliFraction.setRawRatios(rawRatios);
 
-                if (isReferenceMaterial) {
-                    loadDataTask.firePropertyChange("refMaterialLoaded", 0, 1);
-                }
+                        massSpec.setCountOfAcquisitions(peakAcquisitions.size());
+
+                        massSpec.processFractionRawRatiosII(null, null, //
+                                backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, inLiveMode);
+
+                        tripoliFraction.shadeDataActiveMapLeft(0);
+
+                        // turn off data point between time-zero and end background, start peak
+                        for (int offDataIndex = 0; offDataIndex < peakLeftShade; offDataIndex++) {
+                            tripoliFraction.toggleOneDataAquisition(offDataIndex, false);
+                        }
+                        // don't have system for background yet
+
+                        System.out.println("\n**** Element II FractionID  " + myFractionID + " refMat? " + isReferenceMaterial + "  livemode = " + inLiveMode + " <<<<<<<<<<<<<<<<<<\n");
+
+                        if (isReferenceMaterial) {
+                            loadDataTask.firePropertyChange("refMaterialLoaded", 0, 1);
+                        }
+
+                        return tripoliFraction;
+                    };
+                });
 
             } else {
                 countIgnoredFractions++;
             }
         }
 
+        SortedSet<TripoliFraction> myTripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders);
+
         return myTripoliFractions;
     }
 
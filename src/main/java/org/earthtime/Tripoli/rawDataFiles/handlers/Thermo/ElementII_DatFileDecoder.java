@@ -0,0 +1,377 @@
+/*
+ * ElementII_DatFileDecoder.java
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.rawDataFiles.handlers.Thermo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Native Java decoder for Thermo Finnigan Element II '.dat' files. This is a
+ * direct port of the version 5 Python routine in
+ * <code>org.earthtime.pythonUtilities.ElementII_DatFileConverter</code>
+ * (adapted from code published by Dr. Philip Wenig and John H. Hartman) that
+ * reads the memory-mapped file through little-endian buffer views and returns
+ * primitive columns instead of strings.
+ *
+ * Each decoded scan row keeps the legacy layout: index 0 = scan number, 1 =
+ * time stamp in seconds, 2 = ACF, followed for each mass by its pulse values,
+ * its analog values and an empty separator. Separators and values whose scale
+ * code carries the unknown (legacy '*') flag are stored as <code>NaN</code>.
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public final class ElementII_DatFileDecoder {
+
+    private static final int HDR_START = 0x10;
+    private static final int HDR_FIELDS = 85;
+    private static final int HDR_INDEX_OFFSET = 33;
+    private static final int HDR_INDEX_LEN = 39;
+    private static final int HDR_TIMESTAMP = 40;
+
+    private static final int SCAN_HEADER_INTS = 22;
+    private static final int SCAN_NUMBER = 9;
+    private static final int SCAN_ACF = 12;
+    private static final int SCAN_TIME = 19;
+    private static final int SCAN_DATA_START = 72;
+
+    private static final int MAGIC = 0x8000;
+
+    // skips for scan formats A and B: before key, after key, after reading, after element
+    private static final int[][] SKIPS = new int[][]{{0, 2, 0, 0}, {4, 0, 2, 2}};
+
+    private ElementII_DatFileDecoder() {
+    }
+
+    /**
+     * Decodes all scans of an Element II '.dat' file.
+     *
+     * @param file the '.dat' file
+     * @return the decoded scans ordered by scan number
+     * @throws IOException if the file cannot be read or is not a valid
+     * Element II data file
+     */
+    public static ElementII_DatFileData decode(File file) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Element II file too large: " + file.getName());
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            return decode(buffer, (int) size, file.getName());
+        }
+    }
+
+    private static ElementII_DatFileData decode(MappedByteBuffer buffer, int size, String fileName) throws IOException {
+
+        // header
+        checkBounds(HDR_START, HDR_FIELDS * 4, size, fileName);
+        long[] hdr = new long[HDR_FIELDS];
+        for (int i = 0; i < HDR_FIELDS; i++) {
+            hdr[i] = readUnsignedInt(buffer, HDR_START + 4 * i);
+        }
+        long timeStamp = hdr[HDR_TIMESTAMP];
+        long indexOffset = hdr[HDR_INDEX_OFFSET] + 4;
+        int indexLength = (int) hdr[HDR_INDEX_LEN];
+
+        // scan offsets
+        checkBounds(indexOffset, 4L * indexLength, size, fileName);
+        long[] offsets = new long[indexLength];
+        for (int i = 0; i < indexLength; i++) {
+            offsets[i] = readUnsignedInt(buffer, (int) indexOffset + 4 * i);
+        }
+        if (offsets.length < 2) {
+            throw new IOException("Element II file has too few scans: " + fileName);
+        }
+        // as in the original routine, the scan size is taken from the last pair of offsets
+        long indexSize = offsets[offsets.length - 1] - offsets[offsets.length - 2];
+        int count = (int) ((indexSize - (SCAN_HEADER_INTS * 4)) / 2);
+        if (count <= 0) {
+            throw new IOException("Element II file has invalid scan size: " + fileName);
+        }
+
+        int[] vals = new int[SCAN_HEADER_INTS + count];
+        MagicState magic = new MagicState();
+        Map<Long, ScanRow> scans = new TreeMap<>();
+
+        for (long offset : offsets) {
+            checkBounds(offset, SCAN_HEADER_INTS * 4 + 2L * count, size, fileName);
+            int position = (int) offset;
+            for (int i = 0; i < SCAN_HEADER_INTS; i++) {
+                // header words only feed scan number, ACF and time, all well within int range
+                vals[i] = (int) readUnsignedInt(buffer, position + 4 * i);
+            }
+            position += SCAN_HEADER_INTS * 4;
+            for (int i = 0; i < count; i++) {
+                vals[SCAN_HEADER_INTS + i] = buffer.getShort(position + 2 * i) & 0xFFFF;
+            }
+
+            ScanRow scanRow = decodeScan(vals, timeStamp, magic, fileName);
+            scans.put(scanRow.scanNumber, scanRow);
+        }
+
+        return new ElementII_DatFileData(scans);
+    }
+
+    private static ScanRow decodeScan(int[] vals, long timeStamp, MagicState magic, String fileName) throws IOException {
+
+        long scanNumber = vals[SCAN_NUMBER] & 0xFFFFFFFFL;
+        double acf = (vals[SCAN_ACF] & 0xFFFFFFFFL) / 64.0;
+        long scanTime = vals[SCAN_TIME] & 0xFFFFFFFFL;
+
+        DoubleRow result = new DoubleRow(3 + vals.length / 2);
+        result.add(scanNumber);
+        result.add(scanTime / 1000.0 + timeStamp);
+        result.add(acf);
+
+        DoubleRow pulses = new DoubleRow(8);
+        DoubleRow analogs = new DoubleRow(8);
+
+        int length = vals.length;
+        int index = SCAN_DATA_START;
+        int[] skips = SKIPS[0];
+        boolean needKey = true;
+
+        try {
+            while (index + 4 < length) {
+                if (needKey) {
+                    skips = SKIPS[0];
+                    if (!isKnownScale(valueAt(vals, index + 5)) && isKnownScale(valueAt(vals, index + 7))) {
+                        skips = SKIPS[1];
+                    }
+                    index += skips[0];
+                    needKey = false;
+                }
+                index += 2;
+                // skip to pulse data
+                index += skips[1];
+                int scale = vals[index + 1];
+                if (!isKnownScale(scale)) {
+                    throw new IOException("Unknown scaling " + Integer.toHexString(scale) + " in " + fileName);
+                }
+                pulses.add(scale(vals[index], scale, acf));
+                // skip to analog data
+                index += 2;
+                int analogScale = valueAt(vals, index + 1);
+                if (isKnownScale(analogScale)) {
+                    analogs.add(scale(vals[index], analogScale, acf));
+                    index += 2;
+                }
+
+                if (magic.test(vals[index + 1])) {
+                    int marker = vals[index + 3];
+                    if ((marker == 0x3000) || (marker == 0xf000)) {
+                        index += 4;
+                    } else {
+                        index += 2;
+                    }
+                    // end of element
+                    result.addAll(pulses);
+                    result.addAll(analogs);
+                    result.add(Double.NaN);
+                    pulses.clear();
+                    analogs.clear();
+                    index += skips[3];
+                    needKey = true;
+                } else {
+                    index += skips[2];
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Truncated scan " + scanNumber + " in " + fileName, e);
+        }
+
+        return new ScanRow(scanNumber, timeStamp * 1000L + scanTime, result.toArray());
+    }
+
+    /**
+     * The scale code carries the power-of-two factor in its lowest nibble and
+     * flags analog readings (which are multiplied by the ACF) with a zero
+     * second nibble. A non-zero third nibble marks a value the original
+     * authors could not interpret.
+     */
+    private static boolean isKnownScale(int scale) {
+        int maskedScale = ((scale & 0xF00) != 0) ? (scale & 0xF0FF) : scale;
+        return (maskedScale & 0xFFFFFFE0) == 0x1000;
+    }
+
+    private static double scale(int value, int scale, double acf) {
+        if ((scale & 0xF00) != 0) {
+            return Double.NaN;
+        }
+        double factor = 1 << (scale & 0xF);
+        if ((scale & 0xF0) == 0) {
+            factor *= acf;
+        }
+        return value * factor;
+    }
+
+    private static int valueAt(int[] vals, int index) {
+        return (index < vals.length) ? vals[index] : -1;
+    }
+
+    private static long readUnsignedInt(MappedByteBuffer buffer, int position) {
+        return buffer.getInt(position) & 0xFFFFFFFFL;
+    }
+
+    private static void checkBounds(long position, long length, long size, String fileName) throws IOException {
+        if ((position < 0) || (position + length > size)) {
+            throw new IOException("Element II file is truncated or corrupt: " + fileName);
+        }
+    }
+
+    /**
+     * The end-of-element marker drifts upward by one within a file.
+     */
+    private static final class MagicState {
+
+        private int magic = MAGIC;
+
+        boolean test(int value) {
+            boolean retVal = false;
+            if (value == magic) {
+                retVal = true;
+            } else if (value == magic + 1) {
+                magic++;
+                retVal = true;
+            }
+            return retVal;
+        }
+    }
+
+    private static final class DoubleRow {
+
+        private double[] values;
+        private int size;
+
+        DoubleRow(int capacity) {
+            values = new double[capacity];
+            size = 0;
+        }
+
+        void add(double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2 + 1);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(DoubleRow row) {
+            for (int i = 0; i < row.size; i++) {
+                add(row.values[i]);
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        double[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class ScanRow {
+
+        private final long scanNumber;
+        private final long timeStamp;
+        private final double[] values;
+
+        ScanRow(long scanNumber, long timeStamp, double[] values) {
+            this.scanNumber = scanNumber;
+            this.timeStamp = timeStamp;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Decoded scans of one Element II '.dat' file held as primitive columns.
+     */
+    public static final class ElementII_DatFileData {
+
+        private final long[] scanNumbers;
+        private final long[] timeStamps;
+        private final double[] analogCorrectionFactors;
+        private final double[][] scans;
+
+        private ElementII_DatFileData(Map<Long, ScanRow> scanRows) {
+            int countOfScans = scanRows.size();
+            scanNumbers = new long[countOfScans];
+            timeStamps = new long[countOfScans];
+            analogCorrectionFactors = new double[countOfScans];
+            scans = new double[countOfScans][];
+
+            int i = 0;
+            for (ScanRow scanRow : scanRows.values()) {
+                scanNumbers[i] = scanRow.scanNumber;
+                timeStamps[i] = scanRow.timeStamp;
+                analogCorrectionFactors[i] = scanRow.values[2];
+                scans[i] = scanRow.values;
+                i++;
+            }
+        }
+
+        /**
+         * @return the number of decoded scans
+         */
+        public int getCountOfScans() {
+            return scans.length;
+        }
+
+        /**
+         * @param index the scan index in order of scan number
+         * @return the scan number
+         */
+        public long getScanNumber(int index) {
+            return scanNumbers[index];
+        }
+
+        /**
+         * @param index the scan index in order of scan number
+         * @return the scan time stamp in milliseconds
+         */
+        public long getTimeStamp(int index) {
+            return timeStamps[index];
+        }
+
+        /**
+         * @param index the scan index in order of scan number
+         * @return the analog correction factor of the scan
+         */
+        public double getAnalogCorrectionFactor(int index) {
+            return analogCorrectionFactors[index];
+        }
+
+        /**
+         * @param index the scan index in order of scan number
+         * @return the scan row in the legacy column layout
+         */
+        public double[] getScan(int index) {
+            return scans[index];
+        }
+    }
+}
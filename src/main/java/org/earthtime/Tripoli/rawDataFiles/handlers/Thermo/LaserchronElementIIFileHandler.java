@@ -27,21 +27,20 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 import org.earthtime.Tripoli.dataModels.DataModelInterface;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
 import org.earthtime.Tripoli.rawDataFiles.handlers.AbstractRawDataFileHandler;
+import org.earthtime.Tripoli.rawDataFiles.handlers.Thermo.ElementII_DatFileDecoder.ElementII_DatFileData;
 import org.earthtime.Tripoli.rawDataFiles.templates.Thermo.LaserchronElementII_RawDataTemplate_A;
 import org.earthtime.Tripoli.rawDataFiles.templates.Thermo.LaserchronElementII_RawDataTemplate_B;
 import org.earthtime.Tripoli.rawDataFiles.templates.Thermo.LaserchronElementII_RawDataTemplate_C;
 import org.earthtime.archivingTools.URIHelper;
-import org.earthtime.pythonUtilities.ElementII_DatFileConverter;
 import org.earthtime.reduxLabData.ReduxLabData;
 import org.earthtime.utilities.FileHelper;
-import org.python.core.PyException;
 
 /**
  *
@@ -222,7 +221,7 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
     protected SortedSet<TripoliFraction> loadRawDataFile(//
             SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions, boolean inLiveMode) {
 
-        SortedSet myTripoliFractions = new TreeSet<>();
+        List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
 
         // assume we are golden   
         // take first entry in fractionNames that came from scancsv file and confirm it is referenceMaterial (standard)
@@ -231,11 +230,6 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
         // todo: need to confirm it is the standard - maybe do this at parameter manager
         for (int f = ignoreFirstFractions; f < analysisFiles.length; f++) {
 
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
-            loadDataTask.firePropertyChange("progress", 0, ((100 * f) / analysisFiles.length));
-
             // TODO: need to test for empty fractionnames or not enough fraction names (= too many dat files)
             // default value
             String fractionID = analysisFiles[f].getName().replace(".dat", "");
@@ -256,14 +250,23 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
                 isSecondaryReferenceMaterial = !isPrimaryReferenceMaterial;
             }
 
-            // ************************************************************************************************
-            // Laserchron uses Philip Wenig's Python routine to extract data from
-            // ElementII .dat files and then pre-processes counts before passing to
-            // fraction intake below
-            String[][] extractedData;
-
-            try {
-                extractedData = ElementII_DatFileConverter.readDatFile5(analysisFiles[f], rawDataFileTemplate.getStringListOfElementsByIsotopicMass());
+            final File analysisFile = analysisFiles[f];
+            final String myFractionID = fractionID;
+            final boolean myIsSecondaryReferenceMaterial = isSecondaryReferenceMaterial;
+
+            fractionDecoders.add(() -> {
+                // ************************************************************************************************
+                // Laserchron uses the Java port of Philip Wenig's Python routine to extract data from
+                // ElementII .dat files and then pre-processes counts before passing to
+                // fraction intake below
+                ElementII_DatFileData extractedData;
+
+                try {
+                    extractedData = ElementII_DatFileDecoder.decode(analysisFile);
+                } catch (IOException iOException) {
+                    System.out.println("bad read of fraction " + analysisFile.getName() + " message = " + iOException.getMessage());
+                    return null;
+                }
 
                 // within each row
                 // index 0 = scannumber; 1 = time stamp; 2 = ACF; followed by order of groups = 202  204  206	Pb207	Pb208	Th232	U238
@@ -277,53 +280,54 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
                 List<double[]> peakAnalogCorrectionFactors = new ArrayList<>();
 
                 // process time stamp from first scan as time stamp of file and background
-                long fractionBackgroundTimeStamp = calculateTimeStampFromThermoDatFile(extractedData[0][1]);
+                long fractionBackgroundTimeStamp = extractedData.getTimeStamp(0);
                 // process time stamp of first peak reading
-                long fractionPeakTimeStamp = calculateTimeStampFromThermoDatFile(extractedData[baselineEndIndex + 1][1]);
+                long fractionPeakTimeStamp = extractedData.getTimeStamp(baselineEndIndex + 1);
 
                 for (int i = rawDataFileTemplate.getBlockStartOffset(); i < rawDataFileTemplate.getBlockSize(); i++) {
                     if (rawDataFileTemplate instanceof LaserchronElementII_RawDataTemplate_A) {
-                        processIntensities_A(i, backgroundAnalogCorrectionFactors, peakAnalogCorrectionFactors, backgroundAcquisitions, peakAcquisitions, extractedData[i]);
+                        processIntensities_A(i, backgroundAnalogCorrectionFactors, peakAnalogCorrectionFactors, backgroundAcquisitions, peakAcquisitions, extractedData.getScan(i));
                     } else if (rawDataFileTemplate instanceof LaserchronElementII_RawDataTemplate_B) {
-                        processIntensities_B(i, backgroundAnalogCorrectionFactors, peakAnalogCorrectionFactors, backgroundAcquisitions, peakAcquisitions, extractedData[i]);
+                        processIntensities_B(i, backgroundAnalogCorrectionFactors, peakAnalogCorrectionFactors, backgroundAcquisitions, peakAcquisitions, extractedData.getScan(i));
                     } else if (rawDataFileTemplate instanceof LaserchronElementII_RawDataTemplate_C) {
-                        processIntensities_C(i, backgroundAnalogCorrectionFactors, peakAnalogCorrectionFactors, backgroundAcquisitions, peakAcquisitions, extractedData[i]);
+                        processIntensities_C(i, backgroundAnalogCorrectionFactors, peakAnalogCorrectionFactors, backgroundAcquisitions, peakAcquisitions, extractedData.getScan(i));
                     }
                 }  // i loop
 
-                TripoliFraction tripoliFraction
-                        = new TripoliFraction(
-                                fractionID, //
-                                massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                isPrimaryReferenceMaterial,
-                                isSecondaryReferenceMaterial,
-                                fractionBackgroundTimeStamp, //
-                                fractionPeakTimeStamp,
-                                peakAcquisitions.size());
-
-                SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
+                return (massSpec) -> {
+                    TripoliFraction tripoliFraction
+                            = new TripoliFraction(
+                                    myFractionID, //
+                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                    isPrimaryReferenceMaterial,
+                                    myIsSecondaryReferenceMaterial,
+                                    fractionBackgroundTimeStamp, //
+                                    fractionPeakTimeStamp,
+                                    peakAcquisitions.size());
 
-                tripoliFraction.setRawRatios(rawRatios);
+                    SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
 
-                massSpec.setCountOfAcquisitions(peakAcquisitions.size());
+                    tripoliFraction.setRawRatios(rawRatios);
 
-                massSpec.processFractionRawRatiosII(backgroundAnalogCorrectionFactors, peakAnalogCorrectionFactors, //
-                        backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, inLiveMode);
+                    massSpec.setCountOfAcquisitions(peakAcquisitions.size());
 
-                tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                System.out.println("\n**** Element II FractionID  " + fractionID + " refMat? " + isPrimaryReferenceMaterial + "  livemode = " + inLiveMode + " <<<<<<<<<<<<<<<<<<\n");
+                    massSpec.processFractionRawRatiosII(backgroundAnalogCorrectionFactors, peakAnalogCorrectionFactors, //
+                            backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, inLiveMode);
 
-                myTripoliFractions.add(tripoliFraction);
+                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+                    System.out.println("\n**** Element II FractionID  " + myFractionID + " refMat? " + isPrimaryReferenceMaterial + "  livemode = " + inLiveMode + " <<<<<<<<<<<<<<<<<<\n");
 
-                if (isPrimaryReferenceMaterial) {
-                    loadDataTask.firePropertyChange("refMaterialLoaded", 0, 1);
-                }
+                    if (isPrimaryReferenceMaterial) {
+                        loadDataTask.firePropertyChange("refMaterialLoaded", 0, 1);
+                    }
 
-            } catch (PyException pyException) {
-                System.out.println("bad read of fraction " + analysisFiles[f].getName() + " message = " + pyException.getMessage());
-            }
+                    return tripoliFraction;
+                };
+            });
         } // end of files loop
 
+        SortedSet<TripoliFraction> myTripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders);
+
         return myTripoliFractions;
     }
 
@@ -334,7 +338,7 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
      * @param peakAcquisitions the value of peakAcquisitions
      * @param extractedData the value of extractedData
      */
-    private void processIntensities_A(int i, List<double[]> backgroundAnalogCorrectionFactors, List<double[]> peakAnalogCorrectionFactors, List<double[]> backgroundAcquisitions, List<double[]> peakAcquisitions, String[] extractedData) {
+    private void processIntensities_A(int i, List<double[]> backgroundAnalogCorrectionFactors, List<double[]> peakAnalogCorrectionFactors, List<double[]> backgroundAcquisitions, List<double[]> peakAcquisitions, double[] extractedData) {
         // 202  204  206 Pb207	Pb208	Th232 U238
         double[] backgroundIntensities = new double[7];
         double[] peakIntensities = new double[7];
@@ -344,7 +348,7 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
         if (legalBaselineIndex(i)) {
             isLegal = true;
             backgroundAnalogCorrectionFactors.add(backgroundACFs);
-            double acf = Double.parseDouble(extractedData[2]);
+            double acf = extractedData[2];
             for (int j = 0; j < 7; j++) {
                 backgroundACFs[j] = acf;
             }
@@ -360,7 +364,7 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
         } else if (legalPeakIndex(i)) {
             isLegal = true;
             peakAnalogCorrectionFactors.add(peakACFs);
-            double acf = Double.parseDouble(extractedData[2]);
+            double acf = extractedData[2];
             for (int j = 0; j < 7; j++) {
                 peakACFs[j] = acf;
             }
@@ -402,7 +406,7 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
      * @param peakAcquisitions the value of peakAcquisitions
      * @param extractedData the value of extractedData
      */
-    private void processIntensities_B(int i, List<double[]> backgroundAnalogCorrectionFactors, List<double[]> peakAnalogCorrectionFactors, List<double[]> backgroundAcquisitions, List<double[]> peakAcquisitions, String[] extractedData) {
+    private void processIntensities_B(int i, List<double[]> backgroundAnalogCorrectionFactors, List<double[]> peakAnalogCorrectionFactors, List<double[]> backgroundAcquisitions, List<double[]> peakAcquisitions, double[] extractedData) {
         // 202  204  206 Pb207	Pb208 Th232 U235 U238
         double[] backgroundIntensities = new double[8];
         double[] peakIntensities = new double[8];
@@ -412,7 +416,7 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
         if (legalBaselineIndex(i)) {
             isLegal = true;
             backgroundAnalogCorrectionFactors.add(backgroundACFs);
-            double acf = Double.parseDouble(extractedData[2]);
+            double acf = extractedData[2];
             for (int j = 0; j < 8; j++) {
                 backgroundACFs[j] = acf;
             }
@@ -429,7 +433,7 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
         } else if (legalPeakIndex(i)) {
             isLegal = true;
             peakAnalogCorrectionFactors.add(peakACFs);
-            double acf = Double.parseDouble(extractedData[2]);
+            double acf = extractedData[2];
             for (int j = 0; j < 8; j++) {
                 peakACFs[j] = acf;
             }
@@ -502,7 +506,7 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
      * @param peakAcquisitions the value of peakAcquisitions
      * @param extractedData the value of extractedData
      */
-    private void processIntensities_C(int i, List<double[]> backgroundAnalogCorrectionFactors, List<double[]> peakAnalogCorrectionFactors, List<double[]> backgroundAcquisitions, List<double[]> peakAcquisitions, String[] extractedData) {
+    private void processIntensities_C(int i, List<double[]> backgroundAnalogCorrectionFactors, List<double[]> peakAnalogCorrectionFactors, List<double[]> backgroundAcquisitions, List<double[]> peakAcquisitions, double[] extractedData) {
         // 176 202  204  206 Pb207 Pb208 Th232 U235 U238
         double[] backgroundIntensities = new double[9];
         double[] peakIntensities = new double[9];
@@ -512,7 +516,7 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
         if (legalBaselineIndex(i)) {
             isLegal = true;
             backgroundAnalogCorrectionFactors.add(backgroundACFs);
-            double acf = Double.parseDouble(extractedData[2]);
+            double acf = extractedData[2];
             for (int j = 0; j < 9; j++) {
                 backgroundACFs[j] = acf;
             }
@@ -530,7 +534,7 @@ public class LaserchronElementIIFileHandler extends AbstractRawDataFileHandler {
         } else if (legalPeakIndex(i)) {
             isLegal = true;
             peakAnalogCorrectionFactors.add(peakACFs);
-            double acf = Double.parseDouble(extractedData[2]);
+            double acf = extractedData[2];
             for (int j = 0; j < 9; j++) {
                 peakACFs[j] = acf;
             }
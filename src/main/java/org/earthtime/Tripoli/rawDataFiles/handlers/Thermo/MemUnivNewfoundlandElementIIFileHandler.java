@@ -24,9 +24,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 import org.earthtime.Tripoli.dataModels.DataModelInterface;
@@ -164,16 +165,13 @@ public class MemUnivNewfoundlandElementIIFileHandler extends AbstractRawDataFile
     protected SortedSet<TripoliFraction> loadRawDataFile(//
             SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions, boolean inLiveMode) {
 
-        SortedSet myTripoliFractions = new TreeSet<>();
+        List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
 
         // assume we are golden        
         for (int f = 0; f < analysisFiles.length; f++) {
 
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
-            loadDataTask.firePropertyChange("progress", 0, ((100 * f) / analysisFiles.length));
-            String fractionID = analysisFiles[f].getName().toUpperCase().replace(".FIN2", "");
+            final File analysisFile = analysisFiles[f];
+            String fractionID = analysisFile.getName().toUpperCase().replace(".FIN2", "");
 
             // hard-wired april 2015
             boolean isStandard = false;
@@ -183,29 +181,35 @@ public class MemUnivNewfoundlandElementIIFileHandler extends AbstractRawDataFile
 //            else if ((analysisFiles.length - f) < 4) {
 //                isStandard = true;
 //            }
-
-            // get file contents
-            String fractionFileContents = URIHelper.getTextFromURI(analysisFiles[f].getAbsolutePath());
-            String[] fractionFileRows = fractionFileContents.split("\n");
-
-            // first get time stamp for file in row 2
-            // form = Friday, February 06,2015 16:57:54
-            String timeStampFromRow2[] = fractionFileRows[1].split(",");
-
-            String fractionDate
-                    = //
-                    timeStampFromRow2[1].trim() + " " // month day,
-                    + timeStampFromRow2[2].trim() // year HH:mm:ss
-                    ;
-
-            // Get the default MEDIUM/SHORT DateFormat
-            SimpleDateFormat fractionTimeFormat = new SimpleDateFormat();
-            fractionTimeFormat.applyPattern("MMMMM dd yyyy HH:mm:ss");
-
-            // Parse the fractionDateValue
-            Date fractionDateValue;
-            try {
-                fractionDateValue = fractionTimeFormat.parse(fractionDate);
+            final boolean myIsStandard = isStandard;
+
+            fractionDecoders.add(() -> {
+                // get file contents
+                String fractionFileContents = URIHelper.getTextFromURI(analysisFile.getAbsolutePath());
+                String[] fractionFileRows = fractionFileContents.split("\n");
+
+                // first get time stamp for file in row 2
+                // form = Friday, February 06,2015 16:57:54
+                String timeStampFromRow2[] = fractionFileRows[1].split(",");
+
+                String fractionDate
+                        = //
+                        timeStampFromRow2[1].trim() + " " // month day,
+                        + timeStampFromRow2[2].trim() // year HH:mm:ss
+                        ;
+
+                // Get the default MEDIUM/SHORT DateFormat
+                SimpleDateFormat fractionTimeFormat = new SimpleDateFormat();
+                fractionTimeFormat.applyPattern("MMMMM dd yyyy HH:mm:ss");
+
+                // Parse the fractionDateValue
+                Date fractionDateValue;
+                try {
+                    fractionDateValue = fractionTimeFormat.parse(fractionDate);
+                } catch (ParseException parseException) {
+                    // TODO: drop out here
+                    return null;
+                }
 
                 // each acquisition file contains background followed by peak follwed by background
                 // initial soultion is to hard wire the first background and peak
@@ -244,44 +248,45 @@ public class MemUnivNewfoundlandElementIIFileHandler extends AbstractRawDataFile
                     }
                 }  // i loop
 
-                TripoliFraction tripoliFraction
-                        = //                           
-                        new TripoliFraction( //
-                                //
-                                fractionID, //
-                                massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                isStandard, false,
-                                fractionBackgroundTimeStamp, //
-                                fractionPeakTimeStamp,
-                                peakAcquisitions.size());
-
-                SortedSet<DataModelInterface> rawRatios = ((MemUnivNewfoundlandElementIISetupUPb) massSpec).rawRatiosFactoryRevised();
-                tripoliFraction.setRawRatios(rawRatios);
-
-                massSpec.setCountOfAcquisitions(peakAcquisitions.size());
-
-                // establish map of virtual collectors to field indexes
-                Map<DataModelInterface, Integer> virtualCollectorModelMapToFieldIndexes = new HashMap<>();
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb204(), 0);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb206(), 1);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb207(), 2);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb208(), 3);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getTh232(), 4);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getU238(), 5);
-
-                massSpec.processFractionRawRatiosII(//
-                        backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, virtualCollectorModelMapToFieldIndexes);
-
-                tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                System.out.println("\n**** Element II FractionID  " + fractionID + "  " + fractionDateValue.toString());
-
-                myTripoliFractions.add(tripoliFraction);
-
-            } catch (ParseException parseException) {
-                // TODO: drop out here
-            }
+                return (massSpec) -> {
+                    TripoliFraction tripoliFraction
+                            = //                           
+                            new TripoliFraction( //
+                                    //
+                                    fractionID, //
+                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                    myIsStandard, false,
+                                    fractionBackgroundTimeStamp, //
+                                    fractionPeakTimeStamp,
+                                    peakAcquisitions.size());
+
+                    SortedSet<DataModelInterface> rawRatios = ((MemUnivNewfoundlandElementIISetupUPb) massSpec).rawRatiosFactoryRevised();
+                    tripoliFraction.setRawRatios(rawRatios);
+
+                    massSpec.setCountOfAcquisitions(peakAcquisitions.size());
+
+                    // establish map of virtual collectors to field indexes
+                    Map<DataModelInterface, Integer> virtualCollectorModelMapToFieldIndexes = new HashMap<>();
+                    virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb204(), 0);
+                    virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb206(), 1);
+                    virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb207(), 2);
+                    virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb208(), 3);
+                    virtualCollectorModelMapToFieldIndexes.put(massSpec.getTh232(), 4);
+                    virtualCollectorModelMapToFieldIndexes.put(massSpec.getU238(), 5);
+
+                    massSpec.processFractionRawRatiosII(//
+                            backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, virtualCollectorModelMapToFieldIndexes);
+
+                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+                    System.out.println("\n**** Element II FractionID  " + fractionID + "  " + fractionDateValue.toString());
+
+                    return tripoliFraction;
+                };
+            });
         }
 
+        SortedSet<TripoliFraction> myTripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders);
+
         if (myTripoliFractions.isEmpty()) {
             myTripoliFractions = null;
         }
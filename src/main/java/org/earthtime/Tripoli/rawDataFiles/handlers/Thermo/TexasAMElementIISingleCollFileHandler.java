@@ -18,21 +18,22 @@
 package org.earthtime.Tripoli.rawDataFiles.handlers.Thermo;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 import org.earthtime.Tripoli.dataModels.DataModelInterface;
 import org.earthtime.Tripoli.fractions.TripoliFraction;
 import org.earthtime.Tripoli.rawDataFiles.handlers.AbstractRawDataFileHandler;
+import org.earthtime.Tripoli.rawDataFiles.handlers.Thermo.ElementII_DatFileDecoder.ElementII_DatFileData;
 import org.earthtime.archivingTools.URIHelper;
-import org.earthtime.pythonUtilities.ElementII_DatFileConverter;
 import org.earthtime.utilities.FileHelper;
-import org.python.core.PyException;
 
 /**
  *
@@ -159,71 +160,78 @@ public class TexasAMElementIISingleCollFileHandler extends AbstractRawDataFileHa
      */
     @Override
     protected SortedSet<TripoliFraction> loadRawDataFile(SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions, boolean inLiveMode) {
-        tripoliFractions = new TreeSet<>();
-
-        SortedSet myTripoliFractions = new TreeSet<>();
+        List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
 
         // assume we are golden         
         // take first entry in fractionFileNames that came from .FIN file and ?? confirm it is referenceMaterial (standard)
         String referenceMaterialfractionIDPrefix = analysisFiles[0].getName().substring(0, 2);
 
-        for (int f = 0; f < analysisFiles.length; f++) {
-
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
-            loadDataTask.firePropertyChange("progress", 0, ((100 * f) / analysisFiles.length));
+        for (File analysisFile : analysisFiles) {
 
             // check for background file
-            File backgroundFile = new File(analysisFiles[f].getAbsolutePath().replace(".dat", "_b.dat"));
+            File backgroundFile = new File(analysisFile.getAbsolutePath().replace(".dat", "_b.dat"));
             System.out.println("Background exists = " + backgroundFile.exists() + " = " + backgroundFile.getName());
             if (backgroundFile.exists()) {
-                try {
-                    String fractionID = analysisFiles[f].getName().toUpperCase().replace(".DAT", "");
-
-                    // needs to be more robust
-                    boolean isReferenceMaterial = (fractionID.substring(0, 2).compareToIgnoreCase(referenceMaterialfractionIDPrefix) == 0);
-
-                    String[][] backgroundFileContents = ElementII_DatFileConverter.readDatFile5(backgroundFile, rawDataFileTemplate.getStringListOfElementsByIsotopicMass());
-                    String[][] onPeakFileContents = ElementII_DatFileConverter.readDatFile5(analysisFiles[f], rawDataFileTemplate.getStringListOfElementsByIsotopicMass());
+                String fractionID = analysisFile.getName().toUpperCase().replace(".DAT", "");
+
+                // needs to be more robust
+                boolean isReferenceMaterial = (fractionID.substring(0, 2).compareToIgnoreCase(referenceMaterialfractionIDPrefix) == 0);
+
+                fractionDecoders.add(() -> {
+                    ElementII_DatFileData backgroundFileContents;
+                    ElementII_DatFileData onPeakFileContents;
+                    try {
+                        backgroundFileContents = ElementII_DatFileDecoder.decode(backgroundFile);
+                        onPeakFileContents = ElementII_DatFileDecoder.decode(analysisFile);
+                    } catch (IOException iOException) {
+                        System.out.println("bad read of fraction " + analysisFile.getName() + " message = " + iOException.getMessage());
+                        return null;
+                    }
 
                     // test file size
-                    if ((backgroundFileContents.length >= rawDataFileTemplate.getBlockSize())//
-                            && (onPeakFileContents.length >= rawDataFileTemplate.getBlockSize())) {
-                        ArrayList<double[]> backgroundAcquisitions = new ArrayList<>();
-                        ArrayList<double[]> peakAcquisitions = new ArrayList<>();
-
-                        // process time stamp from first scan as time stamp of file and background
-                        long fractionBackgroundTimeStamp = calculateTimeStampFromThermoDatFile(backgroundFileContents[0][1]);
-                        // process time stamp of first peak reading
-                        long fractionPeakTimeStamp = calculateTimeStampFromThermoDatFile(onPeakFileContents[0][1]);
-
-                        for (int i = 0; i < rawDataFileTemplate.getBlockSize(); i++) {
-                            // 202  204  206	Pb207	Pb208	Th232	U235 U238
-                            double[] backgroundIntensities = new double[8];
-                            backgroundAcquisitions.add(backgroundIntensities);
-                            backgroundIntensities[0] = calcAvgPulseOrAnalog(3, 5, backgroundFileContents[i]);
-                            backgroundIntensities[1] = calcAvgPulseOrAnalog(7, 9, backgroundFileContents[i]);
-                            backgroundIntensities[2] = calcAvgPulseOrAnalog(11, 13, backgroundFileContents[i]);
-                            backgroundIntensities[3] = calcAvgPulseOrAnalog(15, 17, backgroundFileContents[i]);
-                            backgroundIntensities[4] = calcAvgPulseOrAnalog(19, 21, backgroundFileContents[i]);
-                            backgroundIntensities[5] = calcAvgPulseOrAnalog(23, 25, backgroundFileContents[i]);
-                            backgroundIntensities[6] = calcAvgPulseOrAnalog(27, 29, backgroundFileContents[i]);
-                            backgroundIntensities[7] = calcAvgPulseOrAnalog(31, 33, backgroundFileContents[i]);
-
-                            double[] peakIntensities = new double[8];
-                            peakAcquisitions.add(peakIntensities);
-                            peakIntensities[0] = calcAvgPulseOrAnalog(3, 5, onPeakFileContents[i]);
-                            peakIntensities[1] = calcAvgPulseOrAnalog(7, 9, onPeakFileContents[i]);
-                            peakIntensities[2] = calcAvgPulseOrAnalog(11, 13, onPeakFileContents[i]);
-                            peakIntensities[3] = calcAvgPulseOrAnalog(15, 17, onPeakFileContents[i]);
-                            peakIntensities[4] = calcAvgPulseOrAnalog(19, 21, onPeakFileContents[i]);
-                            peakIntensities[5] = calcAvgPulseOrAnalog(23, 25, onPeakFileContents[i]);
-                            peakIntensities[6] = calcAvgPulseOrAnalog(27, 29, onPeakFileContents[i]);
-                            peakIntensities[7] = calcAvgPulseOrAnalog(31, 33, onPeakFileContents[i]);
-
-                        }  // i loop
+                    if ((backgroundFileContents.getCountOfScans() < rawDataFileTemplate.getBlockSize())//
+                            || (onPeakFileContents.getCountOfScans() < rawDataFileTemplate.getBlockSize())) {
+                        return null;
+                    }
 
+                    ArrayList<double[]> backgroundAcquisitions = new ArrayList<>();
+                    ArrayList<double[]> peakAcquisitions = new ArrayList<>();
+
+                    // process time stamp from first scan as time stamp of file and background
+                    long fractionBackgroundTimeStamp = backgroundFileContents.getTimeStamp(0);
+                    // process time stamp of first peak reading
+                    long fractionPeakTimeStamp = onPeakFileContents.getTimeStamp(0);
+
+                    for (int i = 0; i < rawDataFileTemplate.getBlockSize(); i++) {
+                        double[] backgroundScan = backgroundFileContents.getScan(i);
+                        double[] onPeakScan = onPeakFileContents.getScan(i);
+
+                        // 202  204  206	Pb207	Pb208	Th232	U235 U238
+                        double[] backgroundIntensities = new double[8];
+                        backgroundAcquisitions.add(backgroundIntensities);
+                        backgroundIntensities[0] = calcAvgPulseOrAnalog(3, 5, backgroundScan);
+                        backgroundIntensities[1] = calcAvgPulseOrAnalog(7, 9, backgroundScan);
+                        backgroundIntensities[2] = calcAvgPulseOrAnalog(11, 13, backgroundScan);
+                        backgroundIntensities[3] = calcAvgPulseOrAnalog(15, 17, backgroundScan);
+                        backgroundIntensities[4] = calcAvgPulseOrAnalog(19, 21, backgroundScan);
+                        backgroundIntensities[5] = calcAvgPulseOrAnalog(23, 25, backgroundScan);
+                        backgroundIntensities[6] = calcAvgPulseOrAnalog(27, 29, backgroundScan);
+                        backgroundIntensities[7] = calcAvgPulseOrAnalog(31, 33, backgroundScan);
+
+                        double[] peakIntensities = new double[8];
+                        peakAcquisitions.add(peakIntensities);
+                        peakIntensities[0] = calcAvgPulseOrAnalog(3, 5, onPeakScan);
+                        peakIntensities[1] = calcAvgPulseOrAnalog(7, 9, onPeakScan);
+                        peakIntensities[2] = calcAvgPulseOrAnalog(11, 13, onPeakScan);
+                        peakIntensities[3] = calcAvgPulseOrAnalog(15, 17, onPeakScan);
+                        peakIntensities[4] = calcAvgPulseOrAnalog(19, 21, onPeakScan);
+                        peakIntensities[5] = calcAvgPulseOrAnalog(23, 25, onPeakScan);
+                        peakIntensities[6] = calcAvgPulseOrAnalog(27, 29, onPeakScan);
+                        peakIntensities[7] = calcAvgPulseOrAnalog(31, 33, onPeakScan);
+
+                    }  // i loop
+
+                    return (massSpec) -> {
                         TripoliFraction tripoliFraction
                                 = new TripoliFraction( //
                                         //
@@ -256,13 +264,14 @@ public class TexasAMElementIISingleCollFileHandler extends AbstractRawDataFileHa
                         tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
                         System.out.println("\n**** Element II FractionID  " + fractionID + " completed ***************************\n\n");
 
-                        myTripoliFractions.add(tripoliFraction);
-                    }
-                } catch (PyException pyException) {
-                    System.out.println("bad read of fraction " + analysisFiles[f].getName() + " message = " + pyException.getMessage());
-                }
-            } // end of files loop
-        }
+                        return tripoliFraction;
+                    };
+                });
+            }
+        } // end of files loop
+
+        SortedSet<TripoliFraction> myTripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders);
+
         if (myTripoliFractions.isEmpty()) {
             myTripoliFractions = null;
         }
@@ -30,7 +30,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 import org.earthtime.Tripoli.dataModels.DataModelInterface;
@@ -194,44 +194,45 @@ public class UnivKansasElementIIFileHandler extends AbstractRawDataFileHandler {
     protected SortedSet<TripoliFraction> loadRawDataFile(//
             SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions, boolean inLiveMode) {
 
-        SortedSet myTripoliFractions = new TreeSet<>();
+        List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
 
         // assume we are golden   
         // take first entry in fractionFileNames that came from .FIN file and ?? confirm it is referenceMaterial (standard)
         String referenceMaterialfractionIDPrefix = fractionFileNames[0].toUpperCase().substring(0, 2);
 
-        for (int f = 0; f < analysisFiles.length; f++) {
+        for (File analysisFile : analysisFiles) {
 
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
-            loadDataTask.firePropertyChange("progress", 0, ((100 * f) / analysisFiles.length));
-            String fractionID = analysisFiles[f].getName().toUpperCase().replace(".FIN2", "");
+            String fractionID = analysisFile.getName().toUpperCase().replace(".FIN2", "");
 
             // needs to be more robust
             boolean isReferenceMaterial = (fractionID.substring(0, 2).compareToIgnoreCase(referenceMaterialfractionIDPrefix) == 0);
 
-            // get file contents
-            String fractionFileContents = URIHelper.getTextFromURI(analysisFiles[f].getAbsolutePath());
-            String[] fractionFileRows = fractionFileContents.split("\n");
-
-            // first get time stamp for file in row 2
-            // form = Friday, February 06,2015 16:57:54
-            String timeStampFromRow2[] = fractionFileRows[1].split(",");
-
-            String fractionDate
-                    = timeStampFromRow2[1].trim() + " " // month day,
-                    + timeStampFromRow2[2].trim() // year HH:mm:ss
-                    ;
-
-            // Get the default MEDIUM/SHORT DateFormat
-            SimpleDateFormat fractionTimeFormat = new SimpleDateFormat();
-            fractionTimeFormat.applyPattern("MMMMM dd yyyy HH:mm:ss");
-
-            // Parse the fractionDateValue
-            Date fractionDateValue;
-            try {
-                fractionDateValue = fractionTimeFormat.parse(fractionDate);
+            fractionDecoders.add(() -> {
+                // get file contents
+                String fractionFileContents = URIHelper.getTextFromURI(analysisFile.getAbsolutePath());
+                String[] fractionFileRows = fractionFileContents.split("\n");
+
+                // first get time stamp for file in row 2
+                // form = Friday, February 06,2015 16:57:54
+                String timeStampFromRow2[] = fractionFileRows[1].split(",");
+
+                String fractionDate
+                        = timeStampFromRow2[1].trim() + " " // month day,
+                        + timeStampFromRow2[2].trim() // year HH:mm:ss
+                        ;
+
+                // Get the default MEDIUM/SHORT DateFormat
+                SimpleDateFormat fractionTimeFormat = new SimpleDateFormat();
+                fractionTimeFormat.applyPattern("MMMMM dd yyyy HH:mm:ss");
+
+                // Parse the fractionDateValue
+                Date fractionDateValue;
+                try {
+                    fractionDateValue = fractionTimeFormat.parse(fractionDate);
+                } catch (ParseException parseException) {
+                    // TODO: drop out here
+                    return null;
+                }
 
                 // each acquisition file contains background followed by peak follwed by background
                 // initial soultion is to hard wire the first background and peak
@@ -268,46 +269,48 @@ public class UnivKansasElementIIFileHandler extends AbstractRawDataFileHandler {
                     }
                 }  // i loop
 
-                TripoliFraction tripoliFraction
-                        = //                           
-                        new TripoliFraction( //
-                                //
-                                fractionID, //
-                                massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                isReferenceMaterial, false,
-                                fractionBackgroundTimeStamp, //
-                                fractionPeakTimeStamp,
-                                peakAcquisitions.size());
-
-                SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
-                tripoliFraction.setRawRatios(rawRatios);
-
-                massSpec.setCountOfAcquisitions(peakAcquisitions.size());
-
-                // establish map of virtual collectors to field indexes
-                Map<DataModelInterface, Integer> virtualCollectorModelMapToFieldIndexes = new HashMap<>();
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb206(), 0);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb207(), 1);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb208(), 2);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getTh232(), 3);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getU238(), 4);
-
-                massSpec.processFractionRawRatiosII(//
-                        backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, virtualCollectorModelMapToFieldIndexes);
-
-                tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                System.out.println("\n**** Element II FractionID  " + fractionID + "  " + fractionDateValue.toString() + "  is std: " + tripoliFraction.isStandard() + " >>>>>>>>>>>>>>>>><<<<<<<<<<<<<<<<<<<<<<<<<<<<<<");
-
-                myTripoliFractions.add(tripoliFraction);
-                if (tripoliFraction.getFractionID().compareToIgnoreCase("15YP12-018")==0){
-                    System.out.println("caution");
-                }
+                return (massSpec) -> {
+                    TripoliFraction tripoliFraction
+                            = //                           
+                            new TripoliFraction( //
+                                    //
+                                    fractionID, //
+                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                    isReferenceMaterial, false,
+                                    fractionBackgroundTimeStamp, //
+                                    fractionPeakTimeStamp,
+                                    peakAcquisitions.size());
+
+                    SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
+                    tripoliFraction.setRawRatios(rawRatios);
+
+                    massSpec.setCountOfAcquisitions(peakAcquisitions.size());
+
+                    // establish map of virtual collectors to field indexes
+                    Map<DataModelInterface, Integer> virtualCollectorModelMapToFieldIndexes = new HashMap<>();
+                    virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb206(), 0);
+                    virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb207(), 1);
+                    virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb208(), 2);
+                    virtualCollectorModelMapToFieldIndexes.put(massSpec.getTh232(), 3);
+                    virtualCollectorModelMapToFieldIndexes.put(massSpec.getU238(), 4);
+
+                    massSpec.processFractionRawRatiosII(//
+                            backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, virtualCollectorModelMapToFieldIndexes);
+
+                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+                    System.out.println("\n**** Element II FractionID  " + fractionID + "  " + fractionDateValue.toString() + "  is std: " + tripoliFraction.isStandard() + " >>>>>>>>>>>>>>>>><<<<<<<<<<<<<<<<<<<<<<<<<<<<<<");
+
+                    if (tripoliFraction.getFractionID().compareToIgnoreCase("15YP12-018")==0){
+                        System.out.println("caution");
+                    }
 
-            } catch (ParseException parseException) {
-                // TODO: drop out here
-            }
+                    return tripoliFraction;
+                };
+            });
         }
 
+        SortedSet<TripoliFraction> myTripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders);
+
         if (myTripoliFractions.isEmpty()) {
             myTripoliFractions = null;
         }
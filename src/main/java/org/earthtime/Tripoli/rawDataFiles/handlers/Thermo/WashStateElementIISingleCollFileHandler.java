@@ -27,7 +27,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 import org.earthtime.Tripoli.dataModels.DataModelInterface;
@@ -188,118 +188,125 @@ public class WashStateElementIISingleCollFileHandler extends AbstractRawDataFile
      */
     @Override
     protected SortedSet<TripoliFraction> loadRawDataFile(SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions, boolean inLiveMode) {
-        tripoliFractions = new TreeSet<>();
+        List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
 
         // assume we are golden        
         for (int f = 0; f < analysisFiles.length; f++) {
 
-            if (loadDataTask.isCancelled()) {
-                break;
-            }
-            loadDataTask.firePropertyChange("progress", 0, ((100 * f) / analysisFiles.length));
-
             // assume files are written in numerical name order
             String fractionID = fractionFileNames[f];
-            long fractionPeakTimeStamp = analysisFiles[f].lastModified();
-
-            String onPeakFileContents = URIHelper.getTextFromURI(analysisFiles[f].getAbsolutePath());
-            String[] onPeakFileRows = onPeakFileContents.split("\n");
+            final File analysisFile = analysisFiles[f];
+            final int fractionIndex = f;
 
             // check for background file
-            File backgroundFile = new File(analysisFiles[f].getAbsolutePath().replace(".TXT", "_b.TXT"));
+            File backgroundFile = new File(analysisFile.getAbsolutePath().replace(".TXT", "_b.TXT"));
             System.out.println("Background exists = " + backgroundFile.exists());
             if (backgroundFile.exists()) {
-                String backgroundFileContents = URIHelper.getTextFromURI(backgroundFile.getAbsolutePath());
-                String[] backgroundFileRows = backgroundFileContents.split("\n");
-                long fractionBackgroundTimeStamp = backgroundFile.lastModified();
+                // extract isStandard
+                boolean isStandard = fractionID.equalsIgnoreCase(fractionFileNames[0]);
 
-                // note each row has relative time stamp which we are hiding for now by using frequency
-                int expectedRowsOfData = rawDataFileTemplate.getBlockSize();
-                String[][] scanData
-                        = new String[expectedRowsOfData][massSpec.getVIRTUAL_COLLECTOR_COUNT()];
+                // massage file name
+                if (fractionID.toLowerCase().startsWith("unknown")) {
+                    fractionID = fractionID.toLowerCase().replace("unknown", "unknown-");
+                } else {
+                    fractionID = fractionID + "-" + analysisFile.getName().replace(".TXT", "").replace(".txt", "");
+                }
+                final String myFractionID = fractionID;
 
-                System.out.println("Fract # " + f + "   named  " + analysisFiles[f].getName() + "  row count = " + onPeakFileRows.length);
-                //TODO possible missing condition here if file lengths vary from template spec and onPeakFileRows is too big
+                fractionDecoders.add(() -> {
+                    long fractionPeakTimeStamp = analysisFile.lastModified();
 
-                ArrayList<double[]> backgroundAcquisitions = new ArrayList<>();
-                ArrayList<double[]> peakAcquisitions = new ArrayList<>();
+                    String onPeakFileContents = URIHelper.getTextFromURI(analysisFile.getAbsolutePath());
+                    String[] onPeakFileRows = onPeakFileContents.split("\n");
 
-                for (int i = 0; i < rawDataFileTemplate.getBlockSize(); i++) {
+                    String backgroundFileContents = URIHelper.getTextFromURI(backgroundFile.getAbsolutePath());
+                    String[] backgroundFileRows = backgroundFileContents.split("\n");
+                    long fractionBackgroundTimeStamp = backgroundFile.lastModified();
 
-                    String[] onPeakCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
-                    String[] backgroundCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
-                    // handle case where there is not as many lines of data as expected
-                    if (onPeakFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
-                        onPeakCollectorsColumns
-                                = onPeakFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split("\t");
-                    }
+                    // note each row has relative time stamp which we are hiding for now by using frequency
+                    int expectedRowsOfData = rawDataFileTemplate.getBlockSize();
+                    String[][] scanData
+                            = new String[expectedRowsOfData][massSpec.getVIRTUAL_COLLECTOR_COUNT()];
 
-                    // handle case where there is not as many lines of data as expected
-                    if (backgroundFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
-                        backgroundCollectorsColumns
-                                = backgroundFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split("\t");
-                    }
+                    //TODO possible missing condition here if file lengths vary from template spec and onPeakFileRows is too big
 
-                    // background
-                    double[] backgroundIntensities = new double[8];
-                    backgroundAcquisitions.add(backgroundIntensities);
-                    for (int j = 1; j < 9; j++) {
-                        scanData[i][j - 1] = backgroundCollectorsColumns[j].trim(); // ignore timestamp
-                        backgroundIntensities[j - 1] = Double.parseDouble(backgroundCollectorsColumns[j].trim());
-                    }
-                    // onpeak
-                    double[] peakIntensities = new double[8];
-                    peakAcquisitions.add(peakIntensities);
-                    for (int j = 1; j < 9; j++) {
-                        scanData[i][8 + j - 1] = onPeakCollectorsColumns[j].trim(); // ignore timestamp
-                        peakIntensities[j - 1] = Double.parseDouble(onPeakCollectorsColumns[j].trim());
-                    }
-                }
+                    ArrayList<double[]> backgroundAcquisitions = new ArrayList<>();
+                    ArrayList<double[]> peakAcquisitions = new ArrayList<>();
 
-                // extract isStandard
-                boolean isStandard = fractionID.equalsIgnoreCase(fractionFileNames[0]);
+                    for (int i = 0; i < rawDataFileTemplate.getBlockSize(); i++) {
 
-                // massage file name
-                if (fractionID.toLowerCase().startsWith("unknown")) {
-                    fractionID = fractionID.toLowerCase().replace("unknown", "unknown-");
-                } else {
-                    fractionID = fractionID + "-" + analysisFiles[f].getName().replace(".TXT", "").replace(".txt", "");
-                }
+                        String[] onPeakCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
+                        String[] backgroundCollectorsColumns = new String[]{"0", "0", "0", "0", "0", "0", "0", "0", "0", "0",};
+                        // handle case where there is not as many lines of data as expected
+                        if (onPeakFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
+                            onPeakCollectorsColumns
+                                    = onPeakFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split("\t");
+                        }
 
-                TripoliFraction tripoliFraction
-                        = new TripoliFraction( //
-                                //
-                                fractionID, //
-                                massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                isStandard, false,
-                                fractionBackgroundTimeStamp, //
-                                fractionPeakTimeStamp,
-                                peakAcquisitions.size());
-
-                SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
-                tripoliFraction.setRawRatios(rawRatios);
-
-                massSpec.setCountOfAcquisitions(peakAcquisitions.size());
-
-                // establish map of virtual collectors to field indexes
-                Map<DataModelInterface, Integer> virtualCollectorModelMapToFieldIndexes = new HashMap<>();
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getHg202(), 0);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb204(), 1);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb206(), 2);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb207(), 3);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb208(), 4);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getTh232(), 5);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getU235(), 6);
-                virtualCollectorModelMapToFieldIndexes.put(massSpec.getU238(), 7);
-
-                massSpec.processFractionRawRatiosII(//
-                        backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, virtualCollectorModelMapToFieldIndexes);
-
-                tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                tripoliFractions.add(tripoliFraction);
+                        // handle case where there is not as many lines of data as expected
+                        if (backgroundFileRows.length > (i + rawDataFileTemplate.getBlockStartOffset())) {
+                            backgroundCollectorsColumns
+                                    = backgroundFileRows[i + rawDataFileTemplate.getBlockStartOffset()].split("\t");
+                        }
+
+                        // background
+                        double[] backgroundIntensities = new double[8];
+                        backgroundAcquisitions.add(backgroundIntensities);
+                        for (int j = 1; j < 9; j++) {
+                            scanData[i][j - 1] = backgroundCollectorsColumns[j].trim(); // ignore timestamp
+                            backgroundIntensities[j - 1] = Double.parseDouble(backgroundCollectorsColumns[j].trim());
+                        }
+                        // onpeak
+                        double[] peakIntensities = new double[8];
+                        peakAcquisitions.add(peakIntensities);
+                        for (int j = 1; j < 9; j++) {
+                            scanData[i][8 + j - 1] = onPeakCollectorsColumns[j].trim(); // ignore timestamp
+                            peakIntensities[j - 1] = Double.parseDouble(onPeakCollectorsColumns[j].trim());
+                        }
+                    }
+
+                    return (massSpec) -> {
+                        System.out.println("Fract # " + fractionIndex + "   named  " + analysisFile.getName() + "  row count = " + onPeakFileRows.length);
+
+                        TripoliFraction tripoliFraction
+                                = new TripoliFraction( //
+                                        //
+                                        myFractionID, //
+                                        massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                        isStandard, false,
+                                        fractionBackgroundTimeStamp, //
+                                        fractionPeakTimeStamp,
+                                        peakAcquisitions.size());
+
+                        SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
+                        tripoliFraction.setRawRatios(rawRatios);
+
+                        massSpec.setCountOfAcquisitions(peakAcquisitions.size());
+
+                        // establish map of virtual collectors to field indexes
+                        Map<DataModelInterface, Integer> virtualCollectorModelMapToFieldIndexes = new HashMap<>();
+                        virtualCollectorModelMapToFieldIndexes.put(massSpec.getHg202(), 0);
+                        virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb204(), 1);
+                        virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb206(), 2);
+                        virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb207(), 3);
+                        virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb208(), 4);
+                        virtualCollectorModelMapToFieldIndexes.put(massSpec.getTh232(), 5);
+                        virtualCollectorModelMapToFieldIndexes.put(massSpec.getU235(), 6);
+                        virtualCollectorModelMapToFieldIndexes.put(massSpec.getU238(), 7);
+
+                        massSpec.processFractionRawRatiosII(//
+                                backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, virtualCollectorModelMapToFieldIndexes);
+
+                        tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+
+                        return tripoliFraction;
+                    };
+                });
             }
         }
 
+        tripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders);
+
         return tripoliFractions;
     }
 
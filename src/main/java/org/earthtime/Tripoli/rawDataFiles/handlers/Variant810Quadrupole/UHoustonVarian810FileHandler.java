@@ -29,7 +29,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.JFrame;
 import javax.swing.SwingWorker;
@@ -169,7 +169,7 @@ public class UHoustonVarian810FileHandler extends AbstractRawDataFileHandler {
     protected SortedSet<TripoliFraction> loadRawDataFile(//
             SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions, boolean inLiveMode) {
 
-        SortedSet myTripoliFractions = new TreeSet<>();
+        List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
 
         try {
             fractionData = Files.readLines(rawDataFile, Charsets.ISO_8859_1);
@@ -183,27 +183,24 @@ public class UHoustonVarian810FileHandler extends AbstractRawDataFileHandler {
             long fractionPeakTimeStamp = 0l;
             boolean isPrimaryReferenceMaterial = false;
             boolean isSecondaryReferenceMaterial = false;
-            List<double[]> backgroundAcquisitions = new ArrayList<>();
-            List<double[]> peakAcquisitions = new ArrayList<>();
-            
+            List<String> fractionDataLines = new ArrayList<>();
+
             double r238_235s = ReduxLabData.getInstance().getDefaultR238_235s().getValue().doubleValue();
 
             for (int i = 0; i < fractionData.size(); i++) {
 
-                if (loadDataTask.isCancelled()) {
-                    break;
-                }
-                loadDataTask.firePropertyChange("progress", 0, ((100 * i) / fractionData.size()));
-
-                String[] lineData = fractionData.get(i).replaceAll("\"", "").split(",");
+                // only the first field is needed to find the fractions; data lines are parsed by the decoders
+                String line = fractionData.get(i).replaceAll("\"", "");
+                int firstComma = line.indexOf(',');
+                String firstField = (firstComma < 0) ? line : line.substring(0, firstComma);
 
                 // detect new analysis fraction
-                if (lineData[0].startsWith("Processed")) {
+                if (firstField.startsWith("Processed")) {
                     // beginning of analysis that ends with two blank lines
                     fractionStartLine = i;
 
                     // next line is name of fraction with time stamp followed by line of headers and then data
-                    lineData = fractionData.get(i + 1).replaceAll("\"", "").split(",");
+                    String[] lineData = fractionData.get(i + 1).replaceAll("\"", "").split(",");
                     fractionID = lineData[0].trim();
                     if (i == 0) {
                         primaryReferenceMaterialfractionID = fractionID;
@@ -224,8 +221,7 @@ public class UHoustonVarian810FileHandler extends AbstractRawDataFileHandler {
                     isPrimaryReferenceMaterial = (fractionID.substring(0, 2).compareToIgnoreCase(primaryReferenceMaterialfractionID.substring(0, 2)) == 0);
                     isSecondaryReferenceMaterial = referenceMaterialIncrementerMap.containsKey(fractionID.substring(0, 3)) && !isPrimaryReferenceMaterial;
 
-                    backgroundAcquisitions = new ArrayList<>();
-                    peakAcquisitions = new ArrayList<>();
+                    fractionDataLines = new ArrayList<>();
 
                     // process time stamp of first peak reading
                     fractionPeakTimeStamp = fractionBackgroundTimeStamp + baselineEndIndex * massSpec.getCOLLECTOR_DATA_FREQUENCY_MILLISECS();
@@ -233,70 +229,90 @@ public class UHoustonVarian810FileHandler extends AbstractRawDataFileHandler {
                 } // end test for "Processed" keyword
 
                 // now reading lines of data until blanks found ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
-                if (i > ((fractionStartLine + 2)) && (lineData[0].trim().length() > 0)) {
-                    // fields: Scan    Time(sec)	Hg202	Hg201	Pb204	Pb206	Pb207	Pb208	Th232	U238	Hg204	Po208	U232	Pu238
-                    int scanNumber = Integer.parseInt(lineData[0]);
-
-                    // Hg202	Hg201	Pb204	Pb206	Pb207	Pb208	Th232	calc U235 U238	XXXHg204	XXXPo208	XXXU232	     XXXPu238
-                    double[] backgroundIntensities = new double[9];
-                    double[] peakIntensities = new double[9];
-                    if (legalBaselineIndex(scanNumber)) {
-                        backgroundAcquisitions.add(backgroundIntensities);
-                        backgroundIntensities[0] = Integer.parseInt(lineData[2]);
-                        backgroundIntensities[1] = Integer.parseInt(lineData[3]);
-                        backgroundIntensities[2] = Integer.parseInt(lineData[4]);
-                        backgroundIntensities[3] = Integer.parseInt(lineData[5]);
-                        backgroundIntensities[4] = Integer.parseInt(lineData[6]);
-                        backgroundIntensities[5] = Integer.parseInt(lineData[7]);
-                        backgroundIntensities[6] = Integer.parseInt(lineData[8]);
-                        backgroundIntensities[8] = Integer.parseInt(lineData[9]);
-                        backgroundIntensities[7] = backgroundIntensities[8] / r238_235s;
-                    } else if (legalPeakIndex(scanNumber)) {
-                        peakAcquisitions.add(peakIntensities);
-                        peakIntensities[0] = Integer.parseInt(lineData[2]);
-                        peakIntensities[1] = Integer.parseInt(lineData[3]);
-                        peakIntensities[2] = Integer.parseInt(lineData[4]);
-                        peakIntensities[3] = Integer.parseInt(lineData[5]);
-                        peakIntensities[4] = Integer.parseInt(lineData[6]);
-                        peakIntensities[5] = Integer.parseInt(lineData[7]);
-                        peakIntensities[6] = Integer.parseInt(lineData[8]);
-                        peakIntensities[8] = Integer.parseInt(lineData[9]);
-                        peakIntensities[7] = peakIntensities[8] / r238_235s;                   }
+                if ((fractionStartLine > -1) && (i > ((fractionStartLine + 2))) && (firstField.trim().length() > 0)) {
+                    fractionDataLines.add(line);
                 }
 
                 // now create fraction from data  ++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
-                if ((fractionStartLine > -1) && (lineData[0].trim().length() == 0)) {
+                if ((fractionStartLine > -1) && (firstField.trim().length() == 0)) {
                     // flag that we are here
                     fractionStartLine = -1;
 
-                    TripoliFraction tripoliFraction
-                            = new TripoliFraction(
-                                    fractionID, //
-                                    massSpec.getCommonLeadCorrectionHighestLevel(), //
-                                    isPrimaryReferenceMaterial,
-                                    isSecondaryReferenceMaterial,
-                                    fractionBackgroundTimeStamp, //
-                                    fractionPeakTimeStamp,
-                                    peakAcquisitions.size());
-
-                    SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
-
-                    tripoliFraction.setRawRatios(rawRatios);
-
-                    massSpec.setCountOfAcquisitions(peakAcquisitions.size());
-
-                    massSpec.processFractionRawRatiosII(null, null, //
-                            backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, inLiveMode);
-
-                    tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
-                    
-                    System.out.println("\n**** Varian 810 FractionID  " + fractionID + " refMat? " + isPrimaryReferenceMaterial + "  livemode = " + inLiveMode + " <<<<<<<<<<<<<<<<<<\n");
-
-                    myTripoliFractions.add(tripoliFraction);
-
-                    if (isPrimaryReferenceMaterial) {
-                        loadDataTask.firePropertyChange("refMaterialLoaded", 0, 1);
-                    }
+                    final List<String> myFractionDataLines = fractionDataLines;
+                    final String myFractionID = fractionID;
+                    final boolean myIsPrimaryReferenceMaterial = isPrimaryReferenceMaterial;
+                    final boolean myIsSecondaryReferenceMaterial = isSecondaryReferenceMaterial;
+                    final long myFractionBackgroundTimeStamp = fractionBackgroundTimeStamp;
+                    final long myFractionPeakTimeStamp = fractionPeakTimeStamp;
+
+                    fractionDecoders.add(() -> {
+                        List<double[]> backgroundAcquisitions = new ArrayList<>();
+                        List<double[]> peakAcquisitions = new ArrayList<>();
+
+                        for (String fractionDataLine : myFractionDataLines) {
+                            String[] lineData = fractionDataLine.split(",");
+                            // fields: Scan    Time(sec)	Hg202	Hg201	Pb204	Pb206	Pb207	Pb208	Th232	U238	Hg204	Po208	U232	Pu238
+                            int scanNumber = Integer.parseInt(lineData[0]);
+
+                            // Hg202	Hg201	Pb204	Pb206	Pb207	Pb208	Th232	calc U235 U238	XXXHg204	XXXPo208	XXXU232	     XXXPu238
+                            double[] backgroundIntensities = new double[9];
+                            double[] peakIntensities = new double[9];
+                            if (legalBaselineIndex(scanNumber)) {
+                                backgroundAcquisitions.add(backgroundIntensities);
+                                backgroundIntensities[0] = Integer.parseInt(lineData[2]);
+                                backgroundIntensities[1] = Integer.parseInt(lineData[3]);
+                                backgroundIntensities[2] = Integer.parseInt(lineData[4]);
+                                backgroundIntensities[3] = Integer.parseInt(lineData[5]);
+                                backgroundIntensities[4] = Integer.parseInt(lineData[6]);
+                                backgroundIntensities[5] = Integer.parseInt(lineData[7]);
+                                backgroundIntensities[6] = Integer.parseInt(lineData[8]);
+                                backgroundIntensities[8] = Integer.parseInt(lineData[9]);
+                                backgroundIntensities[7] = backgroundIntensities[8] / r238_235s;
+                            } else if (legalPeakIndex(scanNumber)) {
+                                peakAcquisitions.add(peakIntensities);
+                                peakIntensities[0] = Integer.parseInt(lineData[2]);
+                                peakIntensities[1] = Integer.parseInt(lineData[3]);
+                                peakIntensities[2] = Integer.parseInt(lineData[4]);
+                                peakIntensities[3] = Integer.parseInt(lineData[5]);
+                                peakIntensities[4] = Integer.parseInt(lineData[6]);
+                                peakIntensities[5] = Integer.parseInt(lineData[7]);
+                                peakIntensities[6] = Integer.parseInt(lineData[8]);
+                                peakIntensities[8] = Integer.parseInt(lineData[9]);
+                                peakIntensities[7] = peakIntensities[8] / r238_235s;
+                            }
+                        }
+
+                        return (massSpec) -> {
+                            TripoliFraction tripoliFraction
+                                    = new TripoliFraction(
+                                            myFractionID, //
+                                            massSpec.getCommonLeadCorrectionHighestLevel(), //
+                                            myIsPrimaryReferenceMaterial,
+                                            myIsSecondaryReferenceMaterial,
+                                            myFractionBackgroundTimeStamp, //
+                                            myFractionPeakTimeStamp,
+                                            peakAcquisitions.size());
+
+                            SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
+
+                            tripoliFraction.setRawRatios(rawRatios);
+
+                            massSpec.setCountOfAcquisitions(peakAcquisitions.size());
+
+                            massSpec.processFractionRawRatiosII(null, null, //
+                                    backgroundAcquisitions, peakAcquisitions, usingFullPropagation, tripoliFraction, inLiveMode);
+
+                            tripoliFraction.shadeDataActiveMapLeft(leftShadeCount);
+
+                            System.out.println("\n**** Varian 810 FractionID  " + myFractionID + " refMat? " + myIsPrimaryReferenceMaterial + "  livemode = " + inLiveMode + " <<<<<<<<<<<<<<<<<<\n");
+
+                            if (myIsPrimaryReferenceMaterial) {
+                                loadDataTask.firePropertyChange("refMaterialLoaded", 0, 1);
+                            }
+
+                            return tripoliFraction;
+                        };
+                    });
                 }
 
             } // end loop walking file
@@ -304,6 +320,8 @@ public class UHoustonVarian810FileHandler extends AbstractRawDataFileHandler {
         } catch (IOException | ParseException iOException) {
         }
 
+        SortedSet<TripoliFraction> myTripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders);
+
         return myTripoliFractions;
     }
 
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import javax.swing.JOptionPane;
 import javax.swing.SwingWorker;
 import javax.xml.bind.JAXBException;
@@ -155,7 +156,7 @@ public class ShrimpFileHandler extends AbstractRawDataFileHandler {
     protected SortedSet<TripoliFraction> loadRawDataFile(//
             SwingWorker loadDataTask, boolean usingFullPropagation, int leftShadeCount, int ignoreFirstFractions, boolean inLiveMode) {
 
-        SortedSet myTripoliFractions = new TreeSet<>();
+        SortedSet<TripoliFraction> myTripoliFractions = new TreeSet<>();
         loadDataTask.firePropertyChange("progress", 10, 33);
 
         try {
@@ -168,22 +169,16 @@ public class ShrimpFileHandler extends AbstractRawDataFileHandler {
             // send name to project
             loadDataTask.firePropertyChange("projectName", "", myShrimpFractions.get(0).getNameOfMount());
 
+            List<Callable<RawFractionProcessor>> fractionDecoders = new ArrayList<>();
+
             // assume we are golden   
             for (int f = ignoreFirstFractions; f < myShrimpFractions.size(); f++) {
-
-                if (loadDataTask.isCancelled()) {
-                    break;
-                }
-
-                loadDataTask.firePropertyChange("progress", 33, 33 + ((67 * f) / myShrimpFractions.size()));
-
-                TripoliFraction tripoliFraction = processRunFraction((org.cirdles.calamari.shrimp.ShrimpFraction)myShrimpFractions.get(f));
-
-                // determine if standard reference material
-                myTripoliFractions.add(tripoliFraction);
-
+                org.cirdles.calamari.shrimp.ShrimpFraction shrimpFraction = (org.cirdles.calamari.shrimp.ShrimpFraction) myShrimpFractions.get(f);
+                fractionDecoders.add(() -> decodeRunFraction(shrimpFraction));
             } // end of files loop
 
+            myTripoliFractions = loadRawFractionsInParallel(loadDataTask, fractionDecoders, 33, 100);
+
             if (myTripoliFractions.isEmpty()) {
                 myTripoliFractions = null;
             }
@@ -198,7 +193,7 @@ public class ShrimpFileHandler extends AbstractRawDataFileHandler {
         return myTripoliFractions;
     }
 
-    private TripoliFraction processRunFraction(org.cirdles.calamari.shrimp.ShrimpFraction shrimpFraction) {
+    private RawFractionProcessor decodeRunFraction(org.cirdles.calamari.shrimp.ShrimpFraction shrimpFraction) {
 
         String fractionID = shrimpFraction.getFractionID();
         // temp hack
@@ -255,40 +250,45 @@ public class ShrimpFileHandler extends AbstractRawDataFileHandler {
 
         }
 
-        TripoliFraction tripoliFraction
-                = new TripoliFraction(
-                        fractionID, //
-                        massSpec.getCommonLeadCorrectionHighestLevel(), //
-                        isReferenceMaterial, false,
-                        fractionPeakTimeStamp, //
-                        fractionPeakTimeStamp,
-                        peakAcquisitions.size());
+        double[][] correctedOnPeakIntensities = stripOutBackgroundHack(2, shrimpFraction.getNetPkCps());
+        double[][] correctedVariances = stripOutBackgroundHack(2, shrimpFraction.getPkFerr());
+
+        return (massSpec) -> {
+            TripoliFraction tripoliFraction
+                    = new TripoliFraction(
+                            fractionID, //
+                            massSpec.getCommonLeadCorrectionHighestLevel(), //
+                            isReferenceMaterial, false,
+                            fractionPeakTimeStamp, //
+                            fractionPeakTimeStamp,
+                            peakAcquisitions.size());
 
-        SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
+            SortedSet<DataModelInterface> rawRatios = massSpec.rawRatiosFactoryRevised();
 
-        tripoliFraction.setRawRatios(rawRatios);
+            tripoliFraction.setRawRatios(rawRatios);
 
-        massSpec.setCountOfAcquisitions(peakAcquisitions.size());
+            massSpec.setCountOfAcquisitions(peakAcquisitions.size());
 
-        // supply calculated variances
-        ((ShrimpSetupUPb) massSpec).initializeVariances(peakAcquisitionsVariances);
+            // supply calculated variances
+            ((ShrimpSetupUPb) massSpec).initializeVariances(peakAcquisitionsVariances);
 
-        // supply corrected counts
-        ((ShrimpSetupUPb) massSpec).correctOnPeakIntensities(stripOutBackgroundHack(2, shrimpFraction.getNetPkCps()));
+            // supply corrected counts
+            ((ShrimpSetupUPb) massSpec).correctOnPeakIntensities(correctedOnPeakIntensities);
 
-        // supply calculated variances of CORRECTED counts
-        ((ShrimpSetupUPb) massSpec).initializeCorrectedVariances(stripOutBackgroundHack(2, shrimpFraction.getPkFerr()));
+            // supply calculated variances of CORRECTED counts
+            ((ShrimpSetupUPb) massSpec).initializeCorrectedVariances(correctedVariances);
 
-        // supply calculated ratios and uncertainties
-        ((ShrimpSetupUPb) massSpec).populateRawAndLogRatios(shrimpFraction.getIsotopicRatios());
+            // supply calculated ratios and uncertainties
+            ((ShrimpSetupUPb) massSpec).populateRawAndLogRatios(shrimpFraction.getIsotopicRatios());
 
-        massSpec.processFractionRawRatiosII(null, null, //
-                backgroundAcquisitions, peakAcquisitions, true, tripoliFraction, false);
+            massSpec.processFractionRawRatiosII(null, null, //
+                    backgroundAcquisitions, peakAcquisitions, true, tripoliFraction, false);
 
-        tripoliFraction.shadeDataActiveMapLeft(0);
-        System.out.println("\n**** SHRIMP FractionID  " + fractionID + " refMat? " + tripoliFraction.isStandard() + " <<<<<<<<<<<<<<<<<<\n");
+            tripoliFraction.shadeDataActiveMapLeft(0);
+            System.out.println("\n**** SHRIMP FractionID  " + fractionID + " refMat? " + tripoliFraction.isStandard() + " <<<<<<<<<<<<<<<<<<\n");
 
-        return tripoliFraction;
+            return tripoliFraction;
+        };
     }
 
     private double[][] stripOutBackgroundHack(int backgroundIndex, double[][] original) {
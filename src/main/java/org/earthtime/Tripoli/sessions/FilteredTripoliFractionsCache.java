@@ -0,0 +1,100 @@
+/*
+ * FilteredTripoliFractionsCache.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.sessions;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SortedSet;
+import org.earthtime.Tripoli.fractions.TripoliFraction;
+import org.earthtime.UPb_Redux.fractions.FractionsFilterInterface;
+import org.earthtime.dataDictionaries.FractionSelectionTypeEnum;
+import org.earthtime.dataDictionaries.IncludedTypeEnum;
+
+/**
+ * Caches the filtered views of a session's fractions by selection and
+ * visibility. The views are rebuilt only after a fraction is added or the
+ * included or standard status of a fraction changes, as counted by
+ * TripoliFraction.getMembershipVersion. The views are unmodifiable snapshots.
+ *
+ * @author James F. Bowring
+ */
+final class FilteredTripoliFractionsCache {
+
+    private final Map<FractionSelectionTypeEnum, Map<IncludedTypeEnum, SortedSet<TripoliFraction>>> filteredFractionViews;
+    private SortedSet<TripoliFraction> tripoliFractions;
+    private int countOfTripoliFractions;
+    private long membershipVersion;
+
+    FilteredTripoliFractionsCache() {
+        this.filteredFractionViews = new EnumMap<>(FractionSelectionTypeEnum.class);
+        this.tripoliFractions = null;
+        this.countOfTripoliFractions = 0;
+        this.membershipVersion = -1;
+    }
+
+    /**
+     * Same as FractionsFilterInterface.getTripoliFractionsFiltered, including
+     * turning off unhealthy fractions, but without rebuilding an unchanged
+     * view.
+     *
+     * @param tripoliFractions
+     * @param selection
+     * @param visibility
+     * @return unmodifiable view of the filtered fractions
+     */
+    synchronized SortedSet<TripoliFraction> getTripoliFractionsFiltered(//
+            SortedSet<TripoliFraction> tripoliFractions,
+            FractionSelectionTypeEnum selection,//
+            IncludedTypeEnum visibility) {
+
+        long currentMembershipVersion = TripoliFraction.getMembershipVersion();
+        if ((tripoliFractions != this.tripoliFractions) //
+                || (tripoliFractions.size() != countOfTripoliFractions) //
+                || (currentMembershipVersion != membershipVersion)) {
+            filteredFractionViews.clear();
+            this.tripoliFractions = tripoliFractions;
+            countOfTripoliFractions = tripoliFractions.size();
+            membershipVersion = currentMembershipVersion;
+        }
+
+        Map<IncludedTypeEnum, SortedSet<TripoliFraction>> viewsOfSelection
+                = filteredFractionViews.computeIfAbsent(selection, (s) -> new EnumMap<>(IncludedTypeEnum.class));
+        SortedSet<TripoliFraction> filteredFractions = viewsOfSelection.get(visibility);
+
+        if (filteredFractions == null) {
+            // any fraction turned off here changes the membership version and so the next call rebuilds
+            filteredFractions = Collections.unmodifiableSortedSet(//
+                    FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, selection, visibility));
+            viewsOfSelection.put(visibility, filteredFractions);
+        } else {
+            FractionsFilterInterface.turnOffUnhealthyFractions(filteredFractions);
+        }
+
+        return filteredFractions;
+    }
+
+    /**
+     *
+     */
+    synchronized void clear() {
+        filteredFractionViews.clear();
+        tripoliFractions = null;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * IncrementalInterpolatedCovariance.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.Tripoli.sessions;
+
+import Jama.Matrix;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps the covariance Sf = Jf * P * Jf' of a session fit interpolated at the
+ * selected fractions, for one session ratio and fraction selection, and
+ * updates it when fractions are added or removed: entries between fractions
+ * whose row of Jf is unchanged are copied, and only the rows and columns of
+ * new fractions are calculated. Any change to P, such as a refit of the
+ * session, recalculates the whole matrix.
+ *
+ * @author James F. Bowring
+ */
+final class IncrementalInterpolatedCovariance {
+
+    private Matrix interpolationCovariance;
+    private String[] fractionIDs;
+    private Matrix matrixJf;
+    private Matrix matrixSf;
+    private int countOfRecalculatedRows;
+
+    IncrementalInterpolatedCovariance() {
+        this.interpolationCovariance = null;
+        this.fractionIDs = new String[0];
+        this.matrixJf = null;
+        this.matrixSf = null;
+        this.countOfRecalculatedRows = 0;
+    }
+
+    /**
+     *
+     * @param interpolationCovariance P of the session fit function
+     * @param fractionIDs the selected fractions, in the order of the rows of
+     * Jf
+     * @param matrixJf the rows of Jf for the selected fractions, or null for a
+     * mean, whose Jf is a column of ones
+     * @return Sf for the selected fractions
+     */
+    Matrix update(Matrix interpolationCovariance, String[] fractionIDs, Matrix matrixJf) {
+        int countOfFractions = fractionIDs.length;
+        if (matrixJf == null) {
+            matrixJf = new Matrix(countOfFractions, 1, 1.0);
+        }
+
+        int[] previousIndexes = new int[countOfFractions];
+        Arrays.fill(previousIndexes, -1);
+        int countOfNewRows = countOfFractions;
+
+        if ((matrixSf != null) && sameMatrix(interpolationCovariance, this.interpolationCovariance)//
+                && (matrixJf.getColumnDimension() == this.matrixJf.getColumnDimension())) {
+            Map<String, Integer> previousFractionIndexes = new HashMap<>();
+            for (int i = 0; i < this.fractionIDs.length; i++) {
+                previousFractionIndexes.put(this.fractionIDs[i], i);
+            }
+            for (int i = 0; i < countOfFractions; i++) {
+                Integer previousIndex = previousFractionIndexes.get(fractionIDs[i]);
+                if ((previousIndex != null) //
+                        && Arrays.equals(matrixJf.getArray()[i], this.matrixJf.getArray()[previousIndex])) {
+                    previousIndexes[i] = previousIndex;
+                    countOfNewRows--;
+                }
+            }
+        }
+
+        Matrix Sf;
+        if (countOfNewRows == countOfFractions) {
+            Sf = matrixJf.times(interpolationCovariance).times(matrixJf.transpose());
+        } else {
+            Sf = new Matrix(countOfFractions, countOfFractions);
+            double[][] sf = Sf.getArray();
+            double[][] previousSf = matrixSf.getArray();
+
+            int[] newRows = new int[countOfNewRows];
+            int newRowIndex = 0;
+            for (int i = 0; i < countOfFractions; i++) {
+                if (previousIndexes[i] >= 0) {
+                    for (int j = 0; j < countOfFractions; j++) {
+                        if (previousIndexes[j] >= 0) {
+                            sf[i][j] = previousSf[previousIndexes[i]][previousIndexes[j]];
+                        }
+                    }
+                } else {
+                    newRows[newRowIndex] = i;
+                    newRowIndex++;
+                }
+            }
+
+            if (countOfNewRows > 0) {
+                int lastColumn = matrixJf.getColumnDimension() - 1;
+                Matrix JfTimesP = matrixJf.getMatrix(newRows, 0, lastColumn).times(interpolationCovariance);
+                double[][] jf = matrixJf.getArray();
+                for (int r = 0; r < countOfNewRows; r++) {
+                    double[] rowOfJfTimesP = JfTimesP.getArray()[r];
+                    int i = newRows[r];
+                    for (int j = 0; j < countOfFractions; j++) {
+                        double s = 0.0;
+                        for (int k = 0; k <= lastColumn; k++) {
+                            s += rowOfJfTimesP[k] * jf[j][k];
+                        }
+                        sf[i][j] = s;
+                        sf[j][i] = s;
+                    }
+                }
+            }
+        }
+
+        this.interpolationCovariance = interpolationCovariance.copy();
+        this.fractionIDs = fractionIDs.clone();
+        this.matrixJf = matrixJf.copy();
+        this.matrixSf = Sf;
+        this.countOfRecalculatedRows = countOfNewRows;
+
+        return Sf;
+    }
+
+    /**
+     *
+     * @return count of rows of Sf calculated by the last update
+     */
+    int getCountOfRecalculatedRows() {
+        return countOfRecalculatedRows;
+    }
+
+    private static boolean sameMatrix(Matrix a, Matrix b) {
+        boolean retVal = (a != null) && (b != null) //
+                && (a.getRowDimension() == b.getRowDimension()) //
+                && (a.getColumnDimension() == b.getColumnDimension());
+        for (int i = 0; retVal && (i < a.getRowDimension()); i++) {
+            retVal = Arrays.equals(a.getArray()[i], b.getArray()[i]);
+        }
+        return retVal;
+    }
+}
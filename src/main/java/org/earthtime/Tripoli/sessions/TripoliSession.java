@@ -29,6 +29,7 @@ import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -116,6 +117,9 @@ public class TripoliSession implements
     private boolean fitFunctionsUpToDate;
     // June 2016
     private boolean refMaterialSessionFittedForLiveMode;
+    // session ratio, fraction selection and fit function to Sf of the selected fractions
+    private transient Map<String, IncrementalInterpolatedCovariance> interpolatedCovariances;
+    private transient FilteredTripoliFractionsCache filteredFractionsCache;
 
     /**
      *
@@ -189,16 +193,20 @@ public class TripoliSession implements
         while (fractionIterator.hasNext()) {
 
             TripoliFraction tf = fractionIterator.next();
-            // give each fraction a normalized time stamp from beginning of peak readings of first fraction
-            // feb 2013 temp hack to shift fractions slightly for calculating and plotting --- need to fix underlying 2 second shift issue
-            tf.setZeroBasedNormalizedTimeStamp(//
-                    (tf.getPeakTimeStamp() - firstFractionTimeStamp) / rawDataFileHandler.getMassSpec().getCollectorDataFrequencyMillisecs());// + 2L);
-            // removed 2L feb 2016
-            tf.setZeroBasedTimeStamp((tf.getPeakTimeStamp() - firstFractionTimeStamp));// + 2L * rawDataFileHandler.getMassSpec().getCollectorDataFrequencyMillisecs()));
+            prepareFractionTimeStamp(tf, firstFractionTimeStamp);
         }
 
     }
 
+    private void prepareFractionTimeStamp(TripoliFraction tf, long firstFractionTimeStamp) {
+        // give each fraction a normalized time stamp from beginning of peak readings of first fraction
+        // feb 2013 temp hack to shift fractions slightly for calculating and plotting --- need to fix underlying 2 second shift issue
+        tf.setZeroBasedNormalizedTimeStamp(//
+                (tf.getPeakTimeStamp() - firstFractionTimeStamp) / rawDataFileHandler.getMassSpec().getCollectorDataFrequencyMillisecs());// + 2L);
+        // removed 2L feb 2016
+        tf.setZeroBasedTimeStamp((tf.getPeakTimeStamp() - firstFractionTimeStamp));// + 2L * rawDataFileHandler.getMassSpec().getCollectorDataFrequencyMillisecs()));
+    }
+
     /**
      *
      * @param updateOnly the value of updateOnly
@@ -223,22 +231,7 @@ public class TripoliSession implements
             }
 
             // create map of primaryStandards values to be used to update each fraction's ratios
-            SortedSet<DataModelInterface> ratiosSortedSet = tripoliFractions.first().getRatiosForFractionFitting();
-            Double[] standardValuesMap = new Double[ratiosSortedSet.size()];
-            int count = 0;
-
-            Iterator<DataModelInterface> ratiosSortedSetIterator = ratiosSortedSet.iterator();
-            while (ratiosSortedSetIterator.hasNext()) {
-                DataModelInterface ratio = ratiosSortedSetIterator.next();
-                String ratioName = ratio.getRawRatioModelName().getName().replace("w", "r");
-                ValueModel standardRatio = primaryMineralStandard.getDatumByName(ratioName);
-                if (standardRatio != null) {
-                    standardValuesMap[count] = standardRatio.getValue().doubleValue();
-                } else {
-                    standardValuesMap[count] = 0.0;
-                }
-                count++;
-            }
+            Double[] standardValuesMap = primaryStandardValuesForFractionFitting();
 
             // give each ratio within each fraction the matching standard value
             // oct 2012 this call also resets the datamodel as to whether it is a valid fractionation-correcting ratio
@@ -303,11 +296,79 @@ public class TripoliSession implements
         }
     }
 
+    private Double[] primaryStandardValuesForFractionFitting() {
+        SortedSet<DataModelInterface> ratiosSortedSet = tripoliFractions.first().getRatiosForFractionFitting();
+        Double[] standardValuesMap = new Double[ratiosSortedSet.size()];
+        int count = 0;
+
+        Iterator<DataModelInterface> ratiosSortedSetIterator = ratiosSortedSet.iterator();
+        while (ratiosSortedSetIterator.hasNext()) {
+            DataModelInterface ratio = ratiosSortedSetIterator.next();
+            String ratioName = ratio.getRawRatioModelName().getName().replace("w", "r");
+            ValueModel standardRatio = primaryMineralStandard.getDatumByName(ratioName);
+            if (standardRatio != null) {
+                standardValuesMap[count] = standardRatio.getValue().doubleValue();
+            } else {
+                standardValuesMap[count] = 0.0;
+            }
+            count++;
+        }
+
+        return standardValuesMap;
+    }
+
+    /**
+     * Adds live fractions to a processed session without processing it again.
+     * The new fractions must already be in the session's fractions and samples.
+     * Only new reference materials change the session of standards, so only
+     * then are the session models given the new standards and marked for a
+     * refit; otherwise the session fit functions are kept as they are.
+     *
+     * @param newTripoliFractions the fractions acquired since the last update
+     * @return false if the session structure changed and processRawData(true)
+     * is needed instead
+     */
+    @Override
+    public boolean appendLiveFractions(SortedSet<TripoliFraction> newTripoliFractions) {
+        if (!dataProcessed || (primaryMineralStandard == null) || (fractionationTechnique == null)//
+                || (sessionForStandardsInterceptFractionation == null) || sessionForStandardsInterceptFractionation.isEmpty()//
+                || (sessionForStandardsDownholeFractionation == null) || sessionForStandardsDownholeFractionation.isEmpty()//
+                || newTripoliFractions.contains(tripoliFractions.first())) {
+            return false;
+        }
+
+        Double[] standardValuesMap = primaryStandardValuesForFractionFitting();
+        long firstFractionTimeStamp = tripoliFractions.first().getPeakTimeStamp();
+        boolean standardsAdded = false;
+        for (TripoliFraction tf : newTripoliFractions) {
+            tf.updateRawRatioDataModelsWithPrimaryStandardValue(standardValuesMap);
+            prepareFractionTimeStamp(tf, firstFractionTimeStamp);
+            standardsAdded = standardsAdded || tf.isStandard();
+        }
+
+        if (standardsAdded) {
+            SortedSet<TripoliFraction> standardFractions
+                    = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.STANDARD, IncludedTypeEnum.ALL);
+            sessionForStandardsInterceptFractionation.values().stream().forEach((ssm) -> {
+                ssm.setStandardFractions(standardFractions);
+            });
+            sessionForStandardsDownholeFractionation.values().stream().forEach((ssm) -> {
+                ssm.setStandardFractions(standardFractions);
+            });
+            downholeFractionationDataModels
+                    = rawDataFileHandler.getMassSpec().downholeFractionationDataModelsFactory(tripoliFractions, primaryMineralStandard);
+
+            refMaterialSessionFittedForLiveMode = false;
+        }
+
+        return true;
+    }
+
     @Override
     public void postProcessDataForCommonLeadLossPreparation() {
         // nov 2014 post processing of */204 ratios to remove negative value from active data
         // also forces undoing of any re-selection
-        SortedSet<TripoliFraction> allFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.ALL, IncludedTypeEnum.INCLUDED);
+        SortedSet<TripoliFraction> allFractions = getTripoliFractionsFiltered(FractionSelectionTypeEnum.ALL, IncludedTypeEnum.INCLUDED);
         Iterator<TripoliFraction> allFractionsIterator = allFractions.iterator();
         while (allFractionsIterator.hasNext()) {
             TripoliFraction tf = allFractionsIterator.next();
@@ -387,23 +448,26 @@ public class TripoliSession implements
         boolean retVal;
         //**********  ALL OF THIS IS CURRENTLY DONE INSIDE SPLINE FIT BUT COULD BE DONE OUTSIDE ******
         // build and calculate t and h
-        SortedSet<TripoliFraction> standardFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.STANDARD, IncludedTypeEnum.INCLUDED);//.ALL );
+        SortedSet<TripoliFraction> standardFractions = getTripoliFractionsFiltered(FractionSelectionTypeEnum.STANDARD, IncludedTypeEnum.INCLUDED);//.ALL );
         int countOfStandards = standardFractions.size();
 
-        if (countOfStandards > 0) {
+        double[] timesForIncludedStandards = new double[countOfStandards];
+        int index = 0;
+        for (TripoliFraction tf : standardFractions) {
+            timesForIncludedStandards[index] = tf.getZeroBasedNormalizedTimeStamp();
+            index++;
+        }
+
+        if ((countOfStandards > 0) && (matrixJgammag != null) && Arrays.equals(timesForIncludedStandards, timesForStandards)) {
+            // included standards unchanged since last prepared
             retVal = true;
-            timesForStandards = new double[countOfStandards];
+        } else if (countOfStandards > 0) {
+            retVal = true;
+            matrixJgammag = null;
+            timesForStandards = timesForIncludedStandards;
             tList = new ArrayList<>();
-            int index = 0;
-            Iterator<TripoliFraction> standardFractionIterator = standardFractions.iterator();
-
-            while (standardFractionIterator.hasNext()) {
-                TripoliFraction tf = standardFractionIterator.next();
-
-                timesForStandards[index] = tf.getZeroBasedNormalizedTimeStamp();
-                tList.add(timesForStandards[index]);
-
-                index++;
+            for (int j = 0; j < countOfStandards; j++) {
+                tList.add(timesForStandards[j]);
             }
 
             // time deltas 
@@ -474,7 +538,7 @@ public class TripoliSession implements
             retVal = true;
             //
             // prepare unknowns
-            SortedSet<TripoliFraction> selectedFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
+            SortedSet<TripoliFraction> selectedFractions = getTripoliFractionsFiltered(fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
             int countOfSelectedFractions = selectedFractions.size();
             int countOfStandards = timesForStandards.length;
 
@@ -489,14 +553,12 @@ public class TripoliSession implements
             }
 
             // prepare spline Jf
-            Matrix Jfg = new Matrix(countOfSelectedFractions, countOfStandards);
-            Matrix Jfgamma = new Matrix(countOfSelectedFractions, countOfStandards);
+            Matrix Jf = new Matrix(countOfSelectedFractions, countOfStandards);
 
             for (int k = 0; k < timesForFractions.length; k++) {
-                populateJacobianGAndGamma(k, timesForFractions[k], Jfg, Jfgamma);
+                populateSplineJacobianRow(k, timesForFractions[k], Jf);
             }
 
-            Matrix Jf = Jfg.plus(Jfgamma.times(matrixJgammag));
             matrixJfMapUnknowns.put(FitFunctionTypeEnum.SMOOTHING_SPLINE, Jf);
 
             // prepare LM exponential Jf
@@ -568,8 +630,7 @@ public class TripoliSession implements
             }
             int countOfDataPoints = (int) Math.ceil(dataMaxX / xStep);
 
-            Matrix Jfg = new Matrix(countOfDataPoints + 1, countOfStandards);
-            Matrix Jfgamma = new Matrix(countOfDataPoints + 1, countOfStandards);
+            Matrix Jf = new Matrix(countOfDataPoints + 1, countOfStandards);
 
             timesForPlotting = new double[countOfDataPoints + 1];
 
@@ -579,16 +640,15 @@ public class TripoliSession implements
                 timesForPlotting[k] = t;
 
                 double tInt = t;
-                populateJacobianGAndGamma(k, tInt, Jfg, Jfgamma);
+                populateSplineJacobianRow(k, tInt, Jf);
             }
 
             // last point
             timesForPlotting[countOfDataPoints] = dataMaxX;
 
             double tInt = dataMaxX;
-            populateJacobianGAndGamma(countOfDataPoints, tInt, Jfg, Jfgamma);
+            populateSplineJacobianRow(countOfDataPoints, tInt, Jf);
 
-            Matrix Jf = Jfg.plus(Jfgamma.times(matrixJgammag));
             matrixJfMapPlotting.put(FitFunctionTypeEnum.SMOOTHING_SPLINE, Jf);
 
             // prepare LM exponential Jf
@@ -611,14 +671,30 @@ public class TripoliSession implements
         return retVal;
     }
 
-    private void populateJacobianGAndGamma(int k, double tInt, Matrix Jfg, Matrix Jfgamma) {
+    /**
+     * Row k of the spline Jf = Jfg + Jfgamma * Jgammag, using that the rows of
+     * Jfg and Jfgamma have only the two entries of the bracketing standards.
+     *
+     * @param k
+     * @param tInt
+     * @param Jf
+     */
+    private void populateSplineJacobianRow(int k, double tInt, Matrix Jf) {
         int stIndex = AbstractFunctionOfX.calculateTimeLeftBracketIndex(tInt, tList);
 
-        Jfg.set(k, stIndex, (tList.get(stIndex + 1) - tInt) / h[stIndex]);
-        Jfg.set(k, stIndex + 1, (tInt - tList.get(stIndex)) / h[stIndex]);
-        Jfgamma.set(k, stIndex, (tInt - tList.get(stIndex)) * (tInt - tList.get(stIndex + 1)) * (h[stIndex] - tInt + tList.get(stIndex + 1)) / (6 * h[stIndex]));
-        Jfgamma.set(k, stIndex + 1, (tInt - tList.get(stIndex)) * (tInt - tList.get(stIndex + 1)) * (h[stIndex] + tInt - tList.get(stIndex)) / (6 * h[stIndex]));
+        double jfgLeft = (tList.get(stIndex + 1) - tInt) / h[stIndex];
+        double jfgRight = (tInt - tList.get(stIndex)) / h[stIndex];
+        double jfgammaLeft = (tInt - tList.get(stIndex)) * (tInt - tList.get(stIndex + 1)) * (h[stIndex] - tInt + tList.get(stIndex + 1)) / (6 * h[stIndex]);
+        double jfgammaRight = (tInt - tList.get(stIndex)) * (tInt - tList.get(stIndex + 1)) * (h[stIndex] + tInt - tList.get(stIndex)) / (6 * h[stIndex]);
 
+        double[] JfRow = Jf.getArray()[k];
+        double[] JgammagLeft = matrixJgammag.getArray()[stIndex];
+        double[] JgammagRight = matrixJgammag.getArray()[stIndex + 1];
+        for (int j = 0; j < JfRow.length; j++) {
+            JfRow[j] = jfgammaLeft * JgammagLeft[j] + jfgammaRight * JgammagRight[j];
+        }
+        JfRow[stIndex] += jfgLeft;
+        JfRow[stIndex + 1] += jfgRight;
     }
 
     /**
@@ -666,7 +742,7 @@ public class TripoliSession implements
 
     @Override
     public void resetAllUPbFractionReduction() {
-        SortedSet<TripoliFraction> allFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.ALL, IncludedTypeEnum.INCLUDED);//dec 2015 .ALL);
+        SortedSet<TripoliFraction> allFractions = getTripoliFractionsFiltered(FractionSelectionTypeEnum.ALL, IncludedTypeEnum.INCLUDED);//dec 2015 .ALL);
         Iterator<TripoliFraction> allFractionsIterator = allFractions.iterator();
 
         while (allFractionsIterator.hasNext()) {
@@ -692,7 +768,7 @@ public class TripoliSession implements
         } else {
 
             // dec 2014 - initialize fractions for rho calcs and common lead correction
-            SortedSet<TripoliFraction> allFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.ALL, IncludedTypeEnum.INCLUDED);//dec 2015 .ALL);
+            SortedSet<TripoliFraction> allFractions = getTripoliFractionsFiltered(FractionSelectionTypeEnum.ALL, IncludedTypeEnum.INCLUDED);//dec 2015 .ALL);
             Iterator<TripoliFraction> allFractionsIterator = allFractions.iterator();
 
             while (allFractionsIterator.hasNext()) {
@@ -728,7 +804,7 @@ public class TripoliSession implements
     public void interceptCalculatePbcCorrAndRhos(boolean inLiveMode) {
         if (!inLiveMode) {
             // refit any  fractions not currently fitted
-            Set<TripoliFraction> includedTripoliFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.ALL, IncludedTypeEnum.INCLUDED);
+            Set<TripoliFraction> includedTripoliFractions = getTripoliFractionsFiltered(FractionSelectionTypeEnum.ALL, IncludedTypeEnum.INCLUDED);
             for (TripoliFraction tf : includedTripoliFractions) {
                 tf.reProcessToRejectNegativeRatios();
                 if (!tf.isCurrentlyFitted()) {
@@ -757,7 +833,7 @@ public class TripoliSession implements
     private void calculateUThConcentrationsForUnknowns() {
         // dec 2014 from appendix C
         // each unknown's concentrtations are calculted using time and braketing standards
-        SortedSet<TripoliFraction> includedFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.ALL, IncludedTypeEnum.INCLUDED);
+        SortedSet<TripoliFraction> includedFractions = getTripoliFractionsFiltered(FractionSelectionTypeEnum.ALL, IncludedTypeEnum.INCLUDED);
 
         TripoliFraction leftStandard = null;
         boolean lookingForLeftStandard = true;
@@ -891,7 +967,7 @@ public class TripoliSession implements
      */
     private void prepareForReductionAndCommonLeadCorrection(FractionSelectionTypeEnum fractionSelectionTypeEnum, boolean inLiveMode) {
 
-        SortedSet<TripoliFraction> selectedFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
+        SortedSet<TripoliFraction> selectedFractions = getTripoliFractionsFiltered(fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
         int countOfSelectedFractions = selectedFractions.size();
         // nov 2014 section 11
         // walk the sessions and build double[][] of diagonals = 3 rows by countof unkowns - one row for each session ratio
@@ -1042,7 +1118,7 @@ public class TripoliSession implements
         }
 
         // may 2013 - reject bad fractions for user
-        SortedSet<TripoliFraction> unknownFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.UNKNOWN, IncludedTypeEnum.ALL);
+        SortedSet<TripoliFraction> unknownFractions = getTripoliFractionsFiltered(FractionSelectionTypeEnum.UNKNOWN, IncludedTypeEnum.ALL);
         Iterator<TripoliFraction> unknownFractionIterator = unknownFractions.iterator();
 
         while (unknownFractionIterator.hasNext()) {
@@ -1077,22 +1153,13 @@ public class TripoliSession implements
 //        System.out.println("\n\nPROCESSING RATIO " + rrName.getName());
         if (prepareMatrixJfMapFractionsByType(fractionSelectionTypeEnum)) {
 
-            SortedSet<TripoliFraction> selectedFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
+            SortedSet<TripoliFraction> selectedFractions = getTripoliFractionsFiltered(fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
 
             int countOfSelectedFractions = selectedFractions.size();
             if (countOfSelectedFractions > 0) {
 
-                Matrix matrixJfUnknownsActiveStandards = getMatrixJfUnknownsActiveStandards(sessionFofX.getShortName());
-
                 // forces update of Sf
-                // TODO: Refactor
-                if (fractionSelectionTypeEnum.compareTo(FractionSelectionTypeEnum.UNKNOWN) == 0) {
-                    sessionFofX.calculateInterpolatedVariances(matrixJfUnknownsActiveStandards, timesForUnknowns);
-                } else {
-                    sessionFofX.calculateInterpolatedVariances(matrixJfUnknownsActiveStandards, timesForStandards);
-                }
-
-                Matrix matrixSf = sessionFofX.getMatrixSf();
+                Matrix matrixSf = calculateMatrixSfOfSelectedFractions(fractionSelectionTypeEnum, sessionFofX, rrName, selectedFractions);
                 if (matrixSf != null) {
 
                     Matrix selectedFractionsAnalyticalCovarianceSu = new Matrix(countOfSelectedFractions, countOfSelectedFractions);
@@ -1180,6 +1247,53 @@ public class TripoliSession implements
         }
     }
 
+    /**
+     * Updates Sf of the session fit function for the selected fractions. Where
+     * the fit function exposes its interpolation covariance, only the rows and
+     * columns of fractions added since the last update are calculated.
+     *
+     * @param fractionSelectionTypeEnum the value of fractionSelectionTypeEnum
+     * @param sessionFofX the value of sessionFofX
+     * @param rrName the value of rrName
+     * @param selectedFractions the value of selectedFractions
+     * @return Sf
+     */
+    private Matrix calculateMatrixSfOfSelectedFractions(//
+            FractionSelectionTypeEnum fractionSelectionTypeEnum, AbstractFunctionOfX sessionFofX, RawRatioNames rrName, SortedSet<TripoliFraction> selectedFractions) {
+
+        Matrix matrixJfActiveStandards = getMatrixJfUnknownsActiveStandards(sessionFofX.getShortName());
+        Matrix interpolationCovariance = sessionFofX.getInterpolationCovariance();
+
+        if (interpolationCovariance == null) {
+            if (fractionSelectionTypeEnum.compareTo(FractionSelectionTypeEnum.UNKNOWN) == 0) {
+                sessionFofX.calculateInterpolatedVariances(matrixJfActiveStandards, timesForUnknowns);
+            } else {
+                sessionFofX.calculateInterpolatedVariances(matrixJfActiveStandards, timesForStandards);
+            }
+        } else {
+            if (interpolatedCovariances == null) {
+                interpolatedCovariances = new HashMap<>();
+            }
+            String key = rrName.getName() + "." + fractionSelectionTypeEnum.getName() + "." + sessionFofX.getShortNameString();
+            IncrementalInterpolatedCovariance interpolatedCovariance = interpolatedCovariances.get(key);
+            if (interpolatedCovariance == null) {
+                interpolatedCovariance = new IncrementalInterpolatedCovariance();
+                interpolatedCovariances.put(key, interpolatedCovariance);
+            }
+
+            String[] selectedFractionIDs = new String[selectedFractions.size()];
+            int index = 0;
+            for (TripoliFraction tf : selectedFractions) {
+                selectedFractionIDs[index] = tf.getFractionID();
+                index++;
+            }
+
+            sessionFofX.setMatrixSf(interpolatedCovariance.update(interpolationCovariance, selectedFractionIDs, matrixJfActiveStandards));
+        }
+
+        return sessionFofX.getMatrixSf();
+    }
+
     /**
      *
      * @param fractionSelectionTypeEnum the value of fractionSelectionTypeEnum
@@ -1198,7 +1312,7 @@ public class TripoliSession implements
 
         Matrix unknownsLogRatioMeans = new Matrix(countOfUnknowns, 1);
 
-        SortedSet<TripoliFraction> unknownFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
+        SortedSet<TripoliFraction> unknownFractions = getTripoliFractionsFiltered(fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
         Iterator<TripoliFraction> unknownFractionIterator = unknownFractions.iterator();
         int index = 0;
 
@@ -1356,22 +1470,13 @@ public class TripoliSession implements
             FractionSelectionTypeEnum fractionSelectionTypeEnum, AbstractFunctionOfX sessionFofX, double sessionStandardValue, RawRatioNames rrName) {
         
         if (prepareMatrixJfMapFractionsByType(fractionSelectionTypeEnum)) {
-            SortedSet<TripoliFraction> selectedFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
+            SortedSet<TripoliFraction> selectedFractions = getTripoliFractionsFiltered(fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
 
             int countOfSelectedFractions = selectedFractions.size();
             if (countOfSelectedFractions > 0) {
 
-                Matrix matrixJfUnknownsActiveStandards = getMatrixJfUnknownsActiveStandards(sessionFofX.getShortName());
-
                 // forces update of Sf
-                // TODO: Refactor
-                if (fractionSelectionTypeEnum.compareTo(FractionSelectionTypeEnum.UNKNOWN) == 0) {
-                    sessionFofX.calculateInterpolatedVariances(matrixJfUnknownsActiveStandards, timesForUnknowns);
-                } else {
-                    sessionFofX.calculateInterpolatedVariances(matrixJfUnknownsActiveStandards, timesForStandards);
-                }
-
-                Matrix matrixSf = sessionFofX.getMatrixSf();
+                Matrix matrixSf = calculateMatrixSfOfSelectedFractions(fractionSelectionTypeEnum, sessionFofX, rrName, selectedFractions);
                 if (matrixSf != null) {
 
                     Matrix selectedFractionsAnalyticalCovarianceSu = new Matrix(countOfSelectedFractions, countOfSelectedFractions);
@@ -1457,7 +1562,7 @@ public class TripoliSession implements
 
         double[] betaFunction = downHolefractionationModel.getFitFunctionBetaValues();
 
-        SortedSet<TripoliFraction> unknownFractions = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
+        SortedSet<TripoliFraction> unknownFractions = getTripoliFractionsFiltered(fractionSelectionTypeEnum, IncludedTypeEnum.INCLUDED);
 
         int index = 0;
         for (TripoliFraction tf : unknownFractions) {
@@ -1642,6 +1747,18 @@ public class TripoliSession implements
     @Override
     public void setTripoliFractions(SortedSet<TripoliFraction> tripoliFractions) {
         this.tripoliFractions = tripoliFractions;
+        if (filteredFractionsCache != null) {
+            filteredFractionsCache.clear();
+        }
+    }
+
+    private synchronized SortedSet<TripoliFraction> getTripoliFractionsFiltered(//
+            FractionSelectionTypeEnum selection,//
+            IncludedTypeEnum visibility) {
+        if (filteredFractionsCache == null) {
+            filteredFractionsCache = new FilteredTripoliFractionsCache();
+        }
+        return filteredFractionsCache.getTripoliFractionsFiltered(tripoliFractions, selection, visibility);
     }
 
     /**
@@ -1652,7 +1769,7 @@ public class TripoliSession implements
     public void includeAllFractions(FractionSelectionTypeEnum fractionSelectionType) {
         SortedSet<TripoliFraction> excludedTripoliFractions
                 = //
-                FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, fractionSelectionType, IncludedTypeEnum.EXCLUDED);
+                getTripoliFractionsFiltered(fractionSelectionType, IncludedTypeEnum.EXCLUDED);
         excludedTripoliFractions.stream().forEach((f) -> {
             f.toggleAllDataExceptShaded(true);
         });
@@ -1810,7 +1927,7 @@ public class TripoliSession implements
 
     public void applyMaskingArrayToStandardsForDownhole() {
         SortedSet<TripoliFraction> tripoliStandardFractions
-                = FractionsFilterInterface.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.STANDARD, IncludedTypeEnum.INCLUDED);
+                = getTripoliFractionsFiltered(FractionSelectionTypeEnum.STANDARD, IncludedTypeEnum.INCLUDED);
         Iterator<TripoliFraction> fractionIterator = tripoliStandardFractions.iterator();
         while (fractionIterator.hasNext()) {
             TripoliFraction tf = fractionIterator.next();
@@ -167,6 +167,13 @@ public interface TripoliSessionInterface extends TripoliSessionFractionationCalc
      */
     void processRawData(boolean updateOnly);
 
+    /**
+     *
+     * @param newTripoliFractions the fractions acquired since the last update
+     * @return false if processRawData(true) is needed instead
+     */
+    boolean appendLiveFractions(SortedSet<TripoliFraction> newTripoliFractions);
+
     void postProcessDataForCommonLeadLossPreparation();
 
     /**
@@ -21,9 +21,6 @@
 package org.earthtime.UPb_Redux.aliquots;
 
 import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.io.xml.DomDriver;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
@@ -45,6 +42,7 @@ import org.earthtime.UPb_Redux.fractions.AnalysisFractionXMLConverter;
 import org.earthtime.UPb_Redux.fractions.FractionI;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFraction;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction.FractionReductionTracker;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction.UPbFractionReducer;
 import org.earthtime.UPb_Redux.samples.SESARSampleMetadata;
 import org.earthtime.UPb_Redux.user.UPbReduxConfigurator;
@@ -85,6 +83,7 @@ import org.earthtime.ratioDataModels.tracers.TracerUPbModelXMLConverter;
 import org.earthtime.reduxLabData.ReduxLabData;
 import org.earthtime.reportViews.ReportRowGUIInterface;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  * Working version of Aliquot for interactive calculations prior to publication.
@@ -109,6 +108,7 @@ public class UPbReduxAliquot extends Aliquot
      */
     private transient ReduxLabData myReduxLabData;
     private transient boolean selectedInDataTable;
+    private transient FractionReductionTracker reductionTracker;
     private int aliquotNumber;
     private Vector<ETFractionInterface> aliquotFractions;
     private boolean defaultIsZircon;
@@ -312,12 +312,43 @@ public class UPbReduxAliquot extends Aliquot
      */
     @Override
     public void reduceData(boolean inLiveMode) {
+        // oct 2026 fractions are reduced in parallel; live reduction may use double precision dates
+        UPbFractionReducer.getInstance().reduceFractions(getAliquotFractions(), true, inLiveMode);
+        getReductionTracker().recordReducedFractions(getAliquotFractions(), true);
+
+        updateBestAgeDivider206_238();
+    }
+
+    /**
+     * @return the tracker of the reductions of this aliquot's fractions
+     */
+    public FractionReductionTracker getReductionTracker() {
+        // oct 2026 transient, so created on first use
+        if (reductionTracker == null) {
+            reductionTracker = new FractionReductionTracker();
+        }
+        return reductionTracker;
+    }
+
+    /**
+     * Calculates the date interpretation only if any of its included fractions
+     * has been reduced since it was last calculated.
+     *
+     * @param sampleDateModel
+     */
+    @Override
+    public void calculateDateInterpretation(SampleDateModel sampleDateModel) {
+        getReductionTracker().calculateDateInterpretation(this, sampleDateModel);
+    }
+
+    /**
+     * Finds the divider between 206Pb/238U and 207Pb/206Pb best dates, if not
+     * done previously, from the reduced fractions.
+     */
+    public void updateBestAgeDivider206_238() {
         // may 2014 modified to determine best date  
         ArrayList<Double> sorted206_238 = new ArrayList<>();
         for (ETFractionInterface f : getAliquotFractions()) {
-            // APRIL 2014 WARNING FOR NOW DO NOT MAKE CALL TO STATIC METHOD DIRECTLY so that parameters can be assembled ... need to refactor
-            UPbFractionReducer.getInstance().fullFractionReduce((FractionI) f, true);
-
             ValueModel date206_238r = f.getRadiogenicIsotopeDateByName(RadDates.age206_238r);
             // pick out the dates in the likely range for spliting 500 - 1100 MA
             if ((date206_238r.getValue().movePointLeft(6).compareTo(new BigDecimal(500)) > 0)//8
@@ -423,9 +454,8 @@ public class UPbReduxAliquot extends Aliquot
      */
     public XStream getXStreamWriter() {
 
-        XStream xstream = new XStream();//new Sun14ReflectionProvider(new FieldDictionary(sorter)));
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamWriter(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -529,9 +559,8 @@ public class UPbReduxAliquot extends Aliquot
      */
     public XStream getXStreamReader() {
 
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamReader(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -554,31 +583,8 @@ public class UPbReduxAliquot extends Aliquot
 
         AliquotInterface myAliquot = null;
 
-        BufferedReader reader = URIHelper.getBufferedReader(filename);
-
-        if (reader != null) {
-            boolean isValidOrAirplaneMode = true;
-
-            XStream xstream = getXStreamReader();
-
-            if (doValidate) {
-                isValidOrAirplaneMode = URIHelper.validateXML(reader, filename, aliquotXMLSchemaURL);
-            }
-
-            if (isValidOrAirplaneMode) {
-                // re-create reader
-                reader = URIHelper.getBufferedReader(filename);
-                try {
-                    myAliquot = (AliquotInterface) xstream.fromXML(reader);
-                } catch (ConversionException e) {
-                    throw new ETException(null, e.getMessage());
-                }
-            } else {
-                throw new ETException(null, "XML data file does not conform to schema.");
-            }
-        } else {
-            throw new FileNotFoundException("Missing XML data file.");
-        }
+        // oct 2026 validated while read, in one pass
+        myAliquot = (AliquotInterface) URIHelper.unmarshalXML(getXStreamReader(), filename, aliquotXMLSchemaURL, doValidate);
 
         return myAliquot;
     }
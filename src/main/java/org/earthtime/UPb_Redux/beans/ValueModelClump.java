@@ -30,13 +30,14 @@ import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.beans.PropertyChangeListener;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import javax.swing.JLayeredPane;
 import javax.swing.JPanel;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 import org.earthtime.dataDictionaries.DataDictionary;
 import org.earthtime.fractions.ETFractionInterface;
+import org.earthtime.utilities.MethodHandleRegistry;
 
 /**
  * This panel contains value model sliders according to defined clumps from
@@ -104,13 +105,12 @@ public class ValueModelClump extends JLayeredPane
         for (int j = 0; j < clumpSpecs.length; j ++) {
             ValueModel vm = null;
             // looks up the correct method and applies it to input
-            Method meth = 
+            MethodHandle meth = 
                     DataDictionary.retrieveMethodNameForInput( clumpSpecs[j][0] );
             if ( meth != null ) {
                 try {
-                    vm = (ValueModel) meth.//
-                            invoke( fraction, new Object[]{clumpSpecs[j][0]} );
-                } catch (IllegalAccessException | IllegalArgumentException illegalAccessException) {
+                    vm = (ValueModel) MethodHandleRegistry.//
+                            invoke( meth, fraction, clumpSpecs[j][0] );
                 } catch (InvocationTargetException invocationTargetException) {
                     System.out.println( invocationTargetException.getMessage() + "  AT ValueModelClump constructor" );
                 }
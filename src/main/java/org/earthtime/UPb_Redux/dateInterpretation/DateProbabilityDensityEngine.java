@@ -0,0 +1,352 @@
+/*
+ * DateProbabilityDensityEngine.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.dateInterpretation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE.KDE;
+import org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE.OtherData;
+import org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE.Preferences;
+
+/**
+ * Evaluates the stacked date probability density curves behind
+ * DateProbabilityDensityPanel on primitive arrays. Each fraction's Gaussian
+ * kernel is evaluated only within kernelSigmas standard deviations of its
+ * mean, aliquots are stacked in parallel, and the curves of the last set of
+ * dates are kept until a different set is evaluated. Nothing here touches
+ * Swing, so evaluate may be called from a background thread.
+ *
+ * @author James F. Bowring
+ */
+public class DateProbabilityDensityEngine {
+
+    /**
+     * the points 0 to 4000 Ma inclusive at which every curve is evaluated, in
+     * addition to the dates themselves
+     */
+    public static final int ANNUM_POINT_COUNT = 4001;
+    /**
+     * beyond 8 sigma a kernel is below 1e-14 of its peak
+     */
+    public static final double DEFAULT_KERNEL_SIGMAS = 8.0;
+    // 4096 = 2^12 for the Vermeesch KDE
+    private static final int KDE_MESH_SIZE = 4096;
+
+    private final double kernelSigmas;
+    private DensityCurves lastCurves;
+
+    /**
+     *
+     */
+    public DateProbabilityDensityEngine() {
+        this(DEFAULT_KERNEL_SIGMAS);
+    }
+
+    /**
+     *
+     * @param kernelSigmas
+     */
+    public DateProbabilityDensityEngine(double kernelSigmas) {
+        this.kernelSigmas = kernelSigmas;
+        this.lastCurves = null;
+    }
+
+    /**
+     * Evaluates the curves of dates or returns those of the last call if the
+     * dates are unchanged.
+     *
+     * @param dates
+     * @param aliquotRowCount the number of rows of stacked aliquot curves,
+     * including row zero for the sample
+     * @return the curves
+     */
+    public synchronized DensityCurves evaluate(KernelDates dates, int aliquotRowCount) {
+        DensityCurves curves = lastCurves;
+        if ((curves == null) || !curves.isOf(dates, aliquotRowCount)) {
+            curves = new DensityCurves(dates, aliquotRowCount, kernelSigmas);
+            lastCurves = curves;
+        }
+        return curves;
+    }
+
+    /**
+     * the probability density at x of a Gaussian kernel
+     *
+     * @param meanDate
+     * @param variance
+     * @param x
+     * @return
+     */
+    public static double evalKernelAt(double meanDate, double variance, double x) {
+        return (1.0 / Math.sqrt(2.0 * Math.PI * variance)) //
+                * Math.exp(-1.0 * (x - meanDate) * (x - meanDate) / (2 * variance));
+    }
+
+    /**
+     * The dates of the fractions to be stacked, in Ma, with their kernel
+     * variances, raw variances as given to the KDE, and aliquot numbers.
+     */
+    public static class KernelDates {
+
+        private final double[] meanDates;
+        private final double[] variances;
+        private final double[] kdeVariances;
+        private final int[] aliquotNumbers;
+        private int count;
+
+        /**
+         *
+         * @param capacity
+         */
+        public KernelDates(int capacity) {
+            this.meanDates = new double[capacity];
+            this.variances = new double[capacity];
+            this.kdeVariances = new double[capacity];
+            this.aliquotNumbers = new int[capacity];
+            this.count = 0;
+        }
+
+        /**
+         *
+         * @param meanDate
+         * @param variance
+         * @param kdeVariance
+         * @param aliquotNumber
+         */
+        public void add(double meanDate, double variance, double kdeVariance, int aliquotNumber) {
+            meanDates[count] = meanDate;
+            variances[count] = variance;
+            kdeVariances[count] = kdeVariance;
+            aliquotNumbers[count] = aliquotNumber;
+            count++;
+        }
+
+        /**
+         * @return the count
+         */
+        public int getCount() {
+            return count;
+        }
+
+        boolean sameAs(KernelDates other) {
+            if (count != other.count) {
+                return false;
+            }
+            for (int i = 0; i < count; i++) {
+                if ((Double.compare(meanDates[i], other.meanDates[i]) != 0)//
+                        || (Double.compare(variances[i], other.variances[i]) != 0)//
+                        || (Double.compare(kdeVariances[i], other.kdeVariances[i]) != 0)//
+                        || (aliquotNumbers[i] != other.aliquotNumbers[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The evaluated curves: the sorted points, one stacked curve per aliquot
+     * row with row zero for the sample and its maximum stored after its last
+     * point, and the Vermeesch KDE of the dates over the timescale.
+     */
+    public static class DensityCurves {
+
+        private final KernelDates dates;
+        private final double kernelSigmas;
+        private final double[] pdfPoints;
+        private final double[][] stackedAliquotKernels;
+        private final double[] timescale;
+        private double[] pdfOfKDE;
+        private double maxKDE;
+
+        DensityCurves(KernelDates dates, int aliquotRowCount, double kernelSigmas) {
+            this.dates = dates;
+            this.kernelSigmas = kernelSigmas;
+
+            // there is one point for each of 0 to 4000 inclusive plus a point for each of the actual data
+            // nov 2011 add in tiny amount so that grapher can distinguish between annum and dates based on aaaa.0  vs aaaa.0000001
+            pdfPoints = new double[ANNUM_POINT_COUNT + dates.count];
+            for (int i = 0; i < ANNUM_POINT_COUNT; i++) {
+                pdfPoints[i] = i;
+            }
+            for (int i = 0; i < dates.count; i++) {
+                pdfPoints[ANNUM_POINT_COUNT + i] = dates.meanDates[i] + 0.0000001;
+            }
+            Arrays.sort(pdfPoints);
+
+            // bucket the dates by aliquot so that each row is stacked on its own thread
+            int[] aliquotCounts = new int[aliquotRowCount];
+            for (int i = 0; i < dates.count; i++) {
+                aliquotCounts[dates.aliquotNumbers[i]]++;
+            }
+            int[][] aliquotMembers = new int[aliquotRowCount][];
+            for (int a = 0; a < aliquotRowCount; a++) {
+                aliquotMembers[a] = new int[aliquotCounts[a]];
+                aliquotCounts[a] = 0;
+            }
+            for (int i = 0; i < dates.count; i++) {
+                int a = dates.aliquotNumbers[i];
+                aliquotMembers[a][aliquotCounts[a]++] = i;
+            }
+
+            stackedAliquotKernels = new double[aliquotRowCount][pdfPoints.length + 1];
+            IntStream.range(0, aliquotRowCount).parallel().forEach((a) -> {
+                for (int i : aliquotMembers[a]) {
+                    addKernel(stackedAliquotKernels[a], dates.meanDates[i], dates.variances[i], 1.0);
+                }
+            });
+
+            // row zero for sample totals and [0][size] stores max for plotting scale
+            double[] sampleKernels = stackedAliquotKernels[0];
+            for (int a = 1; a < aliquotRowCount; a++) {
+                if (aliquotMembers[a].length > 0) {
+                    double[] aliquotKernels = stackedAliquotKernels[a];
+                    for (int p = 0; p < pdfPoints.length; p++) {
+                        sampleKernels[p] += aliquotKernels[p];
+                    }
+                }
+            }
+            double maxDateProb = 0.0;
+            for (int p = 0; p < pdfPoints.length; p++) {
+                if (sampleKernels[p] > maxDateProb) {
+                    maxDateProb = sampleKernels[p];
+                }
+            }
+            sampleKernels[pdfPoints.length] = maxDateProb;
+
+            timescale = new double[KDE_MESH_SIZE];
+            for (int i = 0; i < timescale.length; i++) {
+                timescale[i] = i;
+            }
+            evaluateKDE();
+        }
+
+        private void evaluateKDE() {
+            // June 2013 experiment with Vermeesch KDE
+            ArrayList<Double> X = new ArrayList<>(dates.count);
+            ArrayList<Double> Y = new ArrayList<>(dates.count);
+            ArrayList<Double> Z = new ArrayList<>(dates.count);
+            for (int i = 0; i < dates.count; i++) {
+                X.add(dates.meanDates[i]);
+                Y.add(dates.kdeVariances[i]);
+                Z.add(Double.NaN);
+            }
+
+            pdfOfKDE = new double[0];
+            maxKDE = 0.0;
+            try {
+                OtherData otherData = new OtherData(X, Y, Z, new Preferences(true));
+                double[][] ae = otherData.getDataErrArray(otherData.preferences.logarithmic());
+
+                KDE kde = new KDE();
+                pdfOfKDE = kde.pdf(ae[0], timescale, true);
+
+                for (int i = 0; i < pdfOfKDE.length; i++) {
+                    maxKDE = Math.max(maxKDE, pdfOfKDE[i]);
+                }
+            } catch (Exception ex) {
+            }
+        }
+
+        /**
+         * Adds sign times the kernel to curve over the points within
+         * kernelSigmas of meanDate, or over all points if the variance is
+         * degenerate.
+         */
+        private void addKernel(double[] curve, double meanDate, double variance, double sign) {
+            int first = 0;
+            int end = pdfPoints.length;
+            if (variance > 0.0) {
+                double halfWidth = kernelSigmas * Math.sqrt(variance);
+                first = indexOfFirstPointAtOrAbove(meanDate - halfWidth);
+                end = indexOfFirstPointAtOrAbove(Math.nextUp(meanDate + halfWidth));
+            }
+            for (int p = first; p < end; p++) {
+                curve[p] += sign * evalKernelAt(meanDate, variance, pdfPoints[p]);
+            }
+        }
+
+        private int indexOfFirstPointAtOrAbove(double x) {
+            int index = Arrays.binarySearch(pdfPoints, x);
+            if (index < 0) {
+                index = -index - 1;
+            } else {
+                while ((index > 0) && (pdfPoints[index - 1] == x)) {
+                    index--;
+                }
+            }
+            return index;
+        }
+
+        boolean isOf(KernelDates dates, int aliquotRowCount) {
+            return (stackedAliquotKernels.length == aliquotRowCount) && this.dates.sameAs(dates);
+        }
+
+        /**
+         *
+         * @param aliquotNumber
+         * @param removedDates
+         * @return a copy of the stacked curve of aliquotNumber without the
+         * kernels of removedDates
+         */
+        public double[] aliquotKernelsWithout(int aliquotNumber, KernelDates removedDates) {
+            double[] activeKernels = stackedAliquotKernels[aliquotNumber].clone();
+            for (int i = 0; i < removedDates.count; i++) {
+                addKernel(activeKernels, removedDates.meanDates[i], removedDates.variances[i], -1.0);
+            }
+            return activeKernels;
+        }
+
+        /**
+         * @return the pdfPoints
+         */
+        public double[] getPdfPoints() {
+            return pdfPoints;
+        }
+
+        /**
+         * @return the stackedAliquotKernels
+         */
+        public double[][] getStackedAliquotKernels() {
+            return stackedAliquotKernels;
+        }
+
+        /**
+         * @return the timescale
+         */
+        public double[] getTimescale() {
+            return timescale;
+        }
+
+        /**
+         * @return the pdfOfKDE
+         */
+        public double[] getPdfOfKDE() {
+            return pdfOfKDE;
+        }
+
+        /**
+         * @return the maxKDE
+         */
+        public double getMaxKDE() {
+            return maxKDE;
+        }
+    }
+}
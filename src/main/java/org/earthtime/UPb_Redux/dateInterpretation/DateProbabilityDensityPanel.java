@@ -48,25 +48,25 @@ import java.io.Writer;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.Vector;
+import java.util.concurrent.ExecutionException;
 import javax.swing.JLayeredPane;
+import javax.swing.SwingWorker;
 import org.apache.batik.apps.rasterizer.SVGConverter;
 import org.apache.batik.apps.rasterizer.SVGConverterException;
 import org.apache.batik.dom.GenericDOMImplementation;
 import org.apache.batik.svggen.SVGGraphics2D;
 import org.apache.batik.svggen.SVGGraphics2DIOException;
 import org.earthtime.UPb_Redux.beans.ReduxSuppressComponentEventsI;
+import org.earthtime.UPb_Redux.dateInterpretation.DateProbabilityDensityEngine.DensityCurves;
+import org.earthtime.UPb_Redux.dateInterpretation.DateProbabilityDensityEngine.KernelDates;
 import org.earthtime.UPb_Redux.dateInterpretation.concordia.GraphPanelModeChangeI;
 import org.earthtime.UPb_Redux.dateInterpretation.concordia.PlottingDetailsDisplayInterface;
-import org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE.KDE;
-import org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE.OtherData;
-import org.earthtime.UPb_Redux.dateInterpretation.vermeeschKDE.Preferences;
 import org.earthtime.UPb_Redux.user.SampleDateInterpretationGUIOptions;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 import org.earthtime.aliquots.AliquotInterface;
@@ -120,7 +120,7 @@ public class DateProbabilityDensityPanel extends JLayeredPane
     /**
      *
      */
-    protected ArrayList<Double> pdfPoints;
+    protected double[] pdfPoints;
     private double minX;
     private double maxX;
     private double minY;
@@ -155,6 +155,10 @@ public class DateProbabilityDensityPanel extends JLayeredPane
     private double[] pdfOfKDE;
     private double[] timescale;
     private double maxKDE;
+    // oct 2026 curves are evaluated on primitive arrays, off the EDT where possible
+    private final DateProbabilityDensityEngine densityEngine;
+    private DensityCurves densityCurves;
+    private int densityCurvesGeneration;
     private GraphPanelModeChangeI graphPanelModeChanger;
     protected transient AliquotInterface curAliquot;
 
@@ -214,6 +218,10 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         maxima = new HashMap<>();
         maximaShown = new TreeMap<>();
 
+        densityEngine = new DateProbabilityDensityEngine();
+        densityCurves = null;
+        densityCurvesGeneration = 0;
+
         addMouseListener(this);
         addMouseMotionListener(this);
     }
@@ -243,7 +251,7 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         rh.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         g2d.setRenderingHints(rh);
 
-        if (stackedAliquotKernels[0][pdfPoints.size()] > 0) {
+        if ((pdfPoints != null) && (stackedAliquotKernels[0][pdfPoints.length] > 0)) {
             g2d.setFont(new Font(
                     "SansSerif",
                     Font.PLAIN,
@@ -255,8 +263,8 @@ public class DateProbabilityDensityPanel extends JLayeredPane
 
             // handle zoom
             int startX = 0;
-            for (int i = 0; i < pdfPoints.size(); i++) {
-                if (mapX(pdfPoints.get(i)) <= 0.0) {
+            for (int i = 0; i < pdfPoints.length; i++) {
+                if (mapX(pdfPoints[i]) <= 0.0) {
                     startX++;
                 } else {
                     break;
@@ -264,8 +272,8 @@ public class DateProbabilityDensityPanel extends JLayeredPane
             }
 
             int endX = startX;
-            for (int i = startX; i < pdfPoints.size(); i++) {
-                if (mapX(pdfPoints.get(i)) <= (getGraphWidth()) + (double) getLeftMargin()) {
+            for (int i = startX; i < pdfPoints.length; i++) {
+                if (mapX(pdfPoints[i]) <= (getGraphWidth()) + (double) getLeftMargin()) {
                     endX++;
                 } else {
                     break;
@@ -274,19 +282,19 @@ public class DateProbabilityDensityPanel extends JLayeredPane
             endX--;
 
 //            sampleProbabilities.moveTo( mapX( getMinX_Display() ), mapY( 0.01 ) );
-            sampleProbabilities.moveTo(Math.max(leftMargin, mapX(pdfPoints.get(startX))), mapY(0.01));
+            sampleProbabilities.moveTo(Math.max(leftMargin, mapX(pdfPoints[startX])), mapY(0.01));
             sampleKDE.moveTo(Math.max(leftMargin, mapX(timescale[startX])), mapY(0.01));
 
             double scale = 0.96/*
                      * 8
-                     */ * maxY / stackedAliquotKernels[0][pdfPoints.size()];
+                     */ * maxY / stackedAliquotKernels[0][pdfPoints.length];
 
             double scaleKDE = 0.96 / maxKDE;
 
             // startx and endx bound the viewport and hence the data points for which we want histograms
             for (int i = startX; i <= endX; i++) {
                 sampleProbabilities.lineTo(//
-                        Math.max(leftMargin, mapX(pdfPoints.get(i))),//
+                        Math.max(leftMargin, mapX(pdfPoints[i])),//
                         mapY(stackedAliquotKernels[0][i] * scale + .01));
 
                 try {
@@ -297,7 +305,7 @@ public class DateProbabilityDensityPanel extends JLayeredPane
                 }
             }
 
-            sampleProbabilities.lineTo(mapX(pdfPoints.get(endX)), mapY(0.01));
+            sampleProbabilities.lineTo(mapX(pdfPoints[endX]), mapY(0.01));
             // sampleProbabilities.moveTo( mapX( 4000.0 ), mapY( 0.01 ) );
 
             if (selectedAliquotNumber > 0) {
@@ -315,12 +323,12 @@ public class DateProbabilityDensityPanel extends JLayeredPane
                 selectedAliquotProbabilities.moveTo(mapX(getMinX_Display()), mapY(0.01));
                 // selectedAliquotProbabilities.moveTo( mapX( 0.0 ), mapY( 0.01 ) );
 
-                for (int i = startX; i <= endX; i++) {//int i = 0; i < pdfPoints.size(); i ++) {
+                for (int i = startX; i <= endX; i++) {//int i = 0; i < pdfPoints.length; i ++) {
                     selectedAliquotProbabilities.lineTo(//
-                            mapX(pdfPoints.get(i)), mapY(stackedAliquotKernels[selectedAliquotNumber][i] * scale + .01));
+                            mapX(pdfPoints[i]), mapY(stackedAliquotKernels[selectedAliquotNumber][i] * scale + .01));
                 }
 
-                selectedAliquotProbabilities.lineTo(mapX(pdfPoints.get(endX)), mapY(0.01));
+                selectedAliquotProbabilities.lineTo(mapX(pdfPoints[endX]), mapY(0.01));
                 // selectedAliquotProbabilities.moveTo( mapX( 4000.0 ), mapY( 0.01 ) );
 
                 // determine aliquot for colors etc.
@@ -351,30 +359,20 @@ public class DateProbabilityDensityPanel extends JLayeredPane
                     g2d.setComposite(originalComposite);
 
                     // now remove the deselected fractions
-                    activeStackedAliquotKernels = stackedAliquotKernels[selectedAliquotNumber].clone();
-                    for (ETFractionInterface f : deSelectedFractions) {
-                        // April 2016 remove primary and secondary reference materials
-                        if (!f.isStandard() && !f.isSecondaryStandard()) {
-                            ValueModel date = f.getRadiogenicIsotopeDateByName(getChosenDateName());
-                            KernelF myKernel = new KernelF(date);
-                            for (int i = 0; i < pdfPoints.size(); i++) {
-                                double eval = evalKernelAt(myKernel, pdfPoints.get(i));
-                                activeStackedAliquotKernels[i] -= eval;
-                            }
-                        }
-                    }
+                    activeStackedAliquotKernels = densityCurves.aliquotKernelsWithout(//
+                            selectedAliquotNumber, collectKernelDates(deSelectedFractions));
 
                     Path2D selectedFractionProbabilities = new Path2D.Double(Path2D.WIND_NON_ZERO);
 
                     selectedFractionProbabilities.moveTo(mapX(getMinX_Display()), mapY(0.01));
                     // selectedFractionProbabilities.moveTo( mapX( 0.0 ), mapY( 0.01 ) );
 
-                    for (int i = startX; i <= endX; i++) {//for (int i = 0; i < pdfPoints.size(); i ++) {
+                    for (int i = startX; i <= endX; i++) {//for (int i = 0; i < pdfPoints.length; i ++) {
                         selectedFractionProbabilities.lineTo(//
-                                mapX(pdfPoints.get(i)), mapY(activeStackedAliquotKernels[i] * scale + .01));
+                                mapX(pdfPoints[i]), mapY(activeStackedAliquotKernels[i] * scale + .01));
                     }
 
-                    selectedFractionProbabilities.lineTo(mapX(pdfPoints.get(endX)), mapY(0.01));
+                    selectedFractionProbabilities.lineTo(mapX(pdfPoints[endX]), mapY(0.01));
                     // selectedFractionProbabilities.moveTo( mapX( 4000.0 ), mapY( 0.01 ) );
 
                     // paint the active fractions full color
@@ -404,13 +402,13 @@ public class DateProbabilityDensityPanel extends JLayeredPane
             g2d.setPaint(Color.red);
             for (int i = startX; i <= endX; i++) {
                 // test for actual data point
-                if (((pdfPoints.get(i) - Math.floor(pdfPoints.get(i))) > 0.0)//
+                if (((pdfPoints[i] - Math.floor(pdfPoints[i])) > 0.0)//
                         &&//
-                        (mapX(pdfPoints.get(i)) >= leftMargin)) {
+                        (mapX(pdfPoints[i]) >= leftMargin)) {
                     Ellipse2D selectedPoint = new Ellipse2D.Double( //
-                            mapX(pdfPoints.get(i)), mapY(stackedAliquotKernels[0][i] * scale + .01), 2, 2);
+                            mapX(pdfPoints[i]), mapY(stackedAliquotKernels[0][i] * scale + .01), 2, 2);
 
-                    visibleSample.add(pdfPoints.get(i));
+                    visibleSample.add(pdfPoints[i]);
                     g2d.fill(selectedPoint);
                 }
             }
@@ -730,8 +728,7 @@ public class DateProbabilityDensityPanel extends JLayeredPane
      *
      */
     public void prepareAndPaintPanel() {
-        preparePanel(true, false);
-        repaint();
+        prepareAndPaintPanelInBackground();
     }
 
     /**
@@ -750,84 +747,78 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         } catch (Exception e) {
         }
 
-        // modified to include actual measured data
-        // there is one point for each of 0 to 4000 inclusive plus a point for each of the actual data
-        pdfPoints = new ArrayList<>();
-        for (double i = 0; i < 4001; i++) {
-            pdfPoints.add(i);
-        }
-        for (ETFractionInterface f : selectedFractions) {
-            // nov 2011 add in tiny amount so that grapher can distinguish between annum and dates based on aaaa.0  vs aaaa.0000001
-            // April 2016 remove primary and secondary reference materials
-            if (!f.isStandard() && !f.isSecondaryStandard()) {
-                pdfPoints.add(f.getRadiogenicIsotopeDateByName(getChosenDateName()).getValue().movePointLeft(6).doubleValue() + 0.0000001);
-            }
-        }
-        Collections.sort(pdfPoints);
+        densityCurvesGeneration++;
+        applyDensityCurves(densityEngine.evaluate(collectKernelDates(selectedFractions), getAliquotRowCount()));
+    }
 
-        // one row for each aliquot even though some may be dummy aliquots, based on count
-        // row zero for sample totals and [0][size -+ 1] stores max for plotting scale
-        //stackedAliquotKernels = new double[sample.getAliquots().size() + 1][pdfPoints.size() + 1];
-        // aug 2016 hack to fix project problem
-        stackedAliquotKernels = new double[Math.max(sample.getAliquots().size(), 9) + 1][pdfPoints.size() + 1];
+    /**
+     * Evaluates the curves of the selected fractions on a background thread
+     * and then applies and paints them on the event dispatch thread. Curves
+     * of an earlier request that finish after a later one are dropped.
+     */
+    public void prepareAndPaintPanelInBackground() {
 
-        // June 2013 experiment with Vermeesch KDE
-        ArrayList<Double> X = new ArrayList<>();
-        ArrayList<Double> Y = new ArrayList<>();
-        ArrayList<Double> Z = new ArrayList<>();
+        this.removeAll();
 
-        // 4096 = 2^12
-        timescale = new double[4096];
-        for (int i = 0; i < timescale.length; i++) {
-            timescale[i] = i;
+        try {
+            externalBinCountIntegerSpinner.setValueWithNoEvents(selectedHistogramBinCount);
+        } catch (Exception e) {
         }
-        // end June 2013 experiment with Vermeesch KDE
 
-        for (ETFractionInterface f : selectedFractions) {
-            // April 2016 remove primary standard
-            if (!f.isStandard() && !f.isSecondaryStandard()) {
-                ValueModel date = f.getRadiogenicIsotopeDateByName(chosenDateName);
+        // dates are read here on the EDT; only the arrays go to the worker
+        final KernelDates dates = collectKernelDates(selectedFractions);
+        final int aliquotRowCount = getAliquotRowCount();
+        final int generation = ++densityCurvesGeneration;
 
-                // June 2013 experiment with Vermeesch KDE
-                X.add(date.getValue().movePointLeft(6).doubleValue());
-                Y.add(Math.pow(date.getOneSigmaAbs().movePointLeft(6).doubleValue(), 2));
-                Z.add(Double.NaN);
-                // end June 2013 experiment with Vermeesch KDE
+        new SwingWorker<DensityCurves, Void>() {
+            @Override
+            protected DensityCurves doInBackground() throws Exception {
+                return densityEngine.evaluate(dates, aliquotRowCount);
+            }
 
-                int aliquotNumber = f.getAliquotNumber();
-                KernelF myKernel = new KernelF(date);
-                for (int i = 0; i < pdfPoints.size(); i++) {
-                    double eval = evalKernelAt(myKernel, pdfPoints.get(i));
-                    stackedAliquotKernels[0][i] += eval;
-                    stackedAliquotKernels[aliquotNumber][i] += eval;
+            @Override
+            protected void done() {
+                if (generation == densityCurvesGeneration) {
+                    try {
+                        applyDensityCurves(get());
+                    } catch (InterruptedException | ExecutionException e) {
+                        System.out.println("Probability density failed: " + e.getMessage());
+                    }
+                    repaint();
                 }
             }
-        }
-
-        // more vermeesch ************************
-        try {
-            OtherData otherData = new OtherData(X, Y, Z, new Preferences(true));
-            double[][] ae = otherData.getDataErrArray(otherData.preferences.logarithmic());
+        }.execute();
+    }
 
-            KDE kde = new KDE();
-            pdfOfKDE = kde.pdf(ae[0], timescale, true);
+    private int getAliquotRowCount() {
+        // one row for each aliquot even though some may be dummy aliquots, based on count
+        // row zero for sample totals and [0][size -+ 1] stores max for plotting scale
+        // aug 2016 hack to fix project problem
+        return Math.max(sample.getAliquots().size(), 9) + 1;
+    }
 
-            maxKDE = 0.0;
-            for (int i = 0; i < pdfOfKDE.length; i++) {
-                maxKDE = Math.max(maxKDE, pdfOfKDE[i]);
+    private KernelDates collectKernelDates(List<ETFractionInterface> fractions) {
+        KernelDates dates = new KernelDates(fractions.size());
+        for (ETFractionInterface f : fractions) {
+            // April 2016 remove primary and secondary reference materials
+            if (!f.isStandard() && !f.isSecondaryStandard()) {
+                ValueModel date = f.getRadiogenicIsotopeDateByName(chosenDateName);
+                KernelF myKernel = new KernelF(date);
+                dates.add(myKernel.meanDate, myKernel.variance, //
+                        Math.pow(date.getOneSigmaAbs().movePointLeft(6).doubleValue(), 2), //
+                        f.getAliquotNumber());
             }
-
-        } catch (Exception ex) {
         }
-        // end vermeesch ************************
+        return dates;
+    }
 
-        double maxDateProb = 0.0;
-        for (int i = 0; i < pdfPoints.size(); i++) {
-            if (stackedAliquotKernels[0][i] > maxDateProb) {
-                maxDateProb = stackedAliquotKernels[0][i];
-            }
-        }
-        stackedAliquotKernels[0][pdfPoints.size()] = maxDateProb;
+    private void applyDensityCurves(DensityCurves curves) {
+        densityCurves = curves;
+        pdfPoints = curves.getPdfPoints();
+        stackedAliquotKernels = curves.getStackedAliquotKernels();
+        timescale = curves.getTimescale();
+        pdfOfKDE = curves.getPdfOfKDE();
+        maxKDE = curves.getMaxKDE();
 
         // april 2012 experiment to detect maxima on curve
         // this simplistic technique leverages what we know about this pdf
@@ -837,18 +828,18 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         int currentMaxIndex = 0;
         int currentMinIndex = 0;
         boolean uphill = true;
-        for (int i = 1; i < pdfPoints.size(); i++) {
+        for (int i = 1; i < pdfPoints.length; i++) {
             if (uphill) {
                 if (stackedAliquotKernels[0][i] < stackedAliquotKernels[0][currentMaxIndex]) {
 //                    System.out.println( //
 //                            "PEAK = " //
-//                            + (int) Math.round( pdfPoints.get( currentMaxIndex ) ) );
+//                            + (int) Math.round( pdfPoints[ currentMaxIndex ] ) );
 
                     maxima.put( //
-                            (int) Math.round(pdfPoints.get(currentMaxIndex)),//
+                            (int) Math.round(pdfPoints[currentMaxIndex]),//
                             stackedAliquotKernels[0][currentMaxIndex]);
                     maximaShown.put(//
-                            (int) Math.round(pdfPoints.get(currentMaxIndex)),//
+                            (int) Math.round(pdfPoints[currentMaxIndex]),//
                             true);
 
                     uphill = false;
@@ -874,14 +865,14 @@ public class DateProbabilityDensityPanel extends JLayeredPane
     public void showTight() {
         refreshPanel(true, false);
 
-        for (int i = 0; i < pdfPoints.size(); i++) {
+        for (int i = 0; i < pdfPoints.length; i++) {
             if (stackedAliquotKernels[0][i] > 0.01) {
                 minX = Math.max(i - 100, DEFAULT_DISPLAY_MINX);
                 break;
             }
         }
 
-        for (int i = pdfPoints.size() - 1; i > -1; i--) {
+        for (int i = pdfPoints.length - 1; i > -1; i--) {
             if (stackedAliquotKernels[0][i] > 0.01) {
                 maxX = Math.min(i + 100, DEFAULT_DISPLAY_MAXX);
                 break;
@@ -1057,13 +1048,6 @@ public class DateProbabilityDensityPanel extends JLayeredPane
         }
     }
 
-    private double evalKernelAt(KernelF k, double x) {
-        double retval = (1.0 / Math.sqrt(2.0 * Math.PI * k.variance)) //
-                * Math.exp(-1.0 * Math.pow((x - k.meanDate), 2) / (2 * k.variance));
-
-        return retval;
-    }
-
     /**
      * @return the minX
      */
@@ -181,12 +181,10 @@ public class SampleTreeAnalysisMode extends JTree implements SampleTreeI {
 
                 // only show sample dates with non-zero data
                 if (activeFractionIDs.size() > 0) {
-                    // give sample Date interpretation a value for aliquot
-                    ((SampleDateModel) tempAliquot.getSampleDateModels().get(index)).//
-                            setAliquot(tempAliquot);
-                    // calculate sample age
-                    ((SampleDateModel) tempAliquot.getSampleDateModels().get(index)).//
-                            CalculateDateInterpretationForAliquot();
+                    // calculate sample age for aliquot
+                    // oct 2026 only if any of its fractions has been reduced since
+                    tempAliquot.calculateDateInterpretation(//
+                            (SampleDateModel) tempAliquot.getSampleDateModels().get(index));
 
                     populateSampleDateModel(
                             activeFractionIDs,
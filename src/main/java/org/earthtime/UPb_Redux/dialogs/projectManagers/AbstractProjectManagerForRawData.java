@@ -70,6 +70,7 @@ import org.earthtime.projects.Project;
 import org.earthtime.projects.ProjectInterface;
 import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
 import org.earthtime.reduxLabData.ReduxLabData;
+import org.earthtime.utilities.AllocationMetrics;
 import org.earthtime.utilities.TimeToString;
 
 /**
@@ -387,11 +388,14 @@ public abstract class AbstractProjectManagerForRawData extends DialogEditor impl
         MaskingSingleton.getInstance().setLeftShadeCount(leftShadeCount);
         MaskingSingleton.getInstance().setRightShadeCount(-1);
 
+        AllocationMetrics.getInstance().reset();
         rawDataFileHandler.getAndLoadRawIntensityDataFile(loadDataTask, usingFullPropagation, leftShadeCount, ignoreFirstFractions, false);
     }
 
     private void loadAndShowRawDataFinishUp() {
 
+        AllocationMetrics.getInstance().logAndReset("loading raw data");
+
         rawDataFileHandler.updateAcquisitionModelWithRawDataFileProcessedFlag(true);
 
         // now use abstractRawDataFileHandler to parse tripoliFractions into standards and samples that will
@@ -449,6 +453,8 @@ public abstract class AbstractProjectManagerForRawData extends DialogEditor impl
     public void reProcessFractionRawRatios(boolean usingFullPropagation) {
         AbstractMassSpecSetup myMassSpec = project.getTripoliSession().getMassSpec();
 
+        AllocationMetrics.getInstance().reset();
+
         SortedSet<TripoliFraction> tripoliFractions = project.getTripoliSession().getTripoliFractions();
 
         Iterator<TripoliFraction> tripoliFractionsIterator = tripoliFractions.iterator();
@@ -459,6 +465,7 @@ public abstract class AbstractProjectManagerForRawData extends DialogEditor impl
         }
 
         tripoliSession.calculateSessionFitFunctionsForPrimaryStandard(false);
+        AllocationMetrics.getInstance().logAndReset("reprocessing raw ratios");
         // jan 2015 moved to calculate sessionfittripoliSession.applyCorrections();
 
         try {
@@ -100,6 +100,7 @@ import org.earthtime.projects.Project;
 import org.earthtime.projects.ProjectInterface;
 import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
 import org.earthtime.reduxLabData.ReduxLabData;
+import org.earthtime.utilities.AllocationMetrics;
 import org.earthtime.utilities.TimeToString;
 
 /**
@@ -571,11 +572,14 @@ public class ProjectManagerFor_LAICPMS_FromRawData extends DialogEditor implemen
         MaskingSingleton.getInstance().setLeftShadeCount(leftShadeCount);
         MaskingSingleton.getInstance().setRightShadeCount(-1);
 
+        AllocationMetrics.getInstance().reset();
         rawDataFileHandler.getAndLoadRawIntensityDataFile(loadDataTask, usingFullPropagation, leftShadeCount, ignoreFirstFractions, false);
     }
 
     private void loadAndShowRawDataFinishUp() {
 
+        AllocationMetrics.getInstance().logAndReset("loading raw data");
+
         rawDataFileHandler.updateAcquisitionModelWithRawDataFileProcessedFlag(true);
 
         // now use abstractRawDataFileHandler to parse tripoliFractions into standards and samples that will
@@ -640,6 +644,8 @@ public class ProjectManagerFor_LAICPMS_FromRawData extends DialogEditor implemen
     public void reProcessFractionRawRatios(boolean usingFullPropagation) {
         AbstractMassSpecSetup myMassSpec = project.getTripoliSession().getMassSpec();
 
+        AllocationMetrics.getInstance().reset();
+
         SortedSet<TripoliFraction> tripoliFractions = project.getTripoliSession().getTripoliFractions();
 
         Iterator<TripoliFraction> tripoliFractionsIterator = tripoliFractions.iterator();
@@ -650,6 +656,7 @@ public class ProjectManagerFor_LAICPMS_FromRawData extends DialogEditor implemen
         }
 
         tripoliSession.calculateSessionFitFunctionsForPrimaryStandard(false);
+        AllocationMetrics.getInstance().logAndReset("reprocessing raw ratios");
         // jan 2015 moved to calcualte sessionfittripoliSession.applyCorrections();
 
         try {
@@ -27,13 +27,15 @@ import java.io.FileNotFoundException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Vector;
+import javax.swing.JOptionPane;
 import org.earthtime.UPb_Redux.ReduxConstants.ANALYSIS_PURPOSE;
-import org.earthtime.UPb_Redux.exceptions.BadImportedCSVLegacyFileException;
 import org.earthtime.UPb_Redux.exceptions.BadLabDataException;
 import org.earthtime.UPb_Redux.fractions.FractionI;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
 import org.earthtime.UPb_Redux.samples.UPbSampleInterface;
 import org.earthtime.UPb_Redux.samples.sampleImporters.AbstractSampleImporterFromLegacyCSVFile;
+import org.earthtime.UPb_Redux.samples.sampleImporters.AbstractSampleImporterFromLegacyCSVFile.ImportedAliquot;
+import org.earthtime.UPb_Redux.samples.sampleImporters.BulkFileImporter;
 import org.earthtime.aliquots.AliquotInterface;
 import org.earthtime.aliquots.ReduxAliquotInterface;
 import org.earthtime.beans.ET_JButton;
@@ -291,15 +293,26 @@ public abstract class AbstractSampleLegacyManagerDialog extends DialogEditor {
                 // bulk mode
                 try {
                     converter.setMruFolder(importFractionFolderMRU);
-                    mySample.addFractionsVector(converter.readInFractions(), myAliquotNumber);
-                    myAliquot.setAliquotName(converter.getAliquotName());
-                    setInitialized(true);
-                    getMySample().setChanged(true);
+                    // oct 2026 several files may be chosen and are read at once into the one aliquot
+                    BulkFileImporter.Report<ImportedAliquot> report = converter.readInAliquots();
+                    for (ImportedAliquot importedAliquot : report.getResults().values()) {
+                        mySample.addFractionsVector(importedAliquot.getFractions(), myAliquotNumber);
+                    }
+                    if (!report.getResults().isEmpty()) {
+                        myAliquot.setAliquotName(report.getResults().values().iterator().next().getAliquotName());
+                        setInitialized(true);
+                        getMySample().setChanged(true);
+                    }
+                    if (report.hasErrors()) {
+                        JOptionPane.showMessageDialog(null,
+                                new String[]{"These CSV files were not imported:\n",
+                                    report.describeErrors(20)},
+                                "ET Redux Warning",
+                                JOptionPane.WARNING_MESSAGE);
+                    }
 
                     setImportFractionFolderMRU(converter.getMruFolder());
                 } catch (FileNotFoundException fileNotFoundException) {
-                } catch (BadImportedCSVLegacyFileException ex) {
-                    new ETWarningDialog(ex).setVisible(true);
                 }
             }
 
@@ -753,7 +753,8 @@ public class SessionAnalysisWorkflowManagerLAICPMS extends DialogEditor //
     }
 
     private void saveProject() {
-        projectManager.getProject().saveTheProjectAsSerializedReduxFile();
+        // oct 2026 the project is serialized here and written to its file in the background
+        projectManager.getProject().saveTheProjectAsSerializedReduxFileInBackground();
     }
 
     /**
@@ -756,7 +756,8 @@ public class SessionAnalysisWorkflowManagerSHRIMP extends DialogEditor //
     }
 
     private void saveProject() {
-        projectManager.getProject().saveTheProjectAsSerializedReduxFile();
+        // oct 2026 the project is serialized here and written to its file in the background
+        projectManager.getProject().saveTheProjectAsSerializedReduxFileInBackground();
     }
 
     /**
@@ -21,10 +21,7 @@
 package org.earthtime.UPb_Redux.fractions;
 
 import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.io.xml.DomDriver;
 import java.awt.geom.Path2D;
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -46,6 +43,7 @@ import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
 import org.earthtime.ratioDataModels.initialPbModelsET.InitialPbModelET;
 import org.earthtime.ratioDataModels.initialPbModelsET.InitialPbModelETXMLConverter;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  *
@@ -173,38 +171,8 @@ public class AnalysisFraction extends Fraction implements
 
         FractionI myFraction = null;
 
-        BufferedReader reader = URIHelper.getBufferedReader(filename);
-
-        if (reader != null) {
-            boolean isValidOrAirplaneMode = true;
-
-            XStream xstream = getXStreamReader();
-
-            if (doValidate) {
-                isValidOrAirplaneMode = URIHelper.validateXML(reader, filename, analysisFractionXMLSchemaURL);
-            }
-
-            if (isValidOrAirplaneMode) {
-                // re-create reader
-                reader = URIHelper.getBufferedReader(filename);
-                try {
-                    myFraction = (FractionI) xstream.fromXML(reader);
-                } catch (ConversionException e) {
-                    throw new ETException(null, e.getMessage());
-                }
-
-//                System.out.println( "This is your AnalysisFraction that was just read successfully:\n" );
-//
-//                String xml2 = getXStreamWriter().toXML( myFraction );
-//
-//                System.out.println( xml2 );
-//                System.out.flush();
-            } else {
-                throw new ETException(null, "XML data file does not conform to schema.");
-            }
-        } else {
-            throw new FileNotFoundException("Missing XML data file.");
-        }
+        // oct 2026 validated while read, in one pass
+        myFraction = (FractionI) URIHelper.unmarshalXML(getXStreamReader(), filename, analysisFractionXMLSchemaURL, doValidate);
 
         return myFraction;
     }
@@ -215,9 +183,8 @@ public class AnalysisFraction extends Fraction implements
      */
     public XStream getXStreamWriter() {
 
-        XStream xstream = new XStream();
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamWriter(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -250,9 +217,8 @@ public class AnalysisFraction extends Fraction implements
      */
     public XStream getXStreamReader() {
 
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamReader(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -30,6 +30,7 @@ import org.earthtime.reduxLabData.ReduxLabData;
 import org.earthtime.UPb_Redux.utilities.comparators.IntuitiveStringComparator;
 import org.earthtime.UPb_Redux.valueModels.MeasuredRatioModel;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import org.earthtime.UPb_Redux.valueModels.ValueModelNameIndex;
 import org.earthtime.dataDictionaries.AnalysisMeasures;
 import org.earthtime.dataDictionaries.DataDictionary;
 import org.earthtime.dataDictionaries.MeasuredRatios;
@@ -112,6 +113,11 @@ public abstract class Fraction implements
     private int rgbColor;
     // june 2014
     private ValueModel[] traceElements;
+    // oct 2026 name lookups into the arrays above
+    private transient ValueModelNameIndex analysisMeasuresIndex;
+    private transient ValueModelNameIndex measuredRatiosIndex;
+    private transient ValueModelNameIndex radiogenicIsotopeRatiosIndex;
+    private transient ValueModelNameIndex radiogenicIsotopeDatesIndex;
 
     /**
      * Creates a new instance of Fraction
@@ -691,6 +697,24 @@ public abstract class Fraction implements
         this.analysisMeasures = ValueModel.cullNullsFromArray(analysisMeasures);
     }
 
+    /**
+     *
+     * @param amName
+     * @return
+     */
+    @Override
+    public ValueModel getAnalysisMeasure(String amName) {
+        if (analysisMeasuresIndex == null) {
+            analysisMeasuresIndex = new ValueModelNameIndex(true, true);
+        }
+        ValueModel amModel = analysisMeasuresIndex.find(getAnalysisMeasures(), amName);
+        if (amModel == null) {
+            // adds the missing model
+            amModel = FractionI.super.getAnalysisMeasure(amName);
+        }
+        return amModel;
+    }
+
     /**
      *
      * @return
@@ -738,13 +762,15 @@ public abstract class Fraction implements
             rName = "r" + ratioName + "m";
         }
 
-        // look for ratio
-        for (int i = 0; i < getMeasuredRatios().length; i++) {
-            if (getMeasuredRatios()[i].getName().equalsIgnoreCase(ratioName)) {
-                retval = getMeasuredRatios()[i];
-            } else if (getMeasuredRatios()[i].getName().equalsIgnoreCase(rName)) {
-                retval = getMeasuredRatios()[i];
-            }
+        // look for ratio - the last element matching either name
+        if (measuredRatiosIndex == null) {
+            measuredRatiosIndex = new ValueModelNameIndex(true, true);
+        }
+        int index = Math.max(//
+                measuredRatiosIndex.indexOf(getMeasuredRatios(), ratioName),//
+                measuredRatiosIndex.indexOf(getMeasuredRatios(), rName));
+        if (index >= 0) {
+            retval = getMeasuredRatios()[index];
         }
 
         if (retval != null) {
@@ -790,6 +816,42 @@ public abstract class Fraction implements
         this.radiogenicIsotopeRatios = ValueModel.cullNullsFromArray(radiogenicIsotopeRatios);
     }
 
+    /**
+     *
+     * @param ratioName
+     * @return
+     */
+    @Override
+    public ValueModel getRadiogenicIsotopeRatioByName(String ratioName) {
+        if (radiogenicIsotopeRatiosIndex == null) {
+            radiogenicIsotopeRatiosIndex = new ValueModelNameIndex(true, false);
+        }
+        ValueModel rirModel = radiogenicIsotopeRatiosIndex.find(getRadiogenicIsotopeRatios(), ratioName.trim());
+        if (rirModel == null) {
+            // adds the missing model
+            rirModel = FractionI.super.getRadiogenicIsotopeRatioByName(ratioName);
+        }
+        return rirModel;
+    }
+
+    /**
+     *
+     * @param ratioName
+     * @return
+     */
+    @Override
+    public ValueModel getRadiogenicIsotopeDateByName(String ratioName) {
+        if (radiogenicIsotopeDatesIndex == null) {
+            radiogenicIsotopeDatesIndex = new ValueModelNameIndex(true, false);
+        }
+        ValueModel riaModel = radiogenicIsotopeDatesIndex.find(getIsotopeDates(), ratioName.trim());
+        if (riaModel == null) {
+            // adds the missing model
+            riaModel = FractionI.super.getRadiogenicIsotopeDateByName(ratioName);
+        }
+        return riaModel;
+    }
+
     /**
      *
      * @return
@@ -55,15 +55,27 @@ public interface FractionsFilterInterface {
                     visibility.isObjectIncluded(tf.isIncluded())) {
 
                 filteredFractions.add(tf);
+            }
+        }
+
+        turnOffUnhealthyFractions(filteredFractions);
+
+        return filteredFractions;
+    }
 
-                if (tf.getuPbFraction() instanceof UPbLAICPMSFraction) {
-                    // turn off bad fractions
-                    if (!tf.confirmHealthyFraction()) {
-                        tf.toggleAllDataExceptShaded(false);
-                    }
+    /**
+     * Excludes the LAICPMS fractions that fail confirmHealthyFraction.
+     *
+     * @param tripoliFractions
+     */
+    public static void turnOffUnhealthyFractions(SortedSet<TripoliFraction> tripoliFractions) {
+        for (TripoliFraction tf : tripoliFractions) {
+            if (tf.getuPbFraction() instanceof UPbLAICPMSFraction) {
+                // turn off bad fractions
+                if (!tf.confirmHealthyFraction()) {
+                    tf.toggleAllDataExceptShaded(false);
                 }
             }
         }
-        return filteredFractions;
     }
 }
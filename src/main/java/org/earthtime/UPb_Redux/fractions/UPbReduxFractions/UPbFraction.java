@@ -21,10 +21,7 @@
 package org.earthtime.UPb_Redux.fractions.UPbReduxFractions;
 
 import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.io.xml.DomDriver;
 import java.awt.geom.Path2D;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
@@ -88,6 +85,7 @@ import org.earthtime.reduxLabData.ReduxLabData;
 import org.earthtime.reportViews.ReportRowGUIInterface;
 import org.earthtime.utilities.CollectionHelpers;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  *
@@ -1423,31 +1421,8 @@ public class UPbFraction extends Fraction implements
 
         FractionI myUPbReduxFraction = null;
 
-        BufferedReader reader = URIHelper.getBufferedReader(filename);
-
-        if (reader != null) {
-            boolean isValidOrAirplaneMode = true;
-
-            XStream xstream = getXStreamReader();
-
-            if (doValidate) {
-                isValidOrAirplaneMode = URIHelper.validateXML(reader, filename, XMLSchemaURL);
-            }
-
-            if (isValidOrAirplaneMode) {
-                // re-create reader
-                reader = URIHelper.getBufferedReader(filename);
-                try {
-                    myUPbReduxFraction = (FractionI) xstream.fromXML(reader);
-                } catch (ConversionException e) {
-                    throw new ETException(null, e.getMessage());
-                }
-            } else {
-                throw new ETException(null, "XML data file does not conform to schema.");
-            }
-        } else {
-            throw new FileNotFoundException("Missing XML data file.");
-        }
+        // oct 2026 validated while read, in one pass
+        myUPbReduxFraction = (FractionI) URIHelper.unmarshalXML(getXStreamReader(), filename, XMLSchemaURL, doValidate);
 
         return myUPbReduxFraction;
 
@@ -1461,10 +1436,16 @@ public class UPbFraction extends Fraction implements
      */
     public XStream getXStreamWriter(boolean omitTracer) {
 
-        XStream xstream = getXStreamWriter();
+        XStream xstream;
 
         if (omitTracer) {
-            xstream.omitField(UPbFraction.class, "Tracer");
+            xstream = XStreamRegistry.getXStream(getClass(), "writerOmittingTracer", XStream::new, (XStream omitting) -> {
+                customizeXstream(omitting);
+                omitting.omitField(UPbFraction.class, "Tracer");
+            });
+            setClassXMLSchemaURL();
+        } else {
+            xstream = getXStreamWriter();
         }
 
         return xstream;
@@ -1486,9 +1467,8 @@ public class UPbFraction extends Fraction implements
      * @return
      */
     private XStream getXStreamWriter() {
-        XStream xstream = new XStream();
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamWriter(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -1499,7 +1479,7 @@ public class UPbFraction extends Fraction implements
      */
     private void customizeXstream(XStream xstream) {
 
-        xstream.registerConverter(new UPbFractionXMLConverter(this));
+        xstream.registerConverter(new UPbFractionXMLConverter());
         xstream.registerConverter(new TracerXMLConverter());
         xstream.registerConverter(new TracerUPbModelXMLConverter());
         xstream.registerConverter(new ValueModelXMLConverter());
@@ -1520,9 +1500,8 @@ public class UPbFraction extends Fraction implements
      */
     private XStream getXStreamReader() {
 
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamReader(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -43,14 +43,11 @@ import org.earthtime.ratioDataModels.tracers.TracerUPbModelXMLConverter;
  */
 public class UPbFractionXMLConverter implements Converter {
 
-    private UPbFraction uPbFraction;
-
     /**
-     *
-     * @param uPbFraction
+     * Holds no fraction, so that one converter may serve every read and
+     * write of a shared XStream.
      */
-    public UPbFractionXMLConverter ( UPbFraction uPbFraction ) {
-        this.uPbFraction = uPbFraction;
+    public UPbFractionXMLConverter () {
     }
 
     /**
@@ -73,7 +70,7 @@ public class UPbFractionXMLConverter implements Converter {
     public void marshal ( Object value, HierarchicalStreamWriter writer,
             MarshallingContext context ) {
 
-        uPbFraction = (UPbFraction) value;
+        UPbFraction uPbFraction = (UPbFraction) value;
 
         writer.startNode( "sampleName" );
         writer.setValue( uPbFraction.getSampleName() );
@@ -172,6 +169,8 @@ public class UPbFractionXMLConverter implements Converter {
     public Object unmarshal ( HierarchicalStreamReader reader,
             UnmarshallingContext context ) {
 
+        UPbFraction uPbFraction = new UPbFraction( "NONE" );
+
         reader.moveDown();
         uPbFraction.setSampleName( reader.getValue() );
         reader.moveUp();
@@ -0,0 +1,191 @@
+/*
+ * DoublePrecisionDates.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentMap;
+import org.earthtime.UPb_Redux.ReduxConstants;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+
+/**
+ * The date equations of Age206_238r, Age208_232r, Age207_235r and Age207_206r
+ * evaluated entirely in double precision, with the same one-sigma (half the
+ * distance to the date of the ratio plus two sigma) and the same partial
+ * derivatives. Used by UPbFractionReducer for interactive reduction; the
+ * BigDecimal value models remain the reference and are used for archival
+ * output. Only these LA-ICPMS live-mode dates are covered: ID-TIMS reduction,
+ * the other defined value models and the covariances are never interactive
+ * and stay in BigDecimal.
+ *
+ * @author James F. Bowring
+ */
+public final class DoublePrecisionDates {
+
+    /**
+     * default relative tolerance for agreement with the BigDecimal path
+     */
+    public static final double DEFAULT_TOLERANCE = 1.0e-9;
+
+    private DoublePrecisionDates() {
+    }
+
+    /**
+     * date = ln(1 + ratio) / lambda, as for 206Pb/238U, 208Pb/232Th and
+     * 207Pb/235U
+     *
+     * @param ratio
+     * @param lambda
+     * @return the date in annums
+     */
+    public static double calculateDecayDate(double ratio, double lambda) {
+        return Math.log1p(ratio) / lambda;
+    }
+
+    /**
+     * Newton's method as in Age207_206r.calculateDate
+     *
+     * @param r238_235s
+     * @param r207_206r
+     * @param startDate
+     * @param lambda235
+     * @param lambda238
+     * @return the 207Pb/206Pb date in annums
+     */
+    public static double calculateDate207_206r(double r238_235s, double r207_206r, double startDate, double lambda235, double lambda238) {
+        double xn = startDate;
+
+        if (xn <= 0.0) {
+            // Noah correction sept 2013
+            xn = 10.0e9 * (4.5695 - 5.3011 * (Math.exp(-5.4731 * r207_206r)));
+        }
+
+        for (int i = 0; i < 35; i++) {
+            double expLambda238xnMinus1 = Math.expm1(lambda238 * xn);
+            double expLambda235xnMinus1 = Math.expm1(lambda235 * xn);
+
+            double new10
+                    = (expLambda235xnMinus1 / expLambda238xnMinus1 / r238_235s) - r207_206r;
+
+            double new11
+                    = ((r238_235s * expLambda238xnMinus1 * lambda235 * (1.0 + expLambda235xnMinus1))
+                    - (expLambda235xnMinus1 * r238_235s * lambda238 * (1.0 + expLambda238xnMinus1)))
+                    / r238_235s / r238_235s / expLambda238xnMinus1 / expLambda238xnMinus1;
+
+            xn -= (new10 / new11);
+        }
+        return xn;
+    }
+
+    /**
+     * Sets value and one sigma of a date of the form ln(1 + ratio) / lambda
+     * and puts its partial derivatives.
+     *
+     * @param date
+     * @param ratioName as named by the BigDecimal path, e.g. r206_238r
+     * @param ratio
+     * @param ratioPlusTwoSigma
+     * @param lambdaName e.g. Lambda238
+     * @param lambda
+     * @param parDerivTerms may be null
+     * @return false if the date is not finite, in which case date is unchanged
+     */
+    public static boolean calculateDecayDate(
+            ValueModel date, String ratioName, double ratio, double ratioPlusTwoSigma,
+            String lambdaName, double lambda, ConcurrentMap<String, BigDecimal> parDerivTerms) {
+
+        double value = calculateDecayDate(ratio, lambda);
+        double valuePlusTwoSigma = calculateDecayDate(ratioPlusTwoSigma, lambda);
+        if (!Double.isFinite(value) || !Double.isFinite(valuePlusTwoSigma)) {
+            return false;
+        }
+
+        date.setValue(new BigDecimal(value, ReduxConstants.mathContext15));
+        // for now take half the distance from the upper 2 sigma to the mean
+        date.setOneSigma(new BigDecimal((valuePlusTwoSigma - value) * 0.5, ReduxConstants.mathContext15));
+
+        if (parDerivTerms != null) {
+            String dateName = "dA" + date.getName().substring(1);
+            putPartialDerivative(parDerivTerms, dateName + "__d" + lambdaName, -Math.log1p(ratio) / lambda / lambda);
+            putPartialDerivative(parDerivTerms, dateName + "__dR" + ratioName.substring(1), 1.0 / lambda / (ratio + 1.0));
+        }
+
+        return true;
+    }
+
+    /**
+     * Sets value and one sigma of a 207Pb/206Pb date and puts its partial
+     * derivatives.
+     *
+     * @param date
+     * @param r238_235s
+     * @param ratio
+     * @param ratioPlusTwoSigma
+     * @param startDate usually the 206Pb/238U date
+     * @param lambda235
+     * @param lambda238
+     * @param parDerivTerms may be null
+     * @return false if the date is not finite, in which case date is unchanged
+     */
+    public static boolean calculateDate207_206r(
+            ValueModel date, double r238_235s, double ratio, double ratioPlusTwoSigma,
+            double startDate, double lambda235, double lambda238, ConcurrentMap<String, BigDecimal> parDerivTerms) {
+
+        double value = calculateDate207_206r(r238_235s, ratio, startDate, lambda235, lambda238);
+        double valuePlusTwoSigma = calculateDate207_206r(r238_235s, ratioPlusTwoSigma, startDate, lambda235, lambda238);
+        if (!Double.isFinite(value) || !Double.isFinite(valuePlusTwoSigma)) {
+            return false;
+        }
+
+        date.setValue(new BigDecimal(value, ReduxConstants.mathContext15));
+        // for now take half the distance from the upper 2 sigma to the mean
+        date.setOneSigma(new BigDecimal((valuePlusTwoSigma - value) * 0.5, ReduxConstants.mathContext15));
+
+        if (parDerivTerms != null) {
+            double expLambda238xnMinus1 = Math.expm1(lambda238 * value);
+            double expLambda235xnMinus1 = Math.expm1(lambda235 * value);
+            double denominator = lambda235 * (1.0 + expLambda235xnMinus1)//
+                    - r238_235s * ratio * lambda238 * (1.0 + expLambda238xnMinus1);
+
+            String dateName = "dA" + date.getName().substring(1);
+            putPartialDerivative(parDerivTerms, dateName + "__dR207_206r", r238_235s * expLambda238xnMinus1 / denominator);
+            putPartialDerivative(parDerivTerms, dateName + "__dLambda235", -value * (1.0 + expLambda235xnMinus1) / denominator);
+            putPartialDerivative(parDerivTerms, dateName + "__dLambda238", r238_235s * ratio * value * (1.0 + expLambda238xnMinus1) / denominator);
+            putPartialDerivative(parDerivTerms, dateName + "__dR238_235s", ratio * expLambda238xnMinus1 / denominator);
+        }
+
+        return true;
+    }
+
+    /**
+     *
+     * @param reference
+     * @param value
+     * @param scale magnitude against which the difference is measured
+     * @param tolerance relative to scale
+     * @return true if value is within tolerance of reference
+     */
+    public static boolean agreesWithinTolerance(double reference, double value, double scale, double tolerance) {
+        return Math.abs(value - reference) <= tolerance * Math.max(Math.abs(scale), Double.MIN_NORMAL);
+    }
+
+    private static void putPartialDerivative(ConcurrentMap<String, BigDecimal> parDerivTerms, String name, double value) {
+        // as in the value models, a failed calculation yields zero
+        parDerivTerms.put(name, Double.isFinite(value) ? new BigDecimal(value, ReduxConstants.mathContext15) : BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * FractionReductionTracker.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFraction;
+import org.earthtime.UPb_Redux.valueModels.MeasuredRatioModel;
+import org.earthtime.UPb_Redux.valueModels.SampleDateModel;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import org.earthtime.aliquots.AliquotInterface;
+import org.earthtime.aliquots.ReduxAliquotInterface;
+import org.earthtime.fractions.ETFractionInterface;
+import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
+import org.earthtime.ratioDataModels.initialPbModelsET.StaceyKramersInitialPbModelET;
+
+/**
+ * Tracks, for the fractions of one aliquot, the inputs of their last reduction
+ * so that only fractions whose inputs have since changed are reduced again,
+ * and, for the aliquot's sample date models, the reductions of their included
+ * fractions so that only interpretations touching a re-reduced fraction are
+ * recalculated.
+ *
+ * The inputs of an ID-TIMS fraction are its measured ratios, its analysis
+ * measures and the values of its tracer, Pb blank, physical constants, initial
+ * Pb and alpha models. LA-ICPMS fractions depend on the state of the Tripoli
+ * session and are always reduced.
+ *
+ * @author James F. Bowring
+ */
+public class FractionReductionTracker {
+
+    private final Map<String, TrackedFraction> trackedFractions;
+    private final Map<SampleDateModel, List<Object>> dateInterpretationInputs;
+    private long reductionVersion;
+    // work done since the last call to selectFractionsToReduce
+    private int countOfFractionsReduced;
+    private int countOfFractionsSkipped;
+    private int countOfDateInterpretationsCalculated;
+    private int countOfDateInterpretationsSkipped;
+
+    /**
+     *
+     */
+    public FractionReductionTracker() {
+        this.trackedFractions = new HashMap<>();
+        this.dateInterpretationInputs = new IdentityHashMap<>();
+        this.reductionVersion = 0;
+        resetCounters();
+    }
+
+    private static class TrackedFraction {
+
+        private final ETFractionInterface fraction;
+        private final List<Object> reductionInputs;
+        private final long reductionVersion;
+
+        TrackedFraction(ETFractionInterface fraction, List<Object> reductionInputs, long reductionVersion) {
+            this.fraction = fraction;
+            this.reductionInputs = reductionInputs;
+            this.reductionVersion = reductionVersion;
+        }
+    }
+
+    private void resetCounters() {
+        countOfFractionsReduced = 0;
+        countOfFractionsSkipped = 0;
+        countOfDateInterpretationsCalculated = 0;
+        countOfDateInterpretationsSkipped = 0;
+    }
+
+    /**
+     * Starts a new count of work and selects the fractions that must be
+     * reduced because they are new or their inputs changed since their last
+     * recorded reduction.
+     *
+     * @param fractions all the fractions of the aliquot
+     * @param calculateCovariances
+     * @return the fractions to reduce, in their original order
+     */
+    public synchronized List<ETFractionInterface> selectFractionsToReduce(
+            Collection<? extends ETFractionInterface> fractions, boolean calculateCovariances) {
+
+        resetCounters();
+
+        List<ETFractionInterface> fractionsToReduce = new ArrayList<>();
+        Set<String> fractionIDs = new HashSet<>();
+        for (ETFractionInterface fraction : fractions) {
+            fractionIDs.add(fraction.getFractionID());
+
+            TrackedFraction trackedFraction = trackedFractions.get(fraction.getFractionID());
+            List<Object> reductionInputs = reductionInputs(fraction, calculateCovariances);
+            if ((trackedFraction != null) //
+                    && (trackedFraction.fraction == fraction) //
+                    && (reductionInputs != null) //
+                    && reductionInputs.equals(trackedFraction.reductionInputs)) {
+                countOfFractionsSkipped++;
+            } else {
+                fractionsToReduce.add(fraction);
+            }
+        }
+        countOfFractionsReduced = fractionsToReduce.size();
+
+        // forget removed fractions
+        trackedFractions.keySet().retainAll(fractionIDs);
+
+        return fractionsToReduce;
+    }
+
+    /**
+     * Records the inputs of fractions that have just been reduced.
+     *
+     * @param fractions
+     * @param calculateCovariances
+     */
+    public synchronized void recordReducedFractions(
+            Collection<? extends ETFractionInterface> fractions, boolean calculateCovariances) {
+
+        for (ETFractionInterface fraction : fractions) {
+            reductionVersion++;
+            trackedFractions.put(fraction.getFractionID(), //
+                    new TrackedFraction(fraction, reductionInputs(fraction, calculateCovariances), reductionVersion));
+        }
+    }
+
+    /**
+     * Calculates the date interpretation unless none of its included fractions
+     * has been reduced, rejected or replaced since it was last calculated
+     * here.
+     *
+     * @param aliquot
+     * @param sampleDateModel
+     */
+    public synchronized void calculateDateInterpretation(AliquotInterface aliquot, SampleDateModel sampleDateModel) {
+        sampleDateModel.setAliquot(aliquot);
+
+        List<Object> inputs = dateInterpretationInputs(aliquot, sampleDateModel);
+        if ((inputs != null) && inputs.equals(dateInterpretationInputs.get(sampleDateModel))) {
+            countOfDateInterpretationsSkipped++;
+        } else {
+            dateInterpretationInputs.remove(sampleDateModel);
+            sampleDateModel.CalculateDateInterpretationForAliquot();
+            countOfDateInterpretationsCalculated++;
+            if (inputs != null) {
+                dateInterpretationInputs.put(sampleDateModel, inputs);
+            }
+        }
+    }
+
+    private List<Object> dateInterpretationInputs(AliquotInterface aliquot, SampleDateModel sampleDateModel) {
+        String methodName = sampleDateModel.getMethodName();
+        // intercepts depend on each other as well as on their fractions
+        if ((methodName == null) || methodName.toLowerCase().contains("intercept")) {
+            return null;
+        }
+
+        List<Object> inputs = new ArrayList<>();
+        inputs.add(methodName);
+        for (String fractionID : sampleDateModel.getIncludedFractionIDsVector()) {
+            ETFractionInterface fraction = ((ReduxAliquotInterface) aliquot).getAliquotFractionByName(fractionID);
+            TrackedFraction trackedFraction = trackedFractions.get(fractionID);
+            if ((fraction == null) || (trackedFraction == null) || (trackedFraction.fraction != fraction)) {
+                return null;
+            }
+            inputs.add(fractionID);
+            inputs.add(trackedFraction.reductionVersion);
+            inputs.add(fraction.isRejected());
+        }
+
+        return inputs;
+    }
+
+    /**
+     *
+     * @param fraction
+     * @param calculateCovariances
+     * @return the values the reduction of fraction depends on, or null if
+     * fraction is always to be reduced
+     */
+    static List<Object> reductionInputs(ETFractionInterface fraction, boolean calculateCovariances) {
+        if (!(fraction instanceof UPbFraction)) {
+            return null;
+        }
+
+        UPbFraction uPbFraction = (UPbFraction) fraction;
+        List<Object> inputs = new ArrayList<>();
+        try {
+            inputs.add(calculateCovariances);
+            inputs.add(uPbFraction.isLegacy());
+            inputs.add(uPbFraction.isRejected());
+            inputs.add(uPbFraction.isZircon());
+            inputs.add(uPbFraction.isFractionationCorrectedU());
+            inputs.add(uPbFraction.isFractionationCorrectedPb());
+            inputs.add(uPbFraction.hasMeasuredLead());
+            inputs.add(uPbFraction.hasMeasuredUranium());
+            inputs.add(uPbFraction.isInAutoUraniumMode());
+            inputs.add(uPbFraction.getMeanAlphaPb());
+            inputs.add(uPbFraction.getMeanAlphaU());
+            inputs.add(uPbFraction.getEstimatedDate());
+
+            for (ValueModel measuredRatio : uPbFraction.getMeasuredRatios()) {
+                addValueModel(inputs, measuredRatio);
+                if (measuredRatio instanceof MeasuredRatioModel) {
+                    inputs.add(((MeasuredRatioModel) measuredRatio).isFracCorr());
+                    inputs.add(((MeasuredRatioModel) measuredRatio).isOxideCorr());
+                }
+            }
+            for (ValueModel analysisMeasure : uPbFraction.getAnalysisMeasures()) {
+                addValueModel(inputs, analysisMeasure);
+            }
+            addValueModel(inputs, uPbFraction.getAlphaPbModel());
+            addValueModel(inputs, uPbFraction.getAlphaUModel());
+
+            addLabDataModel(inputs, uPbFraction.getPhysicalConstantsModel());
+            addLabDataModel(inputs, uPbFraction.getTracer());
+            addLabDataModel(inputs, uPbFraction.getPbBlank());
+            if (uPbFraction.getInitialPbModel() instanceof StaceyKramersInitialPbModelET) {
+                // its values are recalculated for each fraction from these
+                inputs.add(uPbFraction.getInitialPbModel().getNameAndVersion());
+                inputs.add(uPbFraction.getStaceyKramersOnePctUnct());
+                inputs.add(uPbFraction.getStaceyKramersCorrelationCoeffs());
+            } else {
+                addLabDataModel(inputs, uPbFraction.getInitialPbModel());
+            }
+        } catch (Exception e) {
+            // incomplete fraction
+            return null;
+        }
+
+        return inputs;
+    }
+
+    private static void addValueModel(List<Object> inputs, ValueModel valueModel) {
+        if (valueModel == null) {
+            inputs.add(null);
+        } else {
+            inputs.add(valueModel.getName());
+            inputs.add(valueModel.getValue());
+            inputs.add(valueModel.getUncertaintyType());
+            inputs.add(valueModel.getOneSigma());
+            inputs.add(valueModel.getOneSigmaSys());
+        }
+    }
+
+    private static void addLabDataModel(List<Object> inputs, AbstractRatiosDataModel labDataModel) {
+        if (labDataModel == null) {
+            inputs.add(null);
+        } else {
+            inputs.add(labDataModel.getNameAndVersion());
+            for (ValueModel datum : labDataModel.getData()) {
+                addValueModel(inputs, datum);
+            }
+            inputs.add(new HashMap<>(labDataModel.getRhosVarUnct()));
+            inputs.add(new HashMap<>(labDataModel.getRhosSysUnct()));
+        }
+    }
+
+    /**
+     * @return the countOfFractionsReduced
+     */
+    public synchronized int getCountOfFractionsReduced() {
+        return countOfFractionsReduced;
+    }
+
+    /**
+     * @return the countOfFractionsSkipped
+     */
+    public synchronized int getCountOfFractionsSkipped() {
+        return countOfFractionsSkipped;
+    }
+
+    /**
+     * @return the countOfDateInterpretationsCalculated
+     */
+    public synchronized int getCountOfDateInterpretationsCalculated() {
+        return countOfDateInterpretationsCalculated;
+    }
+
+    /**
+     * @return the countOfDateInterpretationsSkipped
+     */
+    public synchronized int getCountOfDateInterpretationsSkipped() {
+        return countOfDateInterpretationsSkipped;
+    }
+}
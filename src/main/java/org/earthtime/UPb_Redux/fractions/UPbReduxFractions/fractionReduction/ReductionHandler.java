@@ -33,6 +33,8 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.fractions.FractionI;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFraction;
@@ -47,6 +49,8 @@ import org.earthtime.matrices.matrixModels.AbstractMatrixModel;
 import org.earthtime.matrices.matrixModels.CovarianceMatrixModel;
 import org.earthtime.matrices.matrixModels.CovarianceMatrixWithSubMatricesModel;
 import org.earthtime.matrices.matrixModels.JacobianMatrixModel;
+import org.earthtime.matrices.matrixModels.JacobianMatrixPlan;
+import org.earthtime.matrices.matrixModels.SparseMatrixProducts;
 
 /**
  * ReductionHandler is the workhorse of the matrix-based ratio, date and
@@ -57,6 +61,11 @@ import org.earthtime.matrices.matrixModels.JacobianMatrixModel;
  */
 public class ReductionHandler {
 
+    /**
+     * oct 2026 Jacobian population plans compiled once per matrix specs name,
+     * indexed by matrix level
+     */
+    private static final ConcurrentMap<String, JacobianMatrixPlan[]> JACOBIAN_MATRIX_PLANS = new ConcurrentHashMap<>();
     private FractionI fraction;
     /**
      * matrixSpecs contain the string rowForSpecificDate names for each of the
@@ -184,9 +193,19 @@ public class ReductionHandler {
     protected void populateJacobianMatrices (
             Map<String, BigDecimal> parDerivTerms ) {
 
+        JacobianMatrixPlan[] jacobianMatrixPlans = JACOBIAN_MATRIX_PLANS.computeIfAbsent( matrixSpecsName, (name) -> compileJacobianMatrixPlans() );
         for (int i = 1; i < getMatrixSpecs().length; i ++) {
-            ((JacobianMatrixModel) matrixModels[i]).initializeMatrixModelWithDerivedTerms( parDerivTerms );
+            ((JacobianMatrixModel) matrixModels[i]).initializeMatrixModelWithDerivedTerms( jacobianMatrixPlans[i], parDerivTerms );
+        }
+    }
+
+    private JacobianMatrixPlan[] compileJacobianMatrixPlans () {
+        // level 0 is the covariance matrix
+        JacobianMatrixPlan[] jacobianMatrixPlans = new JacobianMatrixPlan[matrixModels.length];
+        for (int i = 1; i < matrixModels.length; i ++) {
+            jacobianMatrixPlans[i] = JacobianMatrixPlan.compile( matrixModels[i] );
         }
+        return jacobianMatrixPlans;
     }
 
     /**
@@ -209,9 +228,9 @@ public class ReductionHandler {
 
         // new sept 2009, use matrix math from n-1 to calculate n covariance matrix
         Matrix dateCovMatrix = //
-                matrixModels[matrixModels.length - 1].getMatrix().//
-                times( ratioCovMatrix ).//
-                times( matrixModels[matrixModels.length - 1].getMatrix().transpose() );
+                SparseMatrixProducts.timesTimesTranspose(//
+                matrixModels[matrixModels.length - 1].getMatrix(),//
+                ratioCovMatrix );
 
         // convert to model form
         dateCovMatModel = new CovarianceMatrixModel();
@@ -232,9 +251,9 @@ public class ReductionHandler {
 
         Matrix ratioSensitivityMatrix = ratioSensitivityVectors.getMatrix();
 
-        Matrix ratioCovMatrix = ratioSensitivityMatrix.//
-                times( matrixModels[0].getMatrix() ).//
-                times( ratioSensitivityMatrix.transpose() );
+        Matrix ratioCovMatrix = SparseMatrixProducts.timesTimesTranspose(//
+                ratioSensitivityMatrix,//
+                matrixModels[0].getMatrix() );
 
         return ratioCovMatrix;
     }
@@ -242,9 +261,9 @@ public class ReductionHandler {
     private void calculateMiniRatioCovMatModels () {
 
         Matrix analyticalMini = //
-                analyticalRatioSensitivityVectors.getMatrix().//
-                times( ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getAnalyticalCovarianceMatrix().getMatrix() ).//
-                times( analyticalRatioSensitivityVectors.getMatrix().transpose() );
+                SparseMatrixProducts.timesTimesTranspose(//
+                analyticalRatioSensitivityVectors.getMatrix(),//
+                ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getAnalyticalCovarianceMatrix().getMatrix() );
 
         analyticalMiniRatioCovMatModel = new CovarianceMatrixModel();
         analyticalMiniRatioCovMatModel.setLevelName( "-2" );
@@ -253,9 +272,9 @@ public class ReductionHandler {
         analyticalMiniRatioCovMatModel.setMatrix( analyticalMini );
 
         Matrix tracerMini = //
-                tracerRatioSensitivityVectors.getMatrix().//
-                times( ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getTracerCovarianceMatrix().getMatrix() ).//
-                times( tracerRatioSensitivityVectors.getMatrix().transpose() );
+                SparseMatrixProducts.timesTimesTranspose(//
+                tracerRatioSensitivityVectors.getMatrix(),//
+                ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getTracerCovarianceMatrix().getMatrix() );
 
         tracerMiniRatioCovMatModel = new CovarianceMatrixModel();
         tracerMiniRatioCovMatModel.setLevelName( "-2" );
@@ -264,9 +283,9 @@ public class ReductionHandler {
         tracerMiniRatioCovMatModel.setMatrix( tracerMini );
 
         Matrix lambdaMini = //
-                lambdaRatioSensitivityVectors.getMatrix().//
-                times( ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getLambdasCovarianceMatrix().getMatrix() ).//
-                times( lambdaRatioSensitivityVectors.getMatrix().transpose() );
+                SparseMatrixProducts.timesTimesTranspose(//
+                lambdaRatioSensitivityVectors.getMatrix(),//
+                ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getLambdasCovarianceMatrix().getMatrix() );
         lambdaMiniRatioCovMatModel = new CovarianceMatrixModel();
         lambdaMiniRatioCovMatModel.setLevelName( "-2" );
         lambdaMiniRatioCovMatModel.setRows( getMatrixSpecs()[matrixModels.length - 2] );
@@ -313,9 +332,9 @@ public class ReductionHandler {
     private void calculateMiniDateCovMatModels () {
 
         Matrix analyticalMini = //
-                analyticalDateSensitivityVectors.getMatrix().//
-                times( ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getAnalyticalCovarianceMatrix().getMatrix() ).//
-                times( analyticalDateSensitivityVectors.getMatrix().transpose() );
+                SparseMatrixProducts.timesTimesTranspose(//
+                analyticalDateSensitivityVectors.getMatrix(),//
+                ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getAnalyticalCovarianceMatrix().getMatrix() );
 
         analyticalMiniDateCovMatModel = new CovarianceMatrixModel();
         analyticalMiniDateCovMatModel.setLevelName( "-2" );
@@ -324,9 +343,9 @@ public class ReductionHandler {
         analyticalMiniDateCovMatModel.setMatrix( analyticalMini );
 
         Matrix tracerMini = //
-                tracerDateSensitivityVectors.getMatrix().//
-                times( ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getTracerCovarianceMatrix().getMatrix() ).//
-                times( tracerDateSensitivityVectors.getMatrix().transpose() );
+                SparseMatrixProducts.timesTimesTranspose(//
+                tracerDateSensitivityVectors.getMatrix(),//
+                ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getTracerCovarianceMatrix().getMatrix() );
 
         tracerMiniDateCovMatModel = new CovarianceMatrixModel();
         tracerMiniDateCovMatModel.setLevelName( "-2" );
@@ -335,9 +354,9 @@ public class ReductionHandler {
         tracerMiniDateCovMatModel.setMatrix( tracerMini );
 
         Matrix lambdaMini = //
-                lambdaDateSensitivityVectors.getMatrix().//
-                times( ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getLambdasCovarianceMatrix().getMatrix() ).//
-                times( lambdaDateSensitivityVectors.getMatrix().transpose() );
+                SparseMatrixProducts.timesTimesTranspose(//
+                lambdaDateSensitivityVectors.getMatrix(),//
+                ((CovarianceMatrixWithSubMatricesModel) matrixModels[0]).getLambdasCovarianceMatrix().getMatrix() );
         lambdaMiniDateCovMatModel = new CovarianceMatrixModel();
         lambdaMiniDateCovMatModel.setLevelName( "-2" );
         lambdaMiniDateCovMatModel.setRows( getMatrixSpecs()[matrixModels.length - 1] );
@@ -394,10 +413,10 @@ public class ReductionHandler {
         Matrix sensMatNminus1 = matrixModels[matrixModels.length - 2].getMatrix().copy();
 
         for (int i = matrixModels.length - 3; i > 0; i --) {
-            sensMatNminus1 = sensMatNminus1.times( matrixModels[i].getMatrix() );
+            sensMatNminus1 = SparseMatrixProducts.times( sensMatNminus1, matrixModels[i].getMatrix() );
         }
 
-        sensMatN = sensMatN.times( sensMatNminus1 );
+        sensMatN = SparseMatrixProducts.times( sensMatN, sensMatNminus1 );
 
         // RATIOS:  convert to model form
         ratioSensitivityVectors = new JacobianMatrixModel( "-2" );
@@ -22,13 +22,25 @@ package org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction;
 import Jama.Matrix;
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.earthtime.Tripoli.dataModels.sessionModels.SessionCorrectedUnknownsSummary;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.fractions.FractionI;
@@ -129,6 +141,7 @@ import org.earthtime.UPb_Redux.valueModels.definedValueModels.RhoR238_206s__r207
 import org.earthtime.UPb_Redux.valueModels.definedValueModels.TotCommonPbMass;
 import org.earthtime.UPb_Redux.valueModels.definedValueModels.TotRadiogenicPbMass;
 import org.earthtime.dataDictionaries.AnalysisMeasures;
+import org.earthtime.dataDictionaries.Lambdas;
 import org.earthtime.dataDictionaries.MeasuredRatios;
 import org.earthtime.dataDictionaries.RadDates;
 import org.earthtime.dataDictionaries.RadRatios;
@@ -136,8 +149,8 @@ import org.earthtime.dataDictionaries.RadRatiosPbcCorrected;
 import org.earthtime.dataDictionaries.TracerUPbRatiosAndConcentrations;
 import org.earthtime.fractions.ETFractionInterface;
 import org.earthtime.fractions.fractionReduction.FractionReducer;
-import org.earthtime.matrices.matrixModels.AbstractMatrixModel;
 import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
+import org.earthtime.ratioDataModels.initialPbModelsET.StaceyKramersInitialPbModelET;
 import org.earthtime.ratioDataModels.physicalConstantsModels.PhysicalConstantsModel;
 import org.earthtime.reduxLabData.ReduxLabData;
 
@@ -149,143 +162,166 @@ public class UPbFractionReducer extends FractionReducer {
 
     private static UPbFractionReducer instance;
     // Instance variablesInOrder
-//    // 0. lab constants
-//    private static ValueModel lambda230;
-//    private static ValueModel lambda231;
-//    private static ValueModel lambda232;
-//    private static ValueModel lambda234;
-//    private static ValueModel lambda235;
-//    private static ValueModel lambda238;
-//    private static ValueModel gmol204;
-//    private static ValueModel gmol206;
-//    private static ValueModel gmol207;
-//    private static ValueModel gmol208;
-//    private static ValueModel gmol235;
-//    private static ValueModel gmol238;
+    // oct 2026 each reduction runs in its own instance so fractions can be reduced in parallel
+    // 0. lab constants of the fraction being reduced
+    private AbstractRatiosDataModel physicalConstantsModel;
+    private ValueModel lambda230;
+    private ValueModel lambda231;
+    private ValueModel lambda232;
+    private ValueModel lambda234;
+    private ValueModel lambda235;
+    private ValueModel lambda238;
+    private double lambda232D;
+    private double lambda235D;
+    private double lambda238D;
+    private ValueModel gmol204;
+    private ValueModel gmol206;
+    private ValueModel gmol207;
+    private ValueModel gmol208;
+    private ValueModel gmol235;
+    private ValueModel gmol238;
     // 1. Pb
     // 1a. tracer *****************************************************
-    private static ValueModel alphaPb;
-    private static ValueModel molPb205t;
+    private ValueModel alphaPb;
+    private ValueModel molPb205t;
     // 1b. Pb  Blank *************************************************
-    private static ValueModel r204_205fc;
-    private static ValueModel molPb204tc;
-    private static ValueModel molPb204b;
-    private static ValueModel molPb206b;
-    private static ValueModel molPb207b;
-    private static ValueModel molPb208b;
-    private static ValueModel molPb204c;
-    private static ValueModel molPb206c;
-    private static ValueModel molPb207c;
-    private static ValueModel molPb208c;
-    private static ValueModel blankPbGramsMol;
-    private static ValueModel blankPbMass;
+    private ValueModel r204_205fc;
+    private ValueModel molPb204tc;
+    private ValueModel molPb204b;
+    private ValueModel molPb206b;
+    private ValueModel molPb207b;
+    private ValueModel molPb208b;
+    private ValueModel molPb204c;
+    private ValueModel molPb206c;
+    private ValueModel molPb207c;
+    private ValueModel molPb208c;
+    private ValueModel blankPbGramsMol;
+    private ValueModel blankPbMass;
     // 1c radiogenic Pb, sample Pb *******************************************
-    private static ValueModel molPb206r;
-    private static ValueModel molPb207r;
-    private static ValueModel molPb208r;
-    private static ValueModel molPb206s;
-    private static ValueModel molPb207s;
-    private static ValueModel molPb208s;
+    private ValueModel molPb206r;
+    private ValueModel molPb207r;
+    private ValueModel molPb208r;
+    private ValueModel molPb206s;
+    private ValueModel molPb207s;
+    private ValueModel molPb208s;
     // 2. U *******************************************************************
     //  private static ValueModel r270_265m;
     // 2a. tracer
-    private static ValueModel molU235b;
-    private static ValueModel molU238b;
-    private static ValueModel molU235t;
-    private static ValueModel molU236t;
-    private static ValueModel molU238t;
+    private ValueModel molU235b;
+    private ValueModel molU238b;
+    private ValueModel molU235t;
+    private ValueModel molU236t;
+    private ValueModel molU238t;
     // 2b. sample U *********************************************************
-    private static ValueModel molU233t;
-    private static ValueModel molU235s;
-    private static ValueModel molU238s;
+    private ValueModel molU233t;
+    private ValueModel molU235s;
+    private ValueModel molU238s;
     // 3. Ages
     // 3a. radiogenic isotope ratios
-    private static ValueModel r206_238r;
-    private static ValueModel r207_235r;
-    private static ValueModel r207_206r;
-    private static ValueModel r206_204r;
-    private static ValueModel r208_206r;
-    private static ValueModel r208_232r;
-    private static ValueModel r206_238r_Th;
+    private ValueModel r206_238r;
+    private ValueModel r207_235r;
+    private ValueModel r207_206r;
+    private ValueModel r206_204r;
+    private ValueModel r208_206r;
+    private ValueModel r208_232r;
+    private ValueModel r206_238r_Th;
     // 3b. radiogenic isotope ages ********************************************
-    private static ValueModel age206_238r;
-    private static ValueModel age207_235r;
-    private static ValueModel age207_206r;
-    private static ValueModel age208_232r;
+    private ValueModel age206_238r;
+    private ValueModel age207_235r;
+    private ValueModel age207_206r;
+    private ValueModel age208_232r;
     // 3c. Th and Pa correction ***********************************************
-    private static ValueModel age206_238r_Th;
-    private static ValueModel molTh232s;
-    private static ValueModel molPb206r_Th;
-    private static ValueModel r207_206r_Th;
-    private static ValueModel age207_206r_Th;
-    private static ValueModel age207_235r_Pa;
-    private static ValueModel molPb207r_Pa;
-    private static ValueModel r207_206r_Pa;
-    private static ValueModel r207_235r_Pa;
-    private static ValueModel age207_206r_Pa;
-    private static ValueModel r207_206r_ThPa;
-    private static ValueModel age207_206r_ThPa;
-    private static ValueModel molsU;
+    private ValueModel age206_238r_Th;
+    private ValueModel molTh232s;
+    private ValueModel molPb206r_Th;
+    private ValueModel r207_206r_Th;
+    private ValueModel age207_206r_Th;
+    private ValueModel age207_235r_Pa;
+    private ValueModel molPb207r_Pa;
+    private ValueModel r207_206r_Pa;
+    private ValueModel r207_235r_Pa;
+    private ValueModel age207_206r_Pa;
+    private ValueModel r207_206r_ThPa;
+    private ValueModel age207_206r_ThPa;
+    private ValueModel molsU;
     // 4. Isochron Ratios ********************************************
-    private static ValueModel r206_204tfc;
-    private static ValueModel r204_206s;
-    private static ValueModel r238_204s;
-    private static ValueModel rhoR238_204s__r206_204s;
-    private static ValueModel r235_204s;
-    private static ValueModel r204_207s;
-    private static ValueModel rhoR235_204s__r207_204s;
-    private static ValueModel r232_204s;
-    private static ValueModel r208_204s;
-    private static ValueModel rhoR202_204s__r208_204s;
-    private static ValueModel r238_206s;
-    private static ValueModel r207_206s;
-    private static ValueModel rhoR238_206s__r207_206s;
-    private static ValueModel rhoR207_206s__r204_206s;
-    private static ValueModel r238_207s;
-    private static ValueModel r235_207s;
+    private ValueModel r206_204tfc;
+    private ValueModel r204_206s;
+    private ValueModel r238_204s;
+    private ValueModel rhoR238_204s__r206_204s;
+    private ValueModel r235_204s;
+    private ValueModel r204_207s;
+    private ValueModel rhoR235_204s__r207_204s;
+    private ValueModel r232_204s;
+    private ValueModel r208_204s;
+    private ValueModel rhoR202_204s__r208_204s;
+    private ValueModel r238_206s;
+    private ValueModel r207_206s;
+    private ValueModel rhoR238_206s__r207_206s;
+    private ValueModel rhoR207_206s__r204_206s;
+    private ValueModel r238_207s;
+    private ValueModel r235_207s;
     // 5. Outputs **********************************************************
     // 5a. Pb Calculations // 5b. U calculations
-    private static ValueModel initCommonPbMass;
-    private static ValueModel totCommonPbMass;
-    private static ValueModel radToCommonPb206;
-    private static ValueModel radToCommonPb207;
-    private static ValueModel radToCommonPb208;
-    private static ValueModel percentDiscordance;
-    private static ValueModel alphaU;
-    private static ValueModel massU;
-    private static ValueModel concU;
-    private static ValueModel concTh;
-    private static ValueModel rTh_Usample;
-    private static ValueModel massPb_rib;
-    private static ValueModel concPb_rib;
-    private static ValueModel concPb_r;
-    private static ValueModel concPb_i;
-    private static ValueModel concPb_ib;
-    private static ValueModel concPb206_rib;
-    private static ValueModel concPb206_r;
-    private static ValueModel concPb206_ib;
-    private static ValueModel radToCommonTotal;
+    private ValueModel initCommonPbMass;
+    private ValueModel totCommonPbMass;
+    private ValueModel radToCommonPb206;
+    private ValueModel radToCommonPb207;
+    private ValueModel radToCommonPb208;
+    private ValueModel percentDiscordance;
+    private ValueModel alphaU;
+    private ValueModel massU;
+    private ValueModel concU;
+    private ValueModel concTh;
+    private ValueModel rTh_Usample;
+    private ValueModel massPb_rib;
+    private ValueModel concPb_rib;
+    private ValueModel concPb_r;
+    private ValueModel concPb_i;
+    private ValueModel concPb_ib;
+    private ValueModel concPb206_rib;
+    private ValueModel concPb206_r;
+    private ValueModel concPb206_ib;
+    private ValueModel radToCommonTotal;
     // 6. helpers
-//    private static Map<String, String> outputTable;
+//    private Map<String, String> outputTable;
     private final static MathContext mathContext15 = ReduxConstants.mathContext15;
     // temp partial results for new oxidation correction
-    private static ValueModel r238_235oc;
-    private static ValueModel r233_235oc;
+    private ValueModel r238_235oc;
+    private ValueModel r233_235oc;
     // jan 2011 for tracer type 236
-    private static ValueModel r238_236oc;
-    private static ValueModel r233_236oc;
-    private static ValueModel totRadiogenicPbMass;// intermediate
+    private ValueModel r238_236oc;
+    private ValueModel r233_236oc;
+    private ValueModel totRadiogenicPbMass;// intermediate
     // store partial derivatives
-    private static ConcurrentMap<String, BigDecimal> parDerivTerms;
-    private static Map<String, BigDecimal> coVariances;
-    private static Map<String, BigDecimal> inputVariances;
-    private static SortedMap<Integer, ValueModel> variablesInOrder;
-    private static SortedMap<Integer, ValueModel> specialInputVariablesInOrder;
-    private static boolean treatFractionAsZircon;
+    private ConcurrentMap<String, BigDecimal> parDerivTerms;
+    private Map<String, BigDecimal> coVariances;
+    private Map<String, BigDecimal> inputVariances;
+    private SortedMap<Integer, ValueModel> variablesInOrder;
+    private SortedMap<Integer, ValueModel> specialInputVariablesInOrder;
+    private boolean treatFractionAsZircon;
+    // oct 2026 opt-in double precision dates for interactive reduction
+    private static final int DOUBLE_PRECISION_VALIDATION_COUNT = 10;
+    private static volatile boolean doublePrecisionDates = false;
+    private static volatile double doublePrecisionTolerance = DoublePrecisionDates.DEFAULT_TOLERANCE;
+    private static final Map<String, Integer> doublePrecisionValidations = new HashMap<>();
+    private static AbstractRatiosDataModel doublePrecisionValidatedModel;
+    // physical constants models whose double precision dates disagreed with BigDecimal
+    private static final Set<AbstractRatiosDataModel> doublePrecisionRejectedModels
+            = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static volatile AbstractRatiosDataModel lastPhysicalConstantsModel;
+    // sample dates are calculated in BigDecimal by one reducer until the constants change
+    private static volatile UPbFractionReducer sampleDateReducer;
+    private boolean interactiveReduction;
     // march 2013 modernizing approach to encapsulate what is sent to redux
     private SortedMap<RadRatios, SessionCorrectedUnknownsSummary> sessionCorrectedUnknownsSummaries;
 
     private UPbFractionReducer() {
+        this(false);
+    }
+
+    private UPbFractionReducer(boolean interactiveReduction) {
+        this.interactiveReduction = interactiveReduction;
     }
 
     /**
@@ -299,6 +335,53 @@ public class UPbFractionReducer extends FractionReducer {
         return instance;
     }
 
+    /**
+     * Opts in to calculating the LA-ICPMS dates in double precision during
+     * interactive reduction. Archival reduction always uses BigDecimal.
+     *
+     * @param doublePrecisionDates
+     */
+    public void setDoublePrecisionDates(boolean doublePrecisionDates) {
+        // set on every reduction from the preferences, so only a change revalidates
+        if (UPbFractionReducer.doublePrecisionDates != doublePrecisionDates) {
+            UPbFractionReducer.doublePrecisionDates = doublePrecisionDates;
+            synchronized (doublePrecisionValidations) {
+                doublePrecisionValidations.clear();
+                doublePrecisionRejectedModels.clear();
+            }
+        }
+    }
+
+    /**
+     * @return the doublePrecisionDates
+     */
+    public boolean isDoublePrecisionDates() {
+        return doublePrecisionDates;
+    }
+
+    /**
+     *
+     * @param doublePrecisionTolerance relative tolerance for agreement of the
+     * double precision dates with BigDecimal
+     */
+    public void setDoublePrecisionTolerance(double doublePrecisionTolerance) {
+        // set on every reduction from the preferences, so only a change revalidates
+        if (UPbFractionReducer.doublePrecisionTolerance != doublePrecisionTolerance) {
+            UPbFractionReducer.doublePrecisionTolerance = doublePrecisionTolerance;
+            synchronized (doublePrecisionValidations) {
+                doublePrecisionValidations.clear();
+                doublePrecisionRejectedModels.clear();
+            }
+        }
+    }
+
+    /**
+     * @return the doublePrecisionTolerance
+     */
+    public double getDoublePrecisionTolerance() {
+        return doublePrecisionTolerance;
+    }
+
     /**
      *
      * @param fraction
@@ -307,6 +390,50 @@ public class UPbFractionReducer extends FractionReducer {
     public static void fullFractionReduce(
             FractionI fraction, boolean calculateCovariances) {
 
+        new UPbFractionReducer().reduceFraction(fraction, calculateCovariances);
+    }
+
+    /**
+     * Reduces the fractions in parallel on the common ForkJoinPool. Each
+     * fraction is reduced by its own reducer, so the results are identical to
+     * reducing them one at a time. Fractions sharing a Stacey-Kramers initial
+     * Pb model, whose values are recalculated for each fraction, are reduced
+     * one after the other in their original order.
+     *
+     * @param fractions
+     * @param calculateCovariances
+     * @param interactiveReduction true in live mode, where double precision
+     * dates may be used
+     */
+    public void reduceFractions(
+            Collection<? extends ETFractionInterface> fractions, boolean calculateCovariances, boolean interactiveReduction) {
+
+        Map<Object, List<FractionI>> fractionsInSequence = new LinkedHashMap<>();
+        for (ETFractionInterface fraction : fractions) {
+            Object sequenceKey = fraction;
+            if (((FractionI) fraction).getInitialPbModel() instanceof StaceyKramersInitialPbModelET) {
+                sequenceKey = ((FractionI) fraction).getInitialPbModel();
+            }
+            fractionsInSequence.computeIfAbsent(sequenceKey, (k) -> new ArrayList<>()).add((FractionI) fraction);
+        }
+
+        List<ForkJoinTask<?>> reductions = new ArrayList<>();
+        for (List<FractionI> sequence : fractionsInSequence.values()) {
+            reductions.add(ForkJoinPool.commonPool().submit(() -> {
+                for (FractionI fraction : sequence) {
+                    new UPbFractionReducer(interactiveReduction).reduceFraction(fraction, calculateCovariances);
+                }
+            }));
+        }
+
+        for (ForkJoinTask<?> reduction : reductions) {
+            reduction.join();
+        }
+    }
+
+    private void reduceFraction(
+            FractionI fraction, boolean calculateCovariances) {
+
         if (fraction instanceof UPbFraction) {
             fullFractionReduce_IDTIMS(fraction, calculateCovariances);
         } else if (fraction instanceof UPbLAICPMSFraction) {
@@ -329,12 +456,35 @@ public class UPbFractionReducer extends FractionReducer {
         }
     }
 
+    private void initializePhysicalConstants(AbstractRatiosDataModel physicalConstantsModel) {
+        this.physicalConstantsModel = physicalConstantsModel;
+        lastPhysicalConstantsModel = physicalConstantsModel;
+
+        lambda230 = physicalConstantsModel.getDatumByName(Lambdas.lambda230.getName()).copy();
+        lambda231 = physicalConstantsModel.getDatumByName(Lambdas.lambda231.getName()).copy();
+        lambda232 = physicalConstantsModel.getDatumByName(Lambdas.lambda232.getName()).copy();
+        lambda234 = physicalConstantsModel.getDatumByName(Lambdas.lambda234.getName()).copy();
+        lambda235 = physicalConstantsModel.getDatumByName(Lambdas.lambda235.getName()).copy();
+        lambda238 = physicalConstantsModel.getDatumByName(Lambdas.lambda238.getName()).copy();
+
+        lambda232D = lambda232.getValue().doubleValue();
+        lambda235D = lambda235.getValue().doubleValue();
+        lambda238D = lambda238.getValue().doubleValue();
+
+        gmol204 = ((PhysicalConstantsModel) physicalConstantsModel).getAtomicMolarMassByName("gmol204");
+        gmol206 = ((PhysicalConstantsModel) physicalConstantsModel).getAtomicMolarMassByName("gmol206");
+        gmol207 = ((PhysicalConstantsModel) physicalConstantsModel).getAtomicMolarMassByName("gmol207");
+        gmol208 = ((PhysicalConstantsModel) physicalConstantsModel).getAtomicMolarMassByName("gmol208");
+        gmol235 = ((PhysicalConstantsModel) physicalConstantsModel).getAtomicMolarMassByName("gmol235");
+        gmol238 = ((PhysicalConstantsModel) physicalConstantsModel).getAtomicMolarMassByName("gmol238");
+    }
+
     /**
      *
      * @param fraction the value of fraction
      * @param calculateCovariances the value of calculateCovariances
      */
-    private static void fullFractionReduce_LAICPMS(
+    private void fullFractionReduce_LAICPMS(
             ETFractionInterface fraction, boolean calculateCovariances) {
 //        System.out.println( "LAICPMS REDUCER" );
         /*
@@ -371,10 +521,7 @@ public class UPbFractionReducer extends FractionReducer {
          * (r206_238r, r207_235r) after common Pb correction on the same plot.
          */
 
-        initializeAtomicMolarMasses(
-                fraction.getPhysicalConstantsModel());
-
-        initializeDecayConstants(fraction.getPhysicalConstantsModel());
+        initializePhysicalConstants(fraction.getPhysicalConstantsModel());
 
         // updated feb 2014
         fraction.getAnalysisMeasure(AnalysisMeasures.r238_235s.getName()).setValue(ReduxLabData.getInstance().getDefaultR238_235s().getValue());
@@ -441,7 +588,7 @@ public class UPbFractionReducer extends FractionReducer {
         age206_238r = new Age206_238r();
         fraction.setRadiogenicIsotopeDateByName(RadDates.age206_238r, age206_238r);
         // mar 2013 a little hack till we get logratios directly
-        calculateDate206_238r( //
+        reduceDate206_238r( //
                 age206_238r, //
                 r206_238r.getValue().doubleValue(), //
                 r206_238r.getValue().doubleValue() + r206_238r.getOneSigmaAbs().doubleValue() * 2.0);
@@ -449,14 +596,14 @@ public class UPbFractionReducer extends FractionReducer {
         age208_232r = new Age208_232r();
         fraction.setRadiogenicIsotopeDateByName(RadDates.age208_232r, age208_232r);
         // mar 2013 a little hack till we get logratios directly
-        calculateDate208_232r( //
+        reduceDate208_232r( //
                 age208_232r, //
                 r208_232r.getValue().doubleValue(), //
                 r208_232r.getValue().doubleValue() + r208_232r.getOneSigmaAbs().doubleValue() * 2.0);
 
         age207_235r = new Age207_235r();
         fraction.setRadiogenicIsotopeDateByName(RadDates.age207_235r, age207_235r);
-        calculateDate207_235r(//
+        reduceDate207_235r(//
                 age207_235r,//
                 r207_235r.getValue().doubleValue(),//
                 r207_235r.getValue().doubleValue() + r207_235r.getOneSigmaAbs().doubleValue() * 2.0);
@@ -464,7 +611,7 @@ public class UPbFractionReducer extends FractionReducer {
         age207_206r = new Age207_206r();
         fraction.setRadiogenicIsotopeDateByName(RadDates.age207_206r, age207_206r);
         // mar 2013 a little hack till we get logratios directly
-        calculateDate207_206r(fraction.getAnalysisMeasure(AnalysisMeasures.r238_235s.getName()),
+        reduceDate207_206r(fraction.getAnalysisMeasure(AnalysisMeasures.r238_235s.getName()),
                 age207_206r, //
                 age206_238r,
                 r207_206r.getValue().doubleValue(), //
@@ -697,25 +844,25 @@ public class UPbFractionReducer extends FractionReducer {
                 }
 
                 if (((UPbLAICPMSFraction) fraction).hasCommonLeadLossCorrectionSchemeGreaterThanTypeA()) {
-                    calculateDate206_238r( //
+                    reduceDate206_238r( //
                             age206_238_PbcCorr, //
                             r206_238_PbcCorr.getValue().doubleValue(), //
                             r206_238_PbcCorr.getValue().doubleValue() + r206_238_PbcCorr.getOneSigmaAbs().doubleValue() * 2.0);
 
                     // mar 2013 a little hack till we get logratios directly
-                    calculateDate208_232r( //
+                    reduceDate208_232r( //
                             age208_232_PbcCorr, //
                             r208_232_PbcCorr.getValue().doubleValue(), //
                             r208_232_PbcCorr.getValue().doubleValue() + r208_232_PbcCorr.getOneSigmaAbs().doubleValue() * 2.0);
 
                     // mar 2013 a little hack till we get logratios directly
-                    calculateDate207_235r(//
+                    reduceDate207_235r(//
                             age207_235_PbcCorr,//
                             r207_235_PbcCorr.getValue().doubleValue(),//
                             r207_235_PbcCorr.getValue().doubleValue() + r207_235_PbcCorr.getOneSigmaAbs().doubleValue() * 2.0);
 
                     // mar 2013 a little hack till we get logratios directly
-                    calculateDate207_206r(fraction.getAnalysisMeasure(AnalysisMeasures.r238_235s.getName()),
+                    reduceDate207_206r(fraction.getAnalysisMeasure(AnalysisMeasures.r238_235s.getName()),
                             age207_206_PbcCorr, //
                             age206_238_PbcCorr,
                             r207_206_PbcCorr.getValue().doubleValue(), //
@@ -741,7 +888,19 @@ public class UPbFractionReducer extends FractionReducer {
      * @param ratioPlustwoSigma
      * @return
      */
-    public static ValueModel calculateDate206_238r(ValueModel date206_238r, double ratio, double ratioPlustwoSigma) {
+    private ValueModel reduceDate206_238r(ValueModel date206_238r, double ratio, double ratioPlustwoSigma) {
+
+        if (isDoublePrecisionInUse()//
+                && DoublePrecisionDates.calculateDecayDate(date206_238r, "r206_238r", ratio, ratioPlustwoSigma, "Lambda238", lambda238D, parDerivTerms)//
+                && agreesWithBigDecimal("age206_238r", date206_238r, new Age206_238r(), //
+                        (reference, referenceParDerivTerms) -> calculateDate206_238r(reference, ratio, ratioPlustwoSigma, referenceParDerivTerms))) {
+            return date206_238r;
+        }
+
+        return calculateDate206_238r(date206_238r, ratio, ratioPlustwoSigma, parDerivTerms);
+    }
+
+    private ValueModel calculateDate206_238r(ValueModel date206_238r, double ratio, double ratioPlustwoSigma, ConcurrentMap<String, BigDecimal> parDerivTerms) {
 
         date206_238r.calculateValue(
                 new ValueModel[]{
@@ -772,7 +931,19 @@ public class UPbFractionReducer extends FractionReducer {
      * @param ratioPlustwoSigma
      * @return
      */
-    public static ValueModel calculateDate208_232r(ValueModel date208_232r, double ratio, double ratioPlustwoSigma) {
+    private ValueModel reduceDate208_232r(ValueModel date208_232r, double ratio, double ratioPlustwoSigma) {
+
+        if (isDoublePrecisionInUse()//
+                && DoublePrecisionDates.calculateDecayDate(date208_232r, "r208_232r", ratio, ratioPlustwoSigma, "Lambda232", lambda232D, parDerivTerms)//
+                && agreesWithBigDecimal("age208_232r", date208_232r, new Age208_232r(), //
+                        (reference, referenceParDerivTerms) -> calculateDate208_232r(reference, ratio, ratioPlustwoSigma, referenceParDerivTerms))) {
+            return date208_232r;
+        }
+
+        return calculateDate208_232r(date208_232r, ratio, ratioPlustwoSigma, parDerivTerms);
+    }
+
+    private ValueModel calculateDate208_232r(ValueModel date208_232r, double ratio, double ratioPlustwoSigma, ConcurrentMap<String, BigDecimal> parDerivTerms) {
 
         date208_232r.calculateValue(
                 new ValueModel[]{
@@ -803,7 +974,19 @@ public class UPbFractionReducer extends FractionReducer {
      * @param ratioPlustwoSigma
      * @return
      */
-    public static ValueModel calculateDate207_235r(ValueModel date207_235r, double ratio, double ratioPlustwoSigma) {
+    private ValueModel reduceDate207_235r(ValueModel date207_235r, double ratio, double ratioPlustwoSigma) {
+
+        if (isDoublePrecisionInUse()//
+                && DoublePrecisionDates.calculateDecayDate(date207_235r, "r207_235r", ratio, ratioPlustwoSigma, "Lambda235", lambda235D, parDerivTerms)//
+                && agreesWithBigDecimal("age207_235r", date207_235r, new Age207_235r(), //
+                        (reference, referenceParDerivTerms) -> calculateDate207_235r(reference, ratio, ratioPlustwoSigma, referenceParDerivTerms))) {
+            return date207_235r;
+        }
+
+        return calculateDate207_235r(date207_235r, ratio, ratioPlustwoSigma, parDerivTerms);
+    }
+
+    private ValueModel calculateDate207_235r(ValueModel date207_235r, double ratio, double ratioPlustwoSigma, ConcurrentMap<String, BigDecimal> parDerivTerms) {
 
         date207_235r.calculateValue(
                 new ValueModel[]{
@@ -836,7 +1019,20 @@ public class UPbFractionReducer extends FractionReducer {
      * @param ratioPlustwoSigma
      * @return
      */
-    public static ValueModel calculateDate207_206r(ValueModel r238_235s, ValueModel date207_206r, ValueModel date206_238r, double ratio, double ratioPlustwoSigma) {
+    private ValueModel reduceDate207_206r(ValueModel r238_235s, ValueModel date207_206r, ValueModel date206_238r, double ratio, double ratioPlustwoSigma) {
+
+        if (isDoublePrecisionInUse()//
+                && DoublePrecisionDates.calculateDate207_206r(date207_206r, r238_235s.getValue().doubleValue(), ratio, ratioPlustwoSigma, //
+                        date206_238r.getValue().doubleValue(), lambda235D, lambda238D, parDerivTerms)//
+                && agreesWithBigDecimal("age207_206r", date207_206r, new Age207_206r(), //
+                        (reference, referenceParDerivTerms) -> calculateDate207_206r(r238_235s, reference, date206_238r, ratio, ratioPlustwoSigma, referenceParDerivTerms))) {
+            return date207_206r;
+        }
+
+        return calculateDate207_206r(r238_235s, date207_206r, date206_238r, ratio, ratioPlustwoSigma, parDerivTerms);
+    }
+
+    private ValueModel calculateDate207_206r(ValueModel r238_235s, ValueModel date207_206r, ValueModel date206_238r, double ratio, double ratioPlustwoSigma, ConcurrentMap<String, BigDecimal> parDerivTerms) {
 
         date207_206r.calculateValue(
                 new ValueModel[]{
@@ -866,7 +1062,140 @@ public class UPbFractionReducer extends FractionReducer {
         return date207_206r;
     }
 
-    private static void fullFractionReduce_IDTIMS(
+    /**
+     * Dates outside of a fraction reduction, such as sample dates, use the
+     * physical constants and the interactive mode of the most recent
+     * reduction, or the default physical constants model.
+     *
+     * @param date206_238r
+     * @param ratio
+     * @param ratioPlustwoSigma
+     * @return
+     */
+    public static ValueModel calculateDate206_238r(ValueModel date206_238r, double ratio, double ratioPlustwoSigma) {
+        return dateReducer().reduceDate206_238r(date206_238r, ratio, ratioPlustwoSigma);
+    }
+
+    /**
+     *
+     * @param date208_232r
+     * @param ratio
+     * @param ratioPlustwoSigma
+     * @return
+     */
+    public static ValueModel calculateDate208_232r(ValueModel date208_232r, double ratio, double ratioPlustwoSigma) {
+        return dateReducer().reduceDate208_232r(date208_232r, ratio, ratioPlustwoSigma);
+    }
+
+    /**
+     *
+     * @param date207_235r
+     * @param ratio
+     * @param ratioPlustwoSigma
+     * @return
+     */
+    public static ValueModel calculateDate207_235r(ValueModel date207_235r, double ratio, double ratioPlustwoSigma) {
+        return dateReducer().reduceDate207_235r(date207_235r, ratio, ratioPlustwoSigma);
+    }
+
+    /**
+     *
+     * @param r238_235s
+     * @param date207_206r
+     * @param date206_238r
+     * @param ratio
+     * @param ratioPlustwoSigma
+     * @return
+     */
+    public static ValueModel calculateDate207_206r(ValueModel r238_235s, ValueModel date207_206r, ValueModel date206_238r, double ratio, double ratioPlustwoSigma) {
+        return dateReducer().reduceDate207_206r(r238_235s, date207_206r, date206_238r, ratio, ratioPlustwoSigma);
+    }
+
+    private static UPbFractionReducer dateReducer() {
+        AbstractRatiosDataModel dateConstantsModel = lastPhysicalConstantsModel;
+        if (dateConstantsModel == null) {
+            dateConstantsModel = ReduxLabData.getInstance().getDefaultPhysicalConstantsModel();
+        }
+
+        // the reducer only reads its constants here, so it is shared between threads
+        UPbFractionReducer dateReducer = sampleDateReducer;
+        if ((dateReducer == null)//
+                || (dateReducer.physicalConstantsModel != dateConstantsModel)) {
+            dateReducer = new UPbFractionReducer(false);
+            dateReducer.initializePhysicalConstants(dateConstantsModel);
+            sampleDateReducer = dateReducer;
+        }
+        return dateReducer;
+    }
+
+    private boolean isDoublePrecisionInUse() {
+        if (!(doublePrecisionDates && interactiveReduction)) {
+            return false;
+        }
+        synchronized (doublePrecisionValidations) {
+            return !doublePrecisionRejectedModels.contains(physicalConstantsModel);
+        }
+    }
+
+    /**
+     * The first evaluations of each date equation in double precision, for
+     * each set of physical constants, are repeated in BigDecimal and compared;
+     * any disagreement beyond the tolerance turns the double precision path
+     * off for that set of physical constants until the preferences change.
+     *
+     * @param equation
+     * @param date already calculated in double precision
+     * @param reference an empty date of the same kind
+     * @param bigDecimalCalculation
+     * @return true if the double precision date can be used
+     */
+    private boolean agreesWithBigDecimal(String equation, ValueModel date, ValueModel reference,
+            BiConsumer<ValueModel, ConcurrentMap<String, BigDecimal>> bigDecimalCalculation) {
+
+        synchronized (doublePrecisionValidations) {
+            if (doublePrecisionValidatedModel != physicalConstantsModel) {
+                doublePrecisionValidations.clear();
+                doublePrecisionValidatedModel = physicalConstantsModel;
+            }
+            if (doublePrecisionValidations.getOrDefault(equation, 0) >= DOUBLE_PRECISION_VALIDATION_COUNT) {
+                return true;
+            }
+        }
+
+        reference.setName(date.getName());
+        ConcurrentMap<String, BigDecimal> referenceParDerivTerms = new ConcurrentHashMap<>();
+        bigDecimalCalculation.accept(reference, referenceParDerivTerms);
+
+        double referenceValue = reference.getValue().doubleValue();
+        boolean agrees = DoublePrecisionDates.agreesWithinTolerance(//
+                referenceValue, date.getValue().doubleValue(), referenceValue, doublePrecisionTolerance)
+                // the one sigma is a difference of dates and so is compared to the date
+                && DoublePrecisionDates.agreesWithinTolerance(//
+                        reference.getOneSigmaAbs().doubleValue(), date.getOneSigmaAbs().doubleValue(), referenceValue, doublePrecisionTolerance);
+
+        if (parDerivTerms != null) {
+            for (Map.Entry<String, BigDecimal> referenceTerm : referenceParDerivTerms.entrySet()) {
+                BigDecimal term = parDerivTerms.get(referenceTerm.getKey());
+                double referenceTermValue = referenceTerm.getValue().doubleValue();
+                agrees = agrees && (term != null) //
+                        && DoublePrecisionDates.agreesWithinTolerance(referenceTermValue, term.doubleValue(), referenceTermValue, doublePrecisionTolerance);
+            }
+        }
+
+        synchronized (doublePrecisionValidations) {
+            if (agrees) {
+                doublePrecisionValidations.merge(equation, 1, Integer::sum);
+            } else if (doublePrecisionRejectedModels.add(physicalConstantsModel)) {
+                Logger.getLogger(UPbFractionReducer.class.getName()).log(Level.WARNING,
+                        "Double precision {0} differs from BigDecimal by more than {1} - reverting to BigDecimal reduction for {2}.",
+                        new Object[]{equation, doublePrecisionTolerance, physicalConstantsModel.getNameAndVersion()});
+            }
+        }
+
+        return agrees;
+    }
+
+    private void fullFractionReduce_IDTIMS(
             FractionI fraction,
             boolean calculateCovariances) {
 
@@ -878,10 +1207,7 @@ public class UPbFractionReducer extends FractionReducer {
 
             //System.out.println( "Reducing Fraction = " + fraction.getFractionID() );
             // Feb 2011 reorganized logic here as treatFractionAsZircon could not be calculated here !!!
-            initializeAtomicMolarMasses(
-                    fraction.getPhysicalConstantsModel());
-
-            initializeDecayConstants(fraction.getPhysicalConstantsModel());
+            initializePhysicalConstants(fraction.getPhysicalConstantsModel());
 
             // march 2012 correction
             // if initial pb is stacey kramers, values must be calculated each time, as only one copy of this model exists
@@ -964,7 +1290,7 @@ public class UPbFractionReducer extends FractionReducer {
         }
     }
 
-    private static void evaluateVariablesInOrderI(ETFractionInterface fraction) {
+    private void evaluateVariablesInOrderI(ETFractionInterface fraction) {
 
         AbstractRatiosDataModel fractionTracer = ((UPbFractionI) fraction).getTracer();
 
@@ -1014,7 +1340,7 @@ public class UPbFractionReducer extends FractionReducer {
 
     }
 
-    private static void evaluateVariablesInOrderII(ETFractionInterface fraction) {
+    private void evaluateVariablesInOrderII(ETFractionInterface fraction) {
 
         AbstractRatiosDataModel fractionTracer = ((UPbFractionI) fraction).getTracer();
         String tracerType = ((UPbFraction) fraction).getTracerType().trim();
@@ -1852,7 +2178,7 @@ public class UPbFractionReducer extends FractionReducer {
 
     } // end evaluateVariablesInOrderII
 
-    private static void initializeAndEvalSpecialInputVariablesInOrder(ETFractionInterface fraction) {
+    private void initializeAndEvalSpecialInputVariablesInOrder(ETFractionInterface fraction) {
 
         specialInputVariablesInOrder = new TreeMap<>();
 
@@ -1902,7 +2228,7 @@ public class UPbFractionReducer extends FractionReducer {
 
     }
 
-    private static void initializeVariablesInOrder(ETFractionInterface fraction) {
+    private void initializeVariablesInOrder(ETFractionInterface fraction) {
 
         variablesInOrder = new TreeMap<>();
         int index = 0;
@@ -2251,7 +2577,7 @@ public class UPbFractionReducer extends FractionReducer {
 
     }
 
-    private static void initializeInputVariances(ETFractionInterface fraction) {
+    private void initializeInputVariances(ETFractionInterface fraction) {
         inputVariances = new HashMap<>();
 
         // June 2012 
@@ -2299,56 +2625,21 @@ public class UPbFractionReducer extends FractionReducer {
         }
     }
 
-    private static void calculateCovariancesMap(ETFractionInterface fraction) {
+    private void calculateCovariancesMap(ETFractionInterface fraction) {
         coVariances = new HashMap<>();
 
         //***********************************************************************
-        //TODO:  may 2012 use tracer's new cov matrix ... needs to be refactored more elegantly, but for now to test is ok
-        ((UPbFractionI) fraction).getTracer().initializeModel();
-        AbstractMatrixModel tracerCovariances = ((UPbFractionI) fraction).getTracer().getDataCovariancesVarUnct();
-        // build and add non-diagonal cov (bottom half)
-        Iterator<Integer> rowIterator = tracerCovariances.getRows().keySet().iterator();
-        while (rowIterator.hasNext()) {
-            int row = rowIterator.next();
-            String rowName = tracerCovariances.getRows().get(row);
-
-            for (int i = row + 1; i < tracerCovariances.getRows().keySet().size(); i++) {
-                String colName = tracerCovariances.getRows().get(i);
-                String covName
-                        =//
-                        "cov" //
-                        + rowName.substring(0, 1).toUpperCase()//
-                        + rowName.substring(1)//
-                        + "__"
-                        + colName;
-
-                if (tracerCovariances.getMatrix().get(row, i) != 0.0) {
-                    coVariances.put(covName, new BigDecimal(Double.toString(tracerCovariances.getMatrix().get(row, i))));
-                }
+        // oct 2026 the covariances of the shared tracer and physical constants models
+        // are built once per edit of the model rather than once per fraction
+        for (Map.Entry<String, BigDecimal> tracerCovariance//
+                : ((UPbFractionI) fraction).getTracer().getDataCovariancesVarUnctByName().entrySet()) {
+            if (tracerCovariance.getValue().signum() != 0) {
+                coVariances.put(tracerCovariance.getKey(), tracerCovariance.getValue());
             }
         }
 
         // physical constants covariances here ...waiting on Noah
-        fraction.getPhysicalConstantsModel().initializeModel();
-        AbstractMatrixModel lambdaCovariances = fraction.getPhysicalConstantsModel().getDataCovariancesVarUnct();
-        // build and add non-diagonal cov (bottom half)
-        rowIterator = lambdaCovariances.getRows().keySet().iterator();
-        while (rowIterator.hasNext()) {
-            int row = rowIterator.next();
-            String rowName = lambdaCovariances.getRows().get(row);
-
-            for (int i = row + 1; i < lambdaCovariances.getRows().keySet().size(); i++) {
-                String colName = lambdaCovariances.getRows().get(i);
-                String covName
-                        = "cov" //
-                        + rowName.substring(0, 1).toUpperCase()//
-                        + rowName.substring(1)//
-                        + "__"
-                        + colName;
-
-                coVariances.put(covName, new BigDecimal(Double.toString(lambdaCovariances.getMatrix().get(row, i))));
-            }
-        }
+        coVariances.putAll(fraction.getPhysicalConstantsModel().getDataCovariancesVarUnctByName());
         //***********************************************************************
 
         try {
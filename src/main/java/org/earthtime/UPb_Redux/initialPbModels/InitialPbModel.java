@@ -22,7 +22,6 @@ package org.earthtime.UPb_Redux.initialPbModels;
 
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.io.xml.DomDriver;
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
@@ -46,6 +45,7 @@ import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
 import org.earthtime.ratioDataModels.initialPbModelsET.InitialPbModelET;
 import org.earthtime.utilities.DateHelpers;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  * Deprecated June 2012.  Needed for compatibility with legacy serializations (archives).
@@ -419,9 +419,8 @@ public class InitialPbModel implements
      * @return
      */
     public XStream getXStreamWriter () {
-        XStream xstream = new XStream();
-
-        customizeXstream( xstream );
+        XStream xstream = XStreamRegistry.getXStreamWriter(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -431,9 +430,8 @@ public class InitialPbModel implements
      * @return
      */
     public XStream getXStreamReader () {
-        XStream xstream = new XStream( new DomDriver() );
-
-        customizeXstream( xstream );
+        XStream xstream = XStreamRegistry.getXStreamReader(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -22,7 +22,6 @@ package org.earthtime.UPb_Redux.mineralStandardModels;
 
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.io.xml.DomDriver;
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
@@ -47,6 +46,7 @@ import org.earthtime.ratioDataModels.initialPbModelsET.InitialPbModelET;
 import org.earthtime.ratioDataModels.mineralStandardModels.MineralStandardUPbModel;
 import org.earthtime.utilities.DateHelpers;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  * Deprecated June 2012. Needed for compatibility with legacy serializations
@@ -285,9 +285,8 @@ public class MineralStandardModel implements
      * @return
      */
     private XStream getXStreamWriter() {
-        XStream xstream = new XStream();
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamWriter(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -297,9 +296,8 @@ public class MineralStandardModel implements
      * @return
      */
     private XStream getXStreamReader() {
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamReader(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
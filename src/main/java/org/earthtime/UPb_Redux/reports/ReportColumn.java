@@ -20,8 +20,15 @@
  */
 package org.earthtime.UPb_Redux.reports;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.invoke.MethodHandle;
+import java.util.Objects;
 import org.earthtime.dataDictionaries.reportSpecifications.ReportSpecificationsUPb;
+import org.earthtime.fractions.ETFractionInterface;
+import org.earthtime.reports.ReportCellCache;
 import org.earthtime.reports.ReportColumnInterface;
+import org.earthtime.utilities.MethodHandleRegistry;
 
 /**
  * A ReportColumn specifies the information shown in a data table column. Each
@@ -53,6 +60,12 @@ public class ReportColumn implements
     private boolean needsU;
     private boolean legacyData;
     private boolean amUncertaintyColumn;
+    // oct 2026
+    private transient ReportCellCache reportCellCache;
+    // oct 2026 counts changes to the settings the cached cells are formatted from
+    private transient int settingsVersion;
+    // oct 2026 resolved when the retrieve method or variable name is set or read
+    private transient MethodHandle retrieveMethodHandle;
 
     /**
      * Creates a new instance of ReportColumn
@@ -103,6 +116,25 @@ public class ReportColumn implements
         this.uncertaintyColumn = null;
         this.displayedWithArbitraryDigitCount = false;
         this.countOfSignificantDigits = 2;
+
+        resolveRetrieveMethodHandle();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        resolveRetrieveMethodHandle();
+    }
+
+    private void resolveRetrieveMethodHandle() {
+        retrieveMethodHandle = null;
+        if ((retrieveMethodName != null) && (retrieveMethodName.length() > 0) && (retrieveVariableName != null)) {
+            try {
+                retrieveMethodHandle = (retrieveVariableName.length() == 0)//
+                        ? MethodHandleRegistry.findMethod(ETFractionInterface.class, retrieveMethodName)//
+                        : MethodHandleRegistry.findMethod(ETFractionInterface.class, retrieveMethodName, String.class);
+            } catch (NoSuchMethodException e) {
+            }
+        }
     }
 
     /**
@@ -208,6 +240,7 @@ public class ReportColumn implements
      */
     @Override
     public void setUnits(String units) {
+        countSettingsChange(this.units, units);
         this.units = units;
     }
 
@@ -217,10 +250,12 @@ public class ReportColumn implements
      */
     @Override
     public void setUnitsFromXML(String xmlCode) {
+        String priorUnits = units;
         units = ReportSpecificationsUPb.unicodeConversionsFromXML.get(xmlCode);
         if (units == null) {
             units = xmlCode;
         }
+        countSettingsChange(priorUnits, units);
     }
 
     /**
@@ -238,7 +273,9 @@ public class ReportColumn implements
      */
     @Override
     public void setRetrieveMethodName(String retrieveMethodName) {
+        countSettingsChange(this.retrieveMethodName, retrieveMethodName);
         this.retrieveMethodName = retrieveMethodName;
+        resolveRetrieveMethodHandle();
     }
 
     /**
@@ -256,7 +293,9 @@ public class ReportColumn implements
      */
     @Override
     public void setRetrieveVariableName(String retrieveVariableName) {
+        countSettingsChange(this.retrieveVariableName, retrieveVariableName);
         this.retrieveVariableName = retrieveVariableName;
+        resolveRetrieveMethodHandle();
     }
 
     /**
@@ -274,6 +313,7 @@ public class ReportColumn implements
      */
     @Override
     public void setUncertaintyColumn(ReportColumnInterface uncertaintyColumn) {
+        countSettingsChange(this.uncertaintyColumn, uncertaintyColumn);
         this.uncertaintyColumn = uncertaintyColumn;
     }
 
@@ -292,6 +332,7 @@ public class ReportColumn implements
      */
     @Override
     public void setUncertaintyType(String uncertaintyType) {
+        countSettingsChange(this.uncertaintyType, uncertaintyType);
         this.uncertaintyType = uncertaintyType;
     }
 
@@ -310,6 +351,7 @@ public class ReportColumn implements
      */
     @Override
     public void setDisplayedWithArbitraryDigitCount(boolean displayedWithArbitraryDigitCount) {
+        countSettingsChange(this.displayedWithArbitraryDigitCount, displayedWithArbitraryDigitCount);
         this.displayedWithArbitraryDigitCount = displayedWithArbitraryDigitCount;
     }
 
@@ -328,6 +370,7 @@ public class ReportColumn implements
      */
     @Override
     public void setCountOfSignificantDigits(int countOfSignificantDigits) {
+        countSettingsChange(this.countOfSignificantDigits, countOfSignificantDigits);
         this.countOfSignificantDigits = countOfSignificantDigits;
     }
 
@@ -346,6 +389,7 @@ public class ReportColumn implements
      */
     @Override
     public void setVisible(boolean visible) {
+        countSettingsChange(this.visible, visible);
         this.visible = visible;
     }
 
@@ -412,6 +456,7 @@ public class ReportColumn implements
      */
     @Override
     public void setNeedsPb(boolean needsPb) {
+        countSettingsChange(this.needsPb, needsPb);
         this.needsPb = needsPb;
     }
 
@@ -428,6 +473,7 @@ public class ReportColumn implements
      */
     @Override
     public void setNeedsU(boolean needsU) {
+        countSettingsChange(this.needsU, needsU);
         this.needsU = needsU;
     }
 
@@ -444,9 +490,25 @@ public class ReportColumn implements
      */
     @Override
     public void setLegacyData(boolean legacyData) {
+        countSettingsChange(this.legacyData, legacyData);
         this.legacyData = legacyData;
     }
 
+    private void countSettingsChange(Object priorSetting, Object setting) {
+        if (!Objects.equals(priorSetting, setting)) {
+            settingsVersion++;
+        }
+    }
+
+    /**
+     * @return the count of changes to the settings the cached cells are
+     * formatted from
+     */
+    @Override
+    public int getSettingsVersion() {
+        return settingsVersion;
+    }
+
     @Override
     public boolean hasUncertaintyColumn() {
         return uncertaintyColumn != null;
@@ -459,4 +521,27 @@ public class ReportColumn implements
     public boolean isAmUncertaintyColumn() {
         return amUncertaintyColumn;
     }
+
+    /**
+     * @return the retrieve method as resolved when its name was set or read
+     * @throws NoSuchMethodException
+     */
+    @Override
+    public MethodHandle getRetrieveMethodHandle() throws NoSuchMethodException {
+        if (retrieveMethodHandle == null) {
+            throw new NoSuchMethodException(ETFractionInterface.class.getName() + "." + retrieveMethodName);
+        }
+        return retrieveMethodHandle;
+    }
+
+    /**
+     * @return the reportCellCache
+     */
+    @Override
+    public ReportCellCache getReportCellCache() {
+        if (reportCellCache == null) {
+            reportCellCache = new ReportCellCache();
+        }
+        return reportCellCache;
+    }
 }
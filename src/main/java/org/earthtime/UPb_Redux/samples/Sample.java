@@ -21,18 +21,25 @@ package org.earthtime.UPb_Redux.samples;
 
 import com.google.common.base.Charsets;
 import com.google.common.io.Files;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.Vector;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.swing.JOptionPane;
 import org.earthtime.Tripoli.sessions.TripoliSession;
 import org.earthtime.UPb_Redux.ReduxConstants;
@@ -47,6 +54,7 @@ import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFraction;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbLegacyFraction;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction.UPbFractionReducer;
+import org.earthtime.UPb_Redux.samples.sampleImporters.BulkFileImporter;
 import org.earthtime.UPb_Redux.user.SampleDateInterpretationGUIOptions;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 import org.earthtime.XMLExceptions.BadOrMissingXMLSchemaException;
@@ -478,56 +486,72 @@ public class Sample implements
             boolean doValidate)
             throws ETException, BadLabDataException {
 
-        FractionI fractionFromFile = new UPbFraction("NONE");
-        boolean badFile = true;
-
+        FractionI fractionFromFile = null;
         try {
-            fractionFromFile
-                    = ((UPbFraction) fractionFromFile).readXMLFraction(
-                            fractionFile.getCanonicalPath(), aliquotNumber, doValidate);
-            badFile = (fractionFromFile == null);
-        } catch (FileNotFoundException ex) {
+            fractionFromFile = readXMLFractionFile(fractionFile, aliquotNumber, doValidate);
         } catch (IOException ex) {
+        }
+
+        if (fractionFromFile == null) {
+            // returns "NONE" if file is not processed
+            return "NONE";
+        }
+
+        mergeFractionFromFile(fractionFile, fractionFromFile, validateSampleName);
+
+        return fractionFromFile.getSampleName();
+    }
+
+    /**
+     * reads the <code>Fraction</code> in fractionFile without adding it to
+     * this <code>Sample</code>, so that many files can be read at once.
+     *
+     * @param fractionFile
+     * @param aliquotNumber
+     * @param doValidate
+     * @return the fraction or null if the file holds none
+     * @throws ETException
+     * @throws IOException
+     */
+    private static FractionI readXMLFractionFile(File fractionFile, int aliquotNumber, boolean doValidate)
+            throws ETException, IOException {
+        try {
+            return new UPbFraction("NONE").readXMLFraction(fractionFile.getCanonicalPath(), aliquotNumber, doValidate);
         } catch (BadOrMissingXMLSchemaException ex) {
             throw new ETException(
                     null, "Cannot import " + fractionFile.getName());
         }
-        if (!badFile) {
-            if (validateSampleName
-                    && !fractionFromFile.getSampleName().equalsIgnoreCase(getSampleName())) {
-                throw new ETException(
-                        null,
-                        new String[]{"The sample name: " + fractionFromFile.getSampleName() + "\n",
-                            "specified in the Fraction File:\n",
-                            fractionFile.getName() + "\n",
-                            "differs from the open Sample's name: " + getSampleName() + ".\n",
-                            "\nPlease correct the discrepancy and try again."
-                        });
-            }// else {
-            ETFractionInterface existingFraction = getFractionByID(fractionFromFile.getFractionID());
-            if (existingFraction == null) {
-                System.out.println("New UPbReduxFraction");
-                // AUG 2011 moved this improved logic here from readXMLFraction
-                if (((UPbFraction) fractionFromFile).getTracer() == null) {
-                    ((UPbFractionI) fractionFromFile)//
-                            .setTracer(((UPbFraction) fractionFromFile).getMyLabData().getNoneTracer());
-                }
-                addFraction(fractionFromFile);
-            } else {
-                System.out.println("Existing Fraction = " + existingFraction.getFractionID() + " updating type = " + fractionFromFile.getRatioType());
-                boolean didUpdate
-                        = ((UPbFraction) existingFraction).updateUPbFraction(fractionFromFile, isFractionDataOverriddenOnImport());
+    }
 
-                setChanged(didUpdate);
+    private void mergeFractionFromFile(File fractionFile, FractionI fractionFromFile, boolean validateSampleName)
+            throws ETException, BadLabDataException {
+        if (validateSampleName
+                && !fractionFromFile.getSampleName().equalsIgnoreCase(getSampleName())) {
+            throw new ETException(
+                    null,
+                    new String[]{"The sample name: " + fractionFromFile.getSampleName() + "\n",
+                        "specified in the Fraction File:\n",
+                        fractionFile.getName() + "\n",
+                        "differs from the open Sample's name: " + getSampleName() + ".\n",
+                        "\nPlease correct the discrepancy and try again."
+                    });
+        }
+        ETFractionInterface existingFraction = getFractionByID(fractionFromFile.getFractionID());
+        if (existingFraction == null) {
+            System.out.println("New UPbReduxFraction");
+            // AUG 2011 moved this improved logic here from readXMLFraction
+            if (((UPbFraction) fractionFromFile).getTracer() == null) {
+                ((UPbFractionI) fractionFromFile)//
+                        .setTracer(((UPbFraction) fractionFromFile).getMyLabData().getNoneTracer());
             }
-
-            //  }
+            addFraction(fractionFromFile);
         } else {
-            // do nothing
-        }
+            System.out.println("Existing Fraction = " + existingFraction.getFractionID() + " updating type = " + fractionFromFile.getRatioType());
+            boolean didUpdate
+                    = ((UPbFraction) existingFraction).updateUPbFraction(fractionFromFile, isFractionDataOverriddenOnImport());
 
-        // returns "NONE" if file is not processed
-        return fractionFromFile.getSampleName();
+            setChanged(didUpdate);
+        }
     }
 
     public boolean importAliquotFolder(File[] fractions, int aliquotNumber, boolean doValidate)
@@ -536,45 +560,70 @@ public class Sample implements
             throw new ETException(null,
                     "The selected aliquot folder does not contain any XML fraction files.");
         }
+        // oct 2026 fraction files are read at once on a pool of threads and then added
+        // to the aliquot here in order of file name, as listFiles promises no order
+        File[] sortedFractions = fractions.clone();
+        Arrays.sort(sortedFractions);
+
+        long aliquotFolderTimeStamp = ((UPbReduxAliquot) getAliquotByNumber(aliquotNumber)).getAliquotFolderTimeStamp().getTime();
+        boolean readsEveryFraction = getSampleType().equalsIgnoreCase(SampleTypesEnum.ANALYSIS.getName());
+
+        long latestFractionFileModified = 0L;
+        List<File> freshFractions = new ArrayList<>();
+        for (File fractionFile : sortedFractions) {
+            // test if fractionFile is newer than last update to Aliquot
+            // or whether we are in auto-update mode versu live-update
+            // auto-update reads every fraction
+            long fractionFileModified = fractionFile.lastModified();
+            if (fractionFileModified > aliquotFolderTimeStamp || readsEveryFraction) {
+                latestFractionFileModified = Math.max(latestFractionFileModified, fractionFileModified);
+                freshFractions.add(fractionFile);
+            }
+        }
+
         // nov 2008
         // first determine if the sample is empty and if it is,
         // use the first xml file as the automatic source of the
         // sample file
+        boolean nameFromFirstFraction = getFractions().isEmpty() && (sortedFractions.length > 0);
+        if (nameFromFirstFraction && !freshFractions.contains(sortedFractions[0])) {
+            freshFractions.add(0, sortedFractions[0]);
+        }
+
+        // the lab data is made lazily and not safely for many threads
+        ReduxLabData.getInstance();
+        BulkFileImporter.Report<FractionI> report = BulkFileImporter.importFiles(freshFractions, (File fractionFile) -> {
+            FractionI fractionFromFile = readXMLFractionFile(fractionFile, aliquotNumber, doValidate);
+            if (fractionFromFile == null) {
+                throw new ETException(null, "Cannot import " + fractionFile.getName());
+            }
+            return fractionFromFile;
+        });
+        Logger.getLogger(Sample.class.getName()).log(Level.INFO, "Aliquot folder {0}", report);
+
         boolean retval = false;
-        if (getFractions().isEmpty()) {
+        SortedMap<File, String> unimportedFractions = new TreeMap<>(report.getErrors());
+        for (Map.Entry<File, FractionI> fractionFromFile : report.getResults().entrySet()) {
             try {
-                setSampleName(processXMLFractionFile(fractions[0], aliquotNumber, false, doValidate));
-            } catch (ETException uPbReduxException) {
+                if (nameFromFirstFraction) {
+                    mergeFractionFromFile(fractionFromFile.getKey(), fractionFromFile.getValue(), false);
+                    setSampleName(fractionFromFile.getValue().getSampleName());
+                    nameFromFirstFraction = false;
+                } else {
+                    mergeFractionFromFile(fractionFromFile.getKey(), fractionFromFile.getValue(), true);
+                }
+                retval = true;
+            } catch (ETException ex) {
+                unimportedFractions.put(fractionFromFile.getKey(), ex.getMessage());
             }
         }
 
-        long latestFractionFileModified = 0L;
-        for (int f = 0; f < fractions.length; f++) {
-            // test if fractionFile is newer than last update to Aliquot
-            // or whether we are in auto-update mode versu live-update
-            // auto-update reads every fraction
-            if (fractions[f].lastModified() > ((UPbReduxAliquot) getAliquotByNumber(aliquotNumber)).getAliquotFolderTimeStamp().getTime()
-                    || getSampleType().equalsIgnoreCase(SampleTypesEnum.ANALYSIS.getName())) {
-                if (fractions[f].lastModified() > latestFractionFileModified) {
-                    latestFractionFileModified = fractions[f].lastModified();
-                }
-                try {
-                    processXMLFractionFile(fractions[f], aliquotNumber, true, doValidate);
-                    retval = true;
-                } catch (ETException ex) {
-                    // Modal dialog with OK/cancel and aliquot text field
-                    if (f < (fractions.length - 1)) {
-                        int response = JOptionPane.showConfirmDialog(null,
-                                new String[]{"Continue to process folder?"},
-                                "ET Redux Warning",
-                                JOptionPane.YES_NO_OPTION,
-                                JOptionPane.WARNING_MESSAGE);
-                        if (response == JOptionPane.NO_OPTION) {
-                            break;
-                        }
-                    }
-                }
-            }
+        if (!unimportedFractions.isEmpty()) {
+            JOptionPane.showMessageDialog(null,
+                    new String[]{"These fraction files were not imported:\n",
+                        BulkFileImporter.describeErrors(unimportedFractions, 20)},
+                    "ET Redux Warning",
+                    JOptionPane.WARNING_MESSAGE);
         }
 
         //  stamp the aliquot
@@ -618,16 +667,16 @@ public class Sample implements
                     if (isXML) {
                         // nov 2016 need more robust test of file to be fraction file
                         // contains "<UPbReduxFraction"
-                        List<String> fractionData;
-                        try {
-                            fractionData = Files.readLines(file, Charsets.ISO_8859_1);
-//                            System.out.println(fractionData.get(0));
+                        // oct 2026 reads only the lines it checks
+                        try (BufferedReader fractionData = Files.newReader(file, Charsets.ISO_8859_1)) {
                             // check first 10 lines
-                            for (int line = 0; line < 10; line++) {
-                                if (fractionData.get(line).contains("<UPbReduxFraction")) {
+                            String line = fractionData.readLine();
+                            for (int lineCount = 0; (line != null) && (lineCount < 10); lineCount++) {
+                                if (line.contains("<UPbReduxFraction")) {
                                     isValidUPbFraction = true;
                                     break;
                                 }
+                                line = fractionData.readLine();
                             }
                         } catch (IOException iOException) {
                         }
@@ -23,6 +23,8 @@ package org.earthtime.UPb_Redux.samples.sampleImporters;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 import java.util.Vector;
 import javax.swing.JFrame;
@@ -32,6 +34,7 @@ import org.earthtime.UPb_Redux.exceptions.BadImportedCSVLegacyFileException;
 import org.earthtime.UPb_Redux.filters.LegacyDelimitedFileFilter;
 import org.earthtime.dataDictionaries.FileDelimiterTypesEnum;
 import org.earthtime.fractions.ETFractionInterface;
+import org.earthtime.reduxLabData.ReduxLabData;
 import org.earthtime.utilities.FileHelper;
 
 /**
@@ -75,6 +78,47 @@ public abstract class AbstractSampleImporterFromLegacyCSVFile {
 
     }
 
+    /**
+     * Asks for one or more CSV files and reads them all at once.
+     *
+     * @return the aliquot of each file in the order chosen, with the files
+     * that could not be read and the rate they were read at
+     * @throws FileNotFoundException if no file is chosen
+     */
+    public BulkFileImporter.Report<ImportedAliquot> readInAliquots ()
+            throws FileNotFoundException {
+
+        File[] csvFiles = openCSVFiles( mruFolder );
+
+        return readInFractionsFromFiles( Arrays.asList( csvFiles ) );
+    }
+
+    /**
+     * Reads the fractions of many CSV files at once, each file by an importer
+     * of its own so that the aliquot name read from one file is not taken
+     * for that of another.
+     *
+     * @param csvFiles
+     * @return the aliquot of each file in the order of csvFiles, with the
+     * files that could not be read and the rate they were read at
+     */
+    public BulkFileImporter.Report<ImportedAliquot> readInFractionsFromFiles ( List<File> csvFiles ) {
+        // made before the threads start as getInstance is not synchronized
+        ReduxLabData.getInstance();
+        BulkFileImporter.Report<ImportedAliquot> report
+                = BulkFileImporter.importFiles( csvFiles, (File file) -> {
+                    AbstractSampleImporterFromLegacyCSVFile importer = getClass().getDeclaredConstructor().newInstance();
+                    Vector<ETFractionInterface> fractions = importer.extractFractionsFromFile( file );
+                    return new ImportedAliquot( importer.getAliquotName(), fractions );
+                } );
+
+        if (  ! csvFiles.isEmpty() ) {
+            mruFolder = csvFiles.get( csvFiles.size() - 1 ).getParentFile();
+        }
+
+        return report;
+    }
+
     private File openCSVFile ( File location )
             throws FileNotFoundException {
         String dialogTitle = "Select a LEGACY CSV file to OPEN: *.csv";
@@ -91,6 +135,22 @@ public abstract class AbstractSampleImporterFromLegacyCSVFile {
         }
     }
 
+    private File[] openCSVFiles ( File location )
+            throws FileNotFoundException {
+        String dialogTitle = "Select one or more LEGACY CSV files to OPEN: *.csv";
+        final String fileExtension = ".csv";
+        FileFilter nonMacFileFilter = new LegacyDelimitedFileFilter(FileDelimiterTypesEnum.COMMA);
+
+        File[] returnFiles =
+                FileHelper.AllPlatformGetFile( dialogTitle, location, fileExtension, nonMacFileFilter, true, new JFrame() );
+
+        if ( (returnFiles.length > 0) && (returnFiles[0] != null) ) {
+            return returnFiles;
+        } else {
+            throw new FileNotFoundException();
+        }
+    }
+
     /**
      *
      * @param file
@@ -179,4 +239,33 @@ public abstract class AbstractSampleImporterFromLegacyCSVFile {
     public String getAliquotName () {
         return aliquotName;
     }
+
+    /**
+     * The fractions read from one CSV file and the name of the aliquot the
+     * importer gave them.
+     */
+    public static final class ImportedAliquot {
+
+        private final String aliquotName;
+        private final Vector<ETFractionInterface> fractions;
+
+        ImportedAliquot ( String aliquotName, Vector<ETFractionInterface> fractions ) {
+            this.aliquotName = aliquotName;
+            this.fractions = fractions;
+        }
+
+        /**
+         * @return the aliquotName
+         */
+        public String getAliquotName () {
+            return aliquotName;
+        }
+
+        /**
+         * @return the fractions
+         */
+        public Vector<ETFractionInterface> getFractions () {
+            return fractions;
+        }
+    }
 }
@@ -0,0 +1,268 @@
+/*
+ * BulkFileImporter.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.samples.sampleImporters;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parses many files at once on a pool of threads and hands back what each
+ * file gave in the order the files were listed, so that callers can merge the
+ * results into their samples and aliquots on their own thread exactly as a
+ * one-at-a-time import would. A file that cannot be parsed is recorded in the
+ * report with its reason and the import carries on with the rest.
+ *
+ * @author James F. Bowring
+ */
+public final class BulkFileImporter {
+
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+
+    private BulkFileImporter() {
+    }
+
+    /**
+     * Parses one file. Parsers run on many threads at once and so must not
+     * change anything shared without guarding it.
+     *
+     * @param <T> what a file is parsed into
+     */
+    @FunctionalInterface
+    public interface FileParser<T> {
+
+        /**
+         *
+         * @param file
+         * @return what file holds, or null if it holds nothing to import
+         * @throws Exception if file cannot be parsed
+         */
+        T parse(File file) throws Exception;
+    }
+
+    /**
+     * Parses files with one thread per available processor.
+     *
+     * @param <T>
+     * @param files
+     * @param parser
+     * @return the report of the import
+     */
+    public static <T> Report<T> importFiles(List<File> files, FileParser<T> parser) {
+        return importFiles(files, parser, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     *
+     * @param <T>
+     * @param files
+     * @param parser
+     * @param threadCount at most this many files are parsed at once
+     * @return the report of the import, with results in the order of files
+     */
+    public static <T> Report<T> importFiles(List<File> files, FileParser<T> parser, int threadCount) {
+        Report<T> report = new Report<>(files);
+        long start = System.nanoTime();
+
+        int threads = Math.min(Math.max(1, threadCount), files.size());
+        if (threads <= 1) {
+            for (File file : files) {
+                try {
+                    report.parsed(file, parser.parse(file));
+                } catch (Exception ex) {
+                    report.failed(file, ex);
+                }
+            }
+        } else {
+            ExecutorService pool = Executors.newFixedThreadPool(threads, (Runnable runnable) -> {
+                Thread thread = new Thread(runnable, "ET_Redux import " + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<T>> futures = new ArrayList<>(files.size());
+                for (File file : files) {
+                    futures.add(pool.submit(() -> parser.parse(file)));
+                }
+                for (int f = 0; f < files.size(); f++) {
+                    try {
+                        report.parsed(files.get(f), futures.get(f).get());
+                    } catch (ExecutionException ex) {
+                        report.failed(files.get(f), ex.getCause());
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        for (int rest = f; rest < files.size(); rest++) {
+                            futures.get(rest).cancel(true);
+                            report.failed(files.get(rest), ex);
+                        }
+                        break;
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    /**
+     *
+     * @param errors the reason each file failed
+     * @param maxErrorsListed how many of the failed files to name
+     * @return the failed files and their reasons, one per line
+     */
+    public static String describeErrors(Map<File, String> errors, int maxErrorsListed) {
+        StringBuilder description = new StringBuilder();
+        int listed = 0;
+        for (Map.Entry<File, String> error : errors.entrySet()) {
+            if (listed == maxErrorsListed) {
+                description.append("... and ").append(errors.size() - listed).append(" more\n");
+                break;
+            }
+            description.append(error.getKey().getName()).append(": ").append(error.getValue()).append("\n");
+            listed++;
+        }
+        return description.toString();
+    }
+
+    /**
+     * What an import parsed, what it could not and how fast it went.
+     *
+     * @param <T>
+     */
+    public static final class Report<T> {
+
+        private final List<File> files;
+        private final Map<File, T> results;
+        private final Map<File, String> errors;
+        private long bytesRead;
+        private long elapsedNanos;
+
+        private Report(List<File> files) {
+            this.files = Collections.unmodifiableList(new ArrayList<>(files));
+            this.results = new LinkedHashMap<>();
+            this.errors = new LinkedHashMap<>();
+            this.bytesRead = 0L;
+            this.elapsedNanos = 0L;
+        }
+
+        private void parsed(File file, T result) {
+            bytesRead += file.length();
+            if (result != null) {
+                results.put(file, result);
+            }
+        }
+
+        private void failed(File file, Throwable cause) {
+            bytesRead += file.length();
+            String reason = cause.getMessage();
+            if ((reason == null) || reason.trim().isEmpty()) {
+                reason = cause.getClass().getSimpleName();
+            }
+            errors.put(file, reason);
+        }
+
+        /**
+         * @return the files of the import, in the order they were given
+         */
+        public List<File> getFiles() {
+            return files;
+        }
+
+        /**
+         * @return what each file gave, in the order of the files and leaving
+         * out those that failed or held nothing
+         */
+        public Map<File, T> getResults() {
+            return Collections.unmodifiableMap(results);
+        }
+
+        /**
+         * @return the reason each failed file failed, in the order of the
+         * files
+         */
+        public Map<File, String> getErrors() {
+            return Collections.unmodifiableMap(errors);
+        }
+
+        /**
+         * @return true if any file failed
+         */
+        public boolean hasErrors() {
+            return !errors.isEmpty();
+        }
+
+        /**
+         * @return the size in bytes of all the files
+         */
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        /**
+         * @return the time taken to parse all the files
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return files parsed per second
+         */
+        public double getFilesPerSecond() {
+            return perSecond(files.size());
+        }
+
+        /**
+         * @return megabytes parsed per second
+         */
+        public double getMegabytesPerSecond() {
+            return perSecond(bytesRead / (1024.0 * 1024.0));
+        }
+
+        private double perSecond(double amount) {
+            return (elapsedNanos > 0L) ? amount * 1e9 / elapsedNanos : 0.0;
+        }
+
+        /**
+         * @param maxErrorsListed how many of the failed files to name
+         * @return the failed files and their reasons, one per line
+         */
+        public String describeErrors(int maxErrorsListed) {
+            return BulkFileImporter.describeErrors(errors, maxErrorsListed);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("imported %d of %d files (%.1f MB) in %.2f s: %.1f files/s, %.2f MB/s",
+                    files.size() - errors.size(), files.size(), bytesRead / (1024.0 * 1024.0),
+                    elapsedNanos / 1e9, getFilesPerSecond(), getMegabytesPerSecond());
+        }
+    }
+}
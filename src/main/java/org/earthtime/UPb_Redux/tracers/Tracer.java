@@ -50,6 +50,7 @@ import org.earthtime.ratioDataModels.tracers.TracerUPbModel;
 import org.earthtime.reduxLabData.ReduxLabDataListElementI;
 import org.earthtime.utilities.DateHelpers;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  * Deprecated June 2012.  Needed for compatibility with legacy serializations (archives).
@@ -792,9 +793,8 @@ public class Tracer implements
      * <code>XStream</code> - for XML serialization encoding
      */
     private XStream getXStreamWriter () {
-        XStream xstream = new XStream( new DomDriver() );
-
-        customizeXstream( xstream );
+        XStream xstream = XStreamRegistry.getXStream(getClass(), XStreamRegistry.WRITER, () -> new XStream(new DomDriver()), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -813,9 +813,8 @@ public class Tracer implements
      */
     private XStream getXStreamReader () {
 
-        XStream xstream = new XStream( new DomDriver() );
-
-        customizeXstream( xstream );
+        XStream xstream = XStreamRegistry.getXStreamReader(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
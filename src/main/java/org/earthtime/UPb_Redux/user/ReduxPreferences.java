@@ -23,6 +23,7 @@ package org.earthtime.UPb_Redux.user;
 import java.io.Serializable;
 import java.net.URI;
 import org.earthtime.UPb_Redux.ReduxConstants.ANALYSIS_PURPOSE;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction.DoublePrecisionDates;
 
 /**
  *
@@ -38,6 +39,9 @@ public class ReduxPreferences implements Serializable {
     private String geochronUserName;
     private String geochronPassWord;
     private ANALYSIS_PURPOSE defaultSampleAnalysisPurpose;
+    // opt-in double precision dates for live reduction
+    private boolean doublePrecisionInteractiveReduction;
+    private double doublePrecisionTolerance;
 
     /**
      * Creates a new instance of ReduxPreferences
@@ -52,6 +56,9 @@ public class ReduxPreferences implements Serializable {
         this.geochronPassWord = "longpassword";
 
         this.defaultSampleAnalysisPurpose = ANALYSIS_PURPOSE.NONE;
+
+        this.doublePrecisionInteractiveReduction = false;
+        this.doublePrecisionTolerance = DoublePrecisionDates.DEFAULT_TOLERANCE;
     }
 
     /**
@@ -135,4 +142,37 @@ public class ReduxPreferences implements Serializable {
     public void setDefaultSampleAnalysisPurpose(ANALYSIS_PURPOSE defaultSampleAnalysisPurpose) {
         this.defaultSampleAnalysisPurpose = defaultSampleAnalysisPurpose;
     }
+
+    /**
+     * @return the doublePrecisionInteractiveReduction
+     */
+    public boolean isDoublePrecisionInteractiveReduction() {
+        return doublePrecisionInteractiveReduction;
+    }
+
+    /**
+     * @param doublePrecisionInteractiveReduction the
+     * doublePrecisionInteractiveReduction to set
+     */
+    public void setDoublePrecisionInteractiveReduction(boolean doublePrecisionInteractiveReduction) {
+        this.doublePrecisionInteractiveReduction = doublePrecisionInteractiveReduction;
+    }
+
+    /**
+     * @return the doublePrecisionTolerance
+     */
+    public double getDoublePrecisionTolerance() {
+        // preferences saved before the tolerance existed read back as zero
+        if (doublePrecisionTolerance <= 0.0) {
+            doublePrecisionTolerance = DoublePrecisionDates.DEFAULT_TOLERANCE;
+        }
+        return doublePrecisionTolerance;
+    }
+
+    /**
+     * @param doublePrecisionTolerance the doublePrecisionTolerance to set
+     */
+    public void setDoublePrecisionTolerance(double doublePrecisionTolerance) {
+        this.doublePrecisionTolerance = doublePrecisionTolerance;
+    }
 }
@@ -0,0 +1,646 @@
+/*
+ * ETContainerSerializer.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.utilities;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.earthtime.Tripoli.dataModels.DataModelInterface;
+import org.earthtime.Tripoli.fractions.LazyRawRatios;
+import org.earthtime.Tripoli.fractions.TripoliFraction;
+import org.earthtime.UPb_Redux.utilities.ETSerializer.SerializationProgressListener;
+import org.earthtime.UPb_Redux.utilities.ETSerializer.UnclosableOutputStream;
+import org.earthtime.exceptions.ETException;
+
+/**
+ * Reads and writes projects and samples as a versioned container of
+ * sections in place of one Java serialized object graph. The raw ratios of
+ * each TripoliFraction, which hold its raw data and covariances, are written
+ * to a section of their own and read back only when the fraction first uses
+ * them, so that the project and its reports open without reading raw data.
+ * Everything else is written to the graph section. Objects that a raw ratios
+ * section shares with the graph, such as collector models, are written there
+ * as references into the graph.
+ *
+ * <p>
+ * The file is the magic bytes and format version, the sections, a table of
+ * section names, offsets, lengths, compression and CRC32, and last the
+ * offset of the table. Each section is verified against its CRC32 as it is
+ * read; containers of format 1 have none. Serialized .redux files are still read by ETSerializer and
+ * become containers when next saved.
+ *
+ * @author James F. Bowring
+ */
+public final class ETContainerSerializer {
+
+    private static final byte[] MAGIC = {'E', 'T', 'R', 'E', 'D', 'U', 'X', 'C'};
+    /**
+     * the container format written by this version of ET_Redux
+     */
+    public static final int FORMAT_VERSION = 2;
+    private static final int FIRST_FORMAT_WITH_CHECKSUMS = 2;
+    private static final String GRAPH_SECTION = "graph";
+    private static final String RAW_RATIOS_SECTION_PREFIX = "rawRatios:";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Creates a new instance of ETContainerSerializer
+     */
+    private ETContainerSerializer() {
+    }
+
+    /**
+     *
+     * @param file
+     * @return true if file begins with the container magic bytes
+     */
+    public static boolean isContainerFile(File file) {
+        byte[] leading = new byte[MAGIC.length];
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            in.readFully(leading);
+        } catch (IOException ex) {
+            return false;
+        }
+        return Arrays.equals(leading, MAGIC);
+    }
+
+    /**
+     * Writes o to filename as a container, by way of a temporary file in the
+     * same folder that replaces filename once complete. Raw ratios not yet
+     * read from an earlier container are read first.
+     *
+     * @param o
+     * @param filename
+     * @param compress true to deflate each section
+     * @throws org.earthtime.exceptions.ETException
+     */
+    public static void SerializeObjectToContainerFile(Object o, String filename, boolean compress) throws ETException {
+        SerializeObjectToContainerFile(o, filename, compress, null);
+    }
+
+    /**
+     *
+     * @param o
+     * @param filename
+     * @param compress true to deflate each section
+     * @param listener may be null
+     * @throws org.earthtime.exceptions.ETException
+     */
+    public static void SerializeObjectToContainerFile(final Object o, String filename, final boolean compress, SerializationProgressListener listener) throws ETException {
+        try {
+            // sections carry their own checksums, so no footer
+            ETSerializer.writeFileAtomically(new File(filename), listener, false, (OutputStream out) -> {
+                CountingOutputStream counted = new CountingOutputStream(out);
+                new ContainerWriter(counted, compress).write(o);
+                counted.flush();
+            });
+        } catch (IOException | RuntimeException ex) {
+            throw new ETException(null, "Cannot serialize to: " + filename + "\n" + ex.getMessage());
+        }
+    }
+
+    /**
+     * Reads the graph section of a container. The raw ratios of its fractions
+     * are read from the file when first used, so the file must stay in place
+     * until then or until the object is saved again. A file that has been
+     * moved, deleted or changed since is reported when its raw ratios are
+     * first used, before any of them is read.
+     *
+     * @param filename
+     * @return the object
+     * @throws org.earthtime.exceptions.ETException
+     */
+    public static Object GetObjectFromContainerFile(String filename) throws ETException {
+        return GetObjectFromContainerFile(filename, null);
+    }
+
+    /**
+     *
+     * @param filename
+     * @param listener told of the bytes of the graph section read, or null
+     * @return the object
+     * @throws org.earthtime.exceptions.ETException
+     */
+    public static Object GetObjectFromContainerFile(String filename, SerializationProgressListener listener) throws ETException {
+        try {
+            return new ContainerReader(new File(filename)).readGraph(listener);
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new ETException(null, "Cannot read container: " + filename + "\n" + ex.getMessage());
+        }
+    }
+
+    /**
+     * Converts a serialized .redux file to a container.
+     *
+     * @param serializedFilename
+     * @param containerFilename
+     * @param compress
+     * @throws org.earthtime.exceptions.ETException
+     */
+    public static void ConvertSerializedFileToContainerFile(String serializedFilename, String containerFilename, boolean compress) throws ETException {
+        Object o = ETSerializer.GetSerializedObjectFromFile(serializedFilename);
+        if (o == null) {
+            throw new ETException(null, "Cannot read: " + serializedFilename);
+        }
+        SerializeObjectToContainerFile(o, containerFilename, compress);
+    }
+
+    /**
+     *
+     * @param args the serialized .redux file and the container file to write
+     * @throws Exception
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.out.println("usage: ETContainerSerializer <serialized .redux file> <container file>");
+            return;
+        }
+        ConvertSerializedFileToContainerFile(args[0], args[1], true);
+    }
+
+    /**
+     * stands in the graph section for the raw ratios written to a section
+     */
+    private static final class RawRatiosSectionReference implements Serializable {
+
+        private static final long serialVersionUID = 4471805223307781964L;
+        private final int sectionIndex;
+
+        RawRatiosSectionReference(int sectionIndex) {
+            this.sectionIndex = sectionIndex;
+        }
+    }
+
+    /**
+     * stands in a raw ratios section for an object of the graph section
+     */
+    private static final class GraphObjectReference implements Serializable {
+
+        private static final long serialVersionUID = -5904518035733719335L;
+        private final int sharedIndex;
+
+        GraphObjectReference(int sharedIndex) {
+            this.sharedIndex = sharedIndex;
+        }
+    }
+
+    private static final class SectionEntry {
+
+        private final String name;
+        private final long offset;
+        private final long length;
+        private final boolean deflated;
+        // -1 for sections of format 1
+        private final long crc;
+
+        SectionEntry(String name, long offset, long length, boolean deflated, long crc) {
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+            this.deflated = deflated;
+            this.crc = crc;
+        }
+    }
+
+    private static boolean isValueObject(Object obj) {
+        return (obj instanceof String) || (obj instanceof Enum) || (obj instanceof Number)//
+                || (obj instanceof Boolean) || (obj instanceof Character);
+    }
+
+    private static final class ContainerWriter {
+
+        private final CountingOutputStream out;
+        private final boolean compress;
+        private final List<SectionEntry> sections;
+        // every object written to the graph section
+        private final Map<Object, Boolean> graphObjects;
+        // raw ratios sets by identity to the IDs of their fractions, once the fraction is written
+        private final Map<Object, String> fractionRawRatios;
+        private final List<SortedSet<DataModelInterface>> pendingRawRatios;
+        private final List<String> pendingFractionIDs;
+        private final Map<Object, Integer> sharedIndexes;
+        private final List<Object> sharedObjects;
+
+        ContainerWriter(CountingOutputStream out, boolean compress) {
+            this.out = out;
+            this.compress = compress;
+            this.sections = new ArrayList<>();
+            this.graphObjects = new IdentityHashMap<>();
+            this.fractionRawRatios = new IdentityHashMap<>();
+            this.pendingRawRatios = new ArrayList<>();
+            this.pendingFractionIDs = new ArrayList<>();
+            this.sharedIndexes = new IdentityHashMap<>();
+            this.sharedObjects = new ArrayList<>();
+        }
+
+        void write(Object o) throws IOException {
+            out.write(MAGIC);
+            DataOutputStream header = new DataOutputStream(out);
+            header.writeInt(FORMAT_VERSION);
+
+            // the graph is held in memory until the shared objects are known,
+            // then written after the raw ratios sections; sections 0..n-1 are raw ratios
+            ByteArrayOutputStream graphBytes = new ByteArrayOutputStream(BUFFER_SIZE);
+            try (ObjectOutputStream graphStream = new GraphOutputStream(graphBytes)) {
+                graphStream.writeObject(o);
+
+                for (int i = 0; i < pendingRawRatios.size(); i++) {
+                    final SortedSet<DataModelInterface> rawRatios = pendingRawRatios.get(i);
+                    writeSection(RAW_RATIOS_SECTION_PREFIX + pendingFractionIDs.get(i), (sectionOut) -> {
+                        try (ObjectOutputStream rawRatiosStream = new RawRatiosOutputStream(sectionOut)) {
+                            rawRatiosStream.writeObject(rawRatios);
+                        }
+                    });
+                }
+
+                // back references to the graph objects used by the sections, in index order
+                graphStream.writeObject(sharedObjects);
+            }
+
+            writeSection(GRAPH_SECTION, (sectionOut) -> graphBytes.writeTo(sectionOut));
+
+            long tableOffset = out.getCount();
+            DataOutputStream table = new DataOutputStream(out);
+            table.writeInt(sections.size());
+            for (SectionEntry section : sections) {
+                table.writeUTF(section.name);
+                table.writeLong(section.offset);
+                table.writeLong(section.length);
+                table.writeBoolean(section.deflated);
+                table.writeLong(section.crc);
+            }
+            table.writeLong(tableOffset);
+            table.flush();
+        }
+
+        private void writeSection(String name, SectionBody body) throws IOException {
+            long offset = out.getCount();
+            // over the bytes as stored
+            CRC32 crc = new CRC32();
+            OutputStream checked = new CheckedOutputStream(new UnclosableOutputStream(out), crc);
+            if (compress) {
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try {
+                    DeflaterOutputStream deflated = new DeflaterOutputStream(checked, deflater, BUFFER_SIZE);
+                    body.write(new UnclosableOutputStream(deflated));
+                    deflated.finish();
+                } finally {
+                    deflater.end();
+                }
+            } else {
+                body.write(new UnclosableOutputStream(checked));
+            }
+            checked.flush();
+            sections.add(new SectionEntry(name, offset, out.getCount() - offset, compress, crc.getValue()));
+        }
+
+        private final class GraphOutputStream extends ObjectOutputStream {
+
+            GraphOutputStream(OutputStream out) throws IOException {
+                super(out);
+                enableReplaceObject(true);
+            }
+
+            @Override
+            protected Object replaceObject(Object obj) throws IOException {
+                Object replacement = obj;
+                if (obj instanceof TripoliFraction) {
+                    // its rawRatios field is written next
+                    SortedSet<DataModelInterface> rawRatios = ((TripoliFraction) obj).getRawRatios();
+                    if (rawRatios != null) {
+                        rawRatios = LazyRawRatios.unwrap(rawRatios);
+                        // a set already in the graph, e.g. via its mass spec, stays there
+                        if (!graphObjects.containsKey(rawRatios)) {
+                            fractionRawRatios.put(rawRatios, ((TripoliFraction) obj).getFractionID());
+                        }
+                    }
+                } else if (fractionRawRatios.containsKey(obj)) {
+                    replacement = new RawRatiosSectionReference(pendingRawRatios.size());
+                    pendingFractionIDs.add(fractionRawRatios.remove(obj));
+                    @SuppressWarnings("unchecked")
+                    SortedSet<DataModelInterface> rawRatios = (SortedSet<DataModelInterface>) obj;
+                    pendingRawRatios.add(rawRatios);
+                }
+
+                if (replacement == obj) {
+                    graphObjects.put(obj, Boolean.TRUE);
+                }
+                return replacement;
+            }
+        }
+
+        private final class RawRatiosOutputStream extends ObjectOutputStream {
+
+            RawRatiosOutputStream(OutputStream out) throws IOException {
+                super(out);
+                enableReplaceObject(true);
+            }
+
+            @Override
+            protected Object replaceObject(Object obj) throws IOException {
+                if (isValueObject(obj) || !graphObjects.containsKey(obj)) {
+                    return obj;
+                }
+                Integer sharedIndex = sharedIndexes.get(obj);
+                if (sharedIndex == null) {
+                    sharedIndex = sharedObjects.size();
+                    sharedIndexes.put(obj, sharedIndex);
+                    sharedObjects.add(obj);
+                }
+                return new GraphObjectReference(sharedIndex);
+            }
+        }
+    }
+
+    private interface SectionBody {
+
+        void write(OutputStream sectionOut) throws IOException;
+    }
+
+    private static final class ContainerReader {
+
+        private final File file;
+        private final List<SectionEntry> sections;
+        private final boolean hasChecksums;
+        // of the file as opened, to tell if it has changed before a section is read
+        private final long fileLength;
+        private final long tableChecksum;
+        private List<?> sharedObjects;
+
+        ContainerReader(File file) throws IOException {
+            this.file = file;
+            this.sections = new ArrayList<>();
+
+            try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+                byte[] leading = new byte[MAGIC.length];
+                in.readFully(leading);
+                if (!Arrays.equals(leading, MAGIC)) {
+                    throw new IOException("not an ET_Redux container");
+                }
+                int version = in.readInt();
+                if (version > FORMAT_VERSION) {
+                    throw new IOException("container format " + version + " is newer than this version of ET_Redux");
+                }
+                hasChecksums = version >= FIRST_FORMAT_WITH_CHECKSUMS;
+
+                fileLength = in.length();
+                long tableOffset = readTableOffset(in);
+                tableChecksum = checksumTable(in, tableOffset);
+                in.seek(tableOffset);
+                int sectionCount = in.readInt();
+                for (int i = 0; i < sectionCount; i++) {
+                    sections.add(new SectionEntry(in.readUTF(), in.readLong(), in.readLong(), in.readBoolean(), //
+                            hasChecksums ? in.readLong() : -1L));
+                }
+            }
+        }
+
+        Object readGraph(SerializationProgressListener listener) throws IOException, ClassNotFoundException {
+            if (sections.isEmpty() || !GRAPH_SECTION.equals(sections.get(sections.size() - 1).name)) {
+                throw new IOException("container has no graph section");
+            }
+            SectionEntry graphSection = sections.get(sections.size() - 1);
+            try (CheckedSection section = new CheckedSection(graphSection, listener);//
+                    ObjectInputStream graphStream = new GraphInputStream(section.content)) {
+                Object o = graphStream.readObject();
+                sharedObjects = (List<?>) graphStream.readObject();
+                section.verify();
+                return o;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        SortedSet<DataModelInterface> readRawRatios(int sectionIndex) throws IOException {
+            checkUnchanged();
+            try (CheckedSection section = new CheckedSection(sections.get(sectionIndex), null);//
+                    ObjectInputStream rawRatiosStream = new RawRatiosInputStream(section.content)) {
+                SortedSet<DataModelInterface> rawRatios = (SortedSet<DataModelInterface>) rawRatiosStream.readObject();
+                section.verify();
+                return rawRatios;
+            } catch (ClassNotFoundException ex) {
+                throw new IOException(ex.getMessage(), ex);
+            }
+        }
+
+        /**
+         * Checks that the file is the one opened, by its length and the CRC32
+         * of its section table, so that sections are not read from a file
+         * that has since been moved, deleted or written over.
+         *
+         * @throws IOException if the file has changed
+         */
+        private void checkUnchanged() throws IOException {
+            boolean unchanged = false;
+            if (file.isFile() && (file.length() == fileLength)) {
+                try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+                    unchanged = (checksumTable(in, readTableOffset(in)) == tableChecksum);
+                } catch (IOException ex) {
+                    unchanged = false;
+                }
+            }
+            if (!unchanged) {
+                throw new IOException(file.getPath() + " has been moved, deleted or changed since it was opened,"
+                        + " so its raw data cannot be read; open it again");
+            }
+        }
+
+        /**
+         * the stored bytes of a section, checked against its CRC32 once read
+         */
+        private final class CheckedSection implements AutoCloseable {
+
+            private final SectionEntry section;
+            private final CheckedInputStream stored;
+            private final InputStream content;
+
+            CheckedSection(SectionEntry section, SerializationProgressListener listener) throws IOException {
+                this.section = section;
+                RandomAccessFile in = new RandomAccessFile(file, "r");
+                in.seek(section.offset);
+                this.stored = new CheckedInputStream(new ETSerializer.ProgressInputStream(//
+                        new BufferedInputStream(new SectionInputStream(in, section.length), BUFFER_SIZE), listener, section.length),
+                        new CRC32());
+                this.content = section.deflated ? new InflaterInputStream(stored) : stored;
+            }
+
+            void verify() throws IOException {
+                if (hasChecksums) {
+                    // an inflater may stop short of the end of the section
+                    byte[] rest = new byte[BUFFER_SIZE];
+                    while (stored.read(rest) >= 0) {
+                    }
+                    if (stored.getChecksum().getValue() != section.crc) {
+                        throw new IOException("section " + section.name + " is damaged");
+                    }
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                content.close();
+            }
+        }
+
+        private final class GraphInputStream extends ObjectInputStream {
+
+            GraphInputStream(InputStream in) throws IOException {
+                super(in);
+                enableResolveObject(true);
+            }
+
+            @Override
+            protected Object resolveObject(Object obj) throws IOException {
+                if (obj instanceof RawRatiosSectionReference) {
+                    final int sectionIndex = ((RawRatiosSectionReference) obj).sectionIndex;
+                    return new LazyRawRatios(() -> readRawRatios(sectionIndex));
+                }
+                return obj;
+            }
+        }
+
+        private final class RawRatiosInputStream extends ObjectInputStream {
+
+            RawRatiosInputStream(InputStream in) throws IOException {
+                super(in);
+                enableResolveObject(true);
+            }
+
+            @Override
+            protected Object resolveObject(Object obj) throws IOException {
+                if (obj instanceof GraphObjectReference) {
+                    return sharedObjects.get(((GraphObjectReference) obj).sharedIndex);
+                }
+                return obj;
+            }
+        }
+    }
+
+    private static long readTableOffset(RandomAccessFile in) throws IOException {
+        in.seek(in.length() - Long.BYTES);
+        long tableOffset = in.readLong();
+        if ((tableOffset < MAGIC.length) || (tableOffset > in.length() - Long.BYTES)) {
+            throw new IOException("container is damaged");
+        }
+        return tableOffset;
+    }
+
+    /**
+     * @return the CRC32 of the section table and the table offset after it
+     */
+    private static long checksumTable(RandomAccessFile in, long tableOffset) throws IOException {
+        byte[] table = new byte[(int) (in.length() - tableOffset)];
+        in.seek(tableOffset);
+        in.readFully(table);
+        CRC32 crc = new CRC32();
+        crc.update(table);
+        return crc.getValue();
+    }
+
+    /**
+     * reads length bytes of a file from its current position and closes it
+     */
+    private static final class SectionInputStream extends InputStream {
+
+        private final RandomAccessFile in;
+        private long remaining;
+
+        SectionInputStream(RandomAccessFile in, long length) {
+            this.in = in;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int count = in.read(b, off, (int) Math.min(len, remaining));
+            if (count > 0) {
+                remaining -= count;
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+            this.count = 0;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -1,96 +1,563 @@
-/*
- * ETSerializer.java
- *
- * Created on April 11, 2006, 8:09 PM
- *
- *
- * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
- *
- *  Licensed under the Apache License, Version 2.0 (the "License");
- *  you may not use this file except in compliance with the License.
- *  You may obtain a copy of the License at
- *
- *      http://www.apache.org/licenses/LICENSE-2.0
- *
- *  Unless required by applicable law or agreed to in writing, software
- *  distributed under the License is distributed on an "AS IS" BASIS,
- *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- *  See the License for the specific language governing permissions and
- *  limitations under the License.
- */
-package org.earthtime.UPb_Redux.utilities;
-
-import java.io.*;
-import javax.swing.JOptionPane;
-import org.earthtime.UPb_Redux.user.ReduxPersistentState;
-import org.earthtime.exceptions.ETException;
-import org.earthtime.reduxLabData.ReduxLabData;
-
-/**
- *
- * @author James F. Bowring
- */
-public final class ETSerializer {
-
-    /**
-     * Creates a new instance of ETSerializer
-     */
-    public ETSerializer() {
-    }
-
-    /**
-     *
-     * @param o
-     * @param filename
-     * @throws org.earthtime.exceptions.ETException
-     */
-    public static void SerializeObjectToFile(Object o, String filename) throws ETException {
-        try {
-            // Serialize to a file
-            FileOutputStream out = new FileOutputStream(filename);
-            try (ObjectOutputStream s = new ObjectOutputStream(out)) {
-                s.writeObject(o);
-                s.flush();
-            }
-
-        } catch (FileNotFoundException ex) {
-            throw new ETException(null, "Cannot serialize to: " + filename);
-        } catch (IOException ex) {
-            throw new ETException(null, "Cannot serialize to: " + filename);
-        }
-    }
-
-    /**
-     *
-     * @param filename
-     * @return
-     */
-    public static Object GetSerializedObjectFromFile(String filename) {
-        FileInputStream in;
-        ObjectInputStream s;
-        Object o = null;
-
-        try {
-            in = new FileInputStream(filename);
-            s = new ObjectInputStream(in);
-            o = s.readObject();
-        } catch (FileNotFoundException ex) {
-            if ((!filename.endsWith(ReduxLabData.getLabDataFileName()))&& (!filename.endsWith(ReduxPersistentState.getPersistentStateFileName()))) {
-                JOptionPane.showMessageDialog(null,
-                        new String[]{"The file you are attempting to open does not exist:\n"
-                            + " " + filename //,
-                    });
-            }
-        } 
-        catch (IOException | ClassNotFoundException ex) {
-            JOptionPane.showMessageDialog(null,
-                    new String[]{"The file you are attempting to open is not compatible with this version of ET_Redux."//,
-                    });
-            
-            System.out.println( ex.getMessage());
-        }
-
-        return o;
-    }
-
-}
+/*
+ * ETSerializer.java
+ *
+ * Created on April 11, 2006, 8:09 PM
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.utilities;
+
+import java.awt.Dialog;
+import java.awt.Dimension;
+import java.awt.KeyboardFocusManager;
+import java.awt.Window;
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import javax.swing.JDialog;
+import javax.swing.JOptionPane;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.WindowConstants;
+import org.earthtime.UPb_Redux.user.ReduxPersistentState;
+import org.earthtime.exceptions.ETException;
+import org.earthtime.reduxLabData.ReduxLabData;
+
+/**
+ * Writes and reads serialized files. Files are written through large
+ * buffers to a temporary file in the same folder that then replaces the
+ * target, so that a failed save leaves the previous file intact. Serialized
+ * files end with a footer holding their length and CRC32, verified when
+ * read; files written before the footer are read as before. Saves may be
+ * queued to a background thread so that the interface does not wait on them;
+ * ET_Redux waits for queued saves before it exits.
+ *
+ * @author James F. Bowring
+ */
+public final class ETSerializer {
+
+    static final int BUFFER_SIZE = 1 << 20;
+    // reported every 1 MB
+    private static final long PROGRESS_INTERVAL = 1 << 20;
+    private static final byte[] FOOTER_MAGIC = {'E', 'T', 'C', 'R', 'C', '3', '2', '\n'};
+    private static final int FOOTER_SIZE = FOOTER_MAGIC.length + 2 * Long.BYTES;
+
+    // one thread, so that saves of the same file happen in the order queued;
+    // not a daemon, so that a save under way is not cut short when the JVM
+    // ends, and let go when idle, so that it does not keep the JVM running
+    private static final ExecutorService backgroundSaver = createBackgroundSaver();
+
+    private static ExecutorService createBackgroundSaver() {
+        ThreadPoolExecutor saver = new ThreadPoolExecutor(1, 1, 5L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), //
+                (Runnable r) -> new Thread(r, "ET_Redux background save"));
+        saver.allowCoreThreadTimeOut(true);
+        return saver;
+    }
+
+    /**
+     * Receives the count of bytes written or read so far.
+     */
+    public interface SerializationProgressListener {
+
+        /**
+         *
+         * @param bytes
+         * @param totalBytes or -1 if not known
+         */
+        void bytesTransferred(long bytes, long totalBytes);
+    }
+
+    /**
+     * A save to be run in the background.
+     */
+    public interface SerializationTask {
+
+        /**
+         *
+         * @throws ETException
+         */
+        void serialize() throws ETException;
+    }
+
+    /**
+     * A save to be run in the background that reports its progress.
+     */
+    public interface MonitoredSerializationTask {
+
+        /**
+         *
+         * @param listener
+         * @throws ETException
+         */
+        void serialize(SerializationProgressListener listener) throws ETException;
+    }
+
+    interface StreamWriter {
+
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Creates a new instance of ETSerializer
+     */
+    public ETSerializer() {
+    }
+
+    /**
+     *
+     * @param o
+     * @param filename
+     * @throws org.earthtime.exceptions.ETException
+     */
+    public static void SerializeObjectToFile(Object o, String filename) throws ETException {
+        SerializeObjectToFile(o, filename, null);
+    }
+
+    /**
+     *
+     * @param o
+     * @param filename
+     * @param listener may be null
+     * @throws org.earthtime.exceptions.ETException
+     */
+    public static void SerializeObjectToFile(final Object o, String filename, SerializationProgressListener listener) throws ETException {
+        try {
+            writeFileAtomically(new File(filename), listener, true, (OutputStream out) -> {
+                ObjectOutputStream s = new ObjectOutputStream(out);
+                s.writeObject(o);
+                s.flush();
+            });
+        } catch (IOException | RuntimeException ex) {
+            throw new ETException(null, "Cannot serialize to: " + filename);
+        }
+    }
+
+    /**
+     * Writes file by way of a temporary file in its folder, synced to disk
+     * before it replaces file.
+     *
+     * @param file
+     * @param listener may be null
+     * @param withFooter true to append the length and CRC32 footer
+     * @param body writes the content
+     * @throws IOException
+     */
+    static void writeFileAtomically(File file, SerializationProgressListener listener, boolean withFooter, StreamWriter body) throws IOException {
+        File folder = file.getAbsoluteFile().getParentFile();
+        File tempFile = File.createTempFile(file.getName() + ".", ".saving", folder);
+        try {
+            try (FileOutputStream fileOut = new FileOutputStream(tempFile)) {
+                ProgressOutputStream counted = new ProgressOutputStream(new BufferedOutputStream(fileOut, BUFFER_SIZE), listener);
+                CRC32 crc = new CRC32();
+                body.write(new UnclosableOutputStream(new CheckedOutputStream(counted, crc)));
+
+                if (withFooter) {
+                    long length = counted.getCount();
+                    DataOutputStream footer = new DataOutputStream(counted);
+                    footer.write(FOOTER_MAGIC);
+                    footer.writeLong(length);
+                    footer.writeLong(crc.getValue());
+                }
+                counted.flush();
+                fileOut.getFD().sync();
+            }
+
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Queues task to the background save thread. Saves run one at a time in
+     * the order queued.
+     *
+     * @param task
+     * @param whenFailed run on the event dispatch thread if task fails, or
+     * null
+     * @return the queued save
+     */
+    public static Future<?> SerializeInBackground(final SerializationTask task, final Consumer<ETException> whenFailed) {
+        return backgroundSaver.submit(() -> {
+            ETException failure = null;
+            try {
+                task.serialize();
+            } catch (ETException ex) {
+                failure = ex;
+            } catch (RuntimeException ex) {
+                // e.g. the graph was changed while being written; the previous file is intact
+                failure = new ETException(null, "Background save failed: " + ex.getMessage());
+            }
+            if ((failure != null) && (whenFailed != null)) {
+                final ETException reported = failure;
+                SwingUtilities.invokeLater(() -> whenFailed.accept(reported));
+            }
+        });
+    }
+
+    /**
+     * Queues task to the background save thread and waits for it to end. On
+     * the event dispatch thread the wait is a modal dialog showing the bytes
+     * written, so that the interface repaints but cannot change what task is
+     * writing.
+     *
+     * @param title of the dialog
+     * @param task
+     * @param whenFailed run on the event dispatch thread if task fails, or
+     * null
+     */
+    public static void SerializeInBackgroundAndWait(String title, final MonitoredSerializationTask task, final Consumer<ETException> whenFailed) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            awaitSave(SerializeInBackground(() -> task.serialize(null), whenFailed));
+            return;
+        }
+
+        Window owner = KeyboardFocusManager.getCurrentKeyboardFocusManager().getActiveWindow();
+        final JDialog waitDialog = new JDialog(owner, title, Dialog.ModalityType.APPLICATION_MODAL);
+        waitDialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        final JProgressBar progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
+        progressBar.setPreferredSize(new Dimension(320, 24));
+        waitDialog.getContentPane().add(progressBar);
+        waitDialog.pack();
+        waitDialog.setLocationRelativeTo(owner);
+
+        final SerializationProgressListener listener = onEventDispatchThread(//
+                (long bytes, long totalBytes) -> progressBar.setString((bytes >> 20) + " MB written"));
+        // the dialog is closed before any failure is reported
+        SerializeInBackground(() -> {
+            try {
+                task.serialize(listener);
+            } finally {
+                SwingUtilities.invokeLater(waitDialog::dispose);
+            }
+        }, whenFailed);
+        // returns once the save has ended; events queued here run meanwhile
+        waitDialog.setVisible(true);
+    }
+
+    private static void awaitSave(Future<?> save) {
+        try {
+            save.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            // failures are reported by the save itself
+        }
+    }
+
+    /**
+     * Waits for the saves queued before this call to end, so that a save on
+     * the calling thread is not overwritten by an older one and ET_Redux does
+     * not exit with a save under way.
+     */
+    public static void AwaitBackgroundSaves() {
+        awaitSave(backgroundSaver.submit(() -> {
+        }));
+    }
+
+    /**
+     *
+     * @param listener
+     * @return a listener that passes progress to listener on the event
+     * dispatch thread
+     */
+    public static SerializationProgressListener onEventDispatchThread(final SerializationProgressListener listener) {
+        return (long bytes, long totalBytes) -> SwingUtilities.invokeLater(() -> listener.bytesTransferred(bytes, totalBytes));
+    }
+
+    /**
+     * Reads a serialized file or container, verifying its footer or section
+     * checksums where present. Shows no dialogs.
+     *
+     * @param filename
+     * @param listener may be null
+     * @return the object
+     * @throws org.earthtime.exceptions.ETException if the file is missing,
+     * damaged or not compatible
+     */
+    public static Object readSerializedObjectFromFile(String filename, SerializationProgressListener listener) throws ETException {
+        File file = new File(filename);
+
+        // oct 2026 projects and samples are now saved as containers
+        if (ETContainerSerializer.isContainerFile(file)) {
+            return ETContainerSerializer.GetObjectFromContainerFile(filename, listener);
+        }
+
+        long fileLength = file.length();
+        long contentLength = fileLength;
+        boolean hasFooter = false;
+        long expectedCrc = 0L;
+        Object o;
+
+        try {
+            if (fileLength >= FOOTER_SIZE) {
+                try (RandomAccessFile footer = new RandomAccessFile(file, "r")) {
+                    footer.seek(fileLength - FOOTER_SIZE);
+                    byte[] magic = new byte[FOOTER_MAGIC.length];
+                    footer.readFully(magic);
+                    if (Arrays.equals(magic, FOOTER_MAGIC)) {
+                        hasFooter = true;
+                        contentLength = footer.readLong();
+                        expectedCrc = footer.readLong();
+                        if (contentLength != fileLength - FOOTER_SIZE) {
+                            throw new ETException(null, "The file is damaged: " + filename);
+                        }
+                    }
+                }
+            }
+
+            try (InputStream in = new FileInputStream(file)) {
+                CheckedInputStream checked = new CheckedInputStream(//
+                        new ProgressInputStream(new BufferedInputStream(new LimitedInputStream(in, contentLength), BUFFER_SIZE), listener, fileLength),
+                        new CRC32());
+                ObjectInputStream s = new ObjectInputStream(checked);
+                o = s.readObject();
+
+                if (hasFooter) {
+                    byte[] rest = new byte[8192];
+                    while (checked.read(rest) >= 0) {
+                    }
+                    if (checked.getChecksum().getValue() != expectedCrc) {
+                        throw new ETException(null, "The file is damaged: " + filename);
+                    }
+                }
+            }
+        } catch (FileNotFoundException ex) {
+            throw new ETException(null, "The file does not exist: " + filename);
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new ETException(null, "The file is not compatible: " + filename + "\n" + ex.getMessage());
+        }
+
+        return o;
+    }
+
+    /**
+     *
+     * @param filename
+     * @return
+     */
+    public static Object GetSerializedObjectFromFile(String filename) {
+        Object o = null;
+
+        if (!new File(filename).exists()) {
+            if ((!filename.endsWith(ReduxLabData.getLabDataFileName())) && (!filename.endsWith(ReduxPersistentState.getPersistentStateFileName()))) {
+                JOptionPane.showMessageDialog(null,
+                        new String[]{"The file you are attempting to open does not exist:\n"
+                            + " " + filename //,
+                        });
+            }
+            return o;
+        }
+
+        try {
+            o = readSerializedObjectFromFile(filename, null);
+        } catch (ETException ex) {
+            JOptionPane.showMessageDialog(null,
+                    new String[]{"The file you are attempting to open is damaged or not compatible with this version of ET_Redux."//,
+                    });
+
+            System.out.println(ex.getMessage());
+        }
+
+        return o;
+    }
+
+    /**
+     * counts bytes written and reports them every PROGRESS_INTERVAL
+     */
+    static final class ProgressOutputStream extends FilterOutputStream {
+
+        private final SerializationProgressListener listener;
+        private long count;
+        private long nextReport;
+
+        ProgressOutputStream(OutputStream out, SerializationProgressListener listener) {
+            super(out);
+            this.listener = listener;
+            this.count = 0;
+            this.nextReport = PROGRESS_INTERVAL;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            counted(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            counted(len);
+        }
+
+        private void counted(int len) {
+            count += len;
+            if ((listener != null) && (count >= nextReport)) {
+                nextReport = count + PROGRESS_INTERVAL;
+                listener.bytesTransferred(count, -1);
+            }
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * reports bytes read every PROGRESS_INTERVAL
+     */
+    static final class ProgressInputStream extends FilterInputStream {
+
+        private final SerializationProgressListener listener;
+        private final long totalBytes;
+        private long count;
+        private long nextReport;
+
+        ProgressInputStream(InputStream in, SerializationProgressListener listener, long totalBytes) {
+            super(in);
+            this.listener = listener;
+            this.totalBytes = totalBytes;
+            this.count = 0;
+            this.nextReport = PROGRESS_INTERVAL;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                counted(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                counted(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        private void counted(int len) {
+            count += len;
+            if ((listener != null) && (count >= nextReport)) {
+                nextReport = count + PROGRESS_INTERVAL;
+                listener.bytesTransferred(count, totalBytes);
+            }
+        }
+    }
+
+    /**
+     * reads no more than length bytes
+     */
+    static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(in.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    /**
+     * keeps the streams of a body from closing the file
+     */
+    static final class UnclosableOutputStream extends FilterOutputStream {
+
+        UnclosableOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * CorrelatedWeightedMean.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.valueModels;
+
+import Jama.Matrix;
+import java.util.Arrays;
+import org.earthtime.Tripoli.fitFunctions.CovarianceFactorization;
+
+/**
+ * Weighted mean, its one-sigma and MSWD of correlated values x with
+ * covariance matrix S, for a chosen subset of the values (the active
+ * fractions of a date interpretation):
+ *
+ * mean = 1'S^-1x / 1'S^-1 1, sigma = sqrt(1 / 1'S^-1 1) and MSWD = r'S^-1r /
+ * (n - 1) where r = x - mean.
+ *
+ * S of the active subset is factored once by a CovarianceFactorization into
+ * its inverse, from which all three follow. The
+ * sigma with a constant c added to every covariance, S + c11', follows from
+ * Sherman-Morrison as sqrt((1 + c 1'S^-1 1) / 1'S^-1 1) without another
+ * factoring. Adding or removing one value updates the inverse in O(n^2) by
+ * its Schur complement, so toggling a fraction in or out of an
+ * interpretation costs no factoring. With no active values there is no mean
+ * and every result is NaN.
+ *
+ * @author James F. Bowring
+ */
+public class CorrelatedWeightedMean {
+
+    // rank-one updates between factorings, to bound accumulated rounding
+    private static final int MAX_UPDATES_BEFORE_FACTORING = 64;
+
+    private final Matrix covariance;
+    private final Matrix values;
+    private final double[][] cellsS;
+    private final double[] cellsX;
+    // indices into covariance and values of the active values, and the
+    // inverse of their covariance in the same order
+    private int[] activeIndices;
+    private double[][] inverse;
+    private int countOfUpdatesSinceFactoring;
+    private int countOfFactorings;
+    // 1'S^-1 1 and 1'S^-1 x
+    private double sumOfInverse;
+    private double sumOfInverseTimesX;
+
+    /**
+     *
+     * @param covariance of all the values, square
+     * @param values column vector of all the values
+     */
+    public CorrelatedWeightedMean(Matrix covariance, Matrix values) {
+        this.covariance = covariance;
+        this.values = values;
+        this.cellsS = covariance.getArray();
+        this.cellsX = new double[values.getRowDimension()];
+        for (int i = 0; i < cellsX.length; i++) {
+            cellsX[i] = values.get(i, 0);
+        }
+        this.activeIndices = null;
+        this.inverse = null;
+        this.countOfUpdatesSinceFactoring = 0;
+        this.countOfFactorings = 0;
+    }
+
+    /**
+     *
+     * @param covariance
+     * @param values
+     * @return true if this mean was built from these very matrices
+     */
+    public boolean isOf(Matrix covariance, Matrix values) {
+        return (this.covariance == covariance) && (this.values == values);
+    }
+
+    /**
+     * Makes the values at activeIndices the ones averaged, by adding and
+     * removing single values from the current subset when only a few differ,
+     * and otherwise by factoring.
+     *
+     * @param activeIndices indices into the covariance and values, in any
+     * order
+     * @throws RuntimeException if the covariance of the subset is singular
+     */
+    public void setActiveIndices(int[] activeIndices) {
+        int[] target = activeIndices.clone();
+        Arrays.sort(target);
+
+        if (this.activeIndices == null) {
+            factor(target);
+            return;
+        }
+
+        int[] current = this.activeIndices.clone();
+        Arrays.sort(current);
+        if (Arrays.equals(current, target)) {
+            return;
+        }
+
+        int[] removed = difference(current, target);
+        int[] added = difference(target, current);
+        int countOfChanges = removed.length + added.length;
+        if ((countOfChanges > (target.length / 4 + 1)) //
+                || (countOfUpdatesSinceFactoring + countOfChanges > MAX_UPDATES_BEFORE_FACTORING)) {
+            factor(target);
+            return;
+        }
+
+        boolean updated = true;
+        for (int i = 0; updated && (i < removed.length); i++) {
+            updated = remove(removed[i]);
+        }
+        for (int i = 0; updated && (i < added.length); i++) {
+            updated = add(added[i]);
+        }
+
+        if (updated) {
+            countOfUpdatesSinceFactoring += countOfChanges;
+            calculateSums();
+        } else {
+            // lost definiteness to rounding
+            factor(target);
+        }
+    }
+
+    private static int[] difference(int[] sortedA, int[] sortedB) {
+        int[] difference = new int[sortedA.length];
+        int count = 0;
+        for (int a : sortedA) {
+            if (Arrays.binarySearch(sortedB, a) < 0) {
+                difference[count++] = a;
+            }
+        }
+        return Arrays.copyOf(difference, count);
+    }
+
+    private void factor(int[] target) {
+        activeIndices = target;
+        countOfUpdatesSinceFactoring = 0;
+        if (target.length == 0) {
+            inverse = new double[0][0];
+        } else {
+            inverse = new CovarianceFactorization(covariance.getMatrix(target, target)).getInverse().getArray();
+            countOfFactorings++;
+        }
+        calculateSums();
+    }
+
+    private boolean remove(int index) {
+        int n = activeIndices.length;
+        int p = 0;
+        while (activeIndices[p] != index) {
+            p++;
+        }
+
+        double pivot = inverse[p][p];
+        if (!(pivot > 0.0) || Double.isInfinite(pivot)) {
+            return false;
+        }
+
+        // P' = P[-p,-p] - P[-p,p] P[p,-p] / P[p,p]
+        int[] reducedIndices = new int[n - 1];
+        double[][] reducedInverse = new double[n - 1][n - 1];
+        for (int i = 0, ri = 0; i < n; i++) {
+            if (i != p) {
+                reducedIndices[ri] = activeIndices[i];
+                double factor = inverse[i][p] / pivot;
+                for (int j = 0, rj = 0; j < n; j++) {
+                    if (j != p) {
+                        reducedInverse[ri][rj] = inverse[i][j] - factor * inverse[p][j];
+                        rj++;
+                    }
+                }
+                ri++;
+            }
+        }
+
+        activeIndices = reducedIndices;
+        inverse = reducedInverse;
+        return true;
+    }
+
+    private boolean add(int index) {
+        int n = activeIndices.length;
+
+        // u = P s, gamma = d - s'u for s = S[active, index], d = S[index, index]
+        double[] u = new double[n];
+        double gamma = cellsS[index][index];
+        for (int i = 0; i < n; i++) {
+            double sum = 0.0;
+            for (int j = 0; j < n; j++) {
+                sum += inverse[i][j] * cellsS[activeIndices[j]][index];
+            }
+            u[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            gamma -= cellsS[index][activeIndices[i]] * u[i];
+        }
+        if (!(gamma > 0.0) || Double.isInfinite(gamma)) {
+            return false;
+        }
+
+        int[] grownIndices = Arrays.copyOf(activeIndices, n + 1);
+        grownIndices[n] = index;
+        double[][] grownInverse = new double[n + 1][n + 1];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                grownInverse[i][j] = inverse[i][j] + u[i] * u[j] / gamma;
+            }
+            grownInverse[i][n] = -u[i] / gamma;
+            grownInverse[n][i] = -u[i] / gamma;
+        }
+        grownInverse[n][n] = 1.0 / gamma;
+
+        activeIndices = grownIndices;
+        inverse = grownInverse;
+        return true;
+    }
+
+    private void calculateSums() {
+        sumOfInverse = 0.0;
+        sumOfInverseTimesX = 0.0;
+        for (int i = 0; i < activeIndices.length; i++) {
+            double rowSum = 0.0;
+            double rowTimesX = 0.0;
+            for (int j = 0; j < activeIndices.length; j++) {
+                rowSum += inverse[i][j];
+                rowTimesX += inverse[i][j] * cellsX[activeIndices[j]];
+            }
+            sumOfInverse += rowSum;
+            sumOfInverseTimesX += rowTimesX;
+        }
+    }
+
+    /**
+     * @return the weighted mean
+     */
+    public double getMean() {
+        if (activeIndices.length == 0) {
+            return Double.NaN;
+        }
+        return sumOfInverseTimesX / sumOfInverse;
+    }
+
+    /**
+     * @return the one-sigma of the weighted mean
+     */
+    public double getMeanOneSigma() {
+        if (activeIndices.length == 0) {
+            return Double.NaN;
+        }
+        return Math.sqrt(1.0 / sumOfInverse);
+    }
+
+    /**
+     *
+     * @param addedCovariance constant added to every cell of the covariance
+     * @return the one-sigma of the weighted mean with addedCovariance
+     */
+    public double getMeanOneSigmaWithAddedCovariance(double addedCovariance) {
+        if (activeIndices.length == 0) {
+            return Double.NaN;
+        }
+        return Math.sqrt((1.0 + addedCovariance * sumOfInverse) / sumOfInverse);
+    }
+
+    /**
+     * @return the MSWD of the weighted mean
+     */
+    public double getMSWD() {
+        if (activeIndices.length == 0) {
+            return Double.NaN;
+        }
+        double mean = getMean();
+        double residualsTimesInverseTimesResiduals = 0.0;
+        for (int i = 0; i < activeIndices.length; i++) {
+            double rowTimesResiduals = 0.0;
+            for (int j = 0; j < activeIndices.length; j++) {
+                rowTimesResiduals += inverse[i][j] * (cellsX[activeIndices[j]] - mean);
+            }
+            residualsTimesInverseTimesResiduals += (cellsX[activeIndices[i]] - mean) * rowTimesResiduals;
+        }
+        return 1.0 / (activeIndices.length - 1) * residualsTimesInverseTimesResiduals;
+    }
+
+    /**
+     * @return the countOfFactorings
+     */
+    public int getCountOfFactorings() {
+        return countOfFactorings;
+    }
+}
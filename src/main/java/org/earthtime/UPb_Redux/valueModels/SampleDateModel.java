@@ -26,8 +26,8 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
@@ -35,6 +35,7 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -82,6 +83,7 @@ import org.earthtime.plots.isochrons.IsochronModel;
 import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
 import org.earthtime.reduxLabData.ReduxLabData;
 import org.earthtime.samples.SampleInterface;
+import org.earthtime.utilities.MethodHandleRegistry;
 
 /**
  * A
@@ -168,6 +170,8 @@ public class SampleDateModel extends ValueModel implements
     private SampleAnalysisTypesEnum sampleAnalysisType;
     // Feb 2017
     private transient McLeanRegressionLineInterface mcLeanRegressionLine;
+    // oct 2026 log ratio weighted means of the current session by ratio
+    private transient Map<RadRatios, CorrelatedWeightedMean> logRatioWeightedMeans;
     private static String unitsForYears = "Ma";
     private SortedSet<IsochronModel> isochronModels;
 
@@ -777,11 +781,12 @@ public class SampleDateModel extends ValueModel implements
                         aliquot.getASampleDateModelByName("lower intercept"));
             } else {
                 try {
-                    Method meth
-                            = this.getClass().getMethod(//
+                    MethodHandle meth
+                            = MethodHandleRegistry.findMethod(//
+                                    this.getClass(),
                                     methodName,
-                                    new Class[]{Vector.class});
-                    meth.invoke(this, new Object[]{includedFractions});
+                                    Vector.class);
+                    MethodHandleRegistry.invoke(meth, this, includedFractions);
                 } catch (Throwable e) {
                     System.err.println(e + " For: " + getMethodName() + "  in CalculateDateInterpretationForAliquot");
                 }
@@ -811,12 +816,13 @@ public class SampleDateModel extends ValueModel implements
                         sample.getSampleDateModelByName("lower intercept"));
             } else {
                 try {
-                    Method meth
-                            = this.getClass().getMethod(//
+                    MethodHandle meth
+                            = MethodHandleRegistry.findMethod(//
+                                    this.getClass(),
                                     getMethodName(),
-                                    new Class[]{Vector.class});
-                    meth.invoke(this, new Object[]{includedFractions});
-                } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+                                    Vector.class);
+                    MethodHandleRegistry.invoke(meth, this, includedFractions);
+                } catch (NoSuchMethodException | InvocationTargetException e) {
                     System.err.println(e + " For: " + getMethodName() + "  in CalculateDateInterpretationForSample");
                 }
             }
@@ -1161,32 +1167,20 @@ public class SampleDateModel extends ValueModel implements
                     activeIndices[i] = activeFractionIndices.get(i);
                 }
 
-                Matrix logRatios = unknownsLogRatioMeans.getMatrix(activeIndices, 0, 0);
-                Matrix Su = unknownsAnalyticalCovarianceSu.getMatrix(activeIndices, activeIndices);
-
-//            System.out.println( "Su" );
-//            Su.print( matF, 15 );
-//
-//            System.out.println( "logRatios" );
-//            logRatios.print( matF, 15 );
-                Matrix onesV = new Matrix(activeIndices.length, 1, 1.0);
+                // oct 2026 factored once per set of active fractions and updated as fractions are toggled
+                CorrelatedWeightedMean weightedMean = getLogRatioWeightedMean(ratioName, unknownsAnalyticalCovarianceSu, unknownsLogRatioMeans);
+                weightedMean.setActiveIndices(activeIndices);
 
                 // SECTION A
-                double logRatioMean = onesV.transpose().times(Su.solve(logRatios)).get(0, 0) //
-                        / (onesV.transpose().times(Su.solve(onesV))).get(0, 0);
+                double logRatioMean = weightedMean.getMean();
 
                 logWMresults.setLogRatioMean(logRatioMean);
 
-                double logRatioMeanOneSigmaAnalytical = Math.sqrt(1.0 / (onesV.transpose().times(Su.solve(onesV)).get(0, 0)));
+                double logRatioMeanOneSigmaAnalytical = weightedMean.getMeanOneSigma();
 
                 logWMresults.setLogRatioMeanOneSigmaAnalytical(logRatioMeanOneSigmaAnalytical);
 
-                Matrix logRationResiduals = logRatios.copy();
-                for (int i = 0; i < logRatios.getRowDimension(); i++) {
-                    logRationResiduals.set(i, 0, logRatios.get(i, 0) - logRatioMean);
-                }
-
-                double logRatioMSWD = 1.0 / (activeIndices.length - 1) * logRationResiduals.transpose().times(Su.solve(logRationResiduals)).get(0, 0);
+                double logRatioMSWD = weightedMean.getMSWD();
 
                 logWMresults.setMSWD(logRatioMSWD);
                 // Section B
@@ -1198,10 +1192,10 @@ public class SampleDateModel extends ValueModel implements
                         ReduxLabData.getInstance().getDefaultInterReferenceMaterialReproducibilityMap()//
                                 .get(RadRatios.valueOf(radiogenicIsotopeDateName.replace("age", "r"))).getValue().doubleValue();
 
-                Matrix SuInterStd = Su.plus(new Matrix(Su.getRowDimension(), Su.getColumnDimension(),//
-                        interReferenceMaterialReproducibility * interReferenceMaterialReproducibility));
+                // Su + c11' by Sherman-Morrison
+                double interStdCovariance = interReferenceMaterialReproducibility * interReferenceMaterialReproducibility;
 
-                double logRatioMeanOneSigmaAnalyticalPlusInterStd = Math.sqrt(1.0 / (onesV.transpose().times(SuInterStd.solve(onesV)).get(0, 0)));
+                double logRatioMeanOneSigmaAnalyticalPlusInterStd = weightedMean.getMeanOneSigmaWithAddedCovariance(interStdCovariance);
 
                 logWMresults.setLogRatioMeanOneSigmaAnalyticalPlusInterStd(logRatioMeanOneSigmaAnalyticalPlusInterStd);
 
@@ -1213,9 +1207,8 @@ public class SampleDateModel extends ValueModel implements
 //            double maxDelta = Math.max( Math.abs( logMeanPlusOneSigma - logMean ), Math.abs( logMean - logMeanMinusOneSigma ) );
 //
 //            
-                Matrix SuInterStdPlusStd = SuInterStd.plus(new Matrix(Su.getRowDimension(), Su.getColumnDimension(), varianceOfStandardLogRatio));
-
-                double logRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd = Math.sqrt(1.0 / (onesV.transpose().times(SuInterStdPlusStd.solve(onesV)).get(0, 0)));
+                double logRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd //
+                        = weightedMean.getMeanOneSigmaWithAddedCovariance(interStdCovariance + varianceOfStandardLogRatio);
 
                 logWMresults.setLogRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd(logRatioMeanOneSigmaAnalyticalPlusInterStdPlusStd);
 
@@ -1299,6 +1292,18 @@ public class SampleDateModel extends ValueModel implements
         return logWMresults;
     }
 
+    private CorrelatedWeightedMean getLogRatioWeightedMean(RadRatios ratioName, Matrix unknownsAnalyticalCovarianceSu, Matrix unknownsLogRatioMeans) {
+        if (logRatioWeightedMeans == null) {
+            logRatioWeightedMeans = new EnumMap<>(RadRatios.class);
+        }
+        CorrelatedWeightedMean weightedMean = logRatioWeightedMeans.get(ratioName);
+        if ((weightedMean == null) || !weightedMean.isOf(unknownsAnalyticalCovarianceSu, unknownsLogRatioMeans)) {
+            weightedMean = new CorrelatedWeightedMean(unknownsAnalyticalCovarianceSu, unknownsLogRatioMeans);
+            logRatioWeightedMeans.put(ratioName, weightedMean);
+        }
+        return weightedMean;
+    }
+
     private void calculateWeightedMeansWithMSWDforRatioBasedData(
             Vector<ETFractionInterface> myFractions,
             String radiogenicIsotopeDateName) //
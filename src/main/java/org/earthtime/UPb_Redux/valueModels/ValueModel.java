@@ -22,7 +22,6 @@ package org.earthtime.UPb_Redux.valueModels;
 
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.io.xml.DomDriver;
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
@@ -59,6 +58,7 @@ import org.earthtime.dataDictionaries.RatioNamePrettyPrinter;
 import org.earthtime.exceptions.ETException;
 import org.earthtime.reduxLabData.ReduxLabDataListElementI;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
@@ -947,9 +947,8 @@ public class ValueModel implements
      * @return <code>XStream</code> - for XML serialization encoding
      */
     public XStream getXStreamWriter() {
-        XStream xstream = new XStream();
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamWriter(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -965,9 +964,8 @@ public class ValueModel implements
      */
     public XStream getXStreamReader() {
 
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamReader(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -0,0 +1,163 @@
+/*
+ * ValueModelNameIndex.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.UPb_Redux.valueModels;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Finds ValueModels in an array by name with a hash lookup instead of a scan.
+ * The index is rebuilt whenever the array is replaced or has grown, and every
+ * hit is checked against the name in the array, so elements replaced or
+ * renamed in place are found as the scan would find them. A name that is not
+ * indexed is confirmed with a scan before it is reported missing.
+ *
+ * Owners hold their index in a transient field; it is not part of the saved
+ * state.
+ *
+ * @author James F. Bowring
+ */
+public final class ValueModelNameIndex {
+
+    private final boolean ignoreCase;
+    private final boolean lastMatchWins;
+    private volatile Snapshot snapshot;
+
+    /**
+     *
+     * @param ignoreCase names compare with equalsIgnoreCase, else equals
+     * @param lastMatchWins of duplicate names, the last is found, else the
+     * first
+     */
+    public ValueModelNameIndex(boolean ignoreCase, boolean lastMatchWins) {
+        this.ignoreCase = ignoreCase;
+        this.lastMatchWins = lastMatchWins;
+        this.snapshot = null;
+    }
+
+    private static final class Snapshot {
+
+        private final ValueModel[] valueModels;
+        private final int length;
+        // exact names of the matching elements, then folded names
+        private final Map<String, Integer> indexByName;
+        private final Map<String, Integer> indexByFoldedName;
+
+        Snapshot(ValueModel[] valueModels, Map<String, Integer> indexByName, Map<String, Integer> indexByFoldedName) {
+            this.valueModels = valueModels;
+            this.length = valueModels.length;
+            this.indexByName = indexByName;
+            this.indexByFoldedName = indexByFoldedName;
+        }
+    }
+
+    /**
+     *
+     * @param valueModels
+     * @param name
+     * @return the index in valueModels of the element named name, or -1
+     */
+    public int indexOf(ValueModel[] valueModels, String name) {
+        if ((valueModels == null) || (name == null)) {
+            return -1;
+        }
+
+        Snapshot current = snapshot;
+        if ((current == null) || (current.valueModels != valueModels) || (current.length != valueModels.length)) {
+            current = buildSnapshot(valueModels);
+        }
+
+        int index = lookup(current, name);
+        if ((index >= 0) && nameMatches(valueModels[index], name)) {
+            return index;
+        }
+
+        // stale index or missing name
+        index = scan(valueModels, name);
+        if (index >= 0) {
+            buildSnapshot(valueModels);
+        }
+
+        return index;
+    }
+
+    /**
+     *
+     * @param valueModels
+     * @param name
+     * @return the element of valueModels named name, or null
+     */
+    public ValueModel find(ValueModel[] valueModels, String name) {
+        int index = indexOf(valueModels, name);
+        return (index >= 0) ? valueModels[index] : null;
+    }
+
+    private int lookup(Snapshot current, String name) {
+        Integer index = current.indexByName.get(name);
+        if ((index == null) && ignoreCase) {
+            index = current.indexByFoldedName.get(name.toLowerCase(Locale.ROOT));
+        }
+        return (index == null) ? -1 : index;
+    }
+
+    private boolean nameMatches(ValueModel valueModel, String name) {
+        if ((valueModel == null) || (valueModel.getName() == null)) {
+            return false;
+        }
+        return ignoreCase ? valueModel.getName().equalsIgnoreCase(name) : valueModel.getName().equals(name);
+    }
+
+    private int scan(ValueModel[] valueModels, String name) {
+        int index = -1;
+        for (int i = 0; i < valueModels.length; i++) {
+            if (nameMatches(valueModels[i], name)) {
+                index = i;
+                if (!lastMatchWins) {
+                    break;
+                }
+            }
+        }
+        return index;
+    }
+
+    private Snapshot buildSnapshot(ValueModel[] valueModels) {
+        Map<String, Integer> indexByFoldedName = new HashMap<>();
+        for (int i = 0; i < valueModels.length; i++) {
+            if ((valueModels[i] != null) && (valueModels[i].getName() != null)) {
+                String key = ignoreCase ? valueModels[i].getName().toLowerCase(Locale.ROOT) : valueModels[i].getName();
+                if (lastMatchWins) {
+                    indexByFoldedName.put(key, i);
+                } else {
+                    indexByFoldedName.putIfAbsent(key, i);
+                }
+            }
+        }
+
+        // only the element that wins for its folded name is found by its exact name
+        Map<String, Integer> indexByName = new HashMap<>();
+        for (Integer index : indexByFoldedName.values()) {
+            indexByName.put(valueModels[index].getName(), index);
+        }
+
+        Snapshot built = new Snapshot(valueModels, indexByName, indexByFoldedName);
+        snapshot = built;
+        return built;
+    }
+}
@@ -355,6 +355,16 @@ public interface AliquotInterface {
         Collections.sort(getSampleDateModels());
     }
 
+    /**
+     * Calculates the date interpretation for this aliquot.
+     *
+     * @param sampleDateModel
+     */
+    public default void calculateDateInterpretation(SampleDateModel sampleDateModel) {
+        sampleDateModel.setAliquot(this);
+        sampleDateModel.CalculateDateInterpretationForAliquot();
+    }
+
     /**
      *
      */
@@ -382,8 +392,7 @@ public interface AliquotInterface {
 
             // oct 2014 per Matt Rioux email report
             try {
-                ((SampleDateModel) SAM).setAliquot(this);
-                ((SampleDateModel) SAM).CalculateDateInterpretationForAliquot();
+                calculateDateInterpretation((SampleDateModel) SAM);
             } catch (Exception e) {
             }
         }
@@ -20,6 +20,9 @@
  */
 package org.earthtime.archivingTools;
 
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.converters.ConversionException;
+import com.thoughtworks.xstream.io.xml.DomReader;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -30,21 +33,18 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.JOptionPane;
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
+import javax.swing.SwingUtilities;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Source;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
-import javax.xml.validation.Validator;
+import org.earthtime.exceptions.ETException;
 import org.earthtime.exceptions.ETWarningDialog;
+import org.earthtime.xmlUtilities.XMLSchemaCache;
 import org.w3c.dom.Document;
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
@@ -56,7 +56,8 @@ import org.xml.sax.SAXParseException;
  */
 public class URIHelper {
 
-    private static boolean CONNECTED_TO_INTERNET = true;
+    // each missing schema is reported once per run
+    private static final Set<String> reportedMissingSchemas = ConcurrentHashMap.newKeySet();
 
     /**
      * Creates a new instance of URIHelper
@@ -165,63 +166,88 @@ public class URIHelper {
     private static boolean validateXML(String xmlURI, String schemaURI) {
         boolean retVal = true;
 
-        if (CONNECTED_TO_INTERNET) {
+        // oct 2026 schemas are compiled once from the local schema cache; no connectivity probe
+        Schema schema = XMLSchemaCache.getSchema(schemaURI);
+        if (schema == null) {
+            reportMissingSchema(schemaURI);
+        } else {
             try {
-                URL url = new URL("http://cnn.com");
-                //System.out.println(url.getHost());
-                HttpURLConnection con = (HttpURLConnection) url.openConnection();
-                con.setReadTimeout(20000);
-                con.connect();
-                if (con.getResponseCode() == 200) {
-
-                    CONNECTED_TO_INTERNET = true;
-                    try {
-                        // parse an XML document into a DOM tree
-                        DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-                        dbFactory.setNamespaceAware(true);
-                        DocumentBuilder parser = dbFactory.newDocumentBuilder();
-                        Document document = parser.parse(xmlURI);
-
-                        // create a SchemaFactory capable of understanding WXS schemas
-                        SchemaFactory schemaFactory
-                                = SchemaFactory.newInstance(
-                                        XMLConstants.W3C_XML_SCHEMA_NS_URI);
-
-                        // load a WXS schema, represented by a Schema instance
-                        Source schemaFile = new StreamSource(
-                                new URL(schemaURI).openStream());
-                        Schema schema = schemaFactory.newSchema(schemaFile);
-
-                        // create a Validator instance, which can be used to validate an instance document
-                        Validator validator = schema.newValidator();
-
-                        // validate the DOM tree
-                        validator.validate(new DOMSource(document));
-                    } catch (ParserConfigurationException | SAXException | IOException parserConfigurationException) {
-                        if ((parserConfigurationException instanceof FileNotFoundException)//
-                                || //
-                                ((parserConfigurationException instanceof IOException) //
-                                && (parserConfigurationException.getMessage().contains("502")))) {
-                            CONNECTED_TO_INTERNET = false;
-                            new ETWarningDialog("ET_Redux could not find the schema file: \n" + schemaURI + "\n and will not validate XML files until ET_Redux restarts.").setVisible(true);
-                        } else {
-                            retVal = false;
-                        }
-                    }
+                XMLSchemaCache.validate(xmlURI, schema);
+            } catch (SAXException | IOException ex) {
+                retVal = false;
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Reads an object from an XML file with xstream, validating the file
+     * against its schema in the same pass. Validation is skipped, as before,
+     * when the schema cannot be found.
+     *
+     * @param xstream
+     * @param xmlURI
+     * @param schemaURI
+     * @param doValidate
+     * @return the object
+     * @throws FileNotFoundException
+     * @throws ETException if the file does not conform to the schema or
+     * cannot be converted
+     */
+    public static Object unmarshalXML(XStream xstream, String xmlURI, String schemaURI, boolean doValidate)
+            throws FileNotFoundException, ETException {
+        Object retVal;
+
+        if (!xmlURI.startsWith("http") && !new File(xmlURI).exists()) {
+            throw new FileNotFoundException("Missing XML data file.");
+        }
 
-                } else {
-                    CONNECTED_TO_INTERNET = false;
-                    new ETWarningDialog("ET_Redux could not find an Internet connection and will not validate XML files until restart.").setVisible(true);
+        Schema schema = doValidate ? XMLSchemaCache.getSchema(schemaURI) : null;
+        if (doValidate && (schema == null)) {
+            reportMissingSchema(schemaURI);
+        }
+
+        try {
+            if (schema == null) {
+                BufferedReader reader = getBufferedReader(xmlURI);
+                if (reader == null) {
+                    throw new FileNotFoundException("Missing XML data file.");
                 }
-            } catch (IOException iOException) {
-                CONNECTED_TO_INTERNET = false;
-                new ETWarningDialog("ET_Redux could not find an Internet connection and will not validate XML files until restart.").setVisible(true);
+                try {
+                    retVal = xstream.fromXML(reader);
+                } finally {
+                    reader.close();
+                }
+            } else {
+                Document document = XMLSchemaCache.parseValidated(xmlURI, schema);
+                retVal = xstream.unmarshal(new DomReader(document));
             }
+        } catch (SAXException ex) {
+            throw new ETException(null, "XML data file does not conform to schema.");
+        } catch (ConversionException ex) {
+            throw new ETException(null, ex.getMessage());
+        } catch (FileNotFoundException ex) {
+            throw ex;
+        } catch (IOException ex) {
+            throw new FileNotFoundException("Missing XML data file.");
         }
 
         return retVal;
     }
 
+    private static void reportMissingSchema(String schemaURI) {
+        if (reportedMissingSchemas.add(schemaURI)) {
+            Runnable warning = () -> new ETWarningDialog("ET_Redux could not find the schema file: \n" + schemaURI//
+                    + "\n and will not validate XML files against it until ET_Redux restarts.").setVisible(true);
+            if (SwingUtilities.isEventDispatchThread()) {
+                warning.run();
+            } else {
+                SwingUtilities.invokeLater(warning);
+            }
+        }
+    }
+
     /**
      *
      * @param connectionString
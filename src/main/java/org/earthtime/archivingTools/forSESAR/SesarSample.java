@@ -19,7 +19,6 @@ package org.earthtime.archivingTools.forSESAR;
 
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.io.xml.DomDriver;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -43,6 +42,7 @@ import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.dataDictionaries.SESAR_MaterialTypesEnum;
 import org.earthtime.dataDictionaries.SESAR_ObjectTypesEnum;
 import org.earthtime.exceptions.ETException;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 import org.xml.sax.SAXException;
 
 /**
@@ -329,9 +329,7 @@ public class SesarSample {
      * @return <code>XStream</code> - for XML serialization encoding
      */
     public static XStream getXStreamWriter() {
-        XStream xstream = new XStream();
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamWriter(SesarSample.class, SesarSample::customizeXstream);
 
         return xstream;
     }
@@ -347,9 +345,7 @@ public class SesarSample {
      */
     public static XStream getXStreamReader() {
 
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamReader(SesarSample.class, SesarSample::customizeXstream);
 
         return xstream;
     }
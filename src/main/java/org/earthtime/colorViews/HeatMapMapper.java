@@ -18,8 +18,8 @@
  */
 package org.earthtime.colorViews;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Vector;
 import org.earthtime.UPb_Redux.fractions.Fraction;
@@ -29,6 +29,7 @@ import org.earthtime.colorModels.HeatMap;
 import org.earthtime.fractions.ETFractionInterface;
 import org.earthtime.reports.ReportColumnInterface;
 import org.earthtime.samples.SampleInterface;
+import org.earthtime.utilities.MethodHandleRegistry;
 
 /**
  *
@@ -61,17 +62,16 @@ public class HeatMapMapper {
         min = Double.MAX_VALUE;
         max = -Double.MAX_VALUE;
 
-        Method meth = null;
+        MethodHandle meth = null;
         // assign rgb color
         ArrayList<Integer> fractionRGBs = new ArrayList<>();
 
         try {
-            Class<?> fractionClass =//
-                    Class.forName(Fraction.class.getCanonicalName());
-            meth = fractionClass.getMethod(//
+            meth = MethodHandleRegistry.findMethod(//
+                    Fraction.class,
                     selectedReportColumn.getRetrieveMethodName(),
-                    new Class[]{String.class});
-        } catch (ClassNotFoundException | NoSuchMethodException | SecurityException classNotFoundException) {
+                    String.class);
+        } catch (NoSuchMethodException noSuchMethodException) {
         }
 
         boolean amUnctCol = selectedReportColumn.isAmUncertaintyColumn();
@@ -82,7 +82,7 @@ public class HeatMapMapper {
             for (ETFractionInterface fraction : fractions) {
                 try {
                     if (!fraction.isRejected()) {
-                        ValueModel vm = (ValueModel) meth.invoke((Object) fraction, new Object[]{selectedReportColumn.getRetrieveVariableName()});
+                        ValueModel vm = (ValueModel) MethodHandleRegistry.invoke(meth, fraction, selectedReportColumn.getRetrieveVariableName());
                         if (amUnctCol) {
                             double unct = 2.0 * (unctType.equalsIgnoreCase("ABS") ? vm.getOneSigmaAbs().doubleValue() : vm.getOneSigmaPct().doubleValue());
                             min = Double.min(min, unct);
@@ -92,14 +92,14 @@ public class HeatMapMapper {
                             max = Double.max(max, vm.getValue().doubleValue());
                         }
                     }
-                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException illegalAccessException) {
+                } catch (InvocationTargetException invocationTargetException) {
                 }
             }
 
             for (ETFractionInterface fraction : fractions) {
                 try {
                     if (!fraction.isRejected()) {
-                        ValueModel vm = (ValueModel) meth.invoke((Object) fraction, new Object[]{selectedReportColumn.getRetrieveVariableName()});
+                        ValueModel vm = (ValueModel) MethodHandleRegistry.invoke(meth, fraction, selectedReportColumn.getRetrieveVariableName());
 
                         double valueToCompare;
                         if (amUnctCol) {
@@ -119,7 +119,7 @@ public class HeatMapMapper {
                             fraction.setRgbColor(0);
                         }
                     }
-                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException illegalAccessException) {
+                } catch (InvocationTargetException invocationTargetException) {
                 }
 
             }
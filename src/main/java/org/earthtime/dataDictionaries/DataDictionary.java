@@ -19,10 +19,11 @@
  */
 package org.earthtime.dataDictionaries;
 
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
 import java.util.HashMap;
 import java.util.Map;
 import org.earthtime.fractions.ETFractionInterface;
+import org.earthtime.utilities.MethodHandleRegistry;
 
 /**
  *
@@ -553,24 +554,23 @@ public final class DataDictionary {
     }
 
     /**
-     * Uses reflection to get method associated with a specific input name,
-     * which is a rowForSpecificDate or column name in a matrix.
+     * Gets the method handle associated with a specific input name, which is a
+     * rowForSpecificDate or column name in a matrix. Invoke with
+     * MethodHandleRegistry.invoke.
      *
      * @param inputName
      * @return
      */
-    public static Method retrieveMethodNameForInput(String inputName) {
-        Method meth = null;
+    public static MethodHandle retrieveMethodNameForInput(String inputName) {
+        MethodHandle meth = null;
         String methodName = MapOfInputsToMethodNames.get(inputName);
         if (methodName != null) {
             try {
-                Class<?> fractionClass
-                        = Class.forName(ETFractionInterface.class.getCanonicalName());
-
-                meth = fractionClass.getMethod(//
+                meth = MethodHandleRegistry.findMethod(//
+                        ETFractionInterface.class,
                         methodName,
-                        new Class[]{String.class});
-            } catch (ClassNotFoundException | NoSuchMethodException | SecurityException classNotFoundException) {
+                        String.class);
+            } catch (NoSuchMethodException noSuchMethodException) {
             }
         }
         return meth;
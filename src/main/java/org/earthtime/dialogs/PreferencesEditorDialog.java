@@ -57,6 +57,12 @@ public class PreferencesEditorDialog extends DialogEditor {
             radioYesOverride.setSelected(true);
         else
             radioNoOverride.setSelected(true);
+
+        if (reduxPreferences.isDoublePrecisionInteractiveReduction())
+            radioYesDoublePrecision.setSelected(true);
+        else
+            radioNoDoublePrecision.setSelected(true);
+        tolerance_text.setText(Double.toString(reduxPreferences.getDoublePrecisionTolerance()));
         
    //     importLabel.setText
    //             ("<html><p>"
@@ -118,6 +124,15 @@ public class PreferencesEditorDialog extends DialogEditor {
      */
     public void close(){
         getReduxPreferences().setFractionDataOverriddenOnImport(radioYesOverride.isSelected());
+        getReduxPreferences().setDoublePrecisionInteractiveReduction(radioYesDoublePrecision.isSelected());
+        // an unreadable or non-positive tolerance keeps the previous one
+        try {
+            double tolerance = Double.parseDouble(tolerance_text.getText().trim());
+            if (tolerance > 0.0) {
+                getReduxPreferences().setDoublePrecisionTolerance(tolerance);
+            }
+        } catch (NumberFormatException numberFormatException) {
+        }
         super.close();
     }
     
@@ -157,11 +172,17 @@ public class PreferencesEditorDialog extends DialogEditor {
     private void initComponents() {
 
         buttonGroupFractionImport = new javax.swing.ButtonGroup();
+        buttonGroupDoublePrecision = new javax.swing.ButtonGroup();
         preferencesPanel = new javax.swing.JPanel();
         chooseLabel = new javax.swing.JLabel();
         importLabel = new javax.swing.JLabel();
         radioNoOverride = new javax.swing.JRadioButton();
         radioYesOverride = new javax.swing.JRadioButton();
+        doublePrecisionLabel = new javax.swing.JLabel();
+        radioNoDoublePrecision = new javax.swing.JRadioButton();
+        radioYesDoublePrecision = new javax.swing.JRadioButton();
+        toleranceLabel = new javax.swing.JLabel();
+        tolerance_text = new javax.swing.JTextField();
         toolBar = new javax.swing.JPanel();
         done_button = new javax.swing.JButton();
 
@@ -194,6 +215,31 @@ public class PreferencesEditorDialog extends DialogEditor {
         radioYesOverride.setContentAreaFilled(false);
         radioYesOverride.setMargin(new java.awt.Insets(0, 0, 0, 5));
 
+        doublePrecisionLabel.setFont(new java.awt.Font("Tahoma", 1, 12)); // NOI18N
+        doublePrecisionLabel.setHorizontalAlignment(javax.swing.SwingConstants.LEFT);
+        doublePrecisionLabel.setText("<html><p>(2) During live LA-ICPMS reduction, select yes to calculate dates in double precision, checked against BigDecimal to within the relative tolerance:</p></html>");
+        doublePrecisionLabel.setHorizontalTextPosition(javax.swing.SwingConstants.LEFT);
+        doublePrecisionLabel.setVerticalTextPosition(javax.swing.SwingConstants.TOP);
+
+        radioNoDoublePrecision.setBackground(new java.awt.Color(255, 255, 255));
+        buttonGroupDoublePrecision.add(radioNoDoublePrecision);
+        radioNoDoublePrecision.setSelected(true);
+        radioNoDoublePrecision.setText("no");
+        radioNoDoublePrecision.setBorderPainted(true);
+        radioNoDoublePrecision.setContentAreaFilled(false);
+        radioNoDoublePrecision.setMargin(new java.awt.Insets(0, 0, 0, 5));
+
+        radioYesDoublePrecision.setBackground(new java.awt.Color(255, 255, 255));
+        buttonGroupDoublePrecision.add(radioYesDoublePrecision);
+        radioYesDoublePrecision.setText("yes");
+        radioYesDoublePrecision.setContentAreaFilled(false);
+        radioYesDoublePrecision.setMargin(new java.awt.Insets(0, 0, 0, 5));
+
+        toleranceLabel.setFont(new java.awt.Font("Tahoma", 1, 12)); // NOI18N
+        toleranceLabel.setText("relative tolerance:");
+
+        tolerance_text.setHorizontalAlignment(javax.swing.JTextField.RIGHT);
+
         org.jdesktop.layout.GroupLayout preferencesPanelLayout = new org.jdesktop.layout.GroupLayout(preferencesPanel);
         preferencesPanel.setLayout(preferencesPanelLayout);
         preferencesPanelLayout.setHorizontalGroup(
@@ -212,7 +258,20 @@ public class PreferencesEditorDialog extends DialogEditor {
                         .add(93, 93, 93))
                     .add(org.jdesktop.layout.GroupLayout.TRAILING, preferencesPanelLayout.createSequentialGroup()
                         .add(importLabel, org.jdesktop.layout.GroupLayout.PREFERRED_SIZE, 309, org.jdesktop.layout.GroupLayout.PREFERRED_SIZE)
-                        .addContainerGap())))
+                        .addContainerGap())
+                    .add(org.jdesktop.layout.GroupLayout.TRAILING, preferencesPanelLayout.createSequentialGroup()
+                        .add(doublePrecisionLabel, org.jdesktop.layout.GroupLayout.PREFERRED_SIZE, 309, org.jdesktop.layout.GroupLayout.PREFERRED_SIZE)
+                        .addContainerGap())
+                    .add(org.jdesktop.layout.GroupLayout.TRAILING, preferencesPanelLayout.createSequentialGroup()
+                        .add(radioNoDoublePrecision)
+                        .add(72, 72, 72)
+                        .add(radioYesDoublePrecision)
+                        .add(93, 93, 93))
+                    .add(org.jdesktop.layout.GroupLayout.TRAILING, preferencesPanelLayout.createSequentialGroup()
+                        .add(toleranceLabel)
+                        .addPreferredGap(org.jdesktop.layout.LayoutStyle.RELATED)
+                        .add(tolerance_text, org.jdesktop.layout.GroupLayout.PREFERRED_SIZE, 100, org.jdesktop.layout.GroupLayout.PREFERRED_SIZE)
+                        .add(93, 93, 93))))
         );
         preferencesPanelLayout.setVerticalGroup(
             preferencesPanelLayout.createParallelGroup(org.jdesktop.layout.GroupLayout.LEADING)
@@ -225,7 +284,17 @@ public class PreferencesEditorDialog extends DialogEditor {
                 .add(preferencesPanelLayout.createParallelGroup(org.jdesktop.layout.GroupLayout.BASELINE)
                     .add(radioNoOverride)
                     .add(radioYesOverride))
-                .addContainerGap(356, Short.MAX_VALUE))
+                .add(18, 18, 18)
+                .add(doublePrecisionLabel, org.jdesktop.layout.GroupLayout.PREFERRED_SIZE, 77, org.jdesktop.layout.GroupLayout.PREFERRED_SIZE)
+                .addPreferredGap(org.jdesktop.layout.LayoutStyle.RELATED)
+                .add(preferencesPanelLayout.createParallelGroup(org.jdesktop.layout.GroupLayout.BASELINE)
+                    .add(radioNoDoublePrecision)
+                    .add(radioYesDoublePrecision))
+                .addPreferredGap(org.jdesktop.layout.LayoutStyle.RELATED)
+                .add(preferencesPanelLayout.createParallelGroup(org.jdesktop.layout.GroupLayout.BASELINE)
+                    .add(toleranceLabel)
+                    .add(tolerance_text, org.jdesktop.layout.GroupLayout.PREFERRED_SIZE, org.jdesktop.layout.GroupLayout.DEFAULT_SIZE, org.jdesktop.layout.GroupLayout.PREFERRED_SIZE))
+                .addContainerGap(221, Short.MAX_VALUE))
         );
 
         toolBar.setBorder(javax.swing.BorderFactory.createBevelBorder(javax.swing.border.BevelBorder.LOWERED));
@@ -280,13 +349,19 @@ public class PreferencesEditorDialog extends DialogEditor {
     
     
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.ButtonGroup buttonGroupDoublePrecision;
     private javax.swing.ButtonGroup buttonGroupFractionImport;
     private javax.swing.JLabel chooseLabel;
     private javax.swing.JButton done_button;
+    private javax.swing.JLabel doublePrecisionLabel;
     private javax.swing.JLabel importLabel;
     private javax.swing.JPanel preferencesPanel;
+    private javax.swing.JRadioButton radioNoDoublePrecision;
     private javax.swing.JRadioButton radioNoOverride;
+    private javax.swing.JRadioButton radioYesDoublePrecision;
     private javax.swing.JRadioButton radioYesOverride;
+    private javax.swing.JLabel toleranceLabel;
+    private javax.swing.JTextField tolerance_text;
     private javax.swing.JPanel toolBar;
     // End of variables declaration//GEN-END:variables
     
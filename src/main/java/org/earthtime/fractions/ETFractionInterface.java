@@ -16,8 +16,8 @@
 package org.earthtime.fractions;
 
 import java.awt.geom.Path2D;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.util.Comparator;
 import java.util.Date;
@@ -32,6 +32,7 @@ import org.earthtime.dataDictionaries.MeasuredRatios;
 import org.earthtime.dataDictionaries.RadDates;
 import org.earthtime.dataDictionaries.TraceElements;
 import org.earthtime.ratioDataModels.AbstractRatiosDataModel;
+import org.earthtime.utilities.MethodHandleRegistry;
 
 /**
  *
@@ -830,13 +831,12 @@ public interface ETFractionInterface {
         ValueModel retVal = null;
 
         // looks up the correct method and applies it to input
-        Method meth
+        MethodHandle meth
                 = DataDictionary.retrieveMethodNameForInput(nameOfValueModel);
         if (meth != null) {
             try {
-                retVal = (ValueModel) meth.//
-                        invoke(this, new Object[]{nameOfValueModel});
-            } catch (IllegalAccessException | IllegalArgumentException illegalAccessException) {
+                retVal = (ValueModel) MethodHandleRegistry.//
+                        invoke(meth, this, nameOfValueModel);
             } catch (InvocationTargetException invocationTargetException) {
                 System.out.println(invocationTargetException.getMessage() + "  AT retrieveValueModelByName");
             }
@@ -97,6 +97,25 @@ public class JacobianMatrixModel extends AbstractMatrixModel {
         return retVal;
     }
 
+    /**
+     * Same as initializeMatrixModelWithDerivedTerms, using a plan compiled
+     * from matrix models with the same rows and columns as this one.
+     *
+     * @param plan may be null, if there are no rows or columns
+     * @param derivedTerms
+     * @return
+     */
+    public boolean initializeMatrixModelWithDerivedTerms (
+            JacobianMatrixPlan plan, Map<String, BigDecimal> derivedTerms ) {
+
+        boolean retVal = (plan != null);
+        if ( retVal ) {
+            matrix = plan.populate( derivedTerms );
+        }
+
+        return retVal;
+    }
+
     /**
      *
      * @param args
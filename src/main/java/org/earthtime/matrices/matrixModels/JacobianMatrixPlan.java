@@ -0,0 +1,135 @@
+/*
+ * JacobianMatrixPlan.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.matrices.matrixModels;
+
+import Jama.Matrix;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The rows and columns of a JacobianMatrixModel compiled once into cell
+ * indices: the cells of carried-forward rows, which hold 1, and for each
+ * partial derivative name of an added row, e.g. dR206_238r__dR206_205m, the
+ * cell it populates. Populating a matrix from the partial derivative terms of
+ * a fraction is then a scatter into an array, without walking the row and
+ * column maps or building names.
+ *
+ * @author James F. Bowring
+ */
+public final class JacobianMatrixPlan {
+
+    private final int rowCount;
+    private final int colCount;
+    private final int[] identityRows;
+    private final int[] identityCols;
+    private final Map<String, int[]> cellsByPartialDerivName;
+
+    private JacobianMatrixPlan(int rowCount, int colCount, int[] identityRows, int[] identityCols, Map<String, int[]> cellsByPartialDerivName) {
+        this.rowCount = rowCount;
+        this.colCount = colCount;
+        this.identityRows = identityRows;
+        this.identityCols = identityCols;
+        this.cellsByPartialDerivName = cellsByPartialDerivName;
+    }
+
+    /**
+     *
+     * @param jacobianMatrixModel with rows and columns set
+     * @return the plan for populating matrices with these rows and columns,
+     * or null if there are no rows or columns
+     */
+    public static JacobianMatrixPlan compile(AbstractMatrixModel jacobianMatrixModel) {
+        Map<Integer, String> rows = jacobianMatrixModel.getRows();
+        Map<String, Integer> cols = jacobianMatrixModel.getCols();
+        if (rows.isEmpty() || cols.isEmpty()) {
+            return null;
+        }
+
+        int countOfIdentityCells = 0;
+        for (String rowName : rows.values()) {
+            if (cols.containsKey(rowName)) {
+                countOfIdentityCells++;
+            }
+        }
+        int[] identityRows = new int[countOfIdentityCells];
+        int[] identityCols = new int[countOfIdentityCells];
+
+        Map<String, int[]> cellsByPartialDerivName = new HashMap<>();
+        int identityCell = 0;
+        for (Map.Entry<Integer, String> row : rows.entrySet()) {
+            Integer col = cols.get(row.getValue());
+            if (col != null) {
+                identityRows[identityCell] = row.getKey();
+                identityCols[identityCell] = col;
+                identityCell++;
+            } else {
+                // an added row populated from partial derivatives
+                String parDerivNameA = jacobianMatrixModel.createPartialDerivName(row.getValue());
+                for (Map.Entry<String, Integer> colEntry : cols.entrySet()) {
+                    cellsByPartialDerivName.put(//
+                            parDerivNameA + "__" + jacobianMatrixModel.createPartialDerivName(colEntry.getKey()),//
+                            new int[]{row.getKey(), colEntry.getValue()});
+                }
+            }
+        }
+
+        return new JacobianMatrixPlan(rows.size(), cols.size(), identityRows, identityCols, cellsByPartialDerivName);
+    }
+
+    /**
+     * Same matrix as JacobianMatrixModel.initializeMatrixModelWithDerivedTerms
+     *
+     * @param derivedTerms partial derivatives by name
+     * @return the populated matrix
+     */
+    public Matrix populate(Map<String, BigDecimal> derivedTerms) {
+        double[][] cells = new double[rowCount][colCount];
+
+        for (int i = 0; i < identityRows.length; i++) {
+            cells[identityRows[i]][identityCols[i]] = 1.0;
+        }
+
+        // each name has one cell, so walk whichever side is smaller
+        if (derivedTerms.size() < cellsByPartialDerivName.size()) {
+            for (Map.Entry<String, BigDecimal> derivedTerm : derivedTerms.entrySet()) {
+                int[] cell = cellsByPartialDerivName.get(derivedTerm.getKey());
+                if ((cell != null) && (derivedTerm.getValue() != null)) {
+                    cells[cell[0]][cell[1]] = derivedTerm.getValue().doubleValue();
+                }
+            }
+        } else {
+            for (Map.Entry<String, int[]> slot : cellsByPartialDerivName.entrySet()) {
+                BigDecimal parDeriv = derivedTerms.get(slot.getKey());
+                if (parDeriv != null) {
+                    cells[slot.getValue()[0]][slot.getValue()[1]] = parDeriv.doubleValue();
+                }
+            }
+        }
+
+        return new Matrix(cells);
+    }
+
+    /**
+     * @return the number of partial derivative slots
+     */
+    public int getCountOfPartialDerivSlots() {
+        return cellsByPartialDerivName.size();
+    }
+}
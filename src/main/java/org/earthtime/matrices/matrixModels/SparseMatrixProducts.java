@@ -0,0 +1,118 @@
+/*
+ * SparseMatrixProducts.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.matrices.matrixModels;
+
+import Jama.Matrix;
+
+/**
+ * Matrix products for the mostly zero Jacobian and sensitivity matrices of
+ * the reduction chain. Zero cells of the left-hand matrix (and of J in
+ * J.S.J-transpose) are skipped; every other term is summed in the same order
+ * as Jama's Matrix.times, so for finite matrices the results are identical.
+ *
+ * @author James F. Bowring
+ */
+public final class SparseMatrixProducts {
+
+    private SparseMatrixProducts() {
+    }
+
+    /**
+     *
+     * @param a
+     * @param b
+     * @return a times b
+     */
+    public static Matrix times(Matrix a, Matrix b) {
+        if (a.getColumnDimension() != b.getRowDimension()) {
+            throw new IllegalArgumentException("Matrix inner dimensions must agree.");
+        }
+
+        double[][] cellsA = a.getArray();
+        double[][] cellsB = b.getArray();
+        int colCount = b.getColumnDimension();
+        double[][] product = new double[a.getRowDimension()][colCount];
+
+        for (int i = 0; i < cellsA.length; i++) {
+            double[] rowA = cellsA[i];
+            double[] productRow = product[i];
+            for (int k = 0; k < rowA.length; k++) {
+                double cellA = rowA[k];
+                if (cellA != 0.0) {
+                    double[] rowB = cellsB[k];
+                    for (int j = 0; j < colCount; j++) {
+                        productRow[j] += cellA * rowB[j];
+                    }
+                }
+            }
+        }
+
+        return toMatrix(product, a.getRowDimension(), colCount);
+    }
+
+    /**
+     *
+     * @param j
+     * @param s
+     * @return j times s times j-transpose
+     */
+    public static Matrix timesTimesTranspose(Matrix j, Matrix s) {
+        double[][] cellsJS = times(j, s).getArray();
+        double[][] cellsJ = j.getArray();
+        int rowCount = j.getRowDimension();
+
+        // the non-zero columns of each row of j
+        int[][] nonZeroCols = new int[rowCount][];
+        for (int l = 0; l < rowCount; l++) {
+            int count = 0;
+            for (double cell : cellsJ[l]) {
+                if (cell != 0.0) {
+                    count++;
+                }
+            }
+            nonZeroCols[l] = new int[count];
+            count = 0;
+            for (int k = 0; k < cellsJ[l].length; k++) {
+                if (cellsJ[l][k] != 0.0) {
+                    nonZeroCols[l][count++] = k;
+                }
+            }
+        }
+
+        double[][] product = new double[rowCount][rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            for (int l = 0; l < rowCount; l++) {
+                double sum = 0.0;
+                for (int k : nonZeroCols[l]) {
+                    sum += cellsJS[i][k] * cellsJ[l][k];
+                }
+                product[i][l] = sum;
+            }
+        }
+
+        return toMatrix(product, rowCount, rowCount);
+    }
+
+    private static Matrix toMatrix(double[][] cells, int rowCount, int colCount) {
+        if ((rowCount == 0) || (colCount == 0)) {
+            return new Matrix(rowCount, colCount);
+        }
+        return new Matrix(cells);
+    }
+}
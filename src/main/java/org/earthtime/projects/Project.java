@@ -26,6 +26,7 @@ import java.io.Serializable;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.SortedSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -44,13 +45,16 @@ import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbLAICPMSFraction;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbSHRIMPFraction;
 import org.earthtime.UPb_Redux.samples.Sample;
 import org.earthtime.UPb_Redux.user.ReduxPersistentState;
+import org.earthtime.UPb_Redux.utilities.ETContainerSerializer;
 import org.earthtime.UPb_Redux.utilities.ETSerializer;
+import org.earthtime.UPb_Redux.utilities.ETSerializer.SerializationProgressListener;
 import org.earthtime.aliquots.AliquotInterface;
 import org.earthtime.aliquots.ReduxAliquotInterface;
 import org.earthtime.dataDictionaries.DataDictionary;
 import org.earthtime.dataDictionaries.SampleAnalysisTypesEnum;
 import org.earthtime.dataDictionaries.SampleTypesEnum;
 import org.earthtime.exceptions.ETException;
+import org.earthtime.exceptions.ETWarningDialog;
 import org.earthtime.samples.SampleInterface;
 import org.earthtime.utilities.FileHelper;
 
@@ -152,13 +156,15 @@ public class Project implements
     @Override
     public final void saveTheProjectAsSerializedReduxFile() {
 
+        ETSerializer.AwaitBackgroundSaves();
+
         if (locationOfProjectReduxFile == null) {
             locationOfProjectReduxFile = saveProjectFileAs();
         }
 
         if (locationOfProjectReduxFile != null) {
             try {
-                ETSerializer.SerializeObjectToFile(this, locationOfProjectReduxFile.getCanonicalPath());
+                ETContainerSerializer.SerializeObjectToContainerFile(this, locationOfProjectReduxFile.getCanonicalPath(), true);
             } catch (IOException ex) {
                 Logger.getLogger(Project.class.getName()).log(Level.SEVERE, null, ex);
             } catch (ETException etexception) {
@@ -168,6 +174,29 @@ public class Project implements
 
     }
 
+    /**
+     * Saves the project on the background save thread of ETSerializer, which
+     * streams it to a temporary file that then replaces its file, asking for
+     * its file first if it has none. The interface is held in a modal
+     * progress dialog meanwhile, so the project cannot change while it is
+     * written. A failed save leaves the previous file in place and is
+     * reported once the save ends.
+     */
+    @Override
+    public final void saveTheProjectAsSerializedReduxFileInBackground() {
+
+        if (locationOfProjectReduxFile == null) {
+            locationOfProjectReduxFile = saveProjectFileAs();
+        }
+
+        if (locationOfProjectReduxFile != null) {
+            final String filename = locationOfProjectReduxFile.getAbsolutePath();
+            ETSerializer.SerializeInBackgroundAndWait("Saving " + locationOfProjectReduxFile.getName(),//
+                    (SerializationProgressListener listener) -> ETContainerSerializer.SerializeObjectToContainerFile(this, filename, true, listener),//
+                    (ETException ex) -> new ETWarningDialog(ex).setVisible(true));
+        }
+    }
+
     /**
      *
      * @param file
@@ -189,6 +218,18 @@ public class Project implements
      */
     @Override
     public void prepareSamplesForRedux() {
+        prepareSamplesForRedux(tripoliSession.getTripoliSamples());
+    }
+
+    /**
+     * Creates the aliquots of these session samples, or adds their new
+     * fractions to existing aliquots; the aliquots of other samples are left
+     * untouched.
+     *
+     * @param tripoliSamples
+     */
+    @Override
+    public void prepareSamplesForRedux(List<AbstractTripoliSample> tripoliSamples) {
         System.out.println("Preparing Samples for Redux");
         
         // walk the tripolisamples and convert to samples
@@ -204,7 +245,6 @@ public class Project implements
                         ReduxConstants.ANALYSIS_PURPOSE.DetritalSpectrum, "UPb", "UPb");
         }
 
-        ArrayList<AbstractTripoliSample> tripoliSamples = tripoliSession.getTripoliSamples();
         for (AbstractTripoliSample tripoliSample : tripoliSamples) {
             // check for primary standard and leave it out
             if (true) {//oct 2014 want to include standards now (!tripoliSample.isPrimaryReferenceMaterial()) {
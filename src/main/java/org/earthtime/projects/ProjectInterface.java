@@ -7,8 +7,10 @@ package org.earthtime.projects;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 import org.earthtime.Tripoli.dataModels.inputParametersModels.AbstractAcquisitionModel;
 import org.earthtime.Tripoli.rawDataFiles.handlers.AbstractRawDataFileHandler;
+import org.earthtime.Tripoli.samples.AbstractTripoliSample;
 import org.earthtime.Tripoli.sessions.TripoliSessionInterface;
 import org.earthtime.UPb_Redux.ReduxConstants.ANALYSIS_PURPOSE;
 import org.earthtime.exceptions.ETException;
@@ -50,6 +52,12 @@ public interface ProjectInterface {
      */
     void prepareSamplesForRedux ();
 
+    /**
+     *
+     * @param tripoliSamples
+     */
+    void prepareSamplesForRedux (List<AbstractTripoliSample> tripoliSamples);
+
     /**
      *
      * @return
@@ -67,6 +75,12 @@ public interface ProjectInterface {
      */
     void saveTheProjectAsSerializedReduxFile ( File file );
 
+    /**
+     * saves off the event dispatch thread, holding the interface until the
+     * file is written
+     */
+    void saveTheProjectAsSerializedReduxFileInBackground ();
+
     /**
      * @param locationOfProjectReduxFile the locationOfProjectReduxFile to set
      */
@@ -28,7 +28,12 @@ import org.python.util.PythonInterpreter;
  * adapted from Python code published by Dr. Philip Wenig and John H. Hartman
  * under the terms of the GNU Lesser General Public License version # 2.1, as
  * published by the Free Software Foundation.
+ *
+ * @deprecated raw data handlers now use
+ * {@link org.earthtime.Tripoli.rawDataFiles.handlers.Thermo.ElementII_DatFileDecoder};
+ * retained as the reference implementation for parity testing.
  */
+@Deprecated
 public class ElementII_DatFileConverter {
 
     private static PythonInterpreter python;
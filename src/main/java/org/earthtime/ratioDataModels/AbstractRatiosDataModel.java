@@ -21,9 +21,6 @@ package org.earthtime.ratioDataModels;
 import com.google.common.base.Charsets;
 import com.google.common.io.Files;
 import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.io.xml.DomDriver;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
@@ -32,15 +29,19 @@ import java.io.PrintWriter;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import org.cirdles.commons.util.ResourceExtractor;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.user.UPbReduxConfigurator;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import org.earthtime.UPb_Redux.valueModels.ValueModelNameIndex;
 import org.earthtime.XMLExceptions.BadOrMissingXMLSchemaException;
 import org.earthtime.archivingTools.URIHelper;
 import org.earthtime.exceptions.ETException;
@@ -51,6 +52,7 @@ import org.earthtime.matrices.matrixModels.CovarianceMatrixModel;
 import org.earthtime.reduxLabData.ReduxLabDataListElementI;
 import org.earthtime.utilities.DateHelpers;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  *
@@ -67,6 +69,8 @@ public abstract class AbstractRatiosDataModel implements
      *
      */
     protected transient String XMLSchemaURL;
+    // customizeXstream sets XMLSchemaURL only on the model that builds the shared XStream
+    private static final Map<Class<?>, String> CLASS_XML_SCHEMA_URLS = new ConcurrentHashMap<>();
 
     /**
      *
@@ -135,6 +139,13 @@ public abstract class AbstractRatiosDataModel implements
      *
      */
     protected boolean immutable;
+    // oct 2026 counts saved edits to invalidate the cached covariances
+    private transient long editCount;
+    private transient Map<String, BigDecimal> covariancesVarUnctByName;
+    private transient long covariancesVarUnctEditCount;
+    private transient int covariancesVarUnctDataHash;
+    // oct 2026 name lookups into ratios
+    private transient ValueModelNameIndex ratiosIndex;
 
     /**
      *
@@ -348,6 +359,53 @@ public abstract class AbstractRatiosDataModel implements
         refreshModel();
     }
 
+    /**
+     * Returns the off-diagonal variance covariances of this model's data by
+     * name, e.g. covR233_235t__r235_205t, including zero covariances. The
+     * matrices are rebuilt only after saved edits or a change to the values
+     * or rhos of the data; otherwise the previously built map is returned.
+     *
+     * @return unmodifiable map of covariance names to covariances
+     */
+    public synchronized Map<String, BigDecimal> getDataCovariancesVarUnctByName() {
+        int dataHash = calculateDataHash();
+        if ((covariancesVarUnctByName == null) //
+                || (covariancesVarUnctEditCount != editCount) //
+                || (covariancesVarUnctDataHash != dataHash)) {
+
+            initializeModel();
+
+            Map<String, BigDecimal> covariances = new HashMap<>();
+            Map<Integer, String> rows = dataCovariancesVarUnct.getRows();
+            for (int row : rows.keySet()) {
+                String rowName = rows.get(row);
+                String covNamePrefix = "cov" + rowName.substring(0, 1).toUpperCase() + rowName.substring(1) + "__";
+                for (int col = row + 1; col < rows.size(); col++) {
+                    covariances.put(covNamePrefix + rows.get(col), //
+                            new BigDecimal(Double.toString(dataCovariancesVarUnct.getMatrix().get(row, col))));
+                }
+            }
+
+            covariancesVarUnctByName = Collections.unmodifiableMap(covariances);
+            covariancesVarUnctEditCount = editCount;
+            covariancesVarUnctDataHash = dataHash;
+        }
+
+        return covariancesVarUnctByName;
+    }
+
+    private int calculateDataHash() {
+        int dataHash = 17;
+        for (ValueModel ratio : ratios) {
+            dataHash = 31 * dataHash + ratio.getName().hashCode();
+            dataHash = 31 * dataHash + Objects.hashCode(ratio.getValue());
+            dataHash = 31 * dataHash + Objects.hashCode(ratio.getOneSigma());
+            dataHash = 31 * dataHash + Objects.hashCode(ratio.getUncertaintyType());
+        }
+        dataHash = 31 * dataHash + Objects.hashCode(rhos);
+        return dataHash;
+    }
+
     /**
      *
      */
@@ -403,6 +461,7 @@ public abstract class AbstractRatiosDataModel implements
             }
         }
 
+        editCount++;
         initializeModel();
     }
 
@@ -571,6 +630,7 @@ public abstract class AbstractRatiosDataModel implements
      */
     public void saveEdits(boolean checkCovarianceValidity)
             throws ETException {
+        editCount++;
         if ((dataCorrelationsVarUnct != null) || (dataCorrelationsSysUnct != null)) {
             generateBothUnctCovarianceMFromEachUnctCorrelationM();
 
@@ -857,11 +917,12 @@ public abstract class AbstractRatiosDataModel implements
      */
     public ValueModel getDatumByName(String datumName) {
 
-        ValueModel retVal = new ValueModel(datumName);
-        for (int i = 0; i < ratios.length; i++) {
-            if (ratios[i].getName().equals(datumName)) {
-                retVal = ratios[i];
-            }
+        if (ratiosIndex == null) {
+            ratiosIndex = new ValueModelNameIndex(false, true);
+        }
+        ValueModel retVal = ratiosIndex.find(ratios, datumName);
+        if (retVal == null) {
+            retVal = new ValueModel(datumName);
         }
 
         return retVal;
@@ -1022,6 +1083,7 @@ public abstract class AbstractRatiosDataModel implements
      */
     public void setRhosSysUnct(Map<String, BigDecimal> rhosSysUnct) {
         this.rhosSysUnct = rhosSysUnct;
+        editCount++;
     }
 
     // XML Serialization *******************************************************
@@ -1031,9 +1093,8 @@ public abstract class AbstractRatiosDataModel implements
      */
     protected XStream getXStream() {
 
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamReader(getClass(), this::customizeXstream);
+        XMLSchemaURL = CLASS_XML_SCHEMA_URLS.getOrDefault(getClass(), XMLSchemaURL);
 
         return xstream;
     }
@@ -1063,6 +1124,7 @@ public abstract class AbstractRatiosDataModel implements
 
         XMLSchemaURL
                 = myConfigurator.getResourceURI(resourceURI);
+        CLASS_XML_SCHEMA_URLS.put(getClass(), XMLSchemaURL);
     }
 
     /**
@@ -1123,33 +1185,9 @@ public abstract class AbstractRatiosDataModel implements
             throws FileNotFoundException, ETException, BadOrMissingXMLSchemaException {
         AbstractRatiosDataModel myModelClassInstance = null;
 
-        BufferedReader reader = URIHelper.getBufferedReader(filename);
-
-        if (reader != null) {
-            XStream xstream = getXStream();
-
-            boolean isValidOrAirplaneMode = true;
-
-            if (doValidate) {
-                isValidOrAirplaneMode = URIHelper.validateXML(reader, filename, XMLSchemaURL);
-            }
-
-            if (isValidOrAirplaneMode) {
-                // re-create reader
-                reader = URIHelper.getBufferedReader(filename);
-                try {
-                    myModelClassInstance = (AbstractRatiosDataModel) xstream.fromXML(reader);
-                    myModelClassInstance.initializeModel();
-                } catch (ConversionException e) {
-                    throw new ETException(null, e.getMessage());
-                }
-
-            } else {
-                throw new ETException(null, "XML data file does not conform to schema.");
-            }
-        } else {
-            throw new FileNotFoundException("Missing XML data file.");
-        }
+        // oct 2026 validated while read, in one pass
+        myModelClassInstance = (AbstractRatiosDataModel) URIHelper.unmarshalXML(getXStream(), filename, XMLSchemaURL, doValidate);
+        myModelClassInstance.initializeModel();
 
         return myModelClassInstance;
     }
@@ -1221,6 +1259,7 @@ public abstract class AbstractRatiosDataModel implements
      */
     public void setRatios(ValueModel[] ratios) {
         this.ratios = ratios;
+        editCount++;
     }
 
     /**
@@ -1228,6 +1267,7 @@ public abstract class AbstractRatiosDataModel implements
      */
     public void setRhosVarUnct(Map<String, BigDecimal> rhos) {
         this.rhos = rhos;
+        editCount++;
     }
 
     /**
@@ -25,6 +25,7 @@ import java.awt.Font;
 import java.awt.Frame;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -50,11 +51,13 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import javax.swing.JButton;
 import javax.swing.JDialog;
 import javax.swing.JLayeredPane;
 import javax.swing.JScrollPane;
 import javax.swing.ScrollPaneConstants;
+import javax.swing.SwingWorker;
 import javax.swing.event.MouseInputListener;
 import org.apache.batik.apps.rasterizer.SVGConverter;
 import org.apache.batik.apps.rasterizer.SVGConverterException;
@@ -95,6 +98,9 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
     private SampleInterface sample;
     private boolean activeTrueRejectsFalse;
     private String[][] reportFractions;
+    private volatile ReportRowIndex reportRowIndex;
+    // counts refreshes on the event dispatch thread
+    private int refreshCount = 0;
     private int aliquotCount;
     private JLayeredPane upperLeftCorner;
     private JLayeredPane reportHeader;
@@ -172,13 +178,42 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
     }
 
     private synchronized void prepareReportFractionsArrayForDisplay() {
+        String[][] preparedFractions = buildReportFractionsForDisplay();
+        publishReportFractions(preparedFractions, new ReportRowIndex(preparedFractions));
+    }
+
+    /**
+     * Builds and sorts a new report array without touching the one on
+     * display, so that it can be built on a background thread.
+     *
+     * @return the report fractions of the sample, sorted
+     */
+    private String[][] buildReportFractionsForDisplay() {
+        String[][] preparedFractions;
         if (activeTrueRejectsFalse) {
-            reportFractions = SampleInterface.reportActiveFractionsByNumberStyle(sample, false);
+            preparedFractions = SampleInterface.reportActiveFractionsByNumberStyle(sample, false);
         } else {
-            reportFractions = SampleInterface.reportRejectedFractionsByNumberStyle(sample, false);
+            preparedFractions = SampleInterface.reportRejectedFractionsByNumberStyle(sample, false);
         }
 
-        sortReportColumn(reportFractions, sortedColumnNumber, sortedColumnDirection);
+        sortReportColumn(preparedFractions, sortedColumnNumber, sortedColumnDirection);
+
+        return preparedFractions;
+    }
+
+    private void publishReportFractions(String[][] preparedFractions, ReportRowIndex preparedRowIndex) {
+        reportFractions = preparedFractions;
+        // oct 2026 rows are laid out here, off the paint path
+        reportRowIndex = preparedRowIndex;
+    }
+
+    private ReportRowIndex getReportRowIndex() {
+        ReportRowIndex rowIndex = reportRowIndex;
+        if ((rowIndex == null) || !rowIndex.isOf(reportFractions)) {
+            rowIndex = new ReportRowIndex(reportFractions);
+            reportRowIndex = rowIndex;
+        }
+        return rowIndex;
     }
 
     /**
@@ -248,6 +283,174 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
         }
     }
 
+    /**
+     * The layout of the fraction rows of a reportFractions array, built when
+     * the array is prepared or sorted rather than on every paint: the top of
+     * each row and of any aliquot bar above it, the aliquot and fraction it
+     * shows, and the map of rows to fractions and aliquots used by the mouse
+     * listeners. Pixel counts start at 0 for the top of the first row.
+     */
+    class ReportRowIndex {
+
+        // matches topMargin of ReportPainter.paint
+        private static final int TOP_MARGIN = -2;
+
+        private final String[][] reportFractions;
+        private final boolean showAliquotBars;
+        private final SampleInterface sample;
+        private final int[] rowTops;
+        private final boolean[] startsAliquot;
+        private final AliquotInterface[] aliquots;
+        private final ETFractionInterface[] fractions;
+        private final ArrayList<TableRowObject> verticalPixelFractionMap;
+        private final int rowsHeight;
+
+        ReportRowIndex(String[][] reportFractions) {
+            this.reportFractions = reportFractions;
+            this.showAliquotBars = ReportAliquotFractionsView.showAliquotBars;
+            this.sample = ReportAliquotFractionsView.this.sample;
+
+            int fractionDataStartRow = Integer.parseInt(reportFractions[0][0]);
+            int rowCount = Math.max(0, reportFractions.length - fractionDataStartRow);
+            this.rowTops = new int[rowCount];
+            this.startsAliquot = new boolean[rowCount];
+            this.aliquots = new AliquotInterface[rowCount];
+            this.fractions = new ETFractionInterface[rowCount];
+            this.verticalPixelFractionMap = new ArrayList<>();
+
+            // one pass over the fractions in place of getFractionByIDAndAliquotNumber per row
+            Map<String, ETFractionInterface> fractionsByAliquotNumberAndID = new HashMap<>();
+            if (sample != null) {
+                for (ETFractionInterface fraction : sample.getFractions()) {
+                    fractionsByAliquotNumberAndID.putIfAbsent(//
+                            fraction.getAliquotNumber() + "&" + fraction.getFractionID().toUpperCase(), fraction);
+                }
+            }
+
+            String saveAliquotName = "";
+            AliquotInterface aliquot = null;
+            int drawnHeight = 0;
+            for (int i = 0; i < rowCount; i++) {
+                int row = fractionDataStartRow + i;
+
+                if (!reportFractions[row][1].equalsIgnoreCase(saveAliquotName)) {
+                    saveAliquotName = reportFractions[row][1];
+                    startsAliquot[i] = true;
+
+                    if (sample != null) {
+                        aliquot = sample.getAliquotByName(reportFractions[row][1].trim());
+                        if (showAliquotBars) {
+                            verticalPixelFractionMap.add( //
+                                    new TableRowObject(drawnHeight + TOP_MARGIN + lineHeight + 1, aliquot));
+                        }
+                    }
+
+                    if (showAliquotBars) {
+                        drawnHeight += lineHeight + 5;
+                    }
+                }
+
+                rowTops[i] = drawnHeight;
+                aliquots[i] = aliquot;
+
+                if ((sample != null) && (aliquot != null)) {
+                    try {
+                        fractions[i] = fractionsByAliquotNumberAndID.get(//
+                                ((ReduxAliquotInterface) aliquot).getAliquotNumber() + "&" + reportFractions[row][2].trim().toUpperCase());
+                        verticalPixelFractionMap.add( //
+                                new TableRowObject(drawnHeight + TOP_MARGIN + lineHeight + 1, fractions[i]));
+                    } catch (Exception e) {
+                    }
+                }
+
+                drawnHeight += lineHeight;
+            }
+
+            this.rowsHeight = drawnHeight;
+        }
+
+        /**
+         *
+         * @param reportFractions
+         * @return true if this index lays out reportFractions as last prepared
+         * or sorted and for the current sample and aliquot bar setting
+         */
+        boolean isOf(String[][] reportFractions) {
+            return (this.reportFractions == reportFractions)//
+                    && (showAliquotBars == ReportAliquotFractionsView.showAliquotBars)//
+                    && (sample == ReportAliquotFractionsView.this.sample);
+        }
+
+        int getRowCount() {
+            return rowTops.length;
+        }
+
+        /**
+         *
+         * @param pixelCount
+         * @return the index of the first row with its top at or below
+         * pixelCount, or getRowCount() if there is none
+         */
+        int indexOfFirstRowAtOrBelow(int pixelCount) {
+            int index = Arrays.binarySearch(rowTops, pixelCount);
+            if (index < 0) {
+                index = -index - 1;
+            } else {
+                // row tops are distinct, but stay with the first
+                while ((index > 0) && (rowTops[index - 1] == pixelCount)) {
+                    index--;
+                }
+            }
+            return index;
+        }
+
+        /**
+         * @return the height of all rows and aliquot bars
+         */
+        int getRowsHeight() {
+            return rowsHeight;
+        }
+
+        int getRowTop(int index) {
+            return rowTops[index];
+        }
+
+        boolean isStartOfAliquot(int index) {
+            return startsAliquot[index];
+        }
+
+        AliquotInterface getAliquot(int index) {
+            return aliquots[index];
+        }
+
+        ETFractionInterface getFraction(int index) {
+            return fractions[index];
+        }
+
+        /**
+         *
+         * @param fractionID
+         * @return the map entry of the fraction with fractionID, or null
+         */
+        TableRowObject findFractionTableRowObject(String fractionID) {
+            TableRowObject found = null;
+            for (TableRowObject tableRowObject : verticalPixelFractionMap) {
+                if ((tableRowObject.getRowObject() instanceof ETFractionInterface)//
+                        && (fractionID.compareToIgnoreCase(((ETFractionInterface) tableRowObject.getRowObject()).getFractionID()) == 0)) {
+                    found = tableRowObject;
+                }
+            }
+            return found;
+        }
+
+        /**
+         * @return the verticalPixelFractionMap
+         */
+        ArrayList<TableRowObject> getVerticalPixelFractionMap() {
+            return verticalPixelFractionMap;
+        }
+    }
+
     /**
      *
      * @param g
@@ -375,6 +578,62 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
      *
      */
     public void preparePanel() {
+        prepareReportData();
+        layoutPreparedPanel();
+    }
+
+    /**
+     * Builds a new report array and its row layout on a background thread
+     * and then, on the event dispatch thread, puts them on display and lays
+     * out the panel, so that large samples do not block the interface while
+     * being reported. Only the most recent refresh is put on display.
+     *
+     * @param whenRefreshed run on the event dispatch thread after the panel
+     * is laid out, or null
+     */
+    public void refreshPanelInBackground(final Runnable whenRefreshed) {
+        final int refresh = ++refreshCount;
+        new SwingWorker<ReportRowIndex, Void>() {
+            @Override
+            protected ReportRowIndex doInBackground() throws Exception {
+                return new ReportRowIndex(buildReportFractionsForDisplay());
+            }
+
+            @Override
+            protected void done() {
+                if (refresh != refreshCount) {
+                    return;
+                }
+                // also reset fractions selected re: red box
+                sample.deSelectAllFractionsInDataTable();
+                try {
+                    ReportRowIndex preparedRowIndex = get();
+                    publishReportFractions(preparedRowIndex.reportFractions, preparedRowIndex);
+                } catch (InterruptedException | ExecutionException e) {
+                    System.out.println("Report preparation failed: " + e.getMessage());
+                }
+                layoutPreparedPanel();
+                reSizeScrollPanes();
+                if (whenRefreshed != null) {
+                    whenRefreshed.run();
+                }
+            }
+        }.execute();
+    }
+
+    private void prepareReportData() {
+        // also reset fractions selected re: red box
+        sample.deSelectAllFractionsInDataTable();
+
+        // first get reportFractions from sample
+        try {
+            prepareReportFractionsArrayForDisplay();
+
+        } catch (Exception e) {
+        }
+    }
+
+    private void layoutPreparedPanel() {
 
         int saveVerticalScrollPosition = 0;
         int saveHorizontalScrollPosition = 0;
@@ -389,15 +648,6 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
         // reset panel
         removeAll();
 
-        // also reset fractions selected re: red box
-        sample.deSelectAllFractionsInDataTable();
-
-        // first get reportFractions from sample
-        try {
-            prepareReportFractionsArrayForDisplay();
-
-        } catch (Exception e) {
-        }
         // restore leftmargin
         leftMargin = 5;
 
@@ -569,7 +819,7 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
         reportBodyScrollPane.getVerticalScrollBar().setValue(saveVerticalScrollPosition);
         reportBodyScrollPane.getHorizontalScrollBar().setValue(saveHorizontalScrollPosition);
 
-    } // preparePanel
+    } // layoutPreparedPanel
 
     private class SortButtonActionListener implements ActionListener {
 
@@ -592,6 +842,8 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
 
             sortedColumnNumber = columnNumber;
             sortReportColumn(getReportFractions(), columnNumber, sortedColumnDirection);
+            // sorted in place, so lay out the rows again
+            reportRowIndex = null;
             repaint();
         }
     }
@@ -778,8 +1030,6 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
          */
         public void paint(Graphics2D g2D) {
 
-            verticalPixelFractionMap = new ArrayList<>();
-
             RenderingHints rh = g2D.getRenderingHints();
             rh.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             rh.put(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
@@ -804,8 +1054,6 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
             g2D.setFont(numberFont);
             g2D.setColor(Color.BLACK);
 
-            AliquotInterface aliquot = null;
-
             // message to display when sample is missing, etc.
             if (displayMessage.length() > 0) {
 
@@ -958,24 +1206,60 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
                                 12,
                                 (drawnHeight + topMargin + 3 * lineHeight));
                     } else {
-                        String saveAliquotName = "";
+                        // oct 2026 rows are laid out by the ReportRowIndex, so only those
+                        // within the clip are painted and the map is no longer rebuilt here
+                        ReportRowIndex rowIndex = getReportRowIndex();
+                        if ((sample != null) && paintType.equalsIgnoreCase("FRACTION")) {
+                            verticalPixelFractionMap = rowIndex.getVerticalPixelFractionMap();
+                        }
 
-                        int grayBarRowCount = 0;
+                        if ((rowIndex.getRowCount() > 0) && rowIndex.isStartOfAliquot(0)//
+                                && (paintType.equalsIgnoreCase("BODY") || paintType.equalsIgnoreCase("BOTH"))) {
+                            leftMargin = 3;
+                        }
 
-                        for (int row = fractionDataStartRow; row < reportFractions.length; row++) {
+                        // oct 2016 -1 added in to compensate for additional cell that records true/false filtering
+                        int filterColumn = reportFractions[0].length - 1;
+                        int columnCount = filterColumn;
+                        int columnStart = 2;
+                        if (paintType.equalsIgnoreCase("FRACTION")) {
+                            columnCount = 3;
+                        }
+                        if (paintType.equalsIgnoreCase("BODY")) {
+                            columnStart = 3;
+                        }
+                        float[] columnWidths = new float[Math.max(columnCount, 0)];
+                        for (int c = columnStart; c < columnCount; c++) {
+                            columnWidths[c] = (reportFractions[fractionDataStartRow][c].length()) * COLUMN_WIDTH_ADJUST_FACTOR;
+                        }
+
+                        // rows whose text, lines or aliquot bar reach into the clip
+                        int rowsTop = drawnHeight;
+                        int firstRow = 0;
+                        int endRow = rowIndex.getRowCount();
+                        Rectangle clip = g2D.getClipBounds();
+                        if (clip != null) {
+                            firstRow = rowIndex.indexOfFirstRowAtOrBelow(clip.y - rowsTop - 2 * lineHeight);
+                            endRow = rowIndex.indexOfFirstRowAtOrBelow(clip.y + clip.height - rowsTop + 2 * lineHeight + 1);
+                        }
+
+                        for (int i = firstRow; i < endRow; i++) {
+                            int row = fractionDataStartRow + i;
                             drawnWidth = leftMargin;
+                            drawnHeight = rowsTop + rowIndex.getRowTop(i);
 
                             // april 2012 reportFractions will contain only accepted OR rejected, thus here check for printing fractions
-                            if (showFractions) {                          
-                                grayBarRowCount++;
+                            if (showFractions) {
+                                int grayBarRowCount = i + 1;
+                                AliquotInterface aliquot = rowIndex.getAliquot(i);
                                 // for each aliquot                                
-                                if (!reportFractions[row][1].equalsIgnoreCase(saveAliquotName)) {
-                                    saveAliquotName = reportFractions[row][1];
-
+                                if (rowIndex.isStartOfAliquot(i)) {
                                     if (showAliquotBars) {
+                                        int aliquotBarHeight = drawnHeight - lineHeight - 5;
+
                                         g2D.setColor(ReduxConstants.myAliquotGrayColor);
 
-                                        g2D.fillRect(0, drawnHeight + 2 + topMargin + 0, reportWidth - 1, lineHeight + 2);
+                                        g2D.fillRect(0, aliquotBarHeight + 2 + topMargin + 0, reportWidth - 1, lineHeight + 2);
 
                                         g2D.setColor(Color.BLACK);
 
@@ -983,40 +1267,23 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
                                             // aliquot  name
                                             g2D.drawString(reportFractions[row][1],
                                                     leftMargin,
-                                                    drawnHeight + topMargin + lineHeight);
+                                                    aliquotBarHeight + topMargin + lineHeight);
                                         }
-                                    }
 
-                                    // build map of row to fraction objects and aliquot objects
-                                    if ((sample != null) && paintType.equalsIgnoreCase("FRACTION")) {
-                                        aliquot = sample.getAliquotByName(reportFractions[row][1].trim());
-                                        if (showAliquotBars) {
-                                            verticalPixelFractionMap.add( //
-                                                    new TableRowObject( //
-                                                            drawnHeight + topMargin + lineHeight + 1,//
-                                                            aliquot));
-
-                                            if (((ReportRowGUIInterface) aliquot).isSelectedInDataTable()) {
-                                                // dec 2011 give some button characteristics for selected aliquot 
-                                                g2D.setColor(Color.red);
-                                                g2D.drawRoundRect( //
-                                                        leftMargin - 1,//
-                                                        drawnHeight + topMargin + 3, //
-                                                        fractionColumnWidth - 5,
-                                                        lineHeight - 2, 5, 5);
-                                                g2D.setColor(Color.BLACK);
-                                            }
+                                        if ((sample != null) && paintType.equalsIgnoreCase("FRACTION")//
+                                                && (aliquot != null) && ((ReportRowGUIInterface) aliquot).isSelectedInDataTable()) {
+                                            // dec 2011 give some button characteristics for selected aliquot 
+                                            g2D.setColor(Color.red);
+                                            g2D.drawRoundRect( //
+                                                    leftMargin - 1,//
+                                                    aliquotBarHeight + topMargin + 3, //
+                                                    fractionColumnWidth - 5,
+                                                    lineHeight - 2, 5, 5);
+                                            g2D.setColor(Color.BLACK);
                                         }
                                     }
 
-                                    if (paintType.equalsIgnoreCase("BODY") || paintType.equalsIgnoreCase("BOTH")) {
-                                        leftMargin = 3;
-                                    }
                                     drawnWidth = leftMargin;
-
-                                    if (showAliquotBars) {
-                                        drawnHeight += lineHeight + 5;
-                                    }
                                 }
 
                                 // try gray bar style
@@ -1026,35 +1293,15 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
                                 }
                                 
                                 // fraction data
-                                // oct 2016 -1 added in to compensate for additional cell that records true/false filtering
-                                int columnCount = reportFractions[0].length - 1;
-                                boolean showAsFilteredOut = (reportFractions[row][columnCount].compareToIgnoreCase("false") == 0);
-                                int columnStart = 2;
-                                if (paintType.equalsIgnoreCase("FRACTION")) {
-                                    columnCount = 3;
-                                }
-                                if (paintType.equalsIgnoreCase("BODY")) {
-                                    columnStart = 3;
-                                }
+                                boolean showAsFilteredOut = (reportFractions[row][filterColumn].compareToIgnoreCase("false") == 0);
 
-                                // build map of row to fraction objects and aliquot objects
                                 if ((sample != null) && paintType.equalsIgnoreCase("FRACTION") && (aliquot != null)) {
                                     // april 2012
                                     //right shift text in fraction column to allow for fractionButtonMargin
                                     drawnWidth += fractionButtonMargin;
 
-                                    ETFractionInterface fraction = null;
+                                    ETFractionInterface fraction = rowIndex.getFraction(i);
                                     try {
-                                        fraction = sample.getFractionByIDAndAliquotNumber(reportFractions[row][2].trim(), ((ReduxAliquotInterface) aliquot).getAliquotNumber());
-                                        TableRowObject currentFractionTableRowObject
-                                                = new TableRowObject( //
-                                                        drawnHeight + topMargin + lineHeight + 1,//
-                                                        fraction);
-                                        verticalPixelFractionMap.add(currentFractionTableRowObject);
-                                        if (lastAcquiredFractionID.compareToIgnoreCase(fraction.getFractionID()) == 0) {
-                                            lastAquiredTableRowObject = currentFractionTableRowObject;
-                                        }
-
                                         if (((ReportRowGUIInterface) fraction).isSelectedInDataTable()) {
                                             // dec 2011 give some button characteristics for selected fraction 
                                             g2D.setColor(Color.red);
@@ -1101,41 +1348,52 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
 //                                g2D.setColor(Color.BLACK);
 
                                 for (int c = columnStart; c < columnCount; c++) {
-                                    // oct 2016 filtering
-                                    if (showAsFilteredOut) {
-                                        g2D.setColor(Color.LIGHT_GRAY);
-                                    } else {
-                                        g2D.setColor(Color.BLACK);
-                                    }
+                                    float columnLeft = leftMargin + drawnWidth;
+                                    boolean columnInClip = (clip == null) //
+                                            || ((columnLeft <= clip.x + clip.width) //
+                                            && (columnLeft + columnWidths[c] + dividerWidth + 4 >= clip.x));
+
+                                    if (columnInClip) {
+                                        // oct 2016 filtering
+                                        if (showAsFilteredOut) {
+                                            g2D.setColor(Color.LIGHT_GRAY);
+                                        } else {
+                                            g2D.setColor(Color.BLACK);
+                                        }
 
-                                    try {
-                                        g2D.drawString(reportFractions[row][c],
-                                                leftMargin + drawnWidth,
-                                                drawnHeight + topMargin + lineHeight);
-
-                                    } catch (Exception ex) {
-                                        g2D.drawString("",
-                                                leftMargin + drawnWidth,
-                                                drawnHeight + topMargin + lineHeight);
+                                        try {
+                                            g2D.drawString(reportFractions[row][c],
+                                                    leftMargin + drawnWidth,
+                                                    drawnHeight + topMargin + lineHeight);
+
+                                        } catch (Exception ex) {
+                                            g2D.drawString("",
+                                                    leftMargin + drawnWidth,
+                                                    drawnHeight + topMargin + lineHeight);
+                                        }
                                     }
 
-                                    drawnWidth += (reportFractions[fractionDataStartRow][c].length()) * COLUMN_WIDTH_ADJUST_FACTOR;
+                                    drawnWidth += columnWidths[c];
 
-                                    // vertical line
-                                    g2D.setColor(Color.gray);
+                                    if (columnInClip) {
+                                        // vertical line
+                                        g2D.setColor(Color.gray);
 
-                                    g2D.drawLine(//
-                                            (int) (leftMargin + drawnWidth + 4), //
-                                            drawnHeight + topMargin,// + lineHeight, //
-                                            (int) (leftMargin + drawnWidth + 4), //
-                                            drawnHeight + topMargin + lineHeight + 10);
+                                        g2D.drawLine(//
+                                                (int) (leftMargin + drawnWidth + 4), //
+                                                drawnHeight + topMargin,// + lineHeight, //
+                                                (int) (leftMargin + drawnWidth + 4), //
+                                                drawnHeight + topMargin + lineHeight + 10);
+                                    }
 
                                     drawnWidth += dividerWidth;
                                 }
-
-                                drawnHeight += lineHeight;
                             }
                         }
+
+                        if (showFractions) {
+                            drawnHeight = rowsTop + rowIndex.getRowsHeight();
+                        }
                     }
 
                     // list out footnotes
@@ -1462,6 +1720,11 @@ public class ReportAliquotFractionsView extends JLayeredPane implements ReportUp
          */
         public void setLastAcquiredFractionID(String lastAcquiredFractionID) {
             this.lastAcquiredFractionID = lastAcquiredFractionID;
+
+            TableRowObject lastAcquiredTableRowObject = getReportRowIndex().findFractionTableRowObject(lastAcquiredFractionID);
+            if (lastAcquiredTableRowObject != null) {
+                lastAquiredTableRowObject = lastAcquiredTableRowObject;
+            }
         }
     }
 }
@@ -111,11 +111,14 @@ public class TabbedReportViews extends JTabbedPane {
      */
     public void refreshTabs() {
         if (sample != null) {
-            ((ReportAliquotFractionsView) viewTabulatedAliquotActiveFractions).refreshPanel();
-            this.setTitleAt(0, "Active Fractions (" + Integer.toString(((ReportAliquotFractionsView) viewTabulatedAliquotActiveFractions).getReportFractions().length - ReportSettingsInterface.FRACTION_DATA_START_ROW) + ")");
-
-            ((ReportAliquotFractionsView) viewTabulatedAliquotRejectedFractions).refreshPanel();
-            this.setTitleAt(1, "Rejected Fractions (" + Integer.toString(((ReportAliquotFractionsView) viewTabulatedAliquotRejectedFractions).getReportFractions().length - ReportSettingsInterface.FRACTION_DATA_START_ROW) + ")");
+            // oct 2026 reports are prepared in the background and titled when laid out
+            ((ReportAliquotFractionsView) viewTabulatedAliquotActiveFractions).refreshPanelInBackground(() -> {
+                this.setTitleAt(0, "Active Fractions (" + Integer.toString(((ReportAliquotFractionsView) viewTabulatedAliquotActiveFractions).getReportFractions().length - ReportSettingsInterface.FRACTION_DATA_START_ROW) + ")");
+            });
+
+            ((ReportAliquotFractionsView) viewTabulatedAliquotRejectedFractions).refreshPanelInBackground(() -> {
+                this.setTitleAt(1, "Rejected Fractions (" + Integer.toString(((ReportAliquotFractionsView) viewTabulatedAliquotRejectedFractions).getReportFractions().length - ReportSettingsInterface.FRACTION_DATA_START_ROW) + ")");
+            });
         }
     }
 
@@ -0,0 +1,161 @@
+/*
+ * ReportCellCache.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.reports;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+
+/**
+ * The formatted cells of one report column, by fraction, in both the numeric
+ * and the display form. A fraction's cells are reused as long as the value
+ * model they were formatted from is the same object holding the same value,
+ * uncertainty and uncertainty type, its flags for measured lead and uranium
+ * are unchanged, and the settings version of the column is unchanged, so the
+ * report view and the CSV and Excel exports format each value once rather
+ * than on every refresh. Values and uncertainties are immutable BigDecimals,
+ * so they are compared by identity.
+ *
+ * @author James F. Bowring
+ */
+public class ReportCellCache {
+
+    private final Map<String, CachedCells> cells;
+    private int countOfHits;
+    private int countOfMisses;
+
+    /**
+     *
+     */
+    public ReportCellCache() {
+        this.cells = new HashMap<>();
+        this.countOfHits = 0;
+        this.countOfMisses = 0;
+    }
+
+    private static class CachedCells {
+
+        private final ValueModel valueModel;
+        private final BigDecimal value;
+        private final BigDecimal oneSigma;
+        private final String uncertaintyType;
+        private final int fractionFlags;
+        private final long settingsVersion;
+        // indexed by 1 for numeric and 0 for display
+        private final String[][] cells;
+
+        CachedCells(ValueModel valueModel, int fractionFlags, long settingsVersion) {
+            this.valueModel = valueModel;
+            this.value = valueModel.getValue();
+            this.oneSigma = valueModel.getOneSigma();
+            this.uncertaintyType = valueModel.getUncertaintyType();
+            this.fractionFlags = fractionFlags;
+            this.settingsVersion = settingsVersion;
+            this.cells = new String[2][];
+        }
+
+        boolean isFormattedFrom(ValueModel valueModel, int fractionFlags, long settingsVersion) {
+            return (this.valueModel == valueModel)//
+                    && (value == valueModel.getValue())//
+                    && (oneSigma == valueModel.getOneSigma())//
+                    && (this.fractionFlags == fractionFlags)//
+                    && (this.settingsVersion == settingsVersion)//
+                    && ((uncertaintyType == null) ? (valueModel.getUncertaintyType() == null) : uncertaintyType.equals(valueModel.getUncertaintyType()));
+        }
+    }
+
+    /**
+     *
+     * @param fractionID
+     * @param isNumeric
+     * @param valueModel the value model the cell is formatted from
+     * @param fractionFlags the flags of the fraction the cell depends on
+     * @param settingsVersion the settings version of the column
+     * @return a copy of the cell formatted for fractionID from the same
+     * inputs, or null
+     */
+    public synchronized String[] get(String fractionID, boolean isNumeric, ValueModel valueModel, int fractionFlags, long settingsVersion) {
+        CachedCells cachedCells = cells.get(fractionID);
+        if ((cachedCells != null) && (cachedCells.cells[isNumeric ? 1 : 0] != null)//
+                && cachedCells.isFormattedFrom(valueModel, fractionFlags, settingsVersion)) {
+            countOfHits++;
+            return cachedCells.cells[isNumeric ? 1 : 0].clone();
+        }
+
+        countOfMisses++;
+        return null;
+    }
+
+    /**
+     *
+     * @param fractionID
+     * @param isNumeric
+     * @param valueModel
+     * @param fractionFlags
+     * @param settingsVersion
+     * @param cell
+     */
+    public synchronized void put(String fractionID, boolean isNumeric, ValueModel valueModel, int fractionFlags, long settingsVersion, String[] cell) {
+        CachedCells cachedCells = cells.get(fractionID);
+        if ((cachedCells == null) || !cachedCells.isFormattedFrom(valueModel, fractionFlags, settingsVersion)) {
+            cachedCells = new CachedCells(valueModel, fractionFlags, settingsVersion);
+            cells.put(fractionID, cachedCells);
+        }
+        cachedCells.cells[isNumeric ? 1 : 0] = cell.clone();
+    }
+
+    /**
+     * Forgets the cells of fractions no longer reported.
+     *
+     * @param fractionIDs the IDs of all the fractions that may be reported
+     */
+    public synchronized void retainFractionIDs(Set<String> fractionIDs) {
+        cells.keySet().retainAll(fractionIDs);
+    }
+
+    /**
+     *
+     */
+    public synchronized void clear() {
+        cells.clear();
+    }
+
+    /**
+     * @return the count of fractions with cached cells
+     */
+    public synchronized int size() {
+        return cells.size();
+    }
+
+    /**
+     * @return the countOfHits
+     */
+    public synchronized int getCountOfHits() {
+        return countOfHits;
+    }
+
+    /**
+     * @return the countOfMisses
+     */
+    public synchronized int getCountOfMisses() {
+        return countOfMisses;
+    }
+}
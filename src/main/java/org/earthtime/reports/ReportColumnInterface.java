@@ -16,14 +16,15 @@
 package org.earthtime.reports;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import org.earthtime.UPb_Redux.ReduxConstants;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 import org.earthtime.dataDictionaries.reportSpecifications.ReportSpecificationsUPb;
 import org.earthtime.fractions.ETFractionInterface;
 import org.earthtime.reportViews.ReportListItemI;
+import org.earthtime.utilities.MethodHandleRegistry;
 
 /**
  *
@@ -344,12 +345,102 @@ public interface ReportColumnInterface extends Comparable<ReportColumnInterface>
     }
 
     /**
+     * Oct 2026 the retrieve method as a handle taking the fraction and, if
+     * this column has a retrieve variable name, that name.
+     *
+     * @return the handle of the retrieve method
+     * @throws NoSuchMethodException if ETFractionInterface has no such method
+     */
+    public default MethodHandle getRetrieveMethodHandle() throws NoSuchMethodException {
+        return (getRetrieveVariableName().length() == 0)//
+                ? MethodHandleRegistry.findMethod(ETFractionInterface.class, getRetrieveMethodName())//
+                : MethodHandleRegistry.findMethod(ETFractionInterface.class, getRetrieveMethodName(), String.class);
+    }
+
+    /**
+     * @return the formatted cells of this column, or null if they are not
+     * cached
+     */
+    public default ReportCellCache getReportCellCache() {
+        return null;
+    }
+
+    /**
+     * Oct 2026 columns with a ReportCellCache count each change to the
+     * settings their cells are formatted from.
+     *
+     * @return the count of changes to the settings of this column
+     */
+    public default int getSettingsVersion() {
+        return 0;
+    }
+
+    /**
+     * Oct 2026 reuses the cell formatted from the same value model values and
+     * column settings when this column has a ReportCellCache.
      *
      * @param fraction
      * @param isNumeric
      * @return
      */
     public default String[] getReportRecordByColumnSpec(ETFractionInterface fraction, boolean isNumeric) {
+        ReportCellCache reportCellCache = getReportCellCache();
+        if ((reportCellCache == null) || getRetrieveMethodName().equals("") || (getRetrieveVariableName().length() == 0)) {
+            return formatReportRecordByColumnSpec(fraction, isNumeric);
+        }
+
+        ValueModel vm = null;
+        try {
+            vm = (ValueModel) MethodHandleRegistry.invoke(getRetrieveMethodHandle(), fraction, getRetrieveVariableName());
+        } catch (NoSuchMethodException | InvocationTargetException | ClassCastException e) {
+        }
+        if (vm == null) {
+            return formatReportRecordByColumnSpec(fraction, isNumeric);
+        }
+
+        // the measured lead and uranium of the fraction matter only to columns that need them
+        int fractionFlags = 0;
+        if (!isLegacyData() && (fraction instanceof UPbFractionI)) {
+            if (isNeedsPb() && ((UPbFractionI) fraction).hasMeasuredLead()) {
+                fractionFlags |= 1;
+            }
+            if (isNeedsU() && ((UPbFractionI) fraction).hasMeasuredUranium()) {
+                fractionFlags |= 2;
+            }
+        }
+        long settingsVersion = getSettingsVersion();
+        if (getUncertaintyColumn() != null) {
+            settingsVersion = (settingsVersion << 32) | (getUncertaintyColumn().getSettingsVersion() & 0xffffffffL);
+        }
+
+        String[] retVal = reportCellCache.get(fraction.getFractionID(), isNumeric, vm, fractionFlags, settingsVersion);
+        if (retVal == null) {
+            retVal = formatReportRecordByColumnSpec(fraction, vm, isNumeric);
+            reportCellCache.put(fraction.getFractionID(), isNumeric, vm, fractionFlags, settingsVersion, retVal);
+        }
+
+        return retVal;
+    }
+
+    /**
+     *
+     * @param fraction
+     * @param isNumeric
+     * @return
+     */
+    public default String[] formatReportRecordByColumnSpec(ETFractionInterface fraction, boolean isNumeric) {
+        return formatReportRecordByColumnSpec(fraction, null, isNumeric);
+    }
+
+    /**
+     *
+     * @param fraction
+     * @param valueModel the value model of fraction that this column
+     * retrieves, or null to retrieve it here
+     * @param isNumeric
+     * @return
+     */
+    public default String[] formatReportRecordByColumnSpec(ETFractionInterface fraction, ValueModel valueModel, boolean isNumeric) {
         // returns an entry for the value and one for the uncertainty if it exists
         // there are two possible modes : sigfig and arbitrary
         // if sigfig, the string contains only the sig digits forced to length
@@ -375,121 +466,106 @@ public interface ReportColumnInterface extends Comparable<ReportColumnInterface>
             retVal[1] = retVal[0];
         } else {
             if (!getRetrieveMethodName().equals("")) {
-                // get fraction field by using reflection
+                // get fraction field by using reflection - oct 2026 via the handle resolved once per column
                 //String retrieveVariableName = getRetrieveVariableName();
-                try {
-                    Class<?> fractionClass =//
-                            Class.forName(ETFractionInterface.class.getCanonicalName()); // June 2015 Fraction APRIL 2014 ????Class.forName( UPbFraction.class.getCanonicalName() );
-
-                    // this is the case of fractionID, the only string returned
-                    if (getRetrieveVariableName().length() == 0) {
-                        try {
-                            Method meth
-                                    = fractionClass.getMethod(//
-                                            getRetrieveMethodName(),
-                                            new Class[0]);
-
-                            Object o = meth.invoke(fraction, new Object[0]);
-
-                            retVal[0] = o.toString();
-                        } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                            System.err.println(e);
-                        }
-                    } else {
-                        try {
-                            Method meth
-                                    = fractionClass.getMethod(//
-                                            getRetrieveMethodName(),
-                                            new Class[]{String.class});
-
-                            ValueModel vm = (ValueModel) meth.invoke(fraction, new Object[]{getRetrieveVariableName()});
-
-                            // nov 2014 to show when rhos not calculated
-                            if (getRetrieveVariableName().startsWith("rhoR") && vm.getValue().doubleValue() == ReduxConstants.NO_RHO_FLAG) {
-                                retVal[0] = "   not calc";
-                            } else if (vm.amPositiveAndLessThanTolerance()) {
-                                // may 2013 for tiny numbers due to below detection
-                                retVal[0] = " bd "; // below detection
-
-                            } else if (vm.hasZeroValue()  && !getRetrieveVariableName().startsWith("rhoR")) {//oct 2014 // added rho June 2016
-                                retVal[0] = " - ";
-
-                            } else if (isNumeric) {
-                                retVal[0]
-                                        = vm.getValueInUnits(getUnits()).toPlainString().trim();
-                            } else if (isDisplayedWithArbitraryDigitCount()) {
-                                retVal[0]
-                                        = ValueModel.formatBigDecimalForPublicationArbitraryMode(//
-                                                vm.getValueInUnits(getUnits()),
-                                                getCountOfSignificantDigits());
-                            } else {
-                                // value is in sigfig mode = two flavors
-                                // if there is no uncertainty column, then show the value with
-                                // normal sigfig formatting
-                                // if there is an uncertainty column and it is in arbitrary mode, then
-                                // also show value with normal sigfig formatting
-
-                                retVal[0] = ValueModel.formatBigDecimalForPublicationSigDigMode(vm.getValue().movePointRight(ReduxConstants.getUnitConversionMoveCount(getUnits())),//
-                                        getCountOfSignificantDigits());
-
-                                // however, if uncertainty column is in sigfig mode, then
-                                // use special algorithm to format value per the digits of
-                                // the formatted uncertainty column
-                                if (getUncertaintyColumn() != null) {
-                                    // added July 2017 to disable uncert column effect if it is not visible (making it behave as if arbitrary)
-                                    if (getUncertaintyColumn().isVisible() && !getUncertaintyColumn().isDisplayedWithArbitraryDigitCount()) {
-                                        // uncertainty column is in sigfig mode
-                                        retVal[0] = vm.formatValueFromTwoSigmaForPublicationSigDigMode(//
-                                                getUncertaintyType(), ReduxConstants.getUnitConversionMoveCount(getUnits()),//
-                                                getUncertaintyColumn().getCountOfSignificantDigits());
-                                    }
+                // this is the case of fractionID, the only string returned
+                if (getRetrieveVariableName().length() == 0) {
+                    try {
+                        Object o = MethodHandleRegistry.invoke(getRetrieveMethodHandle(), fraction);
+
+                        retVal[0] = o.toString();
+                    } catch (NoSuchMethodException | InvocationTargetException e) {
+                        System.err.println(e);
+                    }
+                } else {
+                    try {
+                        ValueModel vm = (valueModel != null) ? valueModel//
+                                : (ValueModel) MethodHandleRegistry.invoke(getRetrieveMethodHandle(), fraction, getRetrieveVariableName());
+
+                        // nov 2014 to show when rhos not calculated
+                        if (getRetrieveVariableName().startsWith("rhoR") && vm.getValue().doubleValue() == ReduxConstants.NO_RHO_FLAG) {
+                            retVal[0] = "   not calc";
+                        } else if (vm.amPositiveAndLessThanTolerance()) {
+                            // may 2013 for tiny numbers due to below detection
+                            retVal[0] = " bd "; // below detection
+
+                        } else if (vm.hasZeroValue()  && !getRetrieveVariableName().startsWith("rhoR")) {//oct 2014 // added rho June 2016
+                            retVal[0] = " - ";
+
+                        } else if (isNumeric) {
+                            retVal[0]
+                                    = vm.getValueInUnits(getUnits()).toPlainString().trim();
+                        } else if (isDisplayedWithArbitraryDigitCount()) {
+                            retVal[0]
+                                    = ValueModel.formatBigDecimalForPublicationArbitraryMode(//
+                                            vm.getValueInUnits(getUnits()),
+                                            getCountOfSignificantDigits());
+                        } else {
+                            // value is in sigfig mode = two flavors
+                            // if there is no uncertainty column, then show the value with
+                            // normal sigfig formatting
+                            // if there is an uncertainty column and it is in arbitrary mode, then
+                            // also show value with normal sigfig formatting
+
+                            retVal[0] = ValueModel.formatBigDecimalForPublicationSigDigMode(vm.getValue().movePointRight(ReduxConstants.getUnitConversionMoveCount(getUnits())),//
+                                    getCountOfSignificantDigits());
+
+                            // however, if uncertainty column is in sigfig mode, then
+                            // use special algorithm to format value per the digits of
+                            // the formatted uncertainty column
+                            if (getUncertaintyColumn() != null) {
+                                // added July 2017 to disable uncert column effect if it is not visible (making it behave as if arbitrary)
+                                if (getUncertaintyColumn().isVisible() && !getUncertaintyColumn().isDisplayedWithArbitraryDigitCount()) {
+                                    // uncertainty column is in sigfig mode
+                                    retVal[0] = vm.formatValueFromTwoSigmaForPublicationSigDigMode(//
+                                            getUncertaintyType(), ReduxConstants.getUnitConversionMoveCount(getUnits()),//
+                                            getUncertaintyColumn().getCountOfSignificantDigits());
                                 }
+                            }
 //                            // in either case, we have a sigfig mode for the value
 //                            retVal[0] = FormatNumericStringAlignDecimalPoint(retVal[0]);
-                            }
-                            // in nonnumeric case, we need to format string
-                            if (!isNumeric) {
-                                retVal[0] = ReportColumnInterface.FormatNumericStringAlignDecimalPoint(retVal[0]);
-                            }
+                        }
+                        // in nonnumeric case, we need to format string
+                        if (!isNumeric) {
+                            retVal[0] = ReportColumnInterface.FormatNumericStringAlignDecimalPoint(retVal[0]);
+                        }
 
-                            // report 2-sigma uncertainty
-                            if (getUncertaintyColumn() != null) {
-                                if (getUncertaintyColumn().isVisible()) {
-                                    // check for reporting mode
-
-                                    if (vm.amPositiveAndLessThanTolerance()) {
-                                        // may 2013 for tiny numbers due to below detection
-                                        retVal[1] = " bd "; // below detection
-
-                                    } else if (vm.hasZeroValue()) {//oct 2014
-                                        retVal[1] = " - ";
-
-                                    } else if (isNumeric) {
-                                        retVal[1]
-                                                = vm.getTwoSigma(getUncertaintyType(), getUnits()).toPlainString().trim();
-                                    } else if (getUncertaintyColumn().isDisplayedWithArbitraryDigitCount()) {
-                                        retVal[1]
-                                                = ValueModel.formatBigDecimalForPublicationArbitraryMode(//
-                                                        vm.getTwoSigma(getUncertaintyType(), getUnits()),
-                                                        getUncertaintyColumn().getCountOfSignificantDigits());
-                                    } else {
-                                        retVal[1] = vm.formatTwoSigmaForPublicationSigDigMode(//
-                                                getUncertaintyType(),
-                                                ReduxConstants.getUnitConversionMoveCount(getUnits()),
-                                                getUncertaintyColumn().getCountOfSignificantDigits());
-                                    }
-                                    retVal[1] = ReportColumnInterface.FormatNumericStringAlignDecimalPoint(retVal[1]);
-                                    // }
+                        // report 2-sigma uncertainty
+                        if (getUncertaintyColumn() != null) {
+                            if (getUncertaintyColumn().isVisible()) {
+                                // check for reporting mode
+
+                                if (vm.amPositiveAndLessThanTolerance()) {
+                                    // may 2013 for tiny numbers due to below detection
+                                    retVal[1] = " bd "; // below detection
+
+                                } else if (vm.hasZeroValue()) {//oct 2014
+                                    retVal[1] = " - ";
+
+                                } else if (isNumeric) {
+                                    retVal[1]
+                                            = vm.getTwoSigma(getUncertaintyType(), getUnits()).toPlainString().trim();
+                                } else if (getUncertaintyColumn().isDisplayedWithArbitraryDigitCount()) {
+                                    retVal[1]
+                                            = ValueModel.formatBigDecimalForPublicationArbitraryMode(//
+                                                    vm.getTwoSigma(getUncertaintyType(), getUnits()),
+                                                    getUncertaintyColumn().getCountOfSignificantDigits());
+                                } else {
+                                    retVal[1] = vm.formatTwoSigmaForPublicationSigDigMode(//
+                                            getUncertaintyType(),
+                                            ReduxConstants.getUnitConversionMoveCount(getUnits()),
+                                            getUncertaintyColumn().getCountOfSignificantDigits());
                                 }
+                                retVal[1] = ReportColumnInterface.FormatNumericStringAlignDecimalPoint(retVal[1]);
+                                // }
                             }
-
-                        } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                            System.err.println("problem formatting " + getRetrieveVariableName() + " for " + fraction.getFractionID() + " >> " + e);
                         }
-                    }
 
-                } catch (ClassNotFoundException classNotFoundException) {
+                    } catch (NoSuchMethodException | InvocationTargetException e) {
+                        System.err.println("problem formatting " + getRetrieveVariableName() + " for " + fraction.getFractionID() + " >> " + e);
+                    }
                 }
+
             }
         }
 
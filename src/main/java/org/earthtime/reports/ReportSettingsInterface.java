@@ -17,7 +17,6 @@ package org.earthtime.reports;
 
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.io.xml.DomDriver;
 import java.awt.Frame;
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
@@ -27,7 +26,9 @@ import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.Vector;
 import static org.earthtime.UPb_Redux.ReduxConstants.makeFormattedDate;
@@ -51,6 +52,7 @@ import org.earthtime.fractions.ETFractionInterface;
 import org.earthtime.reduxLabData.ReduxLabDataListElementI;
 import org.earthtime.samples.SampleInterface;
 import org.earthtime.xmlUtilities.XMLSerializationI;
+import org.earthtime.xmlUtilities.XStreamRegistry;
 
 /**
  *
@@ -105,9 +107,8 @@ public interface ReportSettingsInterface extends Comparable<ReportSettingsInterf
      * @return
      */
     public default XStream getXStreamWriter() {
-        XStream xstream = new XStream();
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamWriter(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -118,9 +119,8 @@ public interface ReportSettingsInterface extends Comparable<ReportSettingsInterf
      */
     public default XStream getXStreamReader() {
 
-        XStream xstream = new XStream(new DomDriver());
-
-        customizeXstream(xstream);
+        XStream xstream = XStreamRegistry.getXStreamReader(getClass(), this::customizeXstream);
+        setClassXMLSchemaURL();
 
         return xstream;
     }
@@ -442,6 +442,12 @@ public interface ReportSettingsInterface extends Comparable<ReportSettingsInterf
         // column 0 will contain true for included fractions and false for rejected fractions
         // column 1 will contain aliquot name
 
+        // oct 2026 cached cells are kept for every fraction of the sample, active or rejected
+        Set<String> sampleFractionIDs = new HashSet<>();
+        for (ETFractionInterface f : sample.getFractions()) {
+            sampleFractionIDs.add(f.getFractionID());
+        }
+
         // special case oct 2009 to see if we force the display of <ar231_235Pa> and Th_Umagma columns
         if (fractions.size() > 0) {
             // check whether all values are equal in displayed fractions
@@ -689,6 +695,10 @@ public interface ReportSettingsInterface extends Comparable<ReportSettingsInterf
                                 }
                             }
 
+                            if (myCol.getReportCellCache() != null) {
+                                myCol.getReportCellCache().retainFractionIDs(sampleFractionIDs);
+                            }
+
                             // walk all the fractions for each column
                             int fractionRowCount = FRACTION_DATA_START_ROW;
 //                            SortedSet<String> filteredFractions = sample.getFilteredFractionIDs();
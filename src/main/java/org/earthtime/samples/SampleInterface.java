@@ -24,6 +24,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.Vector;
@@ -43,11 +45,14 @@ import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFraction;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFractionI;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbLAICPMSFraction;
 import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbLegacyFraction;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction.FractionReductionTracker;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction.UPbFractionReducer;
 import org.earthtime.UPb_Redux.reports.ReportSettings;
 import org.earthtime.UPb_Redux.samples.SESARSampleMetadata;
 import org.earthtime.UPb_Redux.samples.Sample;
 import org.earthtime.UPb_Redux.samples.UPbSampleInterface;
 import org.earthtime.UPb_Redux.user.SampleDateInterpretationGUIOptions;
+import org.earthtime.UPb_Redux.utilities.ETContainerSerializer;
 import org.earthtime.UPb_Redux.utilities.ETSerializer;
 import org.earthtime.UPb_Redux.utilities.comparators.IntuitiveStringComparator;
 import org.earthtime.UPb_Redux.valueModels.SampleDateInterceptModel;
@@ -1835,7 +1840,7 @@ public interface SampleInterface {
         if (sample.getReduxSampleFilePath().length() > 0) {
 
             try {
-                ETSerializer.SerializeObjectToFile(sample, sample.getReduxSampleFilePath());
+                ETContainerSerializer.SerializeObjectToContainerFile(sample, sample.getReduxSampleFilePath(), true);
             } catch (ETException eTException) {
             }
         }
@@ -2021,8 +2026,38 @@ public interface SampleInterface {
      * @param inLiveMode the value of inLiveMode
      */
     public default void reduceSampleData(boolean inLiveMode) {
+        // oct 2026 the fractions of all UPb aliquots are reduced together in parallel
+        // and only if their inputs changed since their last reduction
+        Map<UPbReduxAliquot, List<ETFractionInterface>> fractionsToReduceByAliquot = new LinkedHashMap<>();
+        List<ETFractionInterface> uPbFractions = new ArrayList<>();
         for (AliquotInterface aliquot : getAliquots()) {
-            ((ReduxAliquotInterface) aliquot).reduceData(inLiveMode);
+            if (aliquot instanceof UPbReduxAliquot) {
+                FractionReductionTracker reductionTracker = ((UPbReduxAliquot) aliquot).getReductionTracker();
+                List<ETFractionInterface> fractionsToReduce
+                        = reductionTracker.selectFractionsToReduce(((UPbReduxAliquot) aliquot).getAliquotFractions(), true);
+                Logger.getLogger(SampleInterface.class.getName()).log(Level.FINE, "{0} reducing {1} of {2} fractions", //
+                        new Object[]{aliquot.getAliquotName(), reductionTracker.getCountOfFractionsReduced(),//
+                            reductionTracker.getCountOfFractionsReduced() + reductionTracker.getCountOfFractionsSkipped()});
+                fractionsToReduceByAliquot.put((UPbReduxAliquot) aliquot, fractionsToReduce);
+                uPbFractions.addAll(fractionsToReduce);
+            }
+        }
+        UPbFractionReducer.getInstance().reduceFractions(uPbFractions, true, inLiveMode);
+        fractionsToReduceByAliquot.forEach((aliquot, fractionsToReduce) //
+                -> aliquot.getReductionTracker().recordReducedFractions(fractionsToReduce, true));
+
+        for (AliquotInterface aliquot : getAliquots()) {
+            // live updates leave aliquots without newly reduced fractions as they are
+            if (inLiveMode && fractionsToReduceByAliquot.containsKey(aliquot) //
+                    && fractionsToReduceByAliquot.get(aliquot).isEmpty()) {
+                continue;
+            }
+
+            if (aliquot instanceof UPbReduxAliquot) {
+                ((UPbReduxAliquot) aliquot).updateBestAgeDivider206_238();
+            } else {
+                ((ReduxAliquotInterface) aliquot).reduceData(inLiveMode);
+            }
 
             // oct 2014 
             try {
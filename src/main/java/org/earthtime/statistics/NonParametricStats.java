@@ -28,25 +28,15 @@ import org.apache.commons.math3.stat.StatUtils;
  */
 public class NonParametricStats {
 
-    private static NonParametricStats instance = null;
-    //
     private double sampleMean;
     private double variance;
     private double stdErrSampleMean;
 
-    private NonParametricStats () {
-        super();
-    }
-
     /**
-     * 
-     * @return
+     * Stats are held per instance so that concurrent fits do not share them.
      */
-    public static NonParametricStats getInstance () {
-        if ( instance == null ) {
-            instance = new NonParametricStats();
-        }
-        return instance;
+    public NonParametricStats () {
+        super();
     }
 
     /**
@@ -0,0 +1,213 @@
+/*
+ * AllocationMetrics.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.utilities;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates, per named phase of the raw data processing, the elapsed time,
+ * the bytes allocated and the garbage collection count and time, so that a
+ * session can be logged. Bytes allocated are those of the thread that runs the
+ * phase, where the JVM supports it; collections are counted JVM-wide.
+ *
+ * @author James F. Bowring
+ */
+public final class AllocationMetrics {
+
+    private static final AllocationMetrics instance = new AllocationMetrics();
+
+    private final Map<String, PhaseTotals> phaseTotals;
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private final List<GarbageCollectorMXBean> garbageCollectorBeans;
+
+    private AllocationMetrics() {
+        phaseTotals = new ConcurrentSkipListMap<>();
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean bean = null;
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            bean = (com.sun.management.ThreadMXBean) threadBean;
+            try {
+                if (bean.isThreadAllocatedMemorySupported() && !bean.isThreadAllocatedMemoryEnabled()) {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                }
+                if (!bean.isThreadAllocatedMemoryEnabled()) {
+                    bean = null;
+                }
+            } catch (UnsupportedOperationException | SecurityException e) {
+                bean = null;
+            }
+        }
+        allocationBean = bean;
+
+        garbageCollectorBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    }
+
+    /**
+     *
+     * @return
+     */
+    public static AllocationMetrics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Starts measuring a phase on the calling thread; the returned phase must
+     * be ended on the same thread.
+     *
+     * @param phaseName
+     * @return
+     */
+    public Phase startPhase(String phaseName) {
+        return new Phase(phaseName);
+    }
+
+    /**
+     *
+     */
+    public void reset() {
+        phaseTotals.clear();
+    }
+
+    /**
+     *
+     * @param phaseName
+     * @return bytes allocated in the named phase, or -1 if not measured
+     */
+    public long getBytesAllocated(String phaseName) {
+        PhaseTotals totals = phaseTotals.get(phaseName);
+        return ((totals == null) || (allocationBean == null)) ? -1 : totals.bytesAllocated.sum();
+    }
+
+    /**
+     *
+     * @param phaseName
+     * @return count of times the named phase ran
+     */
+    public long getCount(String phaseName) {
+        PhaseTotals totals = phaseTotals.get(phaseName);
+        return (totals == null) ? 0 : totals.count.sum();
+    }
+
+    /**
+     *
+     * @param phaseName
+     * @return milliseconds spent in collections during the named phase
+     */
+    public long getGarbageCollectionMillis(String phaseName) {
+        PhaseTotals totals = phaseTotals.get(phaseName);
+        return (totals == null) ? 0 : totals.gcMillis.sum();
+    }
+
+    /**
+     *
+     * @param title
+     * @return one line per phase
+     */
+    public String report(String title) {
+        StringBuilder retVal = new StringBuilder();
+        retVal.append("Allocation metrics for ").append(title).append("\n");
+        for (Map.Entry<String, PhaseTotals> entry : phaseTotals.entrySet()) {
+            PhaseTotals totals = entry.getValue();
+            retVal.append(String.format("  %-40s count = %6d  elapsed ms = %9.1f  allocated MB = %10.1f  gc count = %5d  gc ms = %7d\n", //
+                    entry.getKey(), //
+                    totals.count.sum(), //
+                    totals.elapsedNanos.sum() / 1.0e6, //
+                    (allocationBean == null) ? Double.NaN : totals.bytesAllocated.sum() / (1024.0 * 1024.0), //
+                    totals.gcCount.sum(), //
+                    totals.gcMillis.sum()));
+        }
+        return retVal.toString();
+    }
+
+    /**
+     * Prints the report and starts a fresh one.
+     *
+     * @param title
+     */
+    public void logAndReset(String title) {
+        if (!phaseTotals.isEmpty()) {
+            System.out.println(report(title));
+        }
+        reset();
+    }
+
+    private long currentThreadAllocatedBytes() {
+        return (allocationBean == null) ? 0 : allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private long[] currentGarbageCollections() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean gcBean : garbageCollectorBeans) {
+            count += Math.max(0, gcBean.getCollectionCount());
+            millis += Math.max(0, gcBean.getCollectionTime());
+        }
+        return new long[]{count, millis};
+    }
+
+    /**
+     * A running measurement, ended by {@link #end()}.
+     */
+    public final class Phase {
+
+        private final String phaseName;
+        private final long startNanos;
+        private final long startBytes;
+        private final long[] startCollections;
+
+        private Phase(String phaseName) {
+            this.phaseName = phaseName;
+            this.startBytes = currentThreadAllocatedBytes();
+            this.startCollections = currentGarbageCollections();
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         *
+         */
+        public void end() {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            long bytes = currentThreadAllocatedBytes() - startBytes;
+            long[] collections = currentGarbageCollections();
+
+            PhaseTotals totals = phaseTotals.computeIfAbsent(phaseName, (name) -> new PhaseTotals());
+            totals.count.increment();
+            totals.elapsedNanos.add(elapsedNanos);
+            totals.bytesAllocated.add(bytes);
+            totals.gcCount.add(collections[0] - startCollections[0]);
+            totals.gcMillis.add(collections[1] - startCollections[1]);
+        }
+    }
+
+    private static final class PhaseTotals {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder elapsedNanos = new LongAdder();
+        private final LongAdder bytesAllocated = new LongAdder();
+        private final LongAdder gcCount = new LongAdder();
+        private final LongAdder gcMillis = new LongAdder();
+    }
+}
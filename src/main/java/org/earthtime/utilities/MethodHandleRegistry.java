@@ -0,0 +1,117 @@
+/*
+ * MethodHandleRegistry.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.utilities;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Public methods named in report settings, date interpretations and the data
+ * dictionary, resolved once into MethodHandles and kept for the life of the
+ * application in place of a Class.getMethod lookup per call. Handles are
+ * adapted to take and return Object so that callers invoke them exactly.
+ *
+ * @author James F. Bowring
+ */
+public final class MethodHandleRegistry {
+
+    private static final MethodHandle NOT_FOUND = MethodHandles.constant(Object.class, null);
+    private static final ConcurrentMap<List<Object>, MethodHandle> METHOD_HANDLES = new ConcurrentHashMap<>();
+
+    private MethodHandleRegistry() {
+    }
+
+    /**
+     *
+     * @param declaringClass
+     * @param methodName
+     * @param parameterTypes
+     * @return the public method of declaringClass as a handle of type
+     * (Object, Object...)Object, with one Object per parameter
+     * @throws NoSuchMethodException
+     */
+    public static MethodHandle findMethod(Class<?> declaringClass, String methodName, Class<?>... parameterTypes)
+            throws NoSuchMethodException {
+
+        List<Object> key = Arrays.asList(declaringClass, methodName, Arrays.asList(parameterTypes));
+        MethodHandle methodHandle = METHOD_HANDLES.computeIfAbsent(key, (k) -> resolve(declaringClass, methodName, parameterTypes));
+        if (methodHandle == NOT_FOUND) {
+            throw new NoSuchMethodException(declaringClass.getName() + "." + methodName + Arrays.toString(parameterTypes));
+        }
+
+        return methodHandle;
+    }
+
+    private static MethodHandle resolve(Class<?> declaringClass, String methodName, Class<?>... parameterTypes) {
+        MethodHandle methodHandle;
+        try {
+            Method method = declaringClass.getMethod(methodName, parameterTypes);
+            methodHandle = MethodHandles.publicLookup().unreflect(method)//
+                    .asType(MethodType.genericMethodType(parameterTypes.length + 1));
+        } catch (NoSuchMethodException | SecurityException | IllegalAccessException e) {
+            // remembered so that a missing method is not looked up again
+            methodHandle = NOT_FOUND;
+        }
+        return methodHandle;
+    }
+
+    /**
+     *
+     * @param methodHandle from findMethod for no parameters
+     * @param target
+     * @return
+     * @throws InvocationTargetException wrapping any exception the method
+     * threw; errors are thrown as they are
+     */
+    public static Object invoke(MethodHandle methodHandle, Object target) throws InvocationTargetException {
+        try {
+            return (Object) methodHandle.invokeExact(target);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    /**
+     *
+     * @param methodHandle from findMethod for one parameter
+     * @param target
+     * @param argument
+     * @return
+     * @throws InvocationTargetException wrapping any exception the method
+     * threw; errors are thrown as they are
+     */
+    public static Object invoke(MethodHandle methodHandle, Object target, Object argument) throws InvocationTargetException {
+        try {
+            return (Object) methodHandle.invokeExact(target, argument);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * XMLSchemaCache.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.xmlUtilities;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.ValidatorHandler;
+import org.earthtime.UPb_Redux.ReduxConstants;
+import org.w3c.dom.Document;
+import org.w3c.dom.ls.LSInput;
+import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Compiles each XML schema once per run of ET_Redux and hands the same
+ * thread-safe <code>Schema</code> to every validation. A schema and the
+ * schemas it includes are read from the copies bundled with ET_Redux, else
+ * from the schema cache in the user's ET_Redux data folder, and are
+ * downloaded into that cache only when neither has them, so that validation
+ * needs no network once a schema has been seen. The cache folder is named
+ * for SCHEMA_CACHE_VERSION; changing it sets aside every cached schema.
+ *
+ * <p>
+ * Documents are validated as they are parsed, in one pass over the file.
+ *
+ * @author James F. Bowring
+ */
+public final class XMLSchemaCache {
+
+    /**
+     * names the folder of cached schemas
+     */
+    public static final String SCHEMA_CACHE_VERSION = "v1";
+    private static final String BUNDLED_SCHEMA_FOLDER = "org/earthtime/UPb_Redux/resources/xmlSchema/";
+    private static final String EARTHTIME_SCHEMA_URL = "https://raw.githubusercontent.com/EARTHTIME/";
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    private static final int READ_TIMEOUT_MS = 20000;
+
+    // empty where the schema could not be found, so that it is sought once per run
+    private static final ConcurrentMap<String, Optional<Schema>> schemas = new ConcurrentHashMap<>();
+
+    // the JAXP factories are not thread-safe
+    private static final ThreadLocal<SAXParserFactory> saxParserFactory = ThreadLocal.withInitial(() -> {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory;
+    });
+    private static final ThreadLocal<SAXTransformerFactory> transformerFactory
+            = ThreadLocal.withInitial(() -> (SAXTransformerFactory) TransformerFactory.newInstance());
+
+    private static File cacheFolder = new File(//
+            System.getProperty("user.home") + File.separator + ReduxConstants.myUsersETReduxDataFolderName//
+            + File.separator + "xmlSchemaCache" + File.separator + SCHEMA_CACHE_VERSION);
+
+    private XMLSchemaCache() {
+    }
+
+    /**
+     *
+     * @param schemaURI
+     * @return the compiled schema, or null if it cannot be found
+     */
+    public static Schema getSchema(String schemaURI) {
+        return schemas.computeIfAbsent(schemaURI, XMLSchemaCache::compileSchema).orElse(null);
+    }
+
+    /**
+     * @param cacheFolder the folder of downloaded schemas
+     */
+    public static void setCacheFolder(File cacheFolder) {
+        XMLSchemaCache.cacheFolder = cacheFolder;
+    }
+
+    /**
+     * forgets the compiled schemas, including those not found
+     */
+    public static void clear() {
+        schemas.clear();
+    }
+
+    private static Optional<Schema> compileSchema(String schemaURI) {
+        Schema schema = null;
+        try (InputStream schemaIn = openSchema(schemaURI)) {
+            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            schemaFactory.setResourceResolver(new CachedSchemaResolver());
+            schema = schemaFactory.newSchema(new StreamSource(schemaIn, schemaURI));
+        } catch (IOException | SAXException ex) {
+            System.out.println("Schema not available: " + schemaURI + " " + ex.getMessage());
+        }
+        return Optional.ofNullable(schema);
+    }
+
+    /**
+     * Opens a schema from the bundled copies, the cache or, failing both,
+     * the network, adding it to the cache.
+     *
+     * @param schemaURI
+     * @return the schema's bytes
+     * @throws IOException
+     */
+    static InputStream openSchema(String schemaURI) throws IOException {
+        URI uri;
+        try {
+            uri = new URI(schemaURI);
+        } catch (URISyntaxException ex) {
+            throw new IOException(ex.getMessage(), ex);
+        }
+
+        if (!uri.isAbsolute() || "file".equals(uri.getScheme())) {
+            return new FileInputStream(uri.isAbsolute() ? new File(uri) : new File(schemaURI));
+        }
+
+        String fileName = schemaURI.substring(schemaURI.lastIndexOf('/') + 1);
+        ClassLoader loader = XMLSchemaCache.class.getClassLoader();
+        InputStream bundled = null;
+        if (schemaURI.startsWith(EARTHTIME_SCHEMA_URL)) {
+            bundled = loader.getResourceAsStream(BUNDLED_SCHEMA_FOLDER + schemaURI.substring(EARTHTIME_SCHEMA_URL.length()));
+        }
+        if (bundled == null) {
+            bundled = loader.getResourceAsStream(BUNDLED_SCHEMA_FOLDER + fileName);
+        }
+        if (bundled != null) {
+            return bundled;
+        }
+
+        File cached = new File(cacheFolder, uri.getHost() + uri.getPath().replace('/', File.separatorChar));
+        if (!cached.exists()) {
+            download(uri.toURL(), cached);
+        }
+        return new FileInputStream(cached);
+    }
+
+    private static void download(URL url, File cached) throws IOException {
+        cached.getParentFile().mkdirs();
+        File tempFile = File.createTempFile(cached.getName() + ".", ".download", cached.getParentFile());
+        try {
+            URLConnection connection = url.openConnection();
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(READ_TIMEOUT_MS);
+            try (InputStream in = connection.getInputStream()) {
+                Files.copy(in, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            // another thread may have cached it meanwhile; the copies are alike
+            Files.move(tempFile.toPath(), cached.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            tempFile.delete();
+        }
+    }
+
+    /**
+     *
+     * @param xmlURI a file name or URL
+     * @return the document, with its URI as system ID
+     * @throws IOException
+     */
+    public static InputSource openXML(String xmlURI) throws IOException {
+        InputSource source;
+        if (xmlURI.startsWith("http")) {
+            source = new InputSource(xmlURI);
+        } else {
+            File xmlFile = new File(xmlURI);
+            source = new InputSource(new FileInputStream(xmlFile));
+            source.setSystemId(xmlFile.toURI().toString());
+        }
+        return source;
+    }
+
+    /**
+     * Validates a document as it is parsed.
+     *
+     * @param xmlURI
+     * @param schema
+     * @throws SAXException if the document does not conform to schema
+     * @throws IOException
+     */
+    public static void validate(String xmlURI, Schema schema) throws SAXException, IOException {
+        parse(xmlURI, schema.newValidatorHandler());
+    }
+
+    /**
+     * Parses a document to a DOM tree, validating it in the same pass.
+     *
+     * @param xmlURI
+     * @param schema
+     * @return the document
+     * @throws SAXException if the document does not conform to schema
+     * @throws IOException
+     */
+    public static Document parseValidated(String xmlURI, Schema schema) throws SAXException, IOException {
+        TransformerHandler treeBuilder;
+        try {
+            treeBuilder = transformerFactory.get().newTransformerHandler();
+        } catch (TransformerConfigurationException ex) {
+            throw new SAXException(ex);
+        }
+        DOMResult tree = new DOMResult();
+        treeBuilder.setResult(tree);
+
+        ValidatorHandler validatorHandler = schema.newValidatorHandler();
+        validatorHandler.setContentHandler(treeBuilder);
+        parse(xmlURI, validatorHandler);
+
+        return (Document) tree.getNode();
+    }
+
+    private static void parse(String xmlURI, ValidatorHandler validatorHandler) throws SAXException, IOException {
+        XMLReader xmlReader;
+        try {
+            xmlReader = saxParserFactory.get().newSAXParser().getXMLReader();
+        } catch (ParserConfigurationException ex) {
+            throw new SAXException(ex);
+        }
+        xmlReader.setContentHandler(validatorHandler);
+
+        InputSource source = openXML(xmlURI);
+        try {
+            xmlReader.parse(source);
+        } finally {
+            if (source.getByteStream() != null) {
+                source.getByteStream().close();
+            }
+        }
+    }
+
+    /**
+     * resolves the schemas that a schema includes or imports through the
+     * bundled copies and the cache
+     */
+    private static final class CachedSchemaResolver implements LSResourceResolver {
+
+        @Override
+        public LSInput resolveResource(String type, String namespaceURI, String publicId, String systemId, String baseURI) {
+            if (systemId == null) {
+                return null;
+            }
+            try {
+                String resolvedURI = (baseURI == null) ? systemId : new URI(baseURI).resolve(systemId).toString();
+                byte[] schemaBytes;
+                try (InputStream schemaIn = openSchema(resolvedURI)) {
+                    schemaBytes = readFully(schemaIn);
+                }
+                return new SchemaInput(publicId, resolvedURI, baseURI, schemaBytes);
+            } catch (URISyntaxException | IOException ex) {
+                // left to the schema factory, which reports it
+                return null;
+            }
+        }
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int count;
+        while ((count = in.read(buffer)) > 0) {
+            bytes.write(buffer, 0, count);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final class SchemaInput implements LSInput {
+
+        private String publicId;
+        private String systemId;
+        private String baseURI;
+        private final byte[] schemaBytes;
+
+        SchemaInput(String publicId, String systemId, String baseURI, byte[] schemaBytes) {
+            this.publicId = publicId;
+            this.systemId = systemId;
+            this.baseURI = baseURI;
+            this.schemaBytes = schemaBytes;
+        }
+
+        @Override
+        public Reader getCharacterStream() {
+            return null;
+        }
+
+        @Override
+        public void setCharacterStream(Reader characterStream) {
+        }
+
+        @Override
+        public InputStream getByteStream() {
+            return new ByteArrayInputStream(schemaBytes);
+        }
+
+        @Override
+        public void setByteStream(InputStream byteStream) {
+        }
+
+        @Override
+        public String getStringData() {
+            return null;
+        }
+
+        @Override
+        public void setStringData(String stringData) {
+        }
+
+        @Override
+        public String getSystemId() {
+            return systemId;
+        }
+
+        @Override
+        public void setSystemId(String systemId) {
+            this.systemId = systemId;
+        }
+
+        @Override
+        public String getPublicId() {
+            return publicId;
+        }
+
+        @Override
+        public void setPublicId(String publicId) {
+            this.publicId = publicId;
+        }
+
+        @Override
+        public String getBaseURI() {
+            return baseURI;
+        }
+
+        @Override
+        public void setBaseURI(String baseURI) {
+            this.baseURI = baseURI;
+        }
+
+        @Override
+        public String getEncoding() {
+            return null;
+        }
+
+        @Override
+        public void setEncoding(String encoding) {
+        }
+
+        @Override
+        public boolean getCertifiedText() {
+            return false;
+        }
+
+        @Override
+        public void setCertifiedText(boolean certifiedText) {
+        }
+    }
+}
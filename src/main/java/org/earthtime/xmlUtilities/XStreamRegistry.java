@@ -0,0 +1,107 @@
+/*
+ * XStreamRegistry.java
+ *
+ *
+ * Copyright 2006-2017 James F. Bowring and www.Earth-Time.org
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.earthtime.xmlUtilities;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.xml.DomDriver;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Holds one configured XStream per model class and role, built the first
+ * time it is asked for and shared from then on. An XStream is safe to use
+ * from many threads once configured, so the converters and aliases of a
+ * model are registered once per run of ET_Redux rather than on every read
+ * and write. A shared XStream must not be configured further by its users,
+ * and its converters must hold no state of their own.
+ *
+ * @author James F. Bowring
+ */
+public final class XStreamRegistry {
+
+    /**
+     * reads XML with a DomDriver
+     */
+    public static final String READER = "reader";
+    /**
+     * writes XML with the default driver
+     */
+    public static final String WRITER = "writer";
+
+    private static final ConcurrentMap<String, XStream> xstreams = new ConcurrentHashMap<>();
+
+    private XStreamRegistry() {
+    }
+
+    /**
+     *
+     * @param modelClass the runtime class, as subclasses customize further
+     * @param customizer registers the converters and aliases of modelClass
+     * @return the shared XStream for reading modelClass
+     */
+    public static XStream getXStreamReader(Class<?> modelClass, Consumer<XStream> customizer) {
+        return getXStream(modelClass, READER, () -> new XStream(new DomDriver()), customizer);
+    }
+
+    /**
+     *
+     * @param modelClass the runtime class, as subclasses customize further
+     * @param customizer registers the converters and aliases of modelClass
+     * @return the shared XStream for writing modelClass
+     */
+    public static XStream getXStreamWriter(Class<?> modelClass, Consumer<XStream> customizer) {
+        return getXStream(modelClass, WRITER, XStream::new, customizer);
+    }
+
+    /**
+     * Gives the XStream for modelClass and role, building it with factory
+     * and customizer only if there is none yet.
+     *
+     * @param modelClass
+     * @param role READER, WRITER or another name for a differently
+     * configured XStream
+     * @param factory
+     * @param customizer
+     * @return the shared XStream
+     */
+    public static XStream getXStream(Class<?> modelClass, String role, Supplier<XStream> factory, Consumer<XStream> customizer) {
+        String key = modelClass.getName() + "#" + role;
+        XStream xstream = xstreams.get(key);
+        if (xstream == null) {
+            // built outside the map, as a customizer may ask for another XStream;
+            // threads that race here each build one and all use the first registered
+            XStream built = factory.get();
+            customizer.accept(built);
+            xstream = xstreams.putIfAbsent(key, built);
+            if (xstream == null) {
+                xstream = built;
+            }
+        }
+        return xstream;
+    }
+
+    /**
+     * forgets every XStream, so that each is built again when next used
+     */
+    public static void clear() {
+        xstreams.clear();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.Tripoli.fitFunctions;
+
+import Jama.Matrix;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class CovarianceFactorizationTest {
+
+    public CovarianceFactorizationTest() {
+    }
+
+    /**
+     * Test of solve, quadraticForm and the traces, of class
+     * CovarianceFactorization, against the LU results of Matrix.
+     */
+    @Test
+    public void testSolveAndTracesMatchLU() {
+        System.out.println("solve and traces match LU");
+        Matrix S = makeCovariance(60, 1L);
+        Matrix r = makeVector(60, 2L);
+        CovarianceFactorization factorization = new CovarianceFactorization(S);
+
+        assertTrue(factorization.isPositiveDefinite());
+
+        Matrix expectedSolve = S.solve(r);
+        Matrix solve = factorization.solve(r);
+        for (int i = 0; i < 60; i++) {
+            assertEquals(expectedSolve.get(i, 0), solve.get(i, 0), 1e-9 * Math.abs(expectedSolve.get(i, 0)) + 1e-12);
+        }
+
+        double expectedQuadraticForm = r.transpose().times(S.solve(r)).get(0, 0);
+        assertEquals(expectedQuadraticForm, factorization.quadraticForm(r), 1e-9 * expectedQuadraticForm);
+
+        Matrix SInv = S.inverse();
+        assertEquals(SInv.trace(), factorization.getTraceOfInverse(), 1e-9 * SInv.trace());
+        double expectedTraceOfSquare = SInv.times(SInv).trace();
+        assertEquals(expectedTraceOfSquare, factorization.getTraceOfInverseSquared(), 1e-9 * expectedTraceOfSquare);
+    }
+
+    /**
+     * Test of getLogDeterminant method, of class CovarianceFactorization.
+     */
+    @Test
+    public void testGetLogDeterminant() {
+        System.out.println("getLogDeterminant");
+        Matrix S = makeCovariance(12, 3L);
+        CovarianceFactorization factorization = new CovarianceFactorization(S);
+
+        assertEquals(Math.log(S.det()), factorization.getLogDeterminant(), 1e-9);
+    }
+
+    /**
+     * Test of CovarianceFactorization for a matrix that is not positive
+     * definite.
+     */
+    @Test
+    public void testNotPositiveDefiniteFallsBackToLU() {
+        System.out.println("not positive definite falls back to LU");
+        Matrix S = new Matrix(new double[][]{{1.0, 2.0}, {2.0, 1.0}});
+        Matrix r = new Matrix(new double[]{1.0, -3.0}, 2);
+        CovarianceFactorization factorization = new CovarianceFactorization(S);
+
+        assertFalse(factorization.isPositiveDefinite());
+        Matrix expectedSolve = S.solve(r);
+        Matrix solve = factorization.solve(r);
+        assertEquals(expectedSolve.get(0, 0), solve.get(0, 0), 1e-12);
+        assertEquals(expectedSolve.get(1, 0), solve.get(1, 0), 1e-12);
+        assertEquals(Math.log(3.0), factorization.getLogDeterminant(), 1e-12);
+    }
+
+    /**
+     * Benchmark of one over-dispersion iteration: the legacy kernel (an
+     * inverse and a fresh LU for each solve) against a single factorization.
+     * The eigen decomposition the legacy kernel also ran is left out, so the
+     * reported speedup is a lower bound.
+     */
+    @Test
+    public void testBenchmarkFactorOnceAgainstLegacyKernel() {
+        System.out.println("benchmark factor once against legacy kernel");
+        int n = 400;
+        Matrix S = makeCovariance(n, 4L);
+        Matrix r = makeVector(n, 5L);
+        Matrix onesV = new Matrix(n, 1, 1.0);
+
+        double legacyChecksum = 0.0;
+        double factoredChecksum = 0.0;
+        long legacyNanos = Long.MAX_VALUE;
+        long factoredNanos = Long.MAX_VALUE;
+        // first rounds are warm-up
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            legacyChecksum = legacyKernel(S, r, onesV);
+            legacyNanos = Math.min(legacyNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            factoredChecksum = factoredKernel(S, r, onesV);
+            factoredNanos = Math.min(factoredNanos, System.nanoTime() - start);
+        }
+
+        System.out.println("legacy kernel ms = " + legacyNanos / 1e6 + "  factored kernel ms = " + factoredNanos / 1e6);
+        assertEquals(legacyChecksum, factoredChecksum, 1e-8 * Math.abs(legacyChecksum));
+    }
+
+    private double legacyKernel(Matrix Sod, Matrix r, Matrix onesV) {
+        double L = r.transpose().times(Sod.solve(r)).get(0, 0);
+        Matrix SodInv = Sod.inverse();
+        Matrix SodInvR = Sod.solve(r);
+        double g = -0.5 * ((SodInvR.times(SodInvR.transpose())).trace() - SodInv.trace());
+        Matrix SodInv1 = Sod.solve(onesV);
+        double h01 = SodInv1.times(SodInvR.transpose()).trace();
+        double h11 = (Sod.solve(SodInvR.times(SodInvR.transpose()))).trace() - 0.5 * (SodInv.times(SodInv)).trace();
+        return L + g + h01 + h11;
+    }
+
+    private double factoredKernel(Matrix Sod, Matrix r, Matrix onesV) {
+        CovarianceFactorization factorization = new CovarianceFactorization(Sod);
+        double L = factorization.quadraticForm(r);
+        Matrix SodInv = factorization.getInverse();
+        Matrix SodInvR = factorization.solve(r);
+        double g = -0.5 * (CovarianceFactorization.dot(SodInvR, SodInvR) - factorization.getTraceOfInverse());
+        Matrix SodInv1 = factorization.solve(onesV);
+        double h01 = CovarianceFactorization.dot(SodInv1, SodInvR);
+        double h11 = CovarianceFactorization.dot(SodInvR, SodInv.times(SodInvR)) - 0.5 * factorization.getTraceOfInverseSquared();
+        return L + g + h01 + h11;
+    }
+
+    private Matrix makeCovariance(int n, long seed) {
+        // correlated blocks on a dominant diagonal, as for ratios sharing a denominator
+        Random random = new Random(seed);
+        Matrix S = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            S.set(i, i, 1.0 + random.nextDouble());
+            for (int j = 0; j < i; j++) {
+                double covariance = (Math.abs(i - j) < 5) ? 0.1 * random.nextDouble() : 0.0;
+                S.set(i, j, covariance);
+                S.set(j, i, covariance);
+            }
+        }
+        return S;
+    }
+
+    private Matrix makeVector(int n, long seed) {
+        Random random = new Random(seed);
+        Matrix r = new Matrix(n, 1);
+        for (int i = 0; i < n; i++) {
+            r.set(i, 0, random.nextGaussian());
+        }
+        return r;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.Tripoli.fitFunctions;
+
+import Jama.Matrix;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.earthtime.Tripoli.fitFunctions.LevenbergMarquardGeneralSolverWithCovS.AbstractOverDispersionLMAlgorithm;
+import org.earthtime.dataDictionaries.FitFunctionTypeEnum;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class LevenbergMarquardGeneralSolverWithCovSTest {
+
+    private static final int COUNT_OF_DATA_SETS = 24;
+    private static final int COUNT_OF_POINTS = 40;
+    private static final int COUNT_OF_THREADS = 8;
+    private static final int COUNT_OF_ROUNDS = 4;
+
+    public LevenbergMarquardGeneralSolverWithCovSTest() {
+    }
+
+    /**
+     * Stress test of getSelectedLMAlgorithm and
+     * getSelectedLMAlgorithmUsingIntialFofX, of class
+     * LevenbergMarquardGeneralSolverWithCovS, and of getFunctionOfX, of class
+     * SmoothingSplineWithCov, showing that fits run concurrently on the shared
+     * instances are identical to the serial fits.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testConcurrentFitsMatchSerialFits() throws Exception {
+        System.out.println("concurrent fits match serial fits");
+
+        List<double[]> serialFits = new ArrayList<>();
+        for (int d = 0; d < COUNT_OF_DATA_SETS; d++) {
+            serialFits.add(fitDataSet(d));
+        }
+
+        ExecutorService fittingService = Executors.newFixedThreadPool(COUNT_OF_THREADS);
+        try {
+            for (int round = 0; round < COUNT_OF_ROUNDS; round++) {
+                List<Future<double[]>> concurrentFits = new ArrayList<>();
+                for (int d = 0; d < COUNT_OF_DATA_SETS; d++) {
+                    final int dataSet = d;
+                    concurrentFits.add(fittingService.submit((Callable<double[]>) () -> fitDataSet(dataSet)));
+                }
+
+                for (int d = 0; d < COUNT_OF_DATA_SETS; d++) {
+                    assertArrayEquals("round " + round + " data set " + d, serialFits.get(d), concurrentFits.get(d).get(), 0.0);
+                }
+            }
+        } finally {
+            fittingService.shutdownNow();
+        }
+    }
+
+    /**
+     * Test of getFunctionOfX method, of class
+     * LevenbergMarquardGeneralSolverWithCovS, used as the spline fallback.
+     */
+    @Test
+    public void testGetFunctionOfX() {
+        System.out.println("getFunctionOfX");
+        double[] xValues = makeXValues();
+        double[] yValues = new double[COUNT_OF_POINTS];
+        Arrays.fill(yValues, 2.5);
+        boolean[] dataActiveMap = new boolean[COUNT_OF_POINTS];
+        Arrays.fill(dataActiveMap, true);
+
+        AbstractFunctionOfX result = LevenbergMarquardGeneralSolverWithCovS.getInstance()//
+                .getFunctionOfX(dataActiveMap, xValues, yValues, makeCovariance(0.01), false);
+
+        assertEquals(2.5, result.getA(), 1e-12);
+    }
+
+    /**
+     * Test of getSelectedLMAlgorithm and
+     * getSelectedLMAlgorithmUsingIntialFofX, of class
+     * LevenbergMarquardGeneralSolverWithCovS, showing that fits given the
+     * structured form of the covariance match the fits given only the dense
+     * form.
+     */
+    @Test
+    public void testStructuredCovarianceFitsMatchDenseFits() {
+        System.out.println("structured covariance fits match dense fits");
+        Random random = new Random(77L);
+        double[] xValues = makeXValues();
+        double[] yValues = new double[COUNT_OF_POINTS];
+        for (int i = 0; i < COUNT_OF_POINTS; i++) {
+            yValues[i] = 1.2 * Math.exp(-0.3 * xValues[i]) + 0.5 + random.nextGaussian() * 0.01;
+        }
+        boolean[] dataActiveMap = new boolean[COUNT_OF_POINTS];
+        Arrays.fill(dataActiveMap, true);
+
+        // counting statistics plus a shared dead-time term
+        double[] diagonal = new double[COUNT_OF_POINTS];
+        Matrix counts = new Matrix(COUNT_OF_POINTS, 1);
+        for (int i = 0; i < COUNT_OF_POINTS; i++) {
+            diagonal[i] = 1.0e-5 * (1.0 + random.nextDouble());
+            counts.set(i, 0, 1.0e-3 * (1.0 + random.nextDouble()));
+        }
+        StructuredCovariance structuredCovariance = new StructuredCovariance(diagonal, counts, new Matrix(1, 1, 2.0));
+        Matrix covariance = structuredCovariance.toMatrix();
+
+        LevenbergMarquardGeneralSolverWithCovS solver = LevenbergMarquardGeneralSolverWithCovS.getInstance();
+        for (FitFunctionTypeEnum fitFunctionType : new FitFunctionTypeEnum[]{FitFunctionTypeEnum.MEAN, FitFunctionTypeEnum.LINE}) {
+            List<Double> denseSummary = new ArrayList<>();
+            summarize(denseSummary, solver.getSelectedLMAlgorithm(//
+                    fitFunctionType, dataActiveMap, xValues, yValues, covariance, false).getFinalFofX());
+            List<Double> structuredSummary = new ArrayList<>();
+            summarize(structuredSummary, solver.getSelectedLMAlgorithm(//
+                    fitFunctionType, dataActiveMap, xValues, yValues, covariance, structuredCovariance, false).getFinalFofX());
+            assertSummariesEqual(denseSummary, structuredSummary);
+        }
+
+        AbstractFunctionOfX fOfX_ExpFast = solver.getSelectedLMAlgorithm(//
+                FitFunctionTypeEnum.EXPFAST, dataActiveMap, xValues, yValues, covariance, false).getInitialFofX();
+        for (FitFunctionTypeEnum fitFunctionType : new FitFunctionTypeEnum[]{FitFunctionTypeEnum.EXPMAT, FitFunctionTypeEnum.EXPONENTIAL}) {
+            List<Double> denseSummary = new ArrayList<>();
+            summarize(denseSummary, solver.getSelectedLMAlgorithmUsingIntialFofX(//
+                    fitFunctionType, dataActiveMap, xValues, yValues, covariance, false, fOfX_ExpFast).getFinalFofX());
+            List<Double> structuredSummary = new ArrayList<>();
+            summarize(structuredSummary, solver.getSelectedLMAlgorithmUsingIntialFofX(//
+                    fitFunctionType, dataActiveMap, xValues, yValues, covariance, structuredCovariance, false, fOfX_ExpFast).getFinalFofX());
+            assertSummariesEqual(denseSummary, structuredSummary);
+        }
+    }
+
+    private void assertSummariesEqual(List<Double> expected, List<Double> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i), 1e-6 * Math.abs(expected.get(i)) + 1e-12);
+        }
+    }
+
+    /**
+     * Fits MEAN, LINE, EXPFAST, EXPMAT, EXPONENTIAL and the smoothing spline
+     * the way RawRatioDataModel does and summarizes the fit parameters.
+     */
+    private double[] fitDataSet(int dataSet) {
+        Random random = new Random(1000L + dataSet);
+        double sigma = 0.002 * (1 + dataSet % 3);
+
+        double[] xValues = makeXValues();
+        double[] yValues = new double[COUNT_OF_POINTS];
+        for (int i = 0; i < COUNT_OF_POINTS; i++) {
+            yValues[i] = (1.0 + 0.05 * dataSet) * Math.exp(-0.3 * xValues[i]) + 0.5 + random.nextGaussian() * sigma;
+        }
+        boolean[] dataActiveMap = new boolean[COUNT_OF_POINTS];
+        Arrays.fill(dataActiveMap, true);
+        Matrix covariance = makeCovariance(sigma);
+
+        LevenbergMarquardGeneralSolverWithCovS solver = LevenbergMarquardGeneralSolverWithCovS.getInstance();
+        List<Double> summary = new ArrayList<>();
+
+        AbstractOverDispersionLMAlgorithm algorithmForMEAN = solver.getSelectedLMAlgorithm(//
+                FitFunctionTypeEnum.MEAN, dataActiveMap, xValues, yValues, covariance, false);
+        summarize(summary, algorithmForMEAN.getInitialFofX());
+        summarize(summary, algorithmForMEAN.getFinalFofX());
+
+        AbstractOverDispersionLMAlgorithm algorithmForLINE = solver.getSelectedLMAlgorithm(//
+                FitFunctionTypeEnum.LINE, dataActiveMap, xValues, yValues, covariance, false);
+        summarize(summary, algorithmForLINE.getInitialFofX());
+        summarize(summary, algorithmForLINE.getFinalFofX());
+
+        AbstractOverDispersionLMAlgorithm algorithmForEXPFAST = solver.getSelectedLMAlgorithm(//
+                FitFunctionTypeEnum.EXPFAST, dataActiveMap, xValues, yValues, covariance, false);
+        AbstractFunctionOfX fOfX_ExpFast = algorithmForEXPFAST.getInitialFofX();
+        summarize(summary, fOfX_ExpFast);
+
+        if (fOfX_ExpFast != null) {
+            AbstractOverDispersionLMAlgorithm algorithmForEXPMAT = solver.getSelectedLMAlgorithmUsingIntialFofX(//
+                    FitFunctionTypeEnum.EXPMAT, dataActiveMap, xValues, yValues, covariance, false, fOfX_ExpFast);
+            summarize(summary, algorithmForEXPMAT.getFinalFofX());
+
+            AbstractOverDispersionLMAlgorithm algorithmForEXPOD = solver.getSelectedLMAlgorithmUsingIntialFofX(//
+                    FitFunctionTypeEnum.EXPONENTIAL, dataActiveMap, xValues, yValues, covariance, false, fOfX_ExpFast);
+            summarize(summary, algorithmForEXPOD.getFinalFofX());
+        }
+
+        summarize(summary, SmoothingSplineWithCov.getInstance()//
+                .getFunctionOfX(dataActiveMap, xValues, yValues, covariance, false));
+
+        double[] retVal = new double[summary.size()];
+        for (int i = 0; i < retVal.length; i++) {
+            retVal[i] = summary.get(i);
+        }
+        return retVal;
+    }
+
+    private void summarize(List<Double> summary, AbstractFunctionOfX fOfX) {
+        if (fOfX == null) {
+            summary.add(Double.NaN);
+        } else {
+            summary.add(fOfX.getA());
+            summary.add(fOfX.getB());
+            summary.add(fOfX.getC());
+            summary.add(fOfX.getMSWD());
+            summary.add(fOfX.getBIC());
+            summary.add(fOfX.getOverDispersion());
+        }
+    }
+
+    private double[] makeXValues() {
+        double[] xValues = new double[COUNT_OF_POINTS];
+        for (int i = 0; i < COUNT_OF_POINTS; i++) {
+            xValues[i] = 0.2 * i;
+        }
+        return xValues;
+    }
+
+    private Matrix makeCovariance(double sigma) {
+        Matrix covariance = new Matrix(COUNT_OF_POINTS, COUNT_OF_POINTS);
+        for (int i = 0; i < COUNT_OF_POINTS; i++) {
+            covariance.set(i, i, sigma * sigma);
+        }
+        return covariance;
+    }
+}
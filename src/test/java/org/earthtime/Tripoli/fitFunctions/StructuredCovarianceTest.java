@@ -0,0 +1,163 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.Tripoli.fitFunctions;
+
+import Jama.Matrix;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class StructuredCovarianceTest {
+
+    private static final int COUNT_OF_BACKGROUND = 30;
+    private static final int COUNT_OF_ON_PEAK = 50;
+
+    public StructuredCovarianceTest() {
+    }
+
+    /**
+     * Test of propagate and scaleRowsAndColumns methods, of class
+     * StructuredCovariance, against the dense products used before:
+     * JOnPeak * Si * JOnPeak' element-wise scaled by Jlogr * Jlogr'.
+     */
+    @Test
+    public void testPropagateMatchesDenseProducts() {
+        System.out.println("propagate matches dense products");
+        Random random = new Random(7L);
+        int n = COUNT_OF_BACKGROUND + COUNT_OF_ON_PEAK;
+
+        StructuredCovariance Si = makeIonCounterSi(n, random);
+
+        Matrix J11 = makeMatrix(2, COUNT_OF_BACKGROUND, random);
+        Matrix J21 = makeMatrix(COUNT_OF_ON_PEAK, 2, random);
+        double[] g = new double[COUNT_OF_ON_PEAK];
+        java.util.Arrays.fill(g, 1.0);
+        double[] jLogr = new double[COUNT_OF_ON_PEAK];
+        for (int i = 0; i < COUNT_OF_ON_PEAK; i++) {
+            jLogr[i] = 1.0 / (1000.0 + 100.0 * random.nextDouble());
+        }
+
+        Matrix JOnPeak = new Matrix(COUNT_OF_ON_PEAK, n);
+        JOnPeak.setMatrix(0, COUNT_OF_ON_PEAK - 1, 0, COUNT_OF_BACKGROUND - 1, J21.times(J11));
+        JOnPeak.setMatrix(0, COUNT_OF_ON_PEAK - 1, COUNT_OF_BACKGROUND, n - 1, Matrix.identity(COUNT_OF_ON_PEAK, COUNT_OF_ON_PEAK));
+        Matrix Jlogr = new Matrix(jLogr, COUNT_OF_ON_PEAK);
+        Matrix expected = Jlogr.times(Jlogr.transpose()).arrayTimes(JOnPeak.times(Si.toMatrix()).times(JOnPeak.transpose()));
+
+        StructuredCovariance Sopbclr = Si.propagate(J21, J11, g).scaleRowsAndColumns(jLogr);
+
+        assertTrue(Sopbclr.getRank() <= 3);
+        assertMatrixEquals(expected, Sopbclr.toMatrix());
+    }
+
+    /**
+     * Test of plus, times, outerProduct and select methods, of class
+     * StructuredCovariance, for the log-ratio covariance with the two ion
+     * counter dead-time term.
+     */
+    @Test
+    public void testLogRatioCombination() {
+        System.out.println("log-ratio combination");
+        Random random = new Random(11L);
+        int n = 40;
+        StructuredCovariance top = makeIonCounterSi(n, random);
+        StructuredCovariance bot = makeIonCounterSi(n, random);
+        Matrix x = makeMatrix(n, 1, random);
+        Matrix y = makeMatrix(n, 1, random);
+
+        StructuredCovariance sum = top.plus(bot).plus(StructuredCovariance.outerProduct(x, y, 0.3).times(-2.0));
+        Matrix expected = top.toMatrix().plus(bot.toMatrix()).minus(x.times(y.transpose()).times(0.3 * 2.0));
+        assertMatrixEquals(expected, sum.toMatrix());
+
+        int[] selected = new int[]{0, 3, 4, 9, 17, 39};
+        assertMatrixEquals(expected.getMatrix(selected, selected), sum.select(selected).toMatrix());
+
+        StructuredCovariance scaled = sum.scaleDiagonalEntry(3, 100.0);
+        expected.set(3, 3, expected.get(3, 3) * 100.0);
+        assertMatrixEquals(expected, scaled.toMatrix());
+    }
+
+    /**
+     * Test of factorize method, of class StructuredCovariance, against the
+     * dense LU.
+     */
+    @Test
+    public void testWoodburyFactorization() {
+        System.out.println("Woodbury factorization");
+        Random random = new Random(13L);
+        int n = 60;
+        StructuredCovariance S = makeIonCounterSi(n, random).plus(//
+                new StructuredCovariance(new double[n], makeMatrix(n, 2, random), Matrix.identity(2, 2).times(0.5)));
+        Matrix dense = S.toMatrix();
+        Matrix r = makeMatrix(n, 1, random);
+
+        CovarianceFactorization factorization = S.factorize();
+        assertTrue(factorization.isPositiveDefinite());
+
+        assertMatrixEquals(dense.solve(r), factorization.solve(r));
+        assertMatrixEquals(dense.inverse(), factorization.getInverse());
+        double expectedQuadraticForm = r.transpose().times(dense.solve(r)).get(0, 0);
+        assertEquals(expectedQuadraticForm, factorization.quadraticForm(r), 1e-9 * Math.abs(expectedQuadraticForm));
+        assertEquals(new CovarianceFactorization(dense).getLogDeterminant(), factorization.getLogDeterminant(), 1e-8);
+
+        Matrix denseInverse = dense.inverse();
+        assertEquals(denseInverse.trace(), S.factorize().getTraceOfInverse(), 1e-9 * Math.abs(denseInverse.trace()));
+        double expectedTraceOfSquare = denseInverse.times(denseInverse).trace();
+        assertEquals(expectedTraceOfSquare, S.factorize().getTraceOfInverseSquared(), 1e-9 * Math.abs(expectedTraceOfSquare));
+    }
+
+    private StructuredCovariance makeIonCounterSi(int n, Random random) {
+        // counting statistics plus dead-time term
+        double[] diagonal = new double[n];
+        Matrix countsSquared = new Matrix(n, 1);
+        for (int i = 0; i < n; i++) {
+            double intensity = 1000.0 + 500.0 * random.nextDouble();
+            diagonal[i] = intensity;
+            countsSquared.set(i, 0, intensity * intensity * 1e-6);
+        }
+        return new StructuredCovariance(diagonal, countsSquared, new Matrix(1, 1, 1e-3));
+    }
+
+    private Matrix makeMatrix(int rows, int cols, Random random) {
+        Matrix retVal = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                retVal.set(i, j, random.nextGaussian());
+            }
+        }
+        return retVal;
+    }
+
+    private void assertMatrixEquals(Matrix expected, Matrix actual) {
+        assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        double scale = 0.0;
+        for (int i = 0; i < expected.getRowDimension(); i++) {
+            for (int j = 0; j < expected.getColumnDimension(); j++) {
+                scale = Math.max(scale, Math.abs(expected.get(i, j)));
+            }
+        }
+        for (int i = 0; i < expected.getRowDimension(); i++) {
+            for (int j = 0; j < expected.getColumnDimension(); j++) {
+                assertEquals("(" + i + ", " + j + ")", expected.get(i, j), actual.get(i, j), 1e-10 * scale);
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.Tripoli.massSpecSetups;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.earthtime.Tripoli.dataModels.DataModelInterface;
+import org.earthtime.Tripoli.dataModels.RawRatioDataModel;
+import org.earthtime.Tripoli.fitFunctions.AbstractFunctionOfX;
+import org.earthtime.Tripoli.fractions.TripoliFraction;
+import org.earthtime.Tripoli.massSpecSetups.singleCollector.Agilent7700.KoslerAgilent7700SetupUPb;
+import org.earthtime.isotopes.IsotopesEnum;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class AbstractMassSpecSetupTest {
+
+    private static final int COUNT_OF_FRACTIONS = 4;
+
+    public AbstractMassSpecSetupTest() {
+    }
+
+    /**
+     * Test of copyForFraction method, of class AbstractMassSpecSetup.
+     */
+    @Test
+    public void testCopyForFractionSharesOnlySettings() {
+        System.out.println("copyForFraction shares only settings");
+        AbstractMassSpecSetup massSpec = KoslerAgilent7700SetupUPb.getInstance();
+        massSpec.rawRatiosFactoryRevised();
+        DataModelInterface Pb206 = massSpec.getPb206();
+
+        AbstractMassSpecSetup copy = massSpec.copyForFraction();
+        copy.rawRatiosFactoryRevised();
+
+        assertNotSame(Pb206, copy.getPb206());
+        assertSame(Pb206, massSpec.getPb206());
+        assertSame(Pb206, massSpec.getIsotopeMappingModel().getIsotopeToRawIntensitiesMap().get(IsotopesEnum.Pb206));
+        assertSame(copy.getPb206(), copy.getIsotopeMappingModel().getIsotopeToRawIntensitiesMap().get(IsotopesEnum.Pb206));
+        assertSame(massSpec.getIsotopeMappingModel().getIsotopeToCollectorMap(), copy.getIsotopeMappingModel().getIsotopeToCollectorMap());
+
+        massSpec.takeFractionStateFrom(copy);
+        assertSame(copy.getPb206(), massSpec.getPb206());
+        assertSame(copy.getPb206(), massSpec.getIsotopeMappingModel().getIsotopeToRawIntensitiesMap().get(IsotopesEnum.Pb206));
+    }
+
+    /**
+     * Test that fractions processed at once with copies of a setup match
+     * those processed one at a time with the setup itself.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCopiesProcessFractionsAsTheSetupDoes() throws Exception {
+        System.out.println("copies process fractions as the setup does");
+        AbstractMassSpecSetup massSpec = KoslerAgilent7700SetupUPb.getInstance();
+
+        List<List<double[]>> backgrounds = new ArrayList<>();
+        List<List<double[]>> peaks = new ArrayList<>();
+        Random random = new Random(42);
+        for (int f = 0; f < COUNT_OF_FRACTIONS; f++) {
+            backgrounds.add(acquisitions(random, 40, 10.0));
+            peaks.add(acquisitions(random, 60, 20000.0 * (f + 1)));
+        }
+
+        List<TripoliFraction> serialFractions = new ArrayList<>();
+        for (int f = 0; f < COUNT_OF_FRACTIONS; f++) {
+            serialFractions.add(processFraction(massSpec, f, backgrounds.get(f), peaks.get(f)));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(COUNT_OF_FRACTIONS);
+        List<Future<TripoliFraction>> parallelFractions = new ArrayList<>();
+        try {
+            for (int f = 0; f < COUNT_OF_FRACTIONS; f++) {
+                final int fractionIndex = f;
+                final AbstractMassSpecSetup copy = massSpec.copyForFraction();
+                parallelFractions.add(pool.submit(() -> //
+                        processFraction(copy, fractionIndex, backgrounds.get(fractionIndex), peaks.get(fractionIndex))));
+            }
+
+            for (int f = 0; f < COUNT_OF_FRACTIONS; f++) {
+                List<DataModelInterface> serialRatios = new ArrayList<>(serialFractions.get(f).getRawRatios());
+                List<DataModelInterface> parallelRatios = new ArrayList<>(parallelFractions.get(f).get().getRawRatios());
+                assertEquals(serialRatios.size(), parallelRatios.size());
+                for (int r = 0; r < serialRatios.size(); r++) {
+                    RawRatioDataModel serialRatio = (RawRatioDataModel) serialRatios.get(r);
+                    RawRatioDataModel parallelRatio = (RawRatioDataModel) parallelRatios.get(r);
+                    assertArrayEquals(serialRatio.getRatios(), parallelRatio.getRatios(), 0.0);
+                    assertEquals(serialRatio.getFitFunctions().keySet(), parallelRatio.getFitFunctions().keySet());
+                    for (Map.Entry<String, AbstractFunctionOfX> fit : serialRatio.getFitFunctions().entrySet()) {
+                        AbstractFunctionOfX parallelFit = parallelRatio.getFitFunctions().get(fit.getKey());
+                        assertEquals(fit.getValue().getA(), parallelFit.getA(), 0.0);
+                        assertEquals(fit.getValue().getB(), parallelFit.getB(), 0.0);
+                        assertEquals(fit.getValue().getChiSquared(), parallelFit.getChiSquared(), 0.0);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static List<double[]> acquisitions(Random random, int count, double level) {
+        List<double[]> retVal = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Hg202 Pb204 Pb206 Pb207 Pb208 Th232 U238
+            double[] intensities = new double[7];
+            intensities[0] = level * 0.01 * (1.0 + 0.05 * random.nextGaussian());
+            intensities[1] = level * 0.001 * (1.0 + 0.05 * random.nextGaussian());
+            intensities[2] = level * (1.0 + 0.01 * random.nextGaussian());
+            intensities[3] = level * 0.06 * (1.0 + 0.02 * random.nextGaussian());
+            intensities[4] = level * 0.2 * (1.0 + 0.02 * random.nextGaussian());
+            intensities[5] = level * 0.5 * (1.0 + 0.01 * random.nextGaussian());
+            intensities[6] = level * 3.0 * (1.0 + 0.01 * random.nextGaussian());
+            retVal.add(intensities);
+        }
+        return retVal;
+    }
+
+    private static TripoliFraction processFraction(//
+            AbstractMassSpecSetup massSpec, int fractionIndex, List<double[]> backgroundAcquisitions, List<double[]> peakAcquisitions) {
+        TripoliFraction tripoliFraction = new TripoliFraction(//
+                "F-" + fractionIndex, massSpec.getCommonLeadCorrectionHighestLevel(), false, false, //
+                1000L * fractionIndex, 1000L * fractionIndex + 500L, peakAcquisitions.size());
+
+        tripoliFraction.setRawRatios(massSpec.rawRatiosFactoryRevised());
+        massSpec.setCountOfAcquisitions(peakAcquisitions.size());
+
+        Map<DataModelInterface, Integer> virtualCollectorModelMapToFieldIndexes = new HashMap<>();
+        virtualCollectorModelMapToFieldIndexes.put(massSpec.getHg202(), 0);
+        virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb204(), 1);
+        virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb206(), 2);
+        virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb207(), 3);
+        virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb208(), 4);
+        virtualCollectorModelMapToFieldIndexes.put(massSpec.getTh232(), 5);
+        virtualCollectorModelMapToFieldIndexes.put(massSpec.getU238(), 6);
+
+        massSpec.processFractionRawRatiosII(backgroundAcquisitions, peakAcquisitions, true, tripoliFraction, virtualCollectorModelMapToFieldIndexes);
+
+        return tripoliFraction;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.Tripoli.rawDataFiles;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class RawDataFolderWatcherTest {
+
+    public RawDataFolderWatcherTest() {
+    }
+
+    /**
+     * Test of collectSettledFiles method, of class RawDataFolderWatcher.
+     *
+     * @throws java.io.IOException
+     */
+    @Test
+    public void testCollectSettledFiles() throws IOException {
+        System.out.println("collectSettledFiles");
+        File folder = Files.createTempDirectory("watcher").toFile();
+        File existing = writeFile(folder, "a001.dat", 10);
+
+        // not started, so no watcher thread collects the files before the test does
+        RawDataFolderWatcher watcher = new RawDataFolderWatcher(folder, ".dat", 1000, (files, earliestCloseTime) -> {
+        });
+        watcher.recordExistingFilesAsReported();
+
+        File added = writeFile(folder, "a002.dat", 10);
+        File ignored = writeFile(folder, "a002.scancsv", 10);
+        long now = System.currentTimeMillis();
+        watcher.recordPending(existing, now);
+        watcher.recordPending(added, now);
+        watcher.recordPending(ignored, now);
+
+        // still being written
+        assertTrue(watcher.collectSettledFiles(now + 10).isEmpty());
+
+        // the unchanged existing file is not reported again
+        List<File> settled = watcher.collectSettledFiles(now + 60000);
+        assertEquals(1, settled.size());
+        assertEquals(added, settled.get(0));
+
+        // nor is the added file without a further change
+        watcher.recordPending(added, now);
+        assertTrue(watcher.collectSettledFiles(now + 60000).isEmpty());
+    }
+
+    /**
+     * Test of start method, of class RawDataFolderWatcher, with files written
+     * while watching.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testReportsNewFiles() throws Exception {
+        System.out.println("reports new files");
+        File folder = Files.createTempDirectory("watcher").toFile();
+        writeFile(folder, "a001.dat", 10);
+
+        List<File> reported = new ArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        RawDataFolderWatcher watcher = new RawDataFolderWatcher(folder, ".dat", 200, (files, earliestCloseTime) -> {
+            synchronized (reported) {
+                for (File file : files) {
+                    reported.add(file);
+                    latch.countDown();
+                }
+            }
+        });
+        watcher.start();
+        try {
+            File added1 = writeFile(folder, "a002.dat", 100);
+            File added2 = writeFile(folder, "a003.dat", 100);
+
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+            synchronized (reported) {
+                assertEquals(2, reported.size());
+                assertTrue(reported.contains(added1));
+                assertTrue(reported.contains(added2));
+            }
+        } finally {
+            watcher.close();
+        }
+    }
+
+    private File writeFile(File folder, String name, int length) throws IOException {
+        File file = new File(folder, name);
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[length]);
+        }
+        file.deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.Tripoli.rawDataFiles.handlers.Thermo;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import org.earthtime.Tripoli.rawDataFiles.handlers.Thermo.ElementII_DatFileDecoder.ElementII_DatFileData;
+import org.earthtime.pythonUtilities.ElementII_DatFileConverter;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNoException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class ElementII_DatFileDecoderTest {
+
+    private static final long TIME_STAMP = 1400000000L;
+    private static final int COUNT_OF_SCANS = 3;
+    private static final int SCAN_SHORTS = 96;
+    private static final int SCAN_SIZE = 22 * 4 + SCAN_SHORTS * 2;
+    private static final int FIRST_SCAN_OFFSET = 400;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    public ElementII_DatFileDecoderTest() {
+    }
+
+    /**
+     * Test of decode method, of class ElementII_DatFileDecoder, against
+     * hand-computed values of a synthetic file with one format 'A' mass with
+     * pulses and analogs, one format 'A' mass with pulses only and one format
+     * 'B' mass.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testDecode() throws Exception {
+        System.out.println("decode");
+        File datFile = writeSyntheticDatFile();
+
+        ElementII_DatFileData data = ElementII_DatFileDecoder.decode(datFile);
+
+        assertEquals(COUNT_OF_SCANS, data.getCountOfScans());
+        for (int s = 0; s < COUNT_OF_SCANS; s++) {
+            assertEquals(s + 1, data.getScanNumber(s));
+            assertEquals(TIME_STAMP * 1000L + 250 * s, data.getTimeStamp(s));
+            assertEquals(1.5, data.getAnalogCorrectionFactor(s), 0.0);
+
+            double[] scan = data.getScan(s);
+            double[] expected = new double[]{
+                s + 1, TIME_STAMP + 0.250 * s, 1.5,
+                (100 + s) * 2.0, Double.NaN, 7 * 8 * 1.5, 9 * 1.5, Double.NaN,
+                1000.0, (2000 + s) * 4.0, Double.NaN,
+                5 * 8.0, 3 * 2 * 1.5, Double.NaN};
+            assertEquals(expected.length, scan.length);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals("scan " + s + " column " + i, expected[i], scan[i], 1e-9);
+            }
+        }
+    }
+
+    /**
+     * Test of decode method, of class ElementII_DatFileDecoder, for parity
+     * with the legacy Python routine.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testDecodeParityWithPythonConverter() throws Exception {
+        System.out.println("decode parity with readDatFile5");
+        File datFile = writeSyntheticDatFile();
+
+        String[][] legacy = null;
+        try {
+            legacy = ElementII_DatFileConverter.readDatFile5(datFile, "");
+        } catch (Throwable throwable) {
+            // the embedded interpreter is not available on every JVM
+            assumeNoException(throwable);
+        }
+
+        ElementII_DatFileData data = ElementII_DatFileDecoder.decode(datFile);
+
+        assertEquals(legacy.length, data.getCountOfScans());
+        for (int s = 0; s < legacy.length; s++) {
+            double[] scan = data.getScan(s);
+            // the legacy split drops trailing empty separators
+            assertTrue(legacy[s].length <= scan.length);
+            for (int i = 0; i < legacy[s].length; i++) {
+                String cell = legacy[s][i].trim();
+                if (cell.isEmpty() || cell.contains("*")) {
+                    assertTrue("scan " + s + " column " + i, Double.isNaN(scan[i]));
+                } else {
+                    double legacyValue = Double.parseDouble(cell);
+                    // Python str() keeps 12 significant digits and '%f' six decimals
+                    double tolerance = Math.max(1e-6, Math.abs(legacyValue) * 1e-11);
+                    assertEquals("scan " + s + " column " + i, legacyValue, scan[i], tolerance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of decode method, of class ElementII_DatFileDecoder, for a
+     * truncated file.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test(expected = IOException.class)
+    public void testDecodeTruncatedFile() throws Exception {
+        System.out.println("decode truncated file");
+        File datFile = writeSyntheticDatFile();
+        byte[] bytes = Files.readAllBytes(datFile.toPath());
+        byte[] truncated = new byte[FIRST_SCAN_OFFSET + SCAN_SIZE];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        Files.write(datFile.toPath(), truncated);
+
+        ElementII_DatFileDecoder.decode(datFile);
+    }
+
+    private File writeSyntheticDatFile() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(FIRST_SCAN_OFFSET + COUNT_OF_SCANS * SCAN_SIZE);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        // header of 85 unsigned ints starting at 0x10
+        int indexOffset = 360;
+        buffer.putInt(0x10 + 4 * 33, indexOffset - 4);
+        buffer.putInt(0x10 + 4 * 39, COUNT_OF_SCANS);
+        buffer.putInt(0x10 + 4 * 40, (int) TIME_STAMP);
+
+        for (int s = 0; s < COUNT_OF_SCANS; s++) {
+            int offset = FIRST_SCAN_OFFSET + s * SCAN_SIZE;
+            buffer.putInt(indexOffset + 4 * s, offset);
+
+            buffer.putInt(offset + 4 * 9, s + 1);
+            buffer.putInt(offset + 4 * 12, 96);
+            buffer.putInt(offset + 4 * 19, 250 * s);
+
+            // data begins at value index 72, which is the 50th short after the 22 ints
+            int[] shorts = new int[]{
+                // format A mass: two readings of key, mystery, pulse, analog
+                1, 2, 0, 0, 100 + s, 0x1011, 7, 0x1003,
+                1, 2, 0, 0, 150, 0x1111, 9, 0x1000,
+                0, 0x8000,
+                // format A mass: pulses only
+                1, 2, 0, 0, 1000, 0x1010,
+                1, 2, 0, 0, 2000 + s, 0x1012,
+                0, 0x8000,
+                // format B mass: one reading
+                0, 0, 0, 0, 1, 2, 5, 0x1013, 3, 0x1001,
+                0, 0x8000, 0, 0};
+            int position = offset + 22 * 4 + 50 * 2;
+            for (int value : shorts) {
+                buffer.putShort(position, (short) value);
+                position += 2;
+            }
+        }
+
+        File datFile = temporaryFolder.newFile("synthetic.dat");
+        Files.write(datFile.toPath(), buffer.array());
+        return datFile;
+    }
+}
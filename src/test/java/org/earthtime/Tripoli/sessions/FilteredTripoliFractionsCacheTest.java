@@ -0,0 +1,79 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.Tripoli.sessions;
+
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.earthtime.Tripoli.fractions.TripoliFraction;
+import org.earthtime.dataDictionaries.FractionSelectionTypeEnum;
+import org.earthtime.dataDictionaries.IncludedTypeEnum;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class FilteredTripoliFractionsCacheTest {
+
+    public FilteredTripoliFractionsCacheTest() {
+    }
+
+    /**
+     * Test of getTripoliFractionsFiltered method, of class
+     * FilteredTripoliFractionsCache.
+     */
+    @Test
+    public void testViewsRebuiltOnlyOnChange() {
+        System.out.println("views rebuilt only on change");
+        SortedSet<TripoliFraction> tripoliFractions = new TreeSet<>();
+        for (int i = 0; i < 6; i++) {
+            tripoliFractions.add(new TripoliFraction("F-" + i, "", (i % 3) == 0, false, 1000L * i, 1000L * i + 10, 1));
+        }
+
+        FilteredTripoliFractionsCache cache = new FilteredTripoliFractionsCache();
+
+        SortedSet<TripoliFraction> includedStandards
+                = cache.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.STANDARD, IncludedTypeEnum.INCLUDED);
+        assertEquals(2, includedStandards.size());
+        assertSame(includedStandards, //
+                cache.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.STANDARD, IncludedTypeEnum.INCLUDED));
+
+        // exclude an unknown
+        TripoliFraction unknown = tripoliFractions.first();
+        for (TripoliFraction tf : tripoliFractions) {
+            if (!tf.isStandard()) {
+                unknown = tf;
+                break;
+            }
+        }
+        unknown.setIncluded(false);
+        SortedSet<TripoliFraction> includedUnknowns
+                = cache.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.UNKNOWN, IncludedTypeEnum.INCLUDED);
+        assertEquals(3, includedUnknowns.size());
+        assertTrue(!includedUnknowns.contains(unknown));
+        assertNotSame(includedStandards, //
+                cache.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.STANDARD, IncludedTypeEnum.INCLUDED));
+
+        // add a standard
+        tripoliFractions.add(new TripoliFraction("F-6", "", true, false, 6000L, 6010L, 1));
+        assertEquals(3, cache.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.STANDARD, IncludedTypeEnum.INCLUDED).size());
+        assertEquals(1, cache.getTripoliFractionsFiltered(tripoliFractions, FractionSelectionTypeEnum.ALL, IncludedTypeEnum.EXCLUDED).size());
+    }
+}
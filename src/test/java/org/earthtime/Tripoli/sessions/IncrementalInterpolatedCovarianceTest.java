@@ -0,0 +1,120 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.Tripoli.sessions;
+
+import Jama.Matrix;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class IncrementalInterpolatedCovarianceTest {
+
+    private static final int COUNT_OF_STANDARDS = 12;
+
+    public IncrementalInterpolatedCovarianceTest() {
+    }
+
+    /**
+     * Test of update method, of class IncrementalInterpolatedCovariance, when
+     * one unknown is excluded and another added.
+     */
+    @Test
+    public void testUpdateRecalculatesOnlyNewFractions() {
+        System.out.println("update recalculates only new fractions");
+        Random random = new Random(3L);
+        Matrix P = makeCovariance(random);
+        Matrix allRows = makeMatrix(6, COUNT_OF_STANDARDS, random);
+
+        IncrementalInterpolatedCovariance interpolatedCovariance = new IncrementalInterpolatedCovariance();
+
+        int[] first = new int[]{0, 1, 2, 3, 4};
+        Matrix Sf = interpolatedCovariance.update(P, fractionIDs(first), allRows.getMatrix(first, 0, COUNT_OF_STANDARDS - 1));
+        assertEquals(5, interpolatedCovariance.getCountOfRecalculatedRows());
+        assertMatrixEquals(expectedSf(P, allRows, first), Sf);
+
+        // exclude fraction 2 and include fraction 5
+        int[] second = new int[]{0, 1, 3, 4, 5};
+        Sf = interpolatedCovariance.update(P, fractionIDs(second), allRows.getMatrix(second, 0, COUNT_OF_STANDARDS - 1));
+        assertEquals(1, interpolatedCovariance.getCountOfRecalculatedRows());
+        assertMatrixEquals(expectedSf(P, allRows, second), Sf);
+
+        // a refit of the session changes P
+        Matrix refitP = makeCovariance(random);
+        Sf = interpolatedCovariance.update(refitP, fractionIDs(second), allRows.getMatrix(second, 0, COUNT_OF_STANDARDS - 1));
+        assertEquals(5, interpolatedCovariance.getCountOfRecalculatedRows());
+        assertMatrixEquals(expectedSf(refitP, allRows, second), Sf);
+    }
+
+    /**
+     * Test of update method, of class IncrementalInterpolatedCovariance, for a
+     * mean, whose Jf is null.
+     */
+    @Test
+    public void testUpdateForMean() {
+        System.out.println("update for mean");
+        Matrix P = new Matrix(1, 1, 0.25);
+        IncrementalInterpolatedCovariance interpolatedCovariance = new IncrementalInterpolatedCovariance();
+
+        Matrix Sf = interpolatedCovariance.update(P, new String[]{"a", "b", "c"}, null);
+        assertMatrixEquals(new Matrix(3, 3, 0.25), Sf);
+
+        Sf = interpolatedCovariance.update(P, new String[]{"a", "c", "d", "e"}, null);
+        assertEquals(2, interpolatedCovariance.getCountOfRecalculatedRows());
+        assertMatrixEquals(new Matrix(4, 4, 0.25), Sf);
+    }
+
+    private Matrix expectedSf(Matrix P, Matrix allRows, int[] rows) {
+        Matrix Jf = allRows.getMatrix(rows, 0, COUNT_OF_STANDARDS - 1);
+        return Jf.times(P).times(Jf.transpose());
+    }
+
+    private String[] fractionIDs(int[] rows) {
+        String[] retVal = new String[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            retVal[i] = "fraction-" + rows[i];
+        }
+        return retVal;
+    }
+
+    private Matrix makeCovariance(Random random) {
+        Matrix A = makeMatrix(COUNT_OF_STANDARDS, COUNT_OF_STANDARDS, random);
+        return A.times(A.transpose());
+    }
+
+    private Matrix makeMatrix(int rows, int cols, Random random) {
+        Matrix retVal = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                retVal.set(i, j, random.nextGaussian());
+            }
+        }
+        return retVal;
+    }
+
+    private void assertMatrixEquals(Matrix expected, Matrix actual) {
+        assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        for (int i = 0; i < expected.getRowDimension(); i++) {
+            for (int j = 0; j < expected.getColumnDimension(); j++) {
+                assertEquals("(" + i + ", " + j + ")", expected.get(i, j), actual.get(i, j), 1e-10 * (1.0 + Math.abs(expected.get(i, j))));
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.Tripoli.sessions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.earthtime.Tripoli.dataModels.DataModelInterface;
+import org.earthtime.Tripoli.dataModels.sessionModels.AbstractSessionForStandardDataModel;
+import org.earthtime.Tripoli.fractions.TripoliFraction;
+import org.earthtime.Tripoli.massSpecSetups.AbstractMassSpecSetup;
+import org.earthtime.Tripoli.massSpecSetups.singleCollector.Agilent7700.KoslerAgilent7700SetupUPb;
+import org.earthtime.Tripoli.rawDataFiles.handlers.AbstractRawDataFileHandler;
+import org.earthtime.Tripoli.rawDataFiles.handlers.Agilent.KoslerAgilent7700FileHandler;
+import org.earthtime.Tripoli.samples.AbstractTripoliSample;
+import org.earthtime.Tripoli.samples.TripoliPrimaryStandardSample;
+import org.earthtime.Tripoli.samples.TripoliUnknownSample;
+import org.earthtime.reduxLabData.ReduxLabData;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class TripoliSessionTest {
+
+    private static final long RANDOM_SEED = 42L;
+
+    public TripoliSessionTest() {
+    }
+
+    /**
+     * Test of appendLiveFractions method, of class TripoliSession.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testAppendLiveFractionsMatchesProcessingTheSession() throws Exception {
+        System.out.println("appendLiveFractions matches processing the session");
+        AbstractRawDataFileHandler rawDataFileHandler = KoslerAgilent7700FileHandler.getInstance();
+        rawDataFileHandler.setMassSpec(KoslerAgilent7700SetupUPb.getInstance());
+
+        // standards are the even fractions
+        TripoliSession processedSession = processedSession(rawDataFileHandler, fractions(rawDataFileHandler.getMassSpec(), 5));
+
+        List<TripoliFraction> liveFractions = fractions(rawDataFileHandler.getMassSpec(), 5);
+        TripoliSession liveSession = processedSession(rawDataFileHandler, liveFractions.subList(0, 3));
+        liveSession.setRefMaterialSessionFittedForLiveMode(true);
+
+        // an unknown leaves the session of standards as it is
+        assertTrue(appendLiveFraction(liveSession, liveFractions.get(3)));
+        assertTrue(liveSession.isRefMaterialSessionFittedForLiveMode());
+        assertEquals(2, countOfSessionStandards(liveSession));
+
+        // a reference material is added to the session of standards, which then needs a refit
+        assertTrue(appendLiveFraction(liveSession, liveFractions.get(4)));
+        assertFalse(liveSession.isRefMaterialSessionFittedForLiveMode());
+        assertEquals(countOfSessionStandards(processedSession), countOfSessionStandards(liveSession));
+
+        Iterator<TripoliFraction> processedFractions = processedSession.getTripoliFractions().iterator();
+        for (TripoliFraction liveFraction : liveSession.getTripoliFractions()) {
+            TripoliFraction processedFraction = processedFractions.next();
+            assertEquals(processedFraction.getZeroBasedTimeStamp(), liveFraction.getZeroBasedTimeStamp());
+            assertEquals(processedFraction.getZeroBasedNormalizedTimeStamp(), liveFraction.getZeroBasedNormalizedTimeStamp());
+
+            Iterator<DataModelInterface> processedRatios = processedFraction.getRatiosForFractionFitting().iterator();
+            for (DataModelInterface liveRatio : liveFraction.getRatiosForFractionFitting()) {
+                assertEquals(processedRatios.next().getStandardValue(), liveRatio.getStandardValue(), 0.0);
+            }
+        }
+
+        // an analysis earlier than the first moves the time origin of the session
+        TripoliFraction earlierFraction = fractions(rawDataFileHandler.getMassSpec(), 1).get(0);
+        earlierFraction.setPeakTimeStamp(-1000L);
+        assertFalse(appendLiveFraction(liveSession, earlierFraction));
+    }
+
+    private static boolean appendLiveFraction(TripoliSession tripoliSession, TripoliFraction tripoliFraction) {
+        SortedSet<TripoliFraction> tripoliFractions = new TreeSet<>(tripoliSession.getTripoliFractions());
+        tripoliFractions.add(tripoliFraction);
+        tripoliSession.setTripoliFractions(tripoliFractions);
+        tripoliSession.setTripoliSamples(samples(tripoliFractions));
+        tripoliSession.updateFractionsToSampleMembership();
+
+        SortedSet<TripoliFraction> newTripoliFractions = new TreeSet<>();
+        newTripoliFractions.add(tripoliFraction);
+        return tripoliSession.appendLiveFractions(newTripoliFractions);
+    }
+
+    private static int countOfSessionStandards(TripoliSession tripoliSession) {
+        AbstractSessionForStandardDataModel sessionForStandard
+                = tripoliSession.getCurrentSessionForStandardsFractionation().values().iterator().next();
+        return sessionForStandard.getStandardFractions().size();
+    }
+
+    private static TripoliSession processedSession(AbstractRawDataFileHandler rawDataFileHandler, List<TripoliFraction> fractions)
+            throws Exception {
+        SortedSet<TripoliFraction> tripoliFractions = new TreeSet<>(fractions);
+        rawDataFileHandler.setTripoliFractions(tripoliFractions);
+
+        TripoliSession tripoliSession = new TripoliSession(rawDataFileHandler, samples(tripoliFractions));
+        tripoliSession.setPrimaryMineralStandard(ReduxLabData.getInstance().getDefaultLAICPMSPrimaryMineralStandardModel());
+        tripoliSession.updateFractionsToSampleMembership();
+        tripoliSession.prepareFractionTimeStamps();
+        tripoliSession.processRawData(true);
+
+        return tripoliSession;
+    }
+
+    private static ArrayList<AbstractTripoliSample> samples(SortedSet<TripoliFraction> tripoliFractions) {
+        AbstractTripoliSample standards = new TripoliPrimaryStandardSample("Standards");
+        AbstractTripoliSample unknowns = new TripoliUnknownSample("Unknowns");
+        for (TripoliFraction tf : tripoliFractions) {
+            if (tf.getFractionID().startsWith("STD")) {
+                standards.addTripoliFraction(tf);
+            } else {
+                unknowns.addTripoliFraction(tf);
+            }
+        }
+
+        ArrayList<AbstractTripoliSample> tripoliSamples = new ArrayList<>();
+        tripoliSamples.add(standards);
+        tripoliSamples.add(unknowns);
+        return tripoliSamples;
+    }
+
+    private static List<TripoliFraction> fractions(AbstractMassSpecSetup massSpec, int countOfFractions) {
+        Random random = new Random(RANDOM_SEED);
+        List<TripoliFraction> tripoliFractions = new ArrayList<>();
+        for (int f = 0; f < countOfFractions; f++) {
+            // reference material status comes from the samples
+            TripoliFraction tripoliFraction = new TripoliFraction(//
+                    (((f % 2) == 0) ? "STD-" : "UNK-") + f, massSpec.getCommonLeadCorrectionHighestLevel(), false, false, //
+                    10000L * f, 10000L * f + 5000L, 60);
+
+            tripoliFraction.setRawRatios(massSpec.rawRatiosFactoryRevised());
+            massSpec.setCountOfAcquisitions(60);
+
+            Map<DataModelInterface, Integer> virtualCollectorModelMapToFieldIndexes = new HashMap<>();
+            virtualCollectorModelMapToFieldIndexes.put(massSpec.getHg202(), 0);
+            virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb204(), 1);
+            virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb206(), 2);
+            virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb207(), 3);
+            virtualCollectorModelMapToFieldIndexes.put(massSpec.getPb208(), 4);
+            virtualCollectorModelMapToFieldIndexes.put(massSpec.getTh232(), 5);
+            virtualCollectorModelMapToFieldIndexes.put(massSpec.getU238(), 6);
+
+            massSpec.processFractionRawRatiosII(//
+                    acquisitions(random, 40, 10.0), acquisitions(random, 60, 20000.0 * (f + 1)), true, tripoliFraction, virtualCollectorModelMapToFieldIndexes);
+            tripoliFractions.add(tripoliFraction);
+        }
+        return tripoliFractions;
+    }
+
+    private static List<double[]> acquisitions(Random random, int count, double level) {
+        List<double[]> retVal = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Hg202 Pb204 Pb206 Pb207 Pb208 Th232 U238
+            double[] intensities = new double[7];
+            intensities[0] = level * 0.01 * (1.0 + 0.05 * random.nextGaussian());
+            intensities[1] = level * 0.001 * (1.0 + 0.05 * random.nextGaussian());
+            intensities[2] = level * (1.0 + 0.01 * random.nextGaussian());
+            intensities[3] = level * 0.06 * (1.0 + 0.02 * random.nextGaussian());
+            intensities[4] = level * 0.2 * (1.0 + 0.02 * random.nextGaussian());
+            intensities[5] = level * 0.5 * (1.0 + 0.01 * random.nextGaussian());
+            intensities[6] = level * 3.0 * (1.0 + 0.01 * random.nextGaussian());
+            retVal.add(intensities);
+        }
+        return retVal;
+    }
+}
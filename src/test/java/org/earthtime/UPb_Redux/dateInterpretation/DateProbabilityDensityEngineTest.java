@@ -0,0 +1,126 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.UPb_Redux.dateInterpretation;
+
+import java.util.Random;
+import org.earthtime.UPb_Redux.dateInterpretation.DateProbabilityDensityEngine.DensityCurves;
+import org.earthtime.UPb_Redux.dateInterpretation.DateProbabilityDensityEngine.KernelDates;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Compares the truncated kernels of DateProbabilityDensityEngine with the
+ * full evaluation at every point that DateProbabilityDensityPanel used.
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class DateProbabilityDensityEngineTest {
+
+    private static final int ALIQUOT_ROW_COUNT = 10;
+    private static final double TOLERANCE = 1e-10;
+
+    public DateProbabilityDensityEngineTest() {
+    }
+
+    private static KernelDates randomDates(Random random, int count) {
+        KernelDates dates = new KernelDates(count);
+        for (int i = 0; i < count; i++) {
+            double meanDate = 50.0 + random.nextDouble() * 3000.0;
+            double sigma = 0.5 + random.nextDouble() * 40.0;
+            dates.add(meanDate, sigma * sigma, sigma * sigma, 1 + random.nextInt(4));
+        }
+        return dates;
+    }
+
+    private static double[][] fullyEvaluated(double[] pdfPoints, Random random, int count) {
+        double[][] expected = new double[ALIQUOT_ROW_COUNT][pdfPoints.length];
+        for (int i = 0; i < count; i++) {
+            double meanDate = 50.0 + random.nextDouble() * 3000.0;
+            double sigma = 0.5 + random.nextDouble() * 40.0;
+            int aliquotNumber = 1 + random.nextInt(4);
+            for (int p = 0; p < pdfPoints.length; p++) {
+                double eval = DateProbabilityDensityEngine.evalKernelAt(meanDate, sigma * sigma, pdfPoints[p]);
+                expected[0][p] += eval;
+                expected[aliquotNumber][p] += eval;
+            }
+        }
+        return expected;
+    }
+
+    /**
+     * Test of evaluate against the full evaluation.
+     */
+    @Test
+    public void testEvaluateMatchesFullEvaluation() {
+        int count = 300;
+        KernelDates dates = randomDates(new Random(17), count);
+        DensityCurves curves = new DateProbabilityDensityEngine().evaluate(dates, ALIQUOT_ROW_COUNT);
+
+        double[] pdfPoints = curves.getPdfPoints();
+        assertEquals(DateProbabilityDensityEngine.ANNUM_POINT_COUNT + count, pdfPoints.length);
+        for (int p = 1; p < pdfPoints.length; p++) {
+            assertEquals(true, pdfPoints[p - 1] <= pdfPoints[p]);
+        }
+
+        // same seed regenerates the same dates
+        double[][] expected = fullyEvaluated(pdfPoints, new Random(17), count);
+        double[][] stackedAliquotKernels = curves.getStackedAliquotKernels();
+        double maxDateProb = 0.0;
+        for (int a = 0; a < ALIQUOT_ROW_COUNT; a++) {
+            for (int p = 0; p < pdfPoints.length; p++) {
+                assertEquals(expected[a][p], stackedAliquotKernels[a][p], TOLERANCE);
+            }
+        }
+        for (int p = 0; p < pdfPoints.length; p++) {
+            maxDateProb = Math.max(maxDateProb, stackedAliquotKernels[0][p]);
+        }
+        assertEquals(maxDateProb, stackedAliquotKernels[0][pdfPoints.length], 0.0);
+    }
+
+    /**
+     * Test of aliquotKernelsWithout.
+     */
+    @Test
+    public void testAliquotKernelsWithout() {
+        KernelDates dates = new KernelDates(2);
+        dates.add(1000.0, 25.0, 25.0, 1);
+        dates.add(1020.0, 16.0, 16.0, 1);
+        DensityCurves curves = new DateProbabilityDensityEngine().evaluate(dates, ALIQUOT_ROW_COUNT);
+
+        KernelDates removed = new KernelDates(1);
+        removed.add(1020.0, 16.0, 16.0, 1);
+        double[] active = curves.aliquotKernelsWithout(1, removed);
+
+        double[] pdfPoints = curves.getPdfPoints();
+        for (int p = 0; p < pdfPoints.length; p++) {
+            assertEquals(DateProbabilityDensityEngine.evalKernelAt(1000.0, 25.0, pdfPoints[p]), active[p], TOLERANCE);
+        }
+    }
+
+    /**
+     * Test that curves are kept until the dates change.
+     */
+    @Test
+    public void testEvaluateCachesUntilDatesChange() {
+        DateProbabilityDensityEngine engine = new DateProbabilityDensityEngine();
+        DensityCurves curves = engine.evaluate(randomDates(new Random(3), 50), ALIQUOT_ROW_COUNT);
+
+        assertSame(curves, engine.evaluate(randomDates(new Random(3), 50), ALIQUOT_ROW_COUNT));
+        assertNotSame(curves, engine.evaluate(randomDates(new Random(4), 50), ALIQUOT_ROW_COUNT));
+    }
+}
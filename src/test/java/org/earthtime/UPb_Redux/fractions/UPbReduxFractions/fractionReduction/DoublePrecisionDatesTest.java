@@ -0,0 +1,137 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import org.earthtime.UPb_Redux.valueModels.definedValueModels.Age206_238r;
+import org.earthtime.UPb_Redux.valueModels.definedValueModels.Age207_206r;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class DoublePrecisionDatesTest {
+
+    private static final double LAMBDA235 = 9.8485e-10;
+    private static final double LAMBDA238 = 1.55125e-10;
+    private static final double R238_235S = 137.818;
+
+    public DoublePrecisionDatesTest() {
+    }
+
+    /**
+     * Test of calculateDecayDate method, of class DoublePrecisionDates,
+     * against Age206_238r.
+     */
+    @Test
+    public void testDecayDateAgreesWithBigDecimal() {
+        System.out.println("decay date agrees with BigDecimal");
+        double ratio = Math.expm1(LAMBDA238 * 1.0e9);
+        double ratioPlusTwoSigma = ratio * 1.004;
+
+        ValueModel reference = new Age206_238r();
+        ConcurrentMap<String, BigDecimal> referenceParDerivTerms = new ConcurrentHashMap<>();
+        reference.calculateValue(new ValueModel[]{ratioModel("r206_238r", ratio), lambdaModel("lambda238", LAMBDA238)}, referenceParDerivTerms);
+        ValueModel referencePlusTwoSigma = new Age206_238r();
+        referencePlusTwoSigma.calculateValue(new ValueModel[]{ratioModel("r206_238r", ratioPlusTwoSigma), lambdaModel("lambda238", LAMBDA238)}, null);
+        double referenceOneSigma = (referencePlusTwoSigma.getValue().doubleValue() - reference.getValue().doubleValue()) / 2.0;
+
+        ValueModel date = new Age206_238r();
+        ConcurrentMap<String, BigDecimal> parDerivTerms = new ConcurrentHashMap<>();
+        assertTrue(DoublePrecisionDates.calculateDecayDate(date, "r206_238r", ratio, ratioPlusTwoSigma, "Lambda238", LAMBDA238, parDerivTerms));
+
+        assertEquals(1.0e9, date.getValue().doubleValue(), 1.0);
+        assertAgrees(reference.getValue().doubleValue(), date.getValue().doubleValue(), reference.getValue().doubleValue());
+        assertAgrees(referenceOneSigma, date.getOneSigmaAbs().doubleValue(), reference.getValue().doubleValue());
+        assertParDerivTermsAgree(referenceParDerivTerms, parDerivTerms);
+    }
+
+    /**
+     * Test of calculateDate207_206r method, of class DoublePrecisionDates,
+     * against Age207_206r.
+     */
+    @Test
+    public void testDate207_206rAgreesWithBigDecimal() {
+        System.out.println("date207_206r agrees with BigDecimal");
+        double t = 1.8e9;
+        double ratio = Math.expm1(LAMBDA235 * t) / Math.expm1(LAMBDA238 * t) / R238_235S;
+        double ratioPlusTwoSigma = ratio * 1.002;
+        double startDate = 1.7e9;
+
+        ValueModel r238_235s = ratioModel("r238_235s", R238_235S);
+        ValueModel age206_238r = ratioModel("age206_238r", startDate);
+        ValueModel lambda235 = lambdaModel("lambda235", LAMBDA235);
+        ValueModel lambda238 = lambdaModel("lambda238", LAMBDA238);
+
+        ValueModel reference = new Age207_206r();
+        ConcurrentMap<String, BigDecimal> referenceParDerivTerms = new ConcurrentHashMap<>();
+        reference.calculateValue(new ValueModel[]{r238_235s, ratioModel("r207_206r", ratio), age206_238r, lambda235, lambda238}, referenceParDerivTerms);
+        ValueModel referencePlusTwoSigma = new Age207_206r();
+        referencePlusTwoSigma.calculateValue(new ValueModel[]{r238_235s, ratioModel("r207_206r", ratioPlusTwoSigma), age206_238r, lambda235, lambda238}, null);
+        double referenceOneSigma = (referencePlusTwoSigma.getValue().doubleValue() - reference.getValue().doubleValue()) / 2.0;
+
+        ValueModel date = new Age207_206r();
+        ConcurrentMap<String, BigDecimal> parDerivTerms = new ConcurrentHashMap<>();
+        assertTrue(DoublePrecisionDates.calculateDate207_206r(date, R238_235S, ratio, ratioPlusTwoSigma, startDate, LAMBDA235, LAMBDA238, parDerivTerms));
+
+        assertEquals(t, date.getValue().doubleValue(), 1.0);
+        assertAgrees(reference.getValue().doubleValue(), date.getValue().doubleValue(), reference.getValue().doubleValue());
+        assertAgrees(referenceOneSigma, date.getOneSigmaAbs().doubleValue(), reference.getValue().doubleValue());
+        assertParDerivTermsAgree(referenceParDerivTerms, parDerivTerms);
+    }
+
+    /**
+     * Test of calculateDecayDate method, of class DoublePrecisionDates, for a
+     * ratio without a date.
+     */
+    @Test
+    public void testNonFiniteDateIsRejected() {
+        System.out.println("non finite date is rejected");
+        ValueModel date = new Age206_238r();
+        assertFalse(DoublePrecisionDates.calculateDecayDate(date, "r206_238r", -1.0, 0.1, "Lambda238", LAMBDA238, null));
+        assertFalse(DoublePrecisionDates.agreesWithinTolerance(1.0, 1.0 + 1.0e-6, 1.0, DoublePrecisionDates.DEFAULT_TOLERANCE));
+    }
+
+    private ValueModel ratioModel(String name, double value) {
+        return new ValueModel(name, new BigDecimal(value), "ABS", BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    private ValueModel lambdaModel(String name, double value) {
+        return new ValueModel(name, new BigDecimal(Double.toString(value)), "ABS", BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    private void assertAgrees(double expected, double actual, double scale) {
+        assertTrue(expected + " vs " + actual, //
+                DoublePrecisionDates.agreesWithinTolerance(expected, actual, scale, DoublePrecisionDates.DEFAULT_TOLERANCE));
+    }
+
+    private void assertParDerivTermsAgree(Map<String, BigDecimal> expected, Map<String, BigDecimal> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<String, BigDecimal> term : expected.entrySet()) {
+            assertNotNull(actual.get(term.getKey()));
+            assertAgrees(term.getValue().doubleValue(), actual.get(term.getKey()).doubleValue(), term.getValue().doubleValue());
+        }
+    }
+}
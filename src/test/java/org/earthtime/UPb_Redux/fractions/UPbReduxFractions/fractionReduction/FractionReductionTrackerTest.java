@@ -0,0 +1,89 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFraction;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbLAICPMSFraction;
+import org.earthtime.fractions.ETFractionInterface;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class FractionReductionTrackerTest {
+
+    public FractionReductionTrackerTest() {
+    }
+
+    /**
+     * Test of selectFractionsToReduce method, of class
+     * FractionReductionTracker.
+     */
+    @Test
+    public void testOnlyChangedFractionsAreReduced() {
+        System.out.println("only changed fractions are reduced");
+        List<ETFractionInterface> fractions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            fractions.add(new UPbFraction("F-" + i));
+        }
+
+        FractionReductionTracker tracker = new FractionReductionTracker();
+        List<ETFractionInterface> fractionsToReduce = tracker.selectFractionsToReduce(fractions, true);
+        assertEquals(4, fractionsToReduce.size());
+        tracker.recordReducedFractions(fractionsToReduce, true);
+
+        assertEquals(0, tracker.selectFractionsToReduce(fractions, true).size());
+        assertEquals(4, tracker.getCountOfFractionsSkipped());
+
+        // edit one measured ratio
+        ETFractionInterface edited = fractions.get(2);
+        edited.getMeasuredRatios()[0].setValue(new BigDecimal("1.2345"));
+        fractionsToReduce = tracker.selectFractionsToReduce(fractions, true);
+        assertEquals(1, fractionsToReduce.size());
+        assertSame(edited, fractionsToReduce.get(0));
+        assertEquals(1, tracker.getCountOfFractionsReduced());
+        assertEquals(3, tracker.getCountOfFractionsSkipped());
+        tracker.recordReducedFractions(fractionsToReduce, true);
+
+        // covariances not yet calculated
+        assertEquals(4, tracker.selectFractionsToReduce(fractions, false).size());
+
+        // a replaced fraction is always reduced
+        fractions.set(0, new UPbFraction("F-0"));
+        assertSame(fractions.get(0), tracker.selectFractionsToReduce(fractions, true).get(0));
+    }
+
+    /**
+     * Test of selectFractionsToReduce method, of class
+     * FractionReductionTracker, for LA-ICPMS fractions.
+     */
+    @Test
+    public void testLAICPMSFractionsAreAlwaysReduced() {
+        System.out.println("LA-ICPMS fractions are always reduced");
+        List<ETFractionInterface> fractions = new ArrayList<>();
+        fractions.add(new UPbLAICPMSFraction("S-0"));
+
+        FractionReductionTracker tracker = new FractionReductionTracker();
+        tracker.recordReducedFractions(tracker.selectFractionsToReduce(fractions, true), true);
+        assertEquals(1, tracker.selectFractionsToReduce(fractions, true).size());
+    }
+}
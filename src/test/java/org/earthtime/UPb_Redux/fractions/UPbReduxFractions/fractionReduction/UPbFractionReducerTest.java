@@ -0,0 +1,192 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.UPb_Redux.fractions.UPbReduxFractions.fractionReduction;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.earthtime.UPb_Redux.fractions.FractionI;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFraction;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbLAICPMSFraction;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import org.earthtime.UPb_Redux.valueModels.definedValueModels.Age206_238r;
+import org.earthtime.dataDictionaries.AnalysisMeasures;
+import org.earthtime.dataDictionaries.RadDates;
+import org.earthtime.ratioDataModels.tracers.TracerUPbModel;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class UPbFractionReducerTest {
+
+    private static final int COUNT_OF_FRACTIONS = 64;
+
+    // measured r206_205m, r207_205m, r208_205m, r204_205m and r238_235m
+    private static final double[][] ID_TIMS_RATIOS = new double[][]{
+        {12.5, 0.93, 1.40, 0.0021, 2.10},
+        {4.2, 0.32, 0.55, 0.0012, 0.85},
+        {25.0, 1.80, 2.90, 0.0009, 4.40}};
+
+    // fraction, date, value and one sigma abs as reduced before fractions
+    // were reduced in parallel
+    private static final String[][] BASELINE_DATES = new String[][]{
+        {"T-0", "age206_238r", "145656216.62786222", "109679.0411896227"},
+        {"T-0", "age207_235r", "210672068.206069", "1207248.0216347475"},
+        {"T-0", "age207_206r", "1018892097.26451", "11634973.11016403"},
+        {"T-1", "age206_238r", "123677266.92188232", "0"},
+        {"T-1", "age207_235r", "179666827.502421", "0"},
+        {"T-1", "age207_206r", "999279493.005073", "1074795.0580210905"},
+        {"T-2", "age206_238r", "133233860.1133126", "60467.03619907834"},
+        {"T-2", "age207_235r", "190297037.502789", "0"},
+        {"T-2", "age207_206r", "974252384.250239", "353304.82405198575"},
+        {"F-0", "age206_238r", "1536243241.018622", "13640164.6971530"},
+        {"F-0", "age207_235r", "1563080910.33314", "11155921.083970"},
+        {"F-0", "age207_206r", "1599524909.00226", "18432137.513890"},
+        {"F-0", "age208_232r", "825974551.010521", "8090944.8085495"},
+        {"F-1", "age206_238r", "362958560.70882446", "3527365.812025990"},
+        {"F-1", "age207_235r", "752503647.186895", "7460941.7240360"},
+        {"F-1", "age207_206r", "2196250377.48992", "17171854.640750"},
+        {"F-1", "age208_232r", "245975006.041921", "2444631.9558000"},
+        {"F-2", "age206_238r", "1069375564.203226", "9838824.55142575"},
+        {"F-2", "age207_235r", "1083548673.57068", "9333721.808850"},
+        {"F-2", "age207_206r", "1112157813.81547", "19714330.511795"},
+        {"F-2", "age208_232r", "556606656.372996", "5489061.3787245"}};
+
+    public UPbFractionReducerTest() {
+    }
+
+    /**
+     * Test of reduceFractions method, of class UPbFractionReducer, against
+     * reducing the same fractions one at a time.
+     */
+    @Test
+    public void testParallelReductionIsIdenticalToSerial() {
+        System.out.println("parallel reduction is identical to serial");
+        List<FractionI> serialFractions = makeFractions();
+        serialFractions.addAll(makeIDTIMSFractions());
+        List<FractionI> parallelFractions = makeFractions();
+        parallelFractions.addAll(makeIDTIMSFractions());
+
+        for (FractionI fraction : serialFractions) {
+            UPbFractionReducer.fullFractionReduce(fraction, true);
+        }
+        UPbFractionReducer.getInstance().reduceFractions(parallelFractions, true, false);
+
+        for (int i = 0; i < serialFractions.size(); i++) {
+            FractionI serial = serialFractions.get(i);
+            FractionI parallel = parallelFractions.get(i);
+            RadDates[] dates = (serial instanceof UPbLAICPMSFraction)//
+                    ? new RadDates[]{RadDates.age206_238r, RadDates.age207_235r, RadDates.age207_206r, RadDates.age208_232r}//
+                    : new RadDates[]{RadDates.age206_238r, RadDates.age207_235r, RadDates.age207_206r};
+            for (RadDates date : dates) {
+                ValueModel serialDate = serial.getRadiogenicIsotopeDateByName(date);
+                ValueModel parallelDate = parallel.getRadiogenicIsotopeDateByName(date);
+                assertTrue(serialDate.hasPositiveValue());
+                assertEquals(serial.getFractionID() + " " + date.getName(), serialDate.getValue(), parallelDate.getValue());
+                assertEquals(serial.getFractionID() + " " + date.getName(), serialDate.getOneSigmaAbs(), parallelDate.getOneSigmaAbs());
+            }
+            assertEquals(serial.getFractionID(), serial.getParDerivTerms(), parallel.getParDerivTerms());
+        }
+    }
+
+    /**
+     * Test of reduceFractions method, of class UPbFractionReducer, against the
+     * dates reduced from the same ID-TIMS and LA-ICPMS fractions before
+     * fractions were reduced in parallel.
+     */
+    @Test
+    public void testParallelReductionMatchesBaseline() {
+        System.out.println("parallel reduction matches baseline");
+        List<FractionI> fractions = makeIDTIMSFractions();
+        fractions.addAll(makeFractions().subList(0, 3));
+
+        UPbFractionReducer.getInstance().reduceFractions(fractions, true, false);
+
+        for (String[] baseline : BASELINE_DATES) {
+            FractionI fraction = null;
+            for (FractionI candidate : fractions) {
+                if (candidate.getFractionID().equals(baseline[0])) {
+                    fraction = candidate;
+                }
+            }
+            ValueModel date = fraction.getRadiogenicIsotopeDateByName(baseline[1]);
+            assertEquals(baseline[0] + " " + baseline[1], new BigDecimal(baseline[2]), date.getValue());
+            assertEquals(baseline[0] + " " + baseline[1], new BigDecimal(baseline[3]), date.getOneSigmaAbs());
+        }
+    }
+
+    /**
+     * Test of calculateDate206_238r method, of class UPbFractionReducer, used
+     * for sample dates outside of a fraction reduction.
+     */
+    @Test
+    public void testSampleDateMatchesBaseline() {
+        System.out.println("sample date matches baseline");
+        ValueModel date = UPbFractionReducer.calculateDate206_238r(new Age206_238r(), 0.2, 0.202);
+
+        assertEquals(new BigDecimal("1175320269.4211419"), date.getValue());
+        assertEquals(new BigDecimal("5367540.10978635"), date.getOneSigmaAbs());
+    }
+
+    private List<FractionI> makeIDTIMSFractions() {
+        List<FractionI> fractions = new ArrayList<>();
+        for (int i = 0; i < ID_TIMS_RATIOS.length; i++) {
+            UPbFraction fraction = new UPbFraction("T-" + i);
+            fraction.setTracer(TracerUPbModel.getET535ModelInstance());
+            fraction.getAnalysisMeasure(AnalysisMeasures.tracerMassInGrams.getName()).setValue(new BigDecimal("0.0052"));
+            fraction.getAnalysisMeasure(AnalysisMeasures.fractionMass.getName()).setValue(new BigDecimal("0.0000021"));
+            fraction.getAnalysisMeasure(AnalysisMeasures.alphaPb.getName()).setValue(new BigDecimal("0.0012"));
+            fraction.getAnalysisMeasure(AnalysisMeasures.alphaU.getName()).setValue(new BigDecimal("0.0008"));
+            setRatio(fraction.getMeasuredRatioByName("r206_205m"), ID_TIMS_RATIOS[i][0], 0.0005);
+            setRatio(fraction.getMeasuredRatioByName("r207_205m"), ID_TIMS_RATIOS[i][1], 0.0008);
+            setRatio(fraction.getMeasuredRatioByName("r208_205m"), ID_TIMS_RATIOS[i][2], 0.001);
+            setRatio(fraction.getMeasuredRatioByName("r204_205m"), ID_TIMS_RATIOS[i][3], 0.01);
+            setRatio(fraction.getMeasuredRatioByName("r238_235m"), ID_TIMS_RATIOS[i][4], 0.0004);
+            // uranium measured as the oxide
+            setRatio(fraction.getAnalysisMeasure(AnalysisMeasures.r270_267m.getName()), ID_TIMS_RATIOS[i][4], 0.0004);
+            fractions.add(fraction);
+        }
+        return fractions;
+    }
+
+    private List<FractionI> makeFractions() {
+        Random random = new Random(11L);
+        List<FractionI> fractions = new ArrayList<>();
+        for (int i = 0; i < COUNT_OF_FRACTIONS; i++) {
+            FractionI fraction = new UPbLAICPMSFraction("F-" + i);
+            setMeasuredRatio(fraction, "r206_238m", 0.05 + 0.3 * random.nextDouble());
+            setMeasuredRatio(fraction, "r206_207m", 5.0 + 12.0 * random.nextDouble());
+            setMeasuredRatio(fraction, "r208_232m", 0.01 + 0.05 * random.nextDouble());
+            fractions.add(fraction);
+        }
+        return fractions;
+    }
+
+    private void setMeasuredRatio(FractionI fraction, String ratioName, double value) {
+        setRatio(fraction.getMeasuredRatioByName(ratioName), value, 0.01);
+    }
+
+    private void setRatio(ValueModel ratio, double value, double relativeOneSigma) {
+        ratio.setValue(new BigDecimal(value));
+        ratio.setUncertaintyType("ABS");
+        ratio.setOneSigma(new BigDecimal(value * relativeOneSigma));
+    }
+}
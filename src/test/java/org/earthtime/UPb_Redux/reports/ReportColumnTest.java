@@ -0,0 +1,131 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.UPb_Redux.reports;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashSet;
+import org.earthtime.UPb_Redux.fractions.UPbReduxFractions.UPbFraction;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import org.earthtime.dataDictionaries.RadRatios;
+import org.earthtime.fractions.ETFractionInterface;
+import org.earthtime.utilities.MethodHandleRegistry;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class ReportColumnTest {
+
+    public ReportColumnTest() {
+    }
+
+    /**
+     * Test of getReportRecordByColumnSpec method, of class ReportColumn, with
+     * its ReportCellCache.
+     */
+    @Test
+    public void testCachedCellsMatchFormattedCells() {
+        System.out.println("cached cells match formatted cells");
+        ReportColumn column = new ReportColumn(//
+                "", "206/238", "", 0, "", "getRadiogenicIsotopeRatioByName", RadRatios.r206_238r.getName(), "PCT", "", true, false);
+        ReportColumn uncertaintyColumn = new ReportColumn(//
+                "", "2s", "%", 1, "", "", "", "PCT", "", true, true);
+        column.setUncertaintyColumn(uncertaintyColumn);
+        column.setCountOfSignificantDigits(4);
+
+        ETFractionInterface fraction = new UPbFraction("F-1");
+        ValueModel ratio = fraction.getRadiogenicIsotopeRatioByName(RadRatios.r206_238r.getName());
+        ratio.setValue(new BigDecimal("0.0912345678"));
+        ratio.setOneSigma(new BigDecimal("0.0000456789"));
+
+        for (boolean isNumeric : new boolean[]{false, true}) {
+            assertArrayEquals(column.formatReportRecordByColumnSpec(fraction, isNumeric), column.getReportRecordByColumnSpec(fraction, isNumeric));
+            assertArrayEquals(column.formatReportRecordByColumnSpec(fraction, isNumeric), column.getReportRecordByColumnSpec(fraction, isNumeric));
+        }
+        assertEquals(2, column.getReportCellCache().getCountOfHits());
+
+        // both number styles stay cached
+        column.getReportRecordByColumnSpec(fraction, false);
+        column.getReportRecordByColumnSpec(fraction, true);
+        assertEquals(4, column.getReportCellCache().getCountOfHits());
+
+        // a changed value is formatted again
+        ratio.setValue(new BigDecimal("0.0923456789"));
+        assertArrayEquals(column.formatReportRecordByColumnSpec(fraction, true), column.getReportRecordByColumnSpec(fraction, true));
+        assertEquals(4, column.getReportCellCache().getCountOfHits());
+
+        // as is a changed setting
+        column.setCountOfSignificantDigits(2);
+        assertArrayEquals(column.formatReportRecordByColumnSpec(fraction, true), column.getReportRecordByColumnSpec(fraction, true));
+        assertEquals(4, column.getReportCellCache().getCountOfHits());
+
+        // or a changed setting of the uncertainty column
+        uncertaintyColumn.setCountOfSignificantDigits(3);
+        assertArrayEquals(column.formatReportRecordByColumnSpec(fraction, true), column.getReportRecordByColumnSpec(fraction, true));
+        assertEquals(4, column.getReportCellCache().getCountOfHits());
+
+        // setting an unchanged value keeps the cells
+        column.setUnits("");
+        column.setCountOfSignificantDigits(2);
+        column.getReportRecordByColumnSpec(fraction, true);
+        assertEquals(5, column.getReportCellCache().getCountOfHits());
+
+        // cells of fractions no longer in the sample are forgotten
+        column.getReportCellCache().retainFractionIDs(new HashSet<>(Arrays.asList("F-2")));
+        assertEquals(0, column.getReportCellCache().size());
+    }
+
+    /**
+     * Test of getRetrieveMethodHandle method, of class ReportColumn, as set
+     * and as read back from a serialized column.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRetrieveMethodHandleIsResolvedWhenSetOrRead() throws Exception {
+        System.out.println("retrieve method handle is resolved when set or read");
+        ReportColumn column = new ReportColumn();
+        column.setRetrieveMethodName("getFractionID");
+        column.setRetrieveVariableName("");
+        assertNotNull(column.getRetrieveMethodHandle());
+
+        column.setRetrieveMethodName("getRadiogenicIsotopeRatioByName");
+        column.setRetrieveVariableName(RadRatios.r206_238r.getName());
+        ETFractionInterface fraction = new UPbFraction("F-1");
+        assertSame(fraction.getRadiogenicIsotopeRatioByName(RadRatios.r206_238r.getName()), //
+                MethodHandleRegistry.invoke(column.getRetrieveMethodHandle(), fraction, RadRatios.r206_238r.getName()));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(column);
+        }
+        ReportColumn readColumn;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            readColumn = (ReportColumn) in.readObject();
+        }
+        assertSame(column.getRetrieveMethodHandle(), readColumn.getRetrieveMethodHandle());
+    }
+}
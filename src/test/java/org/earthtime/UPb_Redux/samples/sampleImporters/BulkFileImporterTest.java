@@ -0,0 +1,155 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.UPb_Redux.samples.sampleImporters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.earthtime.UPb_Redux.samples.sampleImporters.AbstractSampleImporterFromLegacyCSVFile.ImportedAliquot;
+import org.earthtime.exceptions.ETException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests of BulkFileImporter with fraction-like files in a temporary folder.
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class BulkFileImporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<File> fractionFiles;
+
+    public BulkFileImporterTest() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        fractionFiles = new ArrayList<>();
+        for (int f = 0; f < 40; f++) {
+            File file = folder.newFile(String.format("fraction%02d.xml", f));
+            String contents = (f % 10 == 7) ? "damaged" : "<UPbReduxFraction>" + f + "</UPbReduxFraction>";
+            Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+            fractionFiles.add(file);
+        }
+    }
+
+    private static Integer parseFraction(File file) throws Exception {
+        String contents = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        if (!contents.startsWith("<UPbReduxFraction>")) {
+            throw new ETException(null, "Cannot import " + file.getName());
+        }
+        return Integer.valueOf(contents.replaceAll("<[^>]*>", ""));
+    }
+
+    /**
+     * Test that results come back in the order of the files and that failed
+     * files are reported without stopping the import.
+     */
+    @Test
+    public void testResultsInOrderWithErrors() {
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        BulkFileImporter.Report<Integer> report = BulkFileImporter.importFiles(fractionFiles, (File file) -> {
+            threadNames.add(Thread.currentThread().getName());
+            Thread.sleep(5);
+            return parseFraction(file);
+        }, 4);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int f = 0; f < fractionFiles.size(); f++) {
+            if (f % 10 != 7) {
+                expected.add(f);
+            }
+        }
+        assertEquals(expected, new ArrayList<>(report.getResults().values()));
+
+        assertEquals(4, report.getErrors().size());
+        assertEquals("Cannot import fraction07.xml", report.getErrors().get(fractionFiles.get(7)));
+        assertTrue(report.describeErrors(2).endsWith("... and 2 more\n"));
+
+        assertTrue(threadNames.size() > 1);
+    }
+
+    /**
+     * Test of the bytes and rates reported.
+     */
+    @Test
+    public void testThroughput() {
+        BulkFileImporter.Report<Integer> report = BulkFileImporter.importFiles(fractionFiles, BulkFileImporterTest::parseFraction);
+
+        long bytes = 0L;
+        for (File file : fractionFiles) {
+            bytes += file.length();
+        }
+        assertEquals(bytes, report.getBytesRead());
+        assertTrue(report.getFilesPerSecond() > 0.0);
+        assertTrue(report.getMegabytesPerSecond() > 0.0);
+        System.out.println(report);
+    }
+
+    /**
+     * Test that one thread gives the same results as many.
+     */
+    @Test
+    public void testOneThreadAgreesWithMany() {
+        BulkFileImporter.Report<Integer> one = BulkFileImporter.importFiles(fractionFiles, BulkFileImporterTest::parseFraction, 1);
+        BulkFileImporter.Report<Integer> many = BulkFileImporter.importFiles(fractionFiles, BulkFileImporterTest::parseFraction, 8);
+
+        assertEquals(one.getResults(), many.getResults());
+        assertEquals(one.getErrors(), many.getErrors());
+    }
+
+    /**
+     * Test that legacy CSV files read at once each keep the aliquot name
+     * read from them.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testLegacyCSVFilesKeepTheirAliquotNames() throws IOException {
+        List<File> csvFiles = new ArrayList<>();
+        for (int f = 0; f < 16; f++) {
+            File file = folder.newFile(String.format("aliquot%02d.csv", f));
+            String contents = "Spot,U,Th\n"//
+                    + "ALQ-" + f + "\n"//
+                    + "Z-" + f + ",100,50,0.5,0,1000,0.3,2,0,0.4,2,0,0.055,1,0.9,0,300,2,0,320,2,0,400,5\n";
+            Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+            csvFiles.add(file);
+        }
+
+        BulkFileImporter.Report<ImportedAliquot> report//
+                = new SampleImporterFromLAICPMSLegacyCVSFile_UH().readInFractionsFromFiles(csvFiles);
+
+        assertEquals(0, report.getErrors().size());
+        for (int f = 0; f < csvFiles.size(); f++) {
+            ImportedAliquot importedAliquot = report.getResults().get(csvFiles.get(f));
+            assertEquals("ALQ-" + f, importedAliquot.getAliquotName());
+            assertEquals(1, importedAliquot.getFractions().size());
+            assertEquals("Z-" + f, importedAliquot.getFractions().get(0).getFractionID());
+        }
+    }
+}
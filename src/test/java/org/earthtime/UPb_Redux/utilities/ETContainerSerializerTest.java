@@ -0,0 +1,291 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.UPb_Redux.utilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.earthtime.Tripoli.dataModels.DataModelInterface;
+import org.earthtime.Tripoli.dataModels.collectorModels.AbstractCollectorModel;
+import org.earthtime.Tripoli.fractions.LazyRawRatios;
+import org.earthtime.Tripoli.fractions.TripoliFraction;
+import org.earthtime.dataDictionaries.RawRatioNames;
+import org.earthtime.exceptions.ETException;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Round trips of ETContainerSerializer with raw ratios held in sections.
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class ETContainerSerializerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public ETContainerSerializerTest() {
+    }
+
+    /**
+     * stands in for a raw ratio, holding data and a setup shared with the
+     * rest of the graph
+     */
+    private static class TestRatioModel implements DataModelInterface, Comparable<TestRatioModel>, Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private final String name;
+        private final double[] ratios;
+        private final List<String> sharedSetup;
+
+        TestRatioModel(String name, double[] ratios, List<String> sharedSetup) {
+            this.name = name;
+            this.ratios = ratios;
+            this.sharedSetup = sharedSetup;
+        }
+
+        @Override
+        public int compareTo(TestRatioModel o) {
+            return name.compareTo(o.name);
+        }
+
+        @Override
+        public void setCollectorDataFrequencyMillisecs(long CollectorDataFrequencyMillisecs) {
+        }
+
+        @Override
+        public long getCollectorDataFrequencyMillisecs() {
+            return 0;
+        }
+
+        @Override
+        public void toggleOneDataAquisition(int index, boolean included) {
+        }
+
+        @Override
+        public String getDataModelName() {
+            return name;
+        }
+
+        @Override
+        public RawRatioNames getRawRatioModelName() {
+            return null;
+        }
+
+        @Override
+        public void calculateCorrectedRatioStatistics() {
+        }
+
+        @Override
+        public void generateSetOfFitFunctions(boolean propagateUncertainties, boolean doApplyMaskingArray, boolean inLiveMode) {
+        }
+
+        @Override
+        public double[] getOnPeakAquireTimesInSeconds() {
+            return new double[0];
+        }
+
+        @Override
+        public double[] getNormalizedOnPeakAquireTimes() {
+            return new double[0];
+        }
+
+        @Override
+        public double getStandardValue() {
+            return 0;
+        }
+
+        @Override
+        public void applyMaskingArray() {
+        }
+
+        @Override
+        public AbstractCollectorModel getCollectorModel() {
+            return null;
+        }
+
+        @Override
+        public boolean isUsedForCommonLeadCorrections() {
+            return false;
+        }
+
+        @Override
+        public boolean isBelowDetection() {
+            return false;
+        }
+
+        @Override
+        public boolean isForceMeanForCommonLeadRatios() {
+            return false;
+        }
+
+        @Override
+        public boolean[] getDataActiveMap() {
+            return new boolean[0];
+        }
+
+        @Override
+        public boolean isUSING_FULL_PROPAGATION() {
+            return false;
+        }
+
+        @Override
+        public void setUSING_FULL_PROPAGATION(boolean usingFullPropagation) {
+        }
+    }
+
+    private static TripoliFraction fraction(String fractionID, long timeStamp, List<String> sharedSetup) {
+        TripoliFraction tripoliFraction = new TripoliFraction(fractionID, "NONE", false, false, timeStamp, timeStamp, 3);
+        SortedSet<DataModelInterface> rawRatios = new TreeSet<>();
+        rawRatios.add(new TestRatioModel("r206_238w", new double[]{timeStamp, 1.0, 2.0}, sharedSetup));
+        rawRatios.add(new TestRatioModel("r207_206w", new double[]{timeStamp, 3.0, 4.0}, sharedSetup));
+        tripoliFraction.setRawRatios(rawRatios);
+        return tripoliFraction;
+    }
+
+    /**
+     * Test of a round trip with raw ratios read on first use.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRoundTripReadsRawRatiosLazily() throws Exception {
+        List<String> sharedSetup = new ArrayList<>();
+        sharedSetup.add("Pb206 on ion counter");
+
+        ArrayList<Object> graph = new ArrayList<>();
+        graph.add(sharedSetup);
+        graph.add(fraction("A-1", 1000L, sharedSetup));
+        graph.add(fraction("A-2", 2000L, sharedSetup));
+
+        for (boolean compress : new boolean[]{false, true}) {
+            File file = folder.newFile("project" + compress + ".redux");
+            ETContainerSerializer.SerializeObjectToContainerFile(graph, file.getPath(), compress);
+            assertTrue(ETContainerSerializer.isContainerFile(file));
+
+            @SuppressWarnings("unchecked")
+            List<Object> readGraph = (List<Object>) ETSerializer.GetSerializedObjectFromFile(file.getPath());
+            TripoliFraction readFraction = (TripoliFraction) readGraph.get(2);
+            assertEquals("A-2", readFraction.getFractionID());
+
+            SortedSet<DataModelInterface> rawRatios = readFraction.getRawRatios();
+            assertTrue(rawRatios instanceof LazyRawRatios);
+            assertFalse(((LazyRawRatios) rawRatios).isLoaded());
+
+            assertEquals(2, rawRatios.size());
+            TestRatioModel first = (TestRatioModel) rawRatios.first();
+            assertEquals("r206_238w", first.getDataModelName());
+            assertArrayEquals(new double[]{2000.0, 1.0, 2.0}, first.ratios, 0.0);
+            // objects of the graph stay shared with the raw ratios
+            assertSame(readGraph.get(0), first.sharedSetup);
+        }
+    }
+
+    /**
+     * Test that saving over the file being read first reads the remaining raw
+     * ratios.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSaveOverOpenContainer() throws Exception {
+        List<String> sharedSetup = new ArrayList<>();
+        ArrayList<Object> graph = new ArrayList<>();
+        graph.add(sharedSetup);
+        graph.add(fraction("B-1", 5000L, sharedSetup));
+
+        File file = folder.newFile("sample.redux");
+        ETContainerSerializer.SerializeObjectToContainerFile(graph, file.getPath(), true);
+        Object readGraph = ETContainerSerializer.GetObjectFromContainerFile(file.getPath());
+        ETContainerSerializer.SerializeObjectToContainerFile(readGraph, file.getPath(), true);
+
+        @SuppressWarnings("unchecked")
+        List<Object> rereadGraph = (List<Object>) ETContainerSerializer.GetObjectFromContainerFile(file.getPath());
+        TestRatioModel last = (TestRatioModel) ((TripoliFraction) rereadGraph.get(1)).getRawRatios().last();
+        assertArrayEquals(new double[]{5000.0, 3.0, 4.0}, last.ratios, 0.0);
+    }
+
+    /**
+     * Test that raw ratios are not read from a container that has been
+     * written over or deleted since it was opened.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testChangedContainerIsReported() throws Exception {
+        List<String> sharedSetup = new ArrayList<>();
+        ArrayList<Object> graph = new ArrayList<>();
+        graph.add(sharedSetup);
+        graph.add(fraction("C-1", 7000L, sharedSetup));
+        graph.add(fraction("C-2", 8000L, sharedSetup));
+
+        File file = folder.newFile("changed.redux");
+        ETContainerSerializer.SerializeObjectToContainerFile(graph, file.getPath(), true);
+
+        @SuppressWarnings("unchecked")
+        List<Object> overwrittenGraph = (List<Object>) ETContainerSerializer.GetObjectFromContainerFile(file.getPath());
+        @SuppressWarnings("unchecked")
+        List<Object> deletedGraph = (List<Object>) ETContainerSerializer.GetObjectFromContainerFile(file.getPath());
+
+        // another container of the same fractions, written in another order
+        ArrayList<Object> otherGraph = new ArrayList<>();
+        otherGraph.add(sharedSetup);
+        otherGraph.add(graph.get(2));
+        otherGraph.add(graph.get(1));
+        File other = folder.newFile("other.redux");
+        ETContainerSerializer.SerializeObjectToContainerFile(otherGraph, other.getPath(), true);
+        Files.copy(other.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        assertChangedIsReported(((TripoliFraction) overwrittenGraph.get(1)).getRawRatios(), file);
+
+        assertTrue(file.delete());
+        assertChangedIsReported(((TripoliFraction) deletedGraph.get(2)).getRawRatios(), file);
+    }
+
+    private static void assertChangedIsReported(SortedSet<DataModelInterface> rawRatios, File file) {
+        try {
+            rawRatios.size();
+            fail("raw ratios read from a changed container");
+        } catch (IllegalStateException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains(file.getPath() + " has been moved, deleted or changed"));
+        }
+    }
+
+    /**
+     * Test that a file that is not a container is reported as such.
+     *
+     * @throws IOException
+     */
+    @Test(expected = ETException.class)
+    public void testNotAContainer() throws IOException, ETException {
+        File file = folder.newFile("legacy.redux");
+        assertFalse(ETContainerSerializer.isContainerFile(file));
+        ETContainerSerializer.GetObjectFromContainerFile(file.getPath());
+    }
+}
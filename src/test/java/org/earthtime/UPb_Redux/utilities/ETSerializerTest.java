@@ -0,0 +1,138 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.UPb_Redux.utilities;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import org.earthtime.exceptions.ETException;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Round trips of ETSerializer with its length and CRC32 footer.
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class ETSerializerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    public ETSerializerTest() {
+    }
+
+    private static double[] someData(int count) {
+        double[] data = new double[count];
+        for (int i = 0; i < count; i++) {
+            data[i] = Math.sqrt(i);
+        }
+        return data;
+    }
+
+    /**
+     * Test of a round trip, with progress reported and no temporary file left.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRoundTrip() throws Exception {
+        double[] data = someData(500000);
+        File file = new File(folder.getRoot(), "labData.ser");
+        AtomicLong reported = new AtomicLong();
+
+        ETSerializer.SerializeObjectToFile(data, file.getPath(), (long bytes, long totalBytes) -> reported.set(bytes));
+        assertTrue(reported.get() >= (1 << 20));
+        assertEquals(1, folder.getRoot().list().length);
+
+        // and again over the first file
+        ETSerializer.SerializeObjectToFile(data, file.getPath());
+        assertArrayEquals(data, (double[]) ETSerializer.readSerializedObjectFromFile(file.getPath(), null), 0.0);
+    }
+
+    /**
+     * Test that a damaged byte is found.
+     *
+     * @throws Exception
+     */
+    @Test(expected = ETException.class)
+    public void testDamagedFileRejected() throws Exception {
+        File file = new File(folder.getRoot(), "state.ser");
+        ETSerializer.SerializeObjectToFile(someData(1000), file.getPath());
+
+        try (RandomAccessFile damaged = new RandomAccessFile(file, "rw")) {
+            damaged.seek(damaged.length() / 2);
+            int b = damaged.read();
+            damaged.seek(damaged.length() / 2);
+            damaged.write(b ^ 0x01);
+        }
+        ETSerializer.readSerializedObjectFromFile(file.getPath(), null);
+    }
+
+    /**
+     * Test that a file written before the footer still reads.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFileWithoutFooter() throws Exception {
+        ArrayList<String> names = new ArrayList<>();
+        names.add("Pb206");
+        names.add("U238");
+        File file = new File(folder.getRoot(), "legacy.ser");
+        try (ObjectOutputStream s = new ObjectOutputStream(new FileOutputStream(file))) {
+            s.writeObject(names);
+        }
+
+        assertEquals(names, ETSerializer.readSerializedObjectFromFile(file.getPath(), null));
+    }
+
+    /**
+     * Test that a background save is written before the saves that follow it.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSerializeInBackground() throws Exception {
+        File file = new File(folder.getRoot(), "project.ser");
+        ETSerializer.SerializeInBackground(() -> ETSerializer.SerializeObjectToFile("first", file.getPath()), null);
+        ETSerializer.AwaitBackgroundSaves();
+
+        assertEquals("first", ETSerializer.readSerializedObjectFromFile(file.getPath(), null));
+    }
+
+    /**
+     * Test that a save queued and waited for off the event dispatch thread
+     * is written when the wait returns.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSerializeInBackgroundAndWait() throws Exception {
+        File file = new File(folder.getRoot(), "project.redux");
+        ETSerializer.SerializeInBackgroundAndWait("Saving project.redux", //
+                (ETSerializer.SerializationProgressListener listener) -> ETContainerSerializer.SerializeObjectToContainerFile("saved", file.getPath(), true, listener), null);
+
+        assertEquals("saved", ETSerializer.readSerializedObjectFromFile(file.getPath(), null));
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.UPb_Redux.valueModels;
+
+import Jama.Matrix;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Compares CorrelatedWeightedMean with the LU solves it replaces in
+ * SampleDateModel.calculateWeightedMeansWithMSWDforLogRatioBasedData.
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class CorrelatedWeightedMeanTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    public CorrelatedWeightedMeanTest() {
+    }
+
+    private static Matrix randomCovariance(Random random, int size) {
+        Matrix roots = new Matrix(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                roots.set(i, j, random.nextGaussian() * 0.01);
+            }
+            roots.set(i, i, roots.get(i, i) + 0.05);
+        }
+        return roots.times(roots.transpose());
+    }
+
+    private static Matrix randomValues(Random random, int size) {
+        Matrix values = new Matrix(size, 1);
+        for (int i = 0; i < size; i++) {
+            values.set(i, 0, -2.0 + random.nextGaussian() * 0.01);
+        }
+        return values;
+    }
+
+    private static void assertSameAsSolves(Matrix covariance, Matrix values, int[] activeIndices, CorrelatedWeightedMean weightedMean) {
+        Matrix logRatios = values.getMatrix(activeIndices, 0, 0);
+        Matrix Su = covariance.getMatrix(activeIndices, activeIndices);
+        Matrix onesV = new Matrix(activeIndices.length, 1, 1.0);
+
+        double logRatioMean = onesV.transpose().times(Su.solve(logRatios)).get(0, 0) //
+                / (onesV.transpose().times(Su.solve(onesV))).get(0, 0);
+        double logRatioMeanOneSigmaAnalytical = Math.sqrt(1.0 / (onesV.transpose().times(Su.solve(onesV)).get(0, 0)));
+        Matrix logRationResiduals = logRatios.copy();
+        for (int i = 0; i < logRatios.getRowDimension(); i++) {
+            logRationResiduals.set(i, 0, logRatios.get(i, 0) - logRatioMean);
+        }
+        double logRatioMSWD = 1.0 / (activeIndices.length - 1) * logRationResiduals.transpose().times(Su.solve(logRationResiduals)).get(0, 0);
+
+        Matrix SuInterStd = Su.plus(new Matrix(Su.getRowDimension(), Su.getColumnDimension(), 0.0004));
+        double logRatioMeanOneSigmaAnalyticalPlusInterStd = Math.sqrt(1.0 / (onesV.transpose().times(SuInterStd.solve(onesV)).get(0, 0)));
+
+        assertEquals(logRatioMean, weightedMean.getMean(), TOLERANCE * Math.abs(logRatioMean));
+        assertEquals(logRatioMeanOneSigmaAnalytical, weightedMean.getMeanOneSigma(), TOLERANCE * logRatioMeanOneSigmaAnalytical);
+        assertEquals(logRatioMSWD, weightedMean.getMSWD(), 1e-6 * Math.abs(logRatioMSWD));
+        assertEquals(logRatioMeanOneSigmaAnalyticalPlusInterStd, weightedMean.getMeanOneSigmaWithAddedCovariance(0.0004), //
+                TOLERANCE * logRatioMeanOneSigmaAnalyticalPlusInterStd);
+    }
+
+    /**
+     * Test of setActiveIndices method, of class CorrelatedWeightedMean.
+     */
+    @Test
+    public void testSameAsSolves() {
+        System.out.println("same as solves");
+        Random random = new Random(16L);
+        Matrix covariance = randomCovariance(random, 30);
+        Matrix values = randomValues(random, 30);
+
+        int[] activeIndices = new int[]{3, 0, 7, 12, 25, 19, 4, 28};
+        CorrelatedWeightedMean weightedMean = new CorrelatedWeightedMean(covariance, values);
+        weightedMean.setActiveIndices(activeIndices);
+
+        assertSameAsSolves(covariance, values, activeIndices, weightedMean);
+        assertEquals(1, weightedMean.getCountOfFactorings());
+    }
+
+    /**
+     * Test of setActiveIndices method, of class CorrelatedWeightedMean, as
+     * fractions are toggled in and out one at a time.
+     */
+    @Test
+    public void testToggledFractionsUpdateWithoutFactoring() {
+        System.out.println("toggled fractions update without factoring");
+        Random random = new Random(17L);
+        int size = 40;
+        Matrix covariance = randomCovariance(random, size);
+        Matrix values = randomValues(random, size);
+
+        boolean[] active = new boolean[size];
+        for (int i = 0; i < size; i += 2) {
+            active[i] = true;
+        }
+
+        CorrelatedWeightedMean weightedMean = new CorrelatedWeightedMean(covariance, values);
+        weightedMean.setActiveIndices(activeIndices(active));
+        for (int toggle = 0; toggle < 50; toggle++) {
+            int index = random.nextInt(size);
+            active[index] = !active[index];
+            int[] activeIndices = activeIndices(active);
+            weightedMean.setActiveIndices(activeIndices);
+            assertSameAsSolves(covariance, values, activeIndices, weightedMean);
+        }
+
+        assertEquals(1, weightedMean.getCountOfFactorings());
+    }
+
+    /**
+     * Test of setActiveIndices method, of class CorrelatedWeightedMean, with
+     * no fractions and then one fraction included.
+     */
+    @Test
+    public void testEmptyActiveSet() {
+        System.out.println("empty active set");
+        Random random = new Random(18L);
+        Matrix covariance = randomCovariance(random, 10);
+        Matrix values = randomValues(random, 10);
+
+        CorrelatedWeightedMean weightedMean = new CorrelatedWeightedMean(covariance, values);
+        weightedMean.setActiveIndices(new int[0]);
+        assertTrue(Double.isNaN(weightedMean.getMean()));
+        assertTrue(Double.isNaN(weightedMean.getMeanOneSigma()));
+        assertTrue(Double.isNaN(weightedMean.getMSWD()));
+        assertEquals(0, weightedMean.getCountOfFactorings());
+
+        weightedMean.setActiveIndices(new int[]{6});
+        assertEquals(values.get(6, 0), weightedMean.getMean(), TOLERANCE);
+        assertEquals(Math.sqrt(covariance.get(6, 6)), weightedMean.getMeanOneSigma(), TOLERANCE);
+    }
+
+    private static int[] activeIndices(boolean[] active) {
+        int count = 0;
+        for (boolean isActive : active) {
+            count += isActive ? 1 : 0;
+        }
+        int[] activeIndices = new int[count];
+        for (int i = 0, j = 0; i < active.length; i++) {
+            if (active[i]) {
+                activeIndices[j++] = i;
+            }
+        }
+        return activeIndices;
+    }
+}
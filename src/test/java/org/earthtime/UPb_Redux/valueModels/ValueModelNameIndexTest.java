@@ -0,0 +1,91 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.UPb_Redux.valueModels;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class ValueModelNameIndexTest {
+
+    public ValueModelNameIndexTest() {
+    }
+
+    private static ValueModel[] valueModels(String... names) {
+        ValueModel[] valueModels = new ValueModel[names.length];
+        for (int i = 0; i < names.length; i++) {
+            valueModels[i] = new ValueModel(names[i]);
+        }
+        return valueModels;
+    }
+
+    /**
+     * Test of indexOf method, of class ValueModelNameIndex, against the scans
+     * it replaces.
+     */
+    @Test
+    public void testIndexOfMatchesScan() {
+        System.out.println("indexOf matches scan");
+        ValueModel[] valueModels = valueModels("r206_238r", "r207_235r", "R206_238R", "rho206_238r__207_235r");
+
+        ValueModelNameIndex lastIgnoringCase = new ValueModelNameIndex(true, true);
+        assertEquals(2, lastIgnoringCase.indexOf(valueModels, "r206_238r"));
+        assertEquals(2, lastIgnoringCase.indexOf(valueModels, "R206_238r"));
+        assertEquals(1, lastIgnoringCase.indexOf(valueModels, "R207_235R"));
+        assertEquals(-1, lastIgnoringCase.indexOf(valueModels, "r208_232r"));
+
+        ValueModelNameIndex firstIgnoringCase = new ValueModelNameIndex(true, false);
+        assertEquals(0, firstIgnoringCase.indexOf(valueModels, "R206_238R"));
+
+        ValueModelNameIndex exact = new ValueModelNameIndex(false, true);
+        assertEquals(0, exact.indexOf(valueModels, "r206_238r"));
+        assertEquals(2, exact.indexOf(valueModels, "R206_238R"));
+        assertEquals(-1, exact.indexOf(valueModels, "r207_235R"));
+    }
+
+    /**
+     * Test of find method, of class ValueModelNameIndex, after the array is
+     * changed.
+     */
+    @Test
+    public void testFindFollowsChangedArrays() {
+        System.out.println("find follows changed arrays");
+        ValueModelNameIndex index = new ValueModelNameIndex(true, true);
+        ValueModel[] valueModels = valueModels("fractionMass", "tracerMassInGrams");
+        assertSame(valueModels[1], index.find(valueModels, "tracerMassInGrams"));
+
+        // replaced in place
+        ValueModel replacement = new ValueModel("tracerMassInGrams");
+        valueModels[1] = replacement;
+        assertSame(replacement, index.find(valueModels, "tracerMassInGrams"));
+
+        // renamed in place
+        valueModels[0].setName("alphaPb");
+        assertNull(index.find(valueModels, "fractionMass"));
+        assertSame(valueModels[0], index.find(valueModels, "alphaPb"));
+
+        // a new array
+        ValueModel[] grown = new ValueModel[3];
+        System.arraycopy(valueModels, 0, grown, 0, 2);
+        grown[2] = new ValueModel("fractionMass");
+        assertSame(grown[2], index.find(grown, "fractionMass"));
+    }
+}
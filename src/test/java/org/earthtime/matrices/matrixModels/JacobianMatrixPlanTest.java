@@ -0,0 +1,181 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.matrices.matrixModels;
+
+import Jama.Matrix;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.earthtime.dataDictionaries.MatrixSpecifications;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import org.junit.Test;
+
+/**
+ * Compares, and times, populating the Jacobian matrices of the ID-TIMS matrix
+ * specifications by name and from compiled plans, and the dense and sparse
+ * J.S.J-transpose products.
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class JacobianMatrixPlanTest {
+
+    private static final String[] ID_TIMS_MATRIX_SPECS_NAMES = new String[]{
+        "mixed_205_235_NotZircon",
+        "mixed_205_235_Zircon",
+        "mixed_205_233_235_NotZircon_NotFcU",
+        "mixed_205_233_235_Zircon_NotFcU",
+        "mixed_202_205_233_235_Zircon_NotFcU_NotFcPb",
+        "mixed_202_205_233_235_Zircon_NotFcU_FcPb",
+        "mixed_205_233_236_NotZircon_NotFcU",
+        "mixed_205_233_236_Zircon_NotFcU"};
+    private static final int COUNT_OF_REPETITIONS = 200;
+
+    public JacobianMatrixPlanTest() {
+    }
+
+    /**
+     * Test of populate method, of class JacobianMatrixPlan, against
+     * JacobianMatrixModel.initializeMatrixModelWithDerivedTerms.
+     */
+    @Test
+    public void testPlansPopulateSameMatrices() {
+        System.out.println("plans populate same matrices");
+        for (String matrixSpecsName : ID_TIMS_MATRIX_SPECS_NAMES) {
+            JacobianMatrixModel[] levels = buildLevels(matrixSpecsName);
+            Map<String, BigDecimal> parDerivTerms = randomParDerivTerms(levels);
+
+            long byNameNanos = 0;
+            long byPlanNanos = 0;
+            for (int i = 1; i < levels.length; i++) {
+                JacobianMatrixPlan plan = JacobianMatrixPlan.compile(levels[i]);
+                assertNotNull(plan);
+
+                long start = System.nanoTime();
+                for (int r = 0; r < COUNT_OF_REPETITIONS; r++) {
+                    levels[i].initializeMatrixModelWithDerivedTerms(parDerivTerms);
+                }
+                byNameNanos += System.nanoTime() - start;
+                Matrix byName = levels[i].getMatrix();
+
+                start = System.nanoTime();
+                for (int r = 0; r < COUNT_OF_REPETITIONS; r++) {
+                    levels[i].initializeMatrixModelWithDerivedTerms(plan, parDerivTerms);
+                }
+                byPlanNanos += System.nanoTime() - start;
+                Matrix byPlan = levels[i].getMatrix();
+
+                assertMatricesEqual(matrixSpecsName + " level " + i, byName, byPlan);
+            }
+
+            System.out.println(String.format("%1$-45s by name %2$8d us   by plan %3$8d us", //
+                    matrixSpecsName, byNameNanos / 1000 / COUNT_OF_REPETITIONS, byPlanNanos / 1000 / COUNT_OF_REPETITIONS));
+        }
+    }
+
+    /**
+     * Test of timesTimesTranspose method, of class SparseMatrixProducts.
+     */
+    @Test
+    public void testSparseProductsEqualDenseProducts() {
+        System.out.println("sparse products equal dense products");
+        Random random = new Random(14L);
+        for (String matrixSpecsName : ID_TIMS_MATRIX_SPECS_NAMES) {
+            JacobianMatrixModel[] levels = buildLevels(matrixSpecsName);
+            Map<String, BigDecimal> parDerivTerms = randomParDerivTerms(levels);
+
+            Matrix jacobian = null;
+            for (int i = 1; i < levels.length; i++) {
+                levels[i].initializeMatrixModelWithDerivedTerms(parDerivTerms);
+                jacobian = (jacobian == null) ? levels[i].getMatrix() : levels[i].getMatrix().times(jacobian);
+            }
+            assertNotNull(jacobian);
+
+            int inputCount = jacobian.getColumnDimension();
+            Matrix roots = new Matrix(inputCount, inputCount);
+            for (int r = 0; r < inputCount; r++) {
+                for (int c = 0; c < inputCount; c++) {
+                    roots.set(r, c, random.nextGaussian());
+                }
+            }
+            Matrix covariance = roots.times(roots.transpose());
+
+            long start = System.nanoTime();
+            Matrix dense = null;
+            for (int r = 0; r < COUNT_OF_REPETITIONS; r++) {
+                dense = jacobian.times(covariance).times(jacobian.transpose());
+            }
+            long denseNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Matrix sparse = null;
+            for (int r = 0; r < COUNT_OF_REPETITIONS; r++) {
+                sparse = SparseMatrixProducts.timesTimesTranspose(jacobian, covariance);
+            }
+            long sparseNanos = System.nanoTime() - start;
+
+            assertMatricesEqual(matrixSpecsName, dense, sparse);
+            System.out.println(String.format("%1$-45s dense %2$8d us   sparse %3$8d us", //
+                    matrixSpecsName, denseNanos / 1000 / COUNT_OF_REPETITIONS, sparseNanos / 1000 / COUNT_OF_REPETITIONS));
+        }
+    }
+
+    private JacobianMatrixModel[] buildLevels(String matrixSpecsName) {
+        // as in ReductionHandler
+        String[][] matrixSpecs = MatrixSpecifications.getMatrixSpecsByName(matrixSpecsName);
+        assertNotNull(matrixSpecsName, matrixSpecs);
+
+        JacobianMatrixModel[] levels = new JacobianMatrixModel[matrixSpecs.length];
+        levels[0] = new JacobianMatrixModel("0");
+        levels[0].setRows(matrixSpecs[0]);
+        for (int i = 1; i < matrixSpecs.length; i++) {
+            levels[i] = new JacobianMatrixModel(Integer.toString(i));
+            levels[i].setRows(matrixSpecs[i]);
+            levels[i].setCols(levels[i - 1].getRows());
+        }
+
+        return levels;
+    }
+
+    private Map<String, BigDecimal> randomParDerivTerms(JacobianMatrixModel[] levels) {
+        // about a third of the possible partial derivatives, as in a reduction
+        Random random = new Random(levels.length);
+        Map<String, BigDecimal> parDerivTerms = new HashMap<>();
+        for (int i = 1; i < levels.length; i++) {
+            for (String rowName : levels[i].getRows().values()) {
+                if (!levels[i].getCols().containsKey(rowName)) {
+                    for (String colName : levels[i].getCols().keySet()) {
+                        if (random.nextInt(3) == 0) {
+                            parDerivTerms.put(levels[i].createPartialDerivName(rowName) + "__" + levels[i].createPartialDerivName(colName), //
+                                    new BigDecimal(random.nextGaussian()));
+                        }
+                    }
+                }
+            }
+        }
+        return parDerivTerms;
+    }
+
+    private void assertMatricesEqual(String message, Matrix expected, Matrix actual) {
+        assertEquals(message, expected.getRowDimension(), actual.getRowDimension());
+        assertEquals(message, expected.getColumnDimension(), actual.getColumnDimension());
+        for (int r = 0; r < expected.getRowDimension(); r++) {
+            assertArrayEquals(message, expected.getArray()[r], actual.getArray()[r], 0.0);
+        }
+    }
+}
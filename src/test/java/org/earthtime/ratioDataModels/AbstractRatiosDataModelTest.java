@@ -31,10 +31,13 @@ import java.util.Map;
 import org.earthtime.UPb_Redux.valueModels.ValueModel;
 import org.earthtime.matrices.matrixModels.AbstractMatrixModel;
 import org.earthtime.matrices.matrixModels.CovarianceMatrixModel;
+import org.earthtime.ratioDataModels.tracers.TracerUPbModel;
 import org.earthtime.utilities.DateHelpers;
 import org.junit.Assert;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import org.junit.Test;
 
@@ -1478,6 +1481,36 @@ public class AbstractRatiosDataModelTest {
         }
     }
 
+    /**
+     * Test of getDataCovariancesVarUnctByName method, of class
+     * AbstractRatiosDataModel.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void test_GetDataCovariancesVarUnctByName() throws Exception {
+        System.out.println("Testing AbstractRatiosDataModel's getDataCovariancesVarUnctByName()");
+        // a copy, as the shared ET535 instance must not be edited
+        AbstractRatiosDataModel instance = TracerUPbModel.getET535ModelInstance().copyModel(true);
+        Map<String, BigDecimal> covariances = instance.getDataCovariancesVarUnctByName();
+        for (String covName : covariances.keySet()) {
+            if (!covName.startsWith("cov") || !covName.contains("__")) {
+                fail("Unexpected covariance name " + covName);
+            }
+        }
+        //Unchanged model returns the same covariances
+        assertSame(covariances, instance.getDataCovariancesVarUnctByName());
+        //Changed uncertainty rebuilds
+        ValueModel datum = instance.getData()[0];
+        datum.setOneSigma(datum.getOneSigma().add(BigDecimal.ONE));
+        Map<String, BigDecimal> changedCovariances = instance.getDataCovariancesVarUnctByName();
+        assertNotSame(covariances, changedCovariances);
+        //Saved edits rebuild
+        instance.saveEdits(false);
+        assertNotSame(changedCovariances, instance.getDataCovariancesVarUnctByName());
+        assertEquals(changedCovariances, instance.getDataCovariancesVarUnctByName());
+    }
+
     ////////////////////////
     ////Unfinished Tests////
     //////////////////////// 
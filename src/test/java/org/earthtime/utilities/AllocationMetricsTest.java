@@ -0,0 +1,58 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.utilities;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class AllocationMetricsTest {
+
+    public AllocationMetricsTest() {
+    }
+
+    /**
+     * Test of startPhase and the getters, of class AllocationMetrics.
+     */
+    @Test
+    public void testPhaseTotals() {
+        System.out.println("phase totals");
+        AllocationMetrics metrics = AllocationMetrics.getInstance();
+        metrics.reset();
+
+        double[][] kept = new double[3][];
+        for (int i = 0; i < 3; i++) {
+            AllocationMetrics.Phase phase = metrics.startPhase("test phase");
+            kept[i] = new double[1 << 16];
+            phase.end();
+        }
+
+        assertEquals(3, metrics.getCount("test phase"));
+        long bytes = metrics.getBytesAllocated("test phase");
+        // -1 where the JVM does not measure allocation per thread
+        assertTrue((bytes == -1) || (bytes >= 3L * 8 * (1 << 16)));
+        assertTrue(metrics.getGarbageCollectionMillis("test phase") >= 0);
+        assertTrue(metrics.report("test").contains("test phase"));
+        assertEquals(3, kept.length);
+
+        metrics.reset();
+        assertEquals(0, metrics.getCount("test phase"));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.utilities;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+/**
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class MethodHandleRegistryTest {
+
+    public MethodHandleRegistryTest() {
+    }
+
+    /**
+     * Test of findMethod and invoke methods, of class MethodHandleRegistry.
+     */
+    @Test
+    public void testFindAndInvoke() throws Exception {
+        System.out.println("find and invoke");
+        MethodHandle length = MethodHandleRegistry.findMethod(CharSequence.class, "length");
+        assertEquals(5, MethodHandleRegistry.invoke(length, "redux"));
+        assertSame(length, MethodHandleRegistry.findMethod(CharSequence.class, "length"));
+
+        MethodHandle concat = MethodHandleRegistry.findMethod(String.class, "concat", String.class);
+        assertEquals("U-Pb", MethodHandleRegistry.invoke(concat, "U-", "Pb"));
+
+        MethodHandle clear = MethodHandleRegistry.findMethod(List.class, "clear");
+        List<String> list = new ArrayList<>();
+        list.add("F-1");
+        // void methods return null
+        assertNull(MethodHandleRegistry.invoke(clear, list));
+        assertEquals(0, list.size());
+    }
+
+    /**
+     * Test of findMethod and invoke methods, of class MethodHandleRegistry,
+     * for missing methods and methods that throw.
+     */
+    @Test
+    public void testMissingAndThrowingMethods() throws Exception {
+        System.out.println("missing and throwing methods");
+        for (int i = 0; i < 2; i++) {
+            try {
+                MethodHandleRegistry.findMethod(String.class, "noSuchMethod", String.class);
+                fail();
+            } catch (NoSuchMethodException e) {
+            }
+        }
+
+        MethodHandle charAt = MethodHandleRegistry.findMethod(String.class, "charAt", int.class);
+        try {
+            MethodHandleRegistry.invoke(charAt, "Pb", 7);
+            fail();
+        } catch (InvocationTargetException e) {
+            assertSame(StringIndexOutOfBoundsException.class, e.getCause().getClass());
+        }
+
+        // errors are not wrapped
+        MethodHandle run = MethodHandleRegistry.findMethod(Runnable.class, "run");
+        Runnable failing = () -> {
+            throw new AssertionError("Pb");
+        };
+        try {
+            MethodHandleRegistry.invoke(run, failing);
+            fail();
+        } catch (AssertionError e) {
+            assertEquals("Pb", e.getMessage());
+        }
+    }
+}
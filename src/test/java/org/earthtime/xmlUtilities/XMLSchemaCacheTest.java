@@ -0,0 +1,123 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.xmlUtilities;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import javax.xml.validation.Schema;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+/**
+ * Tests of XMLSchemaCache with schemas in a temporary folder.
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class XMLSchemaCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String schemaURI;
+
+    public XMLSchemaCacheTest() {
+    }
+
+    private File write(String name, String contents) throws IOException {
+        File file = folder.newFile(name);
+        Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        XMLSchemaCache.clear();
+        XMLSchemaCache.setCacheFolder(folder.newFolder("cache"));
+
+        write("ValueTypes.xsd",
+                "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+                + "<xs:simpleType name=\"Uncertainty\"><xs:restriction base=\"xs:decimal\"/></xs:simpleType>"
+                + "</xs:schema>");
+        schemaURI = write("ValueModel.xsd",
+                "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+                + "<xs:include schemaLocation=\"ValueTypes.xsd\"/>"
+                + "<xs:element name=\"ValueModel\"><xs:complexType><xs:sequence>"
+                + "<xs:element name=\"name\" type=\"xs:string\"/>"
+                + "<xs:element name=\"oneSigma\" type=\"Uncertainty\"/>"
+                + "</xs:sequence></xs:complexType></xs:element>"
+                + "</xs:schema>").toURI().toString();
+    }
+
+    @After
+    public void tearDown() {
+        XMLSchemaCache.clear();
+    }
+
+    /**
+     * Test that a schema and the schema it includes are compiled once.
+     */
+    @Test
+    public void testGetSchemaCompilesOnce() {
+        Schema schema = XMLSchemaCache.getSchema(schemaURI);
+        assertNotNull(schema);
+        assertSame(schema, XMLSchemaCache.getSchema(schemaURI));
+    }
+
+    /**
+     * Test that a missing schema gives null.
+     */
+    @Test
+    public void testMissingSchema() {
+        assertNull(XMLSchemaCache.getSchema(new File(folder.getRoot(), "Missing.xsd").toURI().toString()));
+    }
+
+    /**
+     * Test of parseValidated with a conforming document.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParseValidated() throws Exception {
+        File xml = write("r206_238r.xml", "<ValueModel><name>r206_238r</name><oneSigma>0.0015</oneSigma></ValueModel>");
+
+        Document document = XMLSchemaCache.parseValidated(xml.getPath(), XMLSchemaCache.getSchema(schemaURI));
+        assertEquals("ValueModel", document.getDocumentElement().getNodeName());
+        assertEquals("0.0015", document.getElementsByTagName("oneSigma").item(0).getTextContent());
+    }
+
+    /**
+     * Test that a document that does not conform is rejected.
+     *
+     * @throws Exception
+     */
+    @Test(expected = SAXException.class)
+    public void testValidateRejects() throws Exception {
+        File xml = write("bad.xml", "<ValueModel><name>r206_238r</name><oneSigma>small</oneSigma></ValueModel>");
+
+        XMLSchemaCache.validate(xml.getPath(), XMLSchemaCache.getSchema(schemaURI));
+    }
+}
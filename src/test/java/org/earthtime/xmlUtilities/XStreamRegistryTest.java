@@ -0,0 +1,139 @@
+/*
+ * Copyright 2006-2017 CIRDLES.org.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.earthtime.xmlUtilities;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.xml.DomDriver;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.earthtime.UPb_Redux.valueModels.ValueModel;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests of XStreamRegistry, with a benchmark of bulk XML export and import of
+ * ValueModels.
+ *
+ * @author James F. Bowring <bowring at gmail.com>
+ */
+public class XStreamRegistryTest {
+
+    public XStreamRegistryTest() {
+    }
+
+    @Before
+    public void setUp() {
+        XStreamRegistry.clear();
+    }
+
+    @After
+    public void tearDown() {
+        XStreamRegistry.clear();
+    }
+
+    /**
+     * Test that each class and role is configured once and shared.
+     */
+    @Test
+    public void testConfiguredOncePerClassAndRole() {
+        AtomicInteger customized = new AtomicInteger();
+
+        XStream reader = XStreamRegistry.getXStreamReader(ValueModel.class, (XStream xstream) -> customized.incrementAndGet());
+        assertSame(reader, XStreamRegistry.getXStreamReader(ValueModel.class, (XStream xstream) -> customized.incrementAndGet()));
+        assertEquals(1, customized.get());
+
+        XStream writer = XStreamRegistry.getXStreamWriter(ValueModel.class, (XStream xstream) -> customized.incrementAndGet());
+        assertNotSame(reader, writer);
+        assertEquals(2, customized.get());
+    }
+
+    /**
+     * Test that a model still learns its schema from a shared XStream.
+     */
+    @Test
+    public void testSchemaURLSetForEveryModel() {
+        new ValueModel().getXStreamReader();
+        ValueModel second = new ValueModel();
+        second.getXStreamReader();
+
+        assertEquals("https://raw.githubusercontent.com/EARTHTIME/Schema/master/ValueModelXMLSchema.xsd", second.getValueModelXMLSchemaURL());
+    }
+
+    private static List<ValueModel> someValueModels(int count) {
+        List<ValueModel> valueModels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            valueModels.add(new ValueModel("r206_238r" + i, new BigDecimal(0.0898 + i * 1e-6), "ABS", new BigDecimal(0.0004), BigDecimal.ZERO));
+        }
+        return valueModels;
+    }
+
+    private static double legacyRoundTrip(List<ValueModel> valueModels) {
+        double checksum = 0.0;
+        for (ValueModel valueModel : valueModels) {
+            XStream writer = new XStream();
+            valueModel.customizeXstream(writer);
+            String xml = writer.toXML(valueModel);
+
+            XStream reader = new XStream(new DomDriver());
+            valueModel.customizeXstream(reader);
+            checksum += ((ValueModel) reader.fromXML(xml)).getValue().doubleValue();
+        }
+        return checksum;
+    }
+
+    private static double sharedRoundTrip(List<ValueModel> valueModels) {
+        double checksum = 0.0;
+        for (ValueModel valueModel : valueModels) {
+            String xml = valueModel.getXStreamWriter().toXML(valueModel);
+            checksum += ((ValueModel) valueModel.getXStreamReader().fromXML(xml)).getValue().doubleValue();
+        }
+        return checksum;
+    }
+
+    /**
+     * Benchmark of exporting and importing ValueModels one file's worth at a
+     * time: a new XStream for each read and write against the shared ones.
+     */
+    @Test
+    public void testBenchmarkSharedAgainstNewXStreams() {
+        System.out.println("benchmark shared against new XStreams");
+        List<ValueModel> valueModels = someValueModels(200);
+
+        double legacyChecksum = 0.0;
+        double sharedChecksum = 0.0;
+        long legacyNanos = Long.MAX_VALUE;
+        long sharedNanos = Long.MAX_VALUE;
+        // first rounds are warm-up
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            legacyChecksum = legacyRoundTrip(valueModels);
+            legacyNanos = Math.min(legacyNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            sharedChecksum = sharedRoundTrip(valueModels);
+            sharedNanos = Math.min(sharedNanos, System.nanoTime() - start);
+        }
+
+        System.out.println("new XStreams ms = " + legacyNanos / 1e6 + "  shared XStreams ms = " + sharedNanos / 1e6);
+        assertEquals(legacyChecksum, sharedChecksum, 0.0);
+    }
+}